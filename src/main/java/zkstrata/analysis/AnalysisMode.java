@@ -0,0 +1,16 @@
+package zkstrata.analysis;
+
+/**
+ * Strategy used to check a statement for contradictions.
+ */
+public enum AnalysisMode {
+    /**
+     * Analyzes every evaluation path of the statement (see {@link SemanticAnalyzer}).
+     */
+    EXHAUSTIVE,
+    /**
+     * Searches the proposition tree of the statement for a contradicting evaluation path by memoized backtracking over
+     * the parts of its OR conjunctions (see {@link ContradictionSearch}).
+     */
+    BACKTRACKING
+}
@@ -0,0 +1,61 @@
+package zkstrata.analysis;
+
+import zkstrata.domain.gadgets.Gadget;
+
+import java.util.*;
+
+/**
+ * Numbering of the gadgets assumed by the inferences of an analysis run, used to encode the assumptions of an
+ * {@link Inference} as {@link BitSet}. This way, the assumptions of a derived inference are the union of the bitsets of
+ * its premises and checking whether an inference subsumes another one is a bitwise operation.
+ * <p>
+ * The numbering is extended whenever a new gadget is assumed, so it is shared by all inferences drawn on top of each
+ * other (e.g. by the incremental analysis of evaluation paths sharing a prefix).
+ */
+public class AssumptionIndex {
+    private final Map<Gadget, Integer> indices = new HashMap<>();
+    private final List<Gadget> gadgets = new ArrayList<>();
+    private final List<Integer> hashCodes = new ArrayList<>();
+
+    /**
+     * Returns the number of the given {@code gadget}, numbering it if it has not been assumed before.
+     *
+     * @param gadget {@link Gadget} to get the number of
+     * @return number of the gadget within this index
+     */
+    public synchronized int indexOf(Gadget gadget) {
+        return indices.computeIfAbsent(gadget, key -> {
+            gadgets.add(key);
+            hashCodes.add(key.hashCode());
+            return gadgets.size() - 1;
+        });
+    }
+
+    public BitSet encode(Collection<Gadget> assumptions) {
+        BitSet bits = new BitSet();
+        for (Gadget assumption : assumptions)
+            bits.set(indexOf(assumption));
+        return bits;
+    }
+
+    public synchronized Set<Gadget> decode(BitSet bits) {
+        Set<Gadget> assumptions = new LinkedHashSet<>();
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+            assumptions.add(gadgets.get(i));
+        return assumptions;
+    }
+
+    /**
+     * Returns the hash code of the set of gadgets encoded by the given {@code bits} (see {@link Set#hashCode()}),
+     * without decoding it.
+     *
+     * @param bits {@link BitSet} of assumptions
+     * @return hash code of the set of assumptions
+     */
+    public synchronized int hashCode(BitSet bits) {
+        int hashCode = 0;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+            hashCode += hashCodes.get(i);
+        return hashCode;
+    }
+}
@@ -0,0 +1,306 @@
+package zkstrata.analysis;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import zkstrata.domain.EvaluationPaths;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.Statement;
+import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.exceptions.CompileTimeException;
+import zkstrata.utils.GadgetUtils;
+import zkstrata.utils.ImplicationHelper;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Checks a statement for contradictions like {@link SemanticAnalyzer}, but instead of analyzing each evaluation path,
+ * the proposition tree is searched for a contradicting path by a memoized backtracking search, where the parts of OR
+ * conjunctions are the decisions and the {@link Contradiction} rules check the gadgets asserted along a branch:
+ * <ul>
+ * <li>Propagation: gadgets that are part of every remaining path (including the parts of OR conjunctions left with a
+ * single path) are asserted before making any decision, so their inferences and contradictions are shared by all
+ * branches. Only the conclusions connected to the newly asserted gadgets are checked again (see
+ * {@link SemanticAnalyzer#checkContradictions(Set, Set)}).</li>
+ * <li>Decomposition: the remaining decisions are split into components that share no variable (neither directly nor
+ * through the asserted inferences). As implications and contradictions only relate gadgets sharing a witness variable
+ * (or instance-only gadgets sharing an instance variable), a contradiction requires the decisions of a single component
+ * only, so each component is searched on its own instead of the cartesian product of all components.</li>
+ * <li>Memoization: components that have been searched without finding a contradiction are remembered along with the
+ * inferences relevant to them, so they are skipped when reached again by another branch.</li>
+ * </ul>
+ * Unlike a DPLL solver, the search does not learn clauses from conflicts (e.g. minimal sets of contradicting
+ * assumptions): as a statement contradicts if any of its evaluation paths does, the search stops at the first
+ * contradiction found, so there is no later branch a learned conflict could prune. Only the conflict-free components
+ * are worth remembering. The contradiction found is not necessarily the one of the first contradicting evaluation path
+ * reported by {@link SemanticAnalyzer}.
+ */
+public class ContradictionSearch {
+    private static final Logger LOGGER = LogManager.getRootLogger();
+
+    private final Map<EvaluationPaths, Set<Variable>> linkingVariables = new IdentityHashMap<>();
+    private final Set<Subproblem> conflictFree = new HashSet<>();
+    private long decisions;
+
+    private ContradictionSearch() {
+    }
+
+    /**
+     * Searches the provided information (given {@link Statement}) for a contradiction. Throws a
+     * {@link CompileTimeException} in case of a contradiction.
+     *
+     * @param statement {@link Statement} to analyze
+     */
+    public static void process(Statement statement) {
+        process(statement, 1);
+    }
+
+    /**
+     * Searches the provided information (given {@link Statement}) for a contradiction. Throws a
+     * {@link CompileTimeException} in case of a contradiction.
+     * <p>
+     * If {@code parallelism} is greater than one, the independent components of the decisions remaining after the
+     * first propagation are searched on a {@link ForkJoinPool} with the given number of threads, each with its own
+     * memoized components (as they share no variable, none of them can be reached from another component). Components
+     * following a contradicting component are skipped, while preceding ones are still searched, so the reported
+     * exception is the one of the first contradicting component (the same as in sequential mode).
+     *
+     * @param statement   {@link Statement} to analyze
+     * @param parallelism number of threads to use for the search of independent components
+     */
+    public static void process(Statement statement, int parallelism) {
+        LOGGER.debug("Starting contradiction search");
+
+        Proposition allPropositions = statement.getClaim().combine(statement.getPremise()).combine(statement.getValidationRule());
+
+        EvaluationPaths evaluationPaths = allPropositions.getEvaluationPaths();
+
+        LOGGER.debug("Found logically distinct paths to evaluate the given statement: {}", evaluationPaths);
+
+        ContradictionSearch search = new ContradictionSearch();
+        List<Subproblem> components = search.propagate(Collections.emptySet(), List.of(evaluationPaths));
+        if (parallelism > 1 && components.size() > 1)
+            search.searchInParallel(components, parallelism);
+        else
+            components.forEach(search::search);
+
+        LOGGER.debug("Finishing contradiction search after {} decisions ({} conflict-free components memoized)",
+                search.decisions, search.conflictFree.size());
+    }
+
+    /**
+     * Searches all evaluation paths formed by the {@code pending} parts given the {@code inferences} asserted so far.
+     *
+     * @param inferences set of {@link Inference} drawn from the gadgets asserted so far
+     * @param pending    list of {@link EvaluationPaths} that have to be part of every path
+     */
+    private void search(Set<Inference> inferences, List<EvaluationPaths> pending) {
+        for (Subproblem component : propagate(inferences, pending))
+            search(component);
+    }
+
+    /**
+     * Asserts the gadgets that are part of every path formed by the {@code pending} parts and groups the remaining
+     * decisions into independent components.
+     *
+     * @param inferences set of {@link Inference} drawn from the gadgets asserted so far
+     * @param pending    list of {@link EvaluationPaths} that have to be part of every path
+     * @return list of {@link Subproblem} still to decide, empty if there is no decision left or no path at all
+     */
+    private List<Subproblem> propagate(Set<Inference> inferences, List<EvaluationPaths> pending) {
+        List<Gadget> unconditional = new ArrayList<>();
+        List<EvaluationPaths> choices = new ArrayList<>();
+        for (EvaluationPaths paths : pending)
+            if (!paths.split(unconditional, choices))
+                return Collections.emptyList();
+
+        Set<Inference> asserted = inferences;
+        if (!unconditional.isEmpty()) {
+            asserted = inferences.isEmpty() ? ImplicationHelper.drawInferences(unconditional)
+                    : ImplicationHelper.drawInferences(unconditional, inferences);
+            SemanticAnalyzer.checkContradictions(asserted, inferences);
+        }
+
+        if (choices.isEmpty())
+            return Collections.emptyList();
+
+        return decompose(asserted, choices);
+    }
+
+    /**
+     * Searches all decisions of the given {@code component}, unless it has been found conflict-free before.
+     *
+     * @param component {@link Subproblem} to search
+     */
+    private void search(Subproblem component) {
+        if (conflictFree.contains(component))
+            return;
+
+        List<EvaluationPaths> remaining = component.choices.subList(1, component.choices.size());
+        for (EvaluationPaths option : component.choices.get(0).getOptions()) {
+            decisions++;
+            List<EvaluationPaths> branch = new ArrayList<>(remaining.size() + 1);
+            branch.add(option);
+            branch.addAll(remaining);
+            search(component.inferences, branch);
+        }
+
+        conflictFree.add(component);
+    }
+
+    /**
+     * Searches the given independent {@code components} using a {@link ForkJoinPool} of the size {@code parallelism}.
+     * Rethrows the exception of the contradicting component with the lowest index.
+     *
+     * @param components  list of independent {@link Subproblem} to search
+     * @param parallelism number of threads to use
+     */
+    private void searchInParallel(List<Subproblem> components, int parallelism) {
+        LOGGER.debug("Searching {} independent components using {} threads", components.size(), parallelism);
+
+        List<ContradictionSearch> searches = new ArrayList<>(components.size());
+        AtomicReferenceArray<RuntimeException> failures = new AtomicReferenceArray<>(components.size());
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(components.size());
+            for (int i = 0; i < components.size(); i++) {
+                int index = i;
+                ContradictionSearch search = new ContradictionSearch();
+                searches.add(search);
+                tasks.add(pool.submit(() -> {
+                    if (index > firstFailure.get())
+                        return;
+
+                    try {
+                        search.search(components.get(index));
+                    } catch (RuntimeException e) {
+                        failures.set(index, e);
+                        firstFailure.accumulateAndGet(index, Math::min);
+                    }
+                }));
+            }
+            tasks.forEach(ForkJoinTask::join);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (ContradictionSearch search : searches) {
+            decisions += search.decisions;
+            conflictFree.addAll(search.conflictFree);
+        }
+
+        for (int i = 0; i < components.size(); i++)
+            if (failures.get(i) != null)
+                throw failures.get(i);
+    }
+
+    /**
+     * Groups the given {@code choices} into components that are connected by common variables, either directly or
+     * through the conclusions of the given {@code inferences}.
+     *
+     * @param inferences set of {@link Inference} asserted so far
+     * @param choices    list of {@link EvaluationPaths} requiring a decision
+     * @return list of independent {@link Subproblem}, in the order of their first choice
+     */
+    private List<Subproblem> decompose(Set<Inference> inferences, List<EvaluationPaths> choices) {
+        Map<Variable, Variable> parents = new HashMap<>();
+        Set<Gadget> conclusions = inferences.stream()
+                .map(Inference::getConclusion)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (Gadget conclusion : conclusions)
+            union(parents, GadgetUtils.getLinkingVariables(conclusion));
+        for (EvaluationPaths choice : choices)
+            union(parents, getLinkingVariables(choice));
+
+        // choices without any variable are components on their own
+        Map<Object, Subproblem> components = new LinkedHashMap<>();
+        for (EvaluationPaths choice : choices) {
+            Set<Variable> variables = getLinkingVariables(choice);
+            Object root = variables.isEmpty() ? choice : find(parents, variables.iterator().next());
+            components.computeIfAbsent(root, key -> new Subproblem(inferences)).choices.add(choice);
+        }
+        for (Gadget conclusion : conclusions) {
+            Set<Variable> variables = GadgetUtils.getLinkingVariables(conclusion);
+            Subproblem component = variables.isEmpty() ? null : components.get(find(parents, variables.iterator().next()));
+            if (component != null)
+                component.conclusions.add(conclusion);
+        }
+
+        return new ArrayList<>(components.values());
+    }
+
+    private Set<Variable> getLinkingVariables(EvaluationPaths choice) {
+        return linkingVariables.computeIfAbsent(choice, key -> key.listAllGadgets().stream()
+                .map(GadgetUtils::getLinkingVariables)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    private static void union(Map<Variable, Variable> parents, Set<Variable> variables) {
+        Iterator<Variable> iterator = variables.iterator();
+        if (!iterator.hasNext())
+            return;
+
+        Variable root = find(parents, iterator.next());
+        while (iterator.hasNext()) {
+            Variable other = find(parents, iterator.next());
+            if (!other.equals(root))
+                parents.put(other, root);
+        }
+    }
+
+    private static Variable find(Map<Variable, Variable> parents, Variable variable) {
+        Variable root = variable;
+        while (parents.containsKey(root))
+            root = parents.get(root);
+
+        // compress the path to the root
+        Variable current = variable;
+        while (!current.equals(root)) {
+            Variable next = parents.get(current);
+            parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    /**
+     * Component of the decisions to make, identified by its choices and the conclusions relevant to them.
+     */
+    private static class Subproblem {
+        // inferences asserted when the component was formed, not part of its identity
+        private final Set<Inference> inferences;
+        private final List<EvaluationPaths> choices = new ArrayList<>();
+        private final Set<Gadget> conclusions = new HashSet<>();
+
+        private Subproblem(Set<Inference> inferences) {
+            this.inferences = inferences;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+
+            if (obj == null)
+                return false;
+
+            if (getClass() != obj.getClass())
+                return false;
+
+            Subproblem other = (Subproblem) obj;
+            return choices.equals(other.choices) && conclusions.equals(other.conclusions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(choices, conclusions);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package zkstrata.analysis;
+
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+
+import java.util.*;
+
+/**
+ * Equivalence classes of {@link Variable} objects that are known to be equal, maintained as union-find structure.
+ * <p>
+ * Besides the classes, the equalities merging two classes are kept as a spanning forest, where each edge is labeled
+ * with the {@link Inference} of the {@link EqualityGadget} that caused the merge. This way the equality of any two
+ * variables of a class can be explained by the inferences on the path between them (e.g. to report a contradiction).
+ */
+public class EqualityClasses {
+    private final Map<Variable, Variable> parents = new HashMap<>();
+    private final Map<Variable, Integer> sizes = new HashMap<>();
+    private final Map<Variable, Variable> canonicals = new HashMap<>();
+    private final Map<Variable, List<Justification>> edges = new HashMap<>();
+
+    /**
+     * Creates the equivalence classes of all variables related by the conclusions of the given {@code inferences} that
+     * are {@link EqualityGadget} objects.
+     *
+     * @param inferences set of {@link Inference} to collect the equalities from
+     * @return {@link EqualityClasses} of the equalities among the conclusions
+     */
+    public static EqualityClasses of(Collection<Inference> inferences) {
+        EqualityClasses classes = new EqualityClasses();
+        for (Inference inference : inferences)
+            classes.add(inference);
+        return classes;
+    }
+
+    /**
+     * Merges the classes of both sides of the conclusion of the given {@code inference}, if it is an
+     * {@link EqualityGadget}.
+     *
+     * @param inference {@link Inference} to add
+     * @return true if two distinct classes were merged, false otherwise
+     */
+    public boolean add(Inference inference) {
+        if (!(inference.getConclusion() instanceof EqualityGadget))
+            return false;
+
+        EqualityGadget eq = (EqualityGadget) inference.getConclusion();
+        return union(eq.getLeft(), eq.getRight(), inference);
+    }
+
+    /**
+     * Merges the classes of {@code left} and {@code right}.
+     *
+     * @param left   {@link Variable} known to be equal to {@code right}
+     * @param right  {@link Variable} known to be equal to {@code left}
+     * @param reason {@link Inference} of the equality
+     * @return true if two distinct classes were merged, false if both variables already were equal
+     */
+    public boolean union(Variable left, Variable right, Inference reason) {
+        Variable leftRoot = find(left);
+        Variable rightRoot = find(right);
+        if (leftRoot.equals(rightRoot))
+            return false;
+
+        // the canonical member of the merged class is the first instance variable (if any) of the left class
+        Variable canonical = canonicals.get(leftRoot);
+        if (!(canonical instanceof InstanceVariable) && canonicals.get(rightRoot) instanceof InstanceVariable)
+            canonical = canonicals.get(rightRoot);
+
+        // union by size
+        if (sizes.get(leftRoot) < sizes.get(rightRoot)) {
+            Variable swap = leftRoot;
+            leftRoot = rightRoot;
+            rightRoot = swap;
+        }
+        parents.put(rightRoot, leftRoot);
+        sizes.merge(leftRoot, sizes.remove(rightRoot), Integer::sum);
+        canonicals.remove(rightRoot);
+        canonicals.put(leftRoot, canonical);
+
+        edges.computeIfAbsent(left, key -> new ArrayList<>()).add(new Justification(right, reason));
+        edges.computeIfAbsent(right, key -> new ArrayList<>()).add(new Justification(left, reason));
+        return true;
+    }
+
+    /**
+     * Returns the representative of the class of the given {@code variable}.
+     *
+     * @param variable {@link Variable} to find the class of
+     * @return representative {@link Variable} of the class
+     */
+    public Variable find(Variable variable) {
+        Variable parent = parents.get(variable);
+        if (parent == null) {
+            if (!sizes.containsKey(variable)) {
+                sizes.put(variable, 1);
+                canonicals.put(variable, variable);
+            }
+            return variable;
+        }
+
+        Variable root = find(parent);
+        if (!root.equals(parent))
+            parents.put(variable, root);
+        return root;
+    }
+
+    public boolean areEqual(Variable left, Variable right) {
+        return find(left).equals(find(right));
+    }
+
+    /**
+     * Returns the canonical member of the class of the given {@code variable}: the first instance variable that became
+     * part of the class, or its first member if the class contains no instance variable.
+     *
+     * @param variable {@link Variable} to get the canonical member of its class for
+     * @return canonical {@link Variable} of the class
+     */
+    public Variable getCanonical(Variable variable) {
+        return canonicals.get(find(variable));
+    }
+
+    /**
+     * Returns the inferences explaining why {@code left} equals {@code right} (the path between them in the spanning
+     * forest).
+     *
+     * @param left  {@link Variable} to start from
+     * @param right {@link Variable} to explain the equality to
+     * @return list of {@link Inference} leading from {@code left} to {@code right}, empty if they are not equal
+     */
+    public List<Inference> explain(Variable left, Variable right) {
+        if (!areEqual(left, right))
+            return Collections.emptyList();
+
+        Map<Variable, Justification> justifications = getJustifications(left);
+        LinkedList<Inference> path = new LinkedList<>();
+        for (Variable current = right; !current.equals(left); ) {
+            Justification justification = justifications.get(current);
+            path.addFirst(justification.getReason());
+            current = justification.getPredecessor();
+        }
+        return path;
+    }
+
+    /**
+     * Traverses the class of the given {@code origin} breadth-first along the spanning forest and returns for each
+     * member the member it was reached from, together with the {@link Inference} of their equality.
+     *
+     * @param origin {@link Variable} to start the traversal from
+     * @return mapping of all members of the class (except {@code origin}) to their {@link Justification}, in
+     * breadth-first order
+     */
+    public Map<Variable, Justification> getJustifications(Variable origin) {
+        Map<Variable, Justification> justifications = new LinkedHashMap<>();
+        Deque<Variable> queue = new ArrayDeque<>(List.of(origin));
+        Set<Variable> visited = new HashSet<>(List.of(origin));
+        while (!queue.isEmpty()) {
+            Variable current = queue.poll();
+            for (Justification edge : edges.getOrDefault(current, Collections.emptyList())) {
+                if (visited.add(edge.getPredecessor())) {
+                    justifications.put(edge.getPredecessor(), new Justification(current, edge.getReason()));
+                    queue.add(edge.getPredecessor());
+                }
+            }
+        }
+        return justifications;
+    }
+
+    /**
+     * Edge of the spanning forest, stating that a variable equals its {@code predecessor} due to {@code reason}.
+     */
+    public static class Justification {
+        private final Variable predecessor;
+        private final Inference reason;
+
+        private Justification(Variable predecessor, Inference reason) {
+            this.predecessor = predecessor;
+            this.reason = reason;
+        }
+
+        public Variable getPredecessor() {
+            return predecessor;
+        }
+
+        public Inference getReason() {
+            return reason;
+        }
+    }
+}
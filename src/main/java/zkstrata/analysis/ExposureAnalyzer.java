@@ -44,8 +44,7 @@ public class ExposureAnalyzer {
         List<Gadget> gadgets = statement.getClaim().combine(statement.getPremise()).listAllGadgets();
 
         for (Gadget gadget : gadgets)
-            for (Variable variable : gadget.getVariables().values())
-                markVariable(variable, susceptibleData, checkList);
+            gadget.forEachVariable(variable -> markVariable(variable, susceptibleData, checkList));
     }
 
     /**
@@ -2,29 +2,69 @@ package zkstrata.analysis;
 
 import zkstrata.domain.gadgets.Gadget;
 
-import java.util.Collection;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * Conclusion drawn from a set of assumed gadgets. The assumptions are encoded as {@link BitSet} over an
+ * {@link AssumptionIndex} shared by the inferences drawn from each other.
+ */
 public class Inference {
-    private Set<Gadget> assumptions;
-    private Gadget conclusion;
-    private Set<Inference> derivedFrom;
-
-    public Inference(Set<Gadget> assumptions, Gadget conclusion, Set<Inference> derivedFrom) {
+    private final AssumptionIndex assumptionIndex;
+    private final BitSet assumptionBits;
+    private volatile Set<Gadget> assumptions;
+    private final Gadget conclusion;
+    private final Set<Inference> derivedFrom;
+    private Integer hashCode;
+
+    public Inference(AssumptionIndex assumptionIndex, Set<Gadget> assumptions, Gadget conclusion, Set<Inference> derivedFrom) {
+        this.assumptionIndex = assumptionIndex;
+        this.assumptionBits = assumptions == null ? null : assumptionIndex.encode(assumptions);
         this.assumptions = assumptions;
         this.conclusion = conclusion;
         this.derivedFrom = derivedFrom;
     }
 
+    private Inference(AssumptionIndex assumptionIndex, BitSet assumptionBits, Gadget conclusion, Set<Inference> derivedFrom) {
+        this.assumptionIndex = assumptionIndex;
+        this.assumptionBits = assumptionBits;
+        this.conclusion = conclusion;
+        this.derivedFrom = derivedFrom;
+    }
+
+    /**
+     * Creates the {@link Inference} of the given {@code conclusion} from the given {@code premises}, assuming the union
+     * of the assumptions of all premises.
+     *
+     * @param premises   set of {@link Inference} the conclusion is drawn from
+     * @param conclusion {@link Gadget} that is concluded
+     * @return {@link Inference} of the conclusion
+     */
     public static Inference from(Set<Inference> premises, Gadget conclusion) {
-        return new Inference(premises.stream().map(Inference::getAssumptions)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet()), conclusion, premises);
+        AssumptionIndex assumptionIndex = premises.isEmpty() ? new AssumptionIndex()
+                : premises.iterator().next().getAssumptionIndex();
+        BitSet assumptionBits = new BitSet();
+        for (Inference premise : premises)
+            assumptionBits.or(premise.getAssumptionBits(assumptionIndex));
+        return new Inference(assumptionIndex, assumptionBits, conclusion, premises);
+    }
+
+    public AssumptionIndex getAssumptionIndex() {
+        return assumptionIndex;
+    }
+
+    /**
+     * Returns the assumptions of this inference encoded using the given {@code target} index.
+     */
+    private BitSet getAssumptionBits(AssumptionIndex target) {
+        return target == assumptionIndex ? assumptionBits : target.encode(getAssumptions());
     }
 
     public Set<Gadget> getAssumptions() {
+        if (assumptions == null && assumptionBits != null)
+            assumptions = Collections.unmodifiableSet(assumptionIndex.decode(assumptionBits));
         return assumptions;
     }
 
@@ -46,8 +86,10 @@ public class Inference {
         if (!conclusion.equals(other.conclusion))
             return false;
 
-        for (Gadget premise : other.getAssumptions()) {
-            if (!assumptions.contains(premise))
+        // the assumptions of other must be a subset of the assumptions of this inference
+        BitSet otherBits = other.getAssumptionBits(assumptionIndex);
+        for (int i = otherBits.nextSetBit(0); i >= 0; i = otherBits.nextSetBit(i + 1)) {
+            if (!assumptionBits.get(i))
                 return false;
         }
 
@@ -62,16 +104,28 @@ public class Inference {
         if (getClass() != obj.getClass())
             return false;
 
-        if (getConclusion() == null || getAssumptions() == null)
+        if (getConclusion() == null || assumptionBits == null)
             return false;
 
         Inference other = (Inference) obj;
+        if (!getConclusion().equals(other.getConclusion()) || other.assumptionBits == null)
+            return false;
 
-        return getConclusion().equals(other.getConclusion()) && getAssumptions().equals(other.getAssumptions());
+        if (assumptionIndex == other.assumptionIndex)
+            return assumptionBits.equals(other.assumptionBits);
+
+        return getAssumptions().equals(other.getAssumptions());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(assumptions, conclusion);
+        // equal to Objects.hash(assumptions, conclusion), without decoding the assumptions
+        Integer cached = hashCode;
+        if (cached == null) {
+            int assumptionsHashCode = assumptionBits == null ? 0 : assumptionIndex.hashCode(assumptionBits);
+            cached = 31 * (31 + assumptionsHashCode) + Objects.hashCode(conclusion);
+            hashCode = cached;
+        }
+        return cached;
     }
 }
@@ -0,0 +1,227 @@
+package zkstrata.analysis;
+
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.InequalityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+import zkstrata.exceptions.CompileTimeException;
+import zkstrata.exceptions.InternalCompilerException;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static zkstrata.utils.GadgetUtils.isInstanceVariable;
+import static zkstrata.utils.GadgetUtils.isOfTypeBigInteger;
+
+/**
+ * Numeric abstract domain assigning an interval of possible values to each class of equal variables (see
+ * {@link EqualityClasses}), computed from the bounds checks, equalities to and inequalities to instance variables and
+ * the less-than relations (difference constraints of the form {@code left <= right - 1}) among a set of inferences.
+ * <p>
+ * Instead of combining pairs of gadgets until a fixpoint is reached, the tightest bounds are computed in a single
+ * forward (lower bounds) and a single backward (upper bounds) pass along a topological order of the less-than
+ * relations (see {@link LessThanGraph}), which must not contain a cycle. An empty interval is a contradiction.
+ */
+public class IntervalDomain {
+    private final EqualityClasses equalities;
+    private final Map<Variable, Interval> intervals = new LinkedHashMap<>();
+    private final LessThanGraph lessThanGraph;
+    private final Map<Variable, Set<BigInteger>> exclusions = new HashMap<>();
+
+    private IntervalDomain(EqualityClasses equalities, LessThanGraph lessThanGraph) {
+        this.equalities = equalities;
+        this.lessThanGraph = lessThanGraph;
+    }
+
+    /**
+     * Computes the intervals of all variables constrained by the conclusions of the given {@code inferences}. Throws a
+     * {@link CompileTimeException} in case of a contradiction.
+     *
+     * @param inferences    set of {@link Inference} to collect the constraints from
+     * @param equalities    {@link EqualityClasses} of the equalities among the conclusions of the {@code inferences}
+     * @param lessThanGraph {@link LessThanGraph} of the less-than relations among the conclusions of the
+     *                      {@code inferences}
+     * @return {@link IntervalDomain} containing the tightest intervals
+     */
+    public static IntervalDomain of(Collection<Inference> inferences, EqualityClasses equalities,
+                                    LessThanGraph lessThanGraph) {
+        IntervalDomain domain = new IntervalDomain(equalities, lessThanGraph);
+        domain.add(inferences);
+        return domain;
+    }
+
+    /**
+     * Restricts the intervals by the conclusions of the given {@code inferences} and propagates the restrictions along
+     * the less-than relations. Throws a {@link CompileTimeException} in case of a contradiction.
+     *
+     * @param inferences set of {@link Inference} to collect the constraints from
+     */
+    public void add(Collection<Inference> inferences) {
+        for (Inference inference : inferences)
+            add(inference.getConclusion());
+        propagate();
+    }
+
+    /**
+     * Returns the interval of possible values of the given {@code variable}.
+     *
+     * @param variable {@link Variable} to get the interval of
+     * @return {@link Optional} of the {@link Interval} of the variable, empty if it is not constrained
+     */
+    public Optional<Interval> getInterval(Variable variable) {
+        return Optional.ofNullable(intervals.get(equalities.find(variable)));
+    }
+
+    private void add(Gadget gadget) {
+        if (gadget instanceof BoundsCheckGadget) {
+            BoundsCheckGadget bc = (BoundsCheckGadget) gadget;
+            Interval interval = getOrCreate(bc.getValue());
+            interval.restrictMin(bc.getMinValue(), bc.getMin());
+            interval.restrictMax(bc.getMaxValue(), bc.getMax());
+        } else if (gadget instanceof EqualityGadget) {
+            EqualityGadget eq = (EqualityGadget) gadget;
+            for (Variable side : List.of(eq.getLeft(), eq.getRight())) {
+                if (isInstanceVariable(side) && isOfTypeBigInteger(side)) {
+                    Interval interval = getOrCreate(side);
+                    BigInteger value = getValue(side);
+                    interval.restrictMin(value, side);
+                    interval.restrictMax(value, side);
+                }
+            }
+        } else if (gadget instanceof InequalityGadget) {
+            InequalityGadget iq = (InequalityGadget) gadget;
+            addExclusion(iq.getLeft(), iq.getRight());
+            addExclusion(iq.getRight(), iq.getLeft());
+        }
+    }
+
+    private void addExclusion(Variable variable, Variable excluded) {
+        if (!isInstanceVariable(variable) && isInstanceVariable(excluded) && isOfTypeBigInteger(excluded))
+            exclusions.computeIfAbsent(equalities.find(variable), key -> new HashSet<>()).add(getValue(excluded));
+    }
+
+    private Interval getOrCreate(Variable variable) {
+        return intervals.computeIfAbsent(equalities.find(variable), key -> new Interval(variable));
+    }
+
+    /**
+     * Propagates the bounds along the less-than relations: the lower bounds in topological order, the upper bounds in
+     * reverse topological order. Values excluded by inequalities are removed from the ends of the intervals.
+     */
+    private void propagate() {
+        List<Variable> order = lessThanGraph.getTopologicalOrder();
+        if (order.size() < lessThanGraph.getNodes().size())
+            throw new InternalCompilerException("Cannot propagate bounds along cyclic less-than relations.");
+
+        for (Variable node : order)
+            intervals.computeIfAbsent(node, Interval::new);
+        for (Variable node : intervals.keySet())
+            if (!lessThanGraph.getNodes().contains(node))
+                order.add(node);
+
+        for (Variable node : order) {
+            Interval interval = intervals.get(node);
+            interval.excludeFromMin(exclusions.getOrDefault(node, Collections.emptySet()));
+            if (interval.getMin() == null)
+                continue;
+
+            for (LessThanGadget lt : lessThanGraph.getSuccessors(node))
+                intervals.get(equalities.find(lt.getRight())).restrictMin(interval.getMin().add(BigInteger.ONE),
+                        interval.getMinSource());
+        }
+
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Variable node = order.get(i);
+            Interval interval = intervals.get(node);
+            for (LessThanGadget lt : lessThanGraph.getSuccessors(node)) {
+                Interval successor = intervals.get(equalities.find(lt.getRight()));
+                if (successor.getMax() != null)
+                    interval.restrictMax(successor.getMax().subtract(BigInteger.ONE), successor.getMaxSource());
+            }
+            interval.excludeFromMax(exclusions.getOrDefault(node, Collections.emptySet()));
+
+            if (interval.isEmpty())
+                throw new CompileTimeException("Contradiction.", getPositioned(
+                        interval.getVariable(), interval.getMinSource(), interval.getMaxSource()));
+        }
+    }
+
+    private static BigInteger getValue(Variable variable) {
+        return (BigInteger) ((InstanceVariable) variable).getValue().getValue();
+    }
+
+    private static List<Variable> getPositioned(Variable... variables) {
+        List<Variable> positioned = new ArrayList<>();
+        for (Variable variable : variables)
+            if (variable != null && variable.getPosition() != null)
+                positioned.add(variable);
+        return positioned;
+    }
+
+    /**
+     * Interval of possible values of a class of equal variables, where a missing bound ({@code null}) is unrestricted.
+     * Each bound keeps the instance variable it originates from.
+     */
+    public static class Interval {
+        private final Variable variable;
+        private BigInteger min;
+        private Variable minSource;
+        private BigInteger max;
+        private Variable maxSource;
+
+        private Interval(Variable variable) {
+            this.variable = variable;
+        }
+
+        private void restrictMin(BigInteger value, Variable source) {
+            if (min == null || value.compareTo(min) > 0) {
+                min = value;
+                minSource = source;
+            }
+        }
+
+        private void restrictMax(BigInteger value, Variable source) {
+            if (max == null || value.compareTo(max) < 0) {
+                max = value;
+                maxSource = source;
+            }
+        }
+
+        private void excludeFromMin(Set<BigInteger> excluded) {
+            while (min != null && excluded.contains(min))
+                min = min.add(BigInteger.ONE);
+        }
+
+        private void excludeFromMax(Set<BigInteger> excluded) {
+            while (max != null && excluded.contains(max))
+                max = max.subtract(BigInteger.ONE);
+        }
+
+        public boolean isEmpty() {
+            return min != null && max != null && min.compareTo(max) > 0;
+        }
+
+        public Variable getVariable() {
+            return variable;
+        }
+
+        public BigInteger getMin() {
+            return min;
+        }
+
+        public Variable getMinSource() {
+            return minSource;
+        }
+
+        public BigInteger getMax() {
+            return max;
+        }
+
+        public Variable getMaxSource() {
+            return maxSource;
+        }
+    }
+}
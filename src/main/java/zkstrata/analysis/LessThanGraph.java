@@ -0,0 +1,182 @@
+package zkstrata.analysis;
+
+import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+
+import java.util.*;
+
+/**
+ * Directed graph of the less-than relations among the conclusions of a set of inferences, where each node is a class
+ * of equal variables (see {@link EqualityClasses}) and each {@link LessThanGadget} is an edge from the class of its
+ * left to the class of its right side.
+ * <p>
+ * The transitivity of less-than relations is answered by reachability queries on this graph instead of being drawn as
+ * inferences, which results in a quadratic number of inferences for a chain of ordered variables. A cycle in the graph
+ * (including a relation between two equal variables) is a contradiction.
+ */
+public class LessThanGraph {
+    private final EqualityClasses equalities;
+    private final Map<Variable, List<LessThanGadget>> successors = new LinkedHashMap<>();
+    private final Map<Variable, Map<Variable, LessThanGadget>> reachable = new HashMap<>();
+
+    private LessThanGraph(EqualityClasses equalities) {
+        this.equalities = equalities;
+    }
+
+    /**
+     * Creates the graph of all {@link LessThanGadget} among the conclusions of the given {@code inferences}.
+     *
+     * @param inferences set of {@link Inference} to collect the less-than relations from
+     * @param equalities {@link EqualityClasses} of the equalities among the conclusions of the {@code inferences}
+     * @return {@link LessThanGraph} of the less-than relations
+     */
+    public static LessThanGraph of(Collection<Inference> inferences, EqualityClasses equalities) {
+        LessThanGraph graph = new LessThanGraph(equalities);
+        for (Inference inference : inferences)
+            graph.add(inference);
+        return graph;
+    }
+
+    /**
+     * Adds the conclusion of the given {@code inference} as edge, if it is a {@link LessThanGadget}. The equality
+     * classes must not be merged after edges have been added.
+     *
+     * @param inference {@link Inference} to add
+     * @return true if an edge was added, false otherwise
+     */
+    public boolean add(Inference inference) {
+        if (!(inference.getConclusion() instanceof LessThanGadget))
+            return false;
+
+        LessThanGadget lt = (LessThanGadget) inference.getConclusion();
+        successors.computeIfAbsent(equalities.find(lt.getLeft()), key -> new ArrayList<>()).add(lt);
+        successors.computeIfAbsent(equalities.find(lt.getRight()), key -> new ArrayList<>());
+        reachable.clear();
+        return true;
+    }
+
+    /**
+     * Returns the representatives of all classes of variables taking part in a less-than relation.
+     *
+     * @return set of {@link Variable} representing the nodes of the graph
+     */
+    public Set<Variable> getNodes() {
+        return Collections.unmodifiableSet(successors.keySet());
+    }
+
+    /**
+     * Returns the less-than relations whose left side is in the class of the given {@code variable}.
+     *
+     * @param variable {@link Variable} to get the outgoing relations of
+     * @return list of {@link LessThanGadget} starting at the class of {@code variable}
+     */
+    public List<LessThanGadget> getSuccessors(Variable variable) {
+        return successors.getOrDefault(equalities.find(variable), Collections.emptyList());
+    }
+
+    /**
+     * Checks whether {@code left < right} follows from the less-than relations (and equalities) of this graph.
+     *
+     * @param left  {@link Variable} on the left side of the comparison
+     * @param right {@link Variable} on the right side of the comparison
+     * @return true if the class of {@code right} is reachable from the class of {@code left}
+     */
+    public boolean isLess(Variable left, Variable right) {
+        return getReachable(equalities.find(left)).containsKey(equalities.find(right));
+    }
+
+    /**
+     * Returns the less-than relations from which {@code left < right} follows.
+     *
+     * @param left  {@link Variable} on the left side of the comparison
+     * @param right {@link Variable} on the right side of the comparison
+     * @return list of {@link LessThanGadget} forming a path from {@code left} to {@code right}, empty if there is none
+     */
+    public List<LessThanGadget> explain(Variable left, Variable right) {
+        Variable origin = equalities.find(left);
+        Map<Variable, LessThanGadget> predecessors = getReachable(origin);
+        LinkedList<LessThanGadget> path = new LinkedList<>();
+        Variable current = equalities.find(right);
+        if (!predecessors.containsKey(current))
+            return path;
+
+        do {
+            LessThanGadget lt = predecessors.get(current);
+            path.addFirst(lt);
+            current = equalities.find(lt.getLeft());
+        } while (!current.equals(origin) || path.isEmpty());
+        return path;
+    }
+
+    /**
+     * Searches the graph for a cycle of less-than relations.
+     *
+     * @return {@link Optional} of the list of {@link LessThanGadget} forming a cycle, empty if the graph is acyclic
+     */
+    public Optional<List<LessThanGadget>> findCycle() {
+        if (getTopologicalOrder().size() == successors.size())
+            return Optional.empty();
+
+        // the nodes missing in the topological order are on a cycle (reaching themselves) or behind one
+        for (Variable node : successors.keySet()) {
+            List<LessThanGadget> cycle = explain(node, node);
+            if (!cycle.isEmpty())
+                return Optional.of(cycle);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Sorts the nodes topologically (Kahn's algorithm). If the graph contains a cycle, the nodes on or behind it are
+     * missing in the order.
+     *
+     * @return list of the nodes such that every less-than relation leads from an earlier to a later node
+     */
+    public List<Variable> getTopologicalOrder() {
+        Map<Variable, Integer> inDegrees = new HashMap<>();
+        for (List<LessThanGadget> edges : successors.values())
+            for (LessThanGadget lt : edges)
+                inDegrees.merge(equalities.find(lt.getRight()), 1, Integer::sum);
+
+        Deque<Variable> queue = new ArrayDeque<>();
+        for (Variable node : successors.keySet())
+            if (!inDegrees.containsKey(node))
+                queue.add(node);
+
+        List<Variable> order = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            Variable node = queue.poll();
+            order.add(node);
+            for (LessThanGadget lt : successors.get(node)) {
+                Variable successor = equalities.find(lt.getRight());
+                if (inDegrees.merge(successor, -1, Integer::sum) == 0)
+                    queue.add(successor);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Traverses the graph breadth-first from the given {@code origin} and returns for each node reachable by at least
+     * one relation the relation it was reached by. The result is cached per origin.
+     *
+     * @param origin representative of the class to start from
+     * @return mapping of the reachable nodes to the {@link LessThanGadget} they were reached by
+     */
+    private Map<Variable, LessThanGadget> getReachable(Variable origin) {
+        return reachable.computeIfAbsent(origin, key -> {
+            Map<Variable, LessThanGadget> predecessors = new HashMap<>();
+            Deque<Variable> queue = new ArrayDeque<>(List.of(origin));
+            while (!queue.isEmpty()) {
+                for (LessThanGadget lt : successors.getOrDefault(queue.poll(), Collections.emptyList())) {
+                    Variable successor = equalities.find(lt.getRight());
+                    if (!predecessors.containsKey(successor)) {
+                        predecessors.put(successor, lt);
+                        queue.add(successor);
+                    }
+                }
+            }
+            return predecessors;
+        });
+    }
+}
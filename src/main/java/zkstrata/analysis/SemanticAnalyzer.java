@@ -2,23 +2,37 @@ package zkstrata.analysis;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import zkstrata.domain.EvaluationPaths;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.Statement;
+import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.InequalityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+import zkstrata.domain.gadgets.impl.SetMembershipGadget;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.utils.InferencesTableBuilder;
+import zkstrata.utils.CompiledRule;
+import zkstrata.utils.GadgetUtils;
 import zkstrata.utils.ImplicationHelper;
+import zkstrata.utils.ReflectionHelper;
 
-import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Collectors;
 
 import static zkstrata.utils.CombinatoricsUtils.getCombinations;
-import static zkstrata.utils.ReflectionHelper.*;
+import static zkstrata.utils.CombinatoricsUtils.getCombinationsContaining;
+import static zkstrata.utils.CombinatoricsUtils.groupByClass;
 
 public class SemanticAnalyzer {
     private static final Logger LOGGER = LogManager.getRootLogger();
-    private static final Set<Method> CONTRADICTION_RULES = getMethodsAnnotatedWith(Contradiction.class);
+    private static final List<CompiledRule<Gadget, Void>> CONTRADICTION_RULES =
+            ReflectionHelper.getMethodsAnnotatedWith(Contradiction.class).stream()
+                    .map(method -> CompiledRule.compileVoid(method, Gadget.class))
+                    .collect(Collectors.toList());
 
     private SemanticAnalyzer() {
         throw new IllegalStateException("Utility class");
@@ -29,25 +43,118 @@ public class SemanticAnalyzer {
      * contradictions. Throws a {@link CompileTimeException} in case of a contradiction.
      */
     public static void process(Statement statement) {
+        process(statement, 1);
+    }
+
+    /**
+     * Draw all inferences that can be made from the provided information (given {@link Statement}) to check for any
+     * contradictions. Throws a {@link CompileTimeException} in case of a contradiction.
+     * <p>
+     * The evaluation paths are analyzed incrementally by traversing their choice tree (see
+     * {@link SemanticAnalyzer#processIncrementally(EvaluationPaths)}). If {@code parallelism} is greater than one, the
+     * choice tree is instead partitioned into subtrees that are traversed on a {@link ForkJoinPool} with the given
+     * number of threads. Subtrees following a subtree that failed are skipped, while preceding subtrees are still
+     * analyzed, so the reported exception is the one of the first failing path (the same as in sequential mode).
+     *
+     * @param statement   {@link Statement} to analyze
+     * @param parallelism number of threads to use for the analysis of evaluation paths
+     */
+    public static void process(Statement statement, int parallelism) {
         LOGGER.debug("Starting semantic analysis");
 
         Proposition allPropositions = statement.getClaim().combine(statement.getPremise()).combine(statement.getValidationRule());
 
-        List<List<Gadget>> evaluationPaths = allPropositions.getEvaluationPaths();
+        EvaluationPaths evaluationPaths = allPropositions.getEvaluationPaths();
+
+        LOGGER.debug("Found logically distinct paths to evaluate the given statement: {}", evaluationPaths);
 
-        LOGGER.debug("Found {} logically distinct paths to evaluate the given statement", evaluationPaths.size());
+        if (parallelism > 1 && evaluationPaths.size() > 1)
+            processInParallel(evaluationPaths, parallelism);
+        else
+            processIncrementally(evaluationPaths);
 
-        for (int i = 0; i < evaluationPaths.size(); i++) {
-            Set<Inference> inferences = ImplicationHelper.drawInferences(evaluationPaths.get(i));
+        LOGGER.debug("Finishing semantic analysis");
+    }
 
-            if (LOGGER.isDebugEnabled())
-                LOGGER.debug("Drew {} inferences for evaluation path {}:{}{}", inferences.size(), i,
-                        System.lineSeparator(), new InferencesTableBuilder().buildTable(inferences));
+    /**
+     * Analyzes all given {@code evaluationPaths} using a {@link ForkJoinPool} of the size {@code parallelism}, by
+     * partitioning them along their choice tree (see {@link EvaluationPaths#partition(int)}) and analyzing each part
+     * incrementally. Rethrows the exception of the first failing part.
+     *
+     * @param evaluationPaths {@link EvaluationPaths} to analyze
+     * @param parallelism     number of threads to use
+     */
+    private static void processInParallel(EvaluationPaths evaluationPaths, int parallelism) {
+        LOGGER.debug("Analyzing evaluation paths using {} threads", parallelism);
 
-            checkContradictions(inferences);
+        List<EvaluationPaths> parts = evaluationPaths.partition(parallelism * 4);
+        Failure failure = new Failure();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new PathAnalysis(parts, 0, parts.size(), failure));
+        } finally {
+            pool.shutdownNow();
         }
 
-        LOGGER.debug("Finishing semantic analysis");
+        if (failure.getException() != null)
+            throw failure.getException();
+    }
+
+    /**
+     * Analyzes the given {@code evaluationPaths} by traversing their choice tree depth-first (see
+     * {@link EvaluationPaths#traverse(Object, EvaluationPaths.Traversal)}). Each node extends the inferences of its
+     * parent by the inferences that can be drawn from the gadgets added by the node, so paths sharing a prefix share
+     * its inferences. Likewise, each node only checks gadget combinations for contradictions that contain at least one
+     * conclusion new to the node.
+     * <p>
+     * If a contradiction is found, it applies to all paths below the node, where the first of those paths is the first
+     * failing path. This path is analyzed once more on its own to report the same contradiction as an analysis of each
+     * path from scratch would.
+     *
+     * @param evaluationPaths {@link EvaluationPaths} to analyze
+     */
+    private static void processIncrementally(EvaluationPaths evaluationPaths) {
+        evaluationPaths.traverse(Collections.emptySet(), new EvaluationPaths.Traversal<Set<Inference>>() {
+            private long index = 0;
+
+            @Override
+            public Set<Inference> extend(Set<Inference> inferences, List<Gadget> gadgets) {
+                Set<Inference> extended = inferences.isEmpty() ? ImplicationHelper.drawInferences(gadgets)
+                        : ImplicationHelper.drawInferences(gadgets, inferences);
+                try {
+                    checkContradictions(extended, inferences);
+                } catch (CompileTimeException e) {
+                    // the next path to visit is the first path containing the contradiction
+                    processEvaluationPath(evaluationPaths.get(index), index);
+                    throw e;
+                }
+                return extended;
+            }
+
+            @Override
+            public void visitPath(Set<Inference> inferences) {
+                if (LOGGER.isDebugEnabled())
+                    LOGGER.debug("Drew {} inferences for evaluation path {}:{}{}", inferences.size(), index,
+                            System.lineSeparator(), new InferencesTableBuilder().buildTable(inferences));
+                index++;
+            }
+        });
+    }
+
+    /**
+     * Draws all inferences of a single evaluation path and checks them for contradictions.
+     *
+     * @param evaluationPath list of {@link Gadget} forming the evaluation path
+     * @param index          index of the evaluation path (used for logging)
+     */
+    private static void processEvaluationPath(List<Gadget> evaluationPath, long index) {
+        Set<Inference> inferences = ImplicationHelper.drawInferences(evaluationPath);
+
+        if (LOGGER.isDebugEnabled())
+            LOGGER.debug("Drew {} inferences for evaluation path {}:{}{}", inferences.size(), index,
+                    System.lineSeparator(), new InferencesTableBuilder().buildTable(inferences));
+
+        checkContradictions(inferences);
     }
 
     /**
@@ -56,15 +163,271 @@ public class SemanticAnalyzer {
      *
      * @param inferences set of {@link Inference} to check contradictions on
      */
-    private static void checkContradictions(Set<Inference> inferences) {
-        for (Method contradictionCheck : CONTRADICTION_RULES) {
-            List<Class<? extends Gadget>> context = getGadgetParameterTypes(contradictionCheck);
+    public static void checkContradictions(Set<Inference> inferences) {
+        checkContradictions(inferences, Collections.emptySet());
+    }
+
+    /**
+     * Executes all methods annotated as {@link Contradiction} on gadget combinations formed from the provided
+     * set of inferences, that contain at least one conclusion which is not a conclusion of {@code checked}.
+     * Afterwards, the classes of equal variables, the less-than relations among them (see {@link LessThanGraph}) and
+     * their intervals (see {@link IntervalDomain}) are checked.
+     * <p>
+     * As contradictions only exist among gadgets sharing a witness variable (or instance-only gadgets sharing an
+     * instance variable, see {@link GadgetUtils#getLinkingVariables(Gadget)}), rules taking multiple gadgets are only
+     * executed on the combinations of gadgets related by a common variable instead of all combinations of conclusions.
+     * For the same reason, a contradiction involving a new conclusion only involves conclusions connected to it by
+     * linking variables, so the rules and the structures are only applied to these instead of all conclusions.
+     *
+     * @param inferences set of {@link Inference} to check contradictions on
+     * @param checked    subset of {@code inferences}, whose conclusions have already been checked among each other
+     */
+    static void checkContradictions(Set<Inference> inferences, Set<Inference> checked) {
+        Set<Gadget> allConclusions = inferences.stream()
+                .map(Inference::getConclusion)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Set<Gadget> newConclusions = new LinkedHashSet<>(allConclusions);
+        checked.forEach(inference -> newConclusions.remove(inference.getConclusion()));
+        if (newConclusions.isEmpty())
+            return;
+
+        Map<Variable, List<Gadget>> relatedConclusions = groupByLinkingVariable(allConclusions);
+        Set<Inference> affected = inferences;
+        if (newConclusions.size() < allConclusions.size()) {
+            Set<Gadget> connected = getConnected(newConclusions, relatedConclusions);
+            allConclusions.retainAll(connected);
+            relatedConclusions = groupByLinkingVariable(allConclusions);
+            affected = inferences.stream()
+                    .filter(inference -> connected.contains(inference.getConclusion()))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        Map<Class<?>, List<Gadget>> conclusions = groupByClass(allConclusions);
+        for (CompiledRule<Gadget, Void> contradictionCheck : CONTRADICTION_RULES) {
+            // skip rules requiring a gadget type that is not part of the conclusions
+            if (!conclusions.keySet().containsAll(contradictionCheck.getParameterTypes()))
+                continue;
+
+            for (List<Gadget> contextCombination : getRelatedCombinations(contradictionCheck.getParameterTypes(),
+                    conclusions, relatedConclusions, newConclusions, newConclusions.size() == allConclusions.size()))
+                contradictionCheck.invoke(contextCombination);
+        }
+
+        EqualityClasses equalities = EqualityClasses.of(affected);
+        checkEqualityClassContradictions(affected, equalities);
+        LessThanGraph lessThanGraph = LessThanGraph.of(affected, equalities);
+        checkLessThanCycles(lessThanGraph, equalities);
+        IntervalDomain.of(affected, equalities, lessThanGraph);
+    }
+
+    /**
+     * Returns the given {@code origins} and all gadgets connected to them by a chain of gadgets sharing a linking
+     * variable.
+     *
+     * @param origins gadgets to start from
+     * @param related gadgets grouped by the linking variables they contain
+     * @return set of the connected gadgets
+     */
+    private static Set<Gadget> getConnected(Set<Gadget> origins, Map<Variable, List<Gadget>> related) {
+        Set<Gadget> connected = new HashSet<>(origins);
+        Deque<Gadget> queue = new ArrayDeque<>(origins);
+        Set<Variable> visited = new HashSet<>();
+        while (!queue.isEmpty()) {
+            for (Variable variable : GadgetUtils.getLinkingVariables(queue.poll())) {
+                if (!visited.add(variable))
+                    continue;
 
-            Set<List<Gadget>> contextCombinations = getCombinations(context,
-                    inferences.stream().map(Inference::getConclusion).collect(Collectors.toSet()));
+                for (Gadget gadget : related.getOrDefault(variable, Collections.emptyList()))
+                    if (connected.add(gadget))
+                        queue.add(gadget);
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Checks whether the less-than relations contain a cycle (see {@link LessThanGraph#findCycle()}).
+     *
+     * @param lessThanGraph {@link LessThanGraph} to check
+     * @param equalities    {@link EqualityClasses} the nodes of the {@code lessThanGraph} are based on
+     */
+    private static void checkLessThanCycles(LessThanGraph lessThanGraph, EqualityClasses equalities) {
+        Optional<List<LessThanGadget>> cycle = lessThanGraph.findCycle();
+        if (cycle.isEmpty())
+            return;
+
+        List<Variable> variables = new ArrayList<>();
+        List<LessThanGadget> relations = cycle.get();
+        for (int i = 0; i < relations.size(); i++) {
+            LessThanGadget lt = relations.get(i);
+            LessThanGadget next = relations.get((i + 1) % relations.size());
+            variables.add(lt.getLeft());
+            variables.add(lt.getRight());
+            for (Inference reason : equalities.explain(lt.getRight(), next.getLeft())) {
+                EqualityGadget eq = (EqualityGadget) reason.getConclusion();
+                variables.add(eq.getLeft());
+                variables.add(eq.getRight());
+            }
+        }
+        throw new CompileTimeException("Contradiction.", variables);
+    }
+
+    /**
+     * Checks whether the two sides of an {@link InequalityGadget} or a {@link LessThanGadget} are in the same class of
+     * equal variables (see {@link EqualityClasses}), or the member of a {@link SetMembershipGadget} is equal to an
+     * instance variable that is not part of its set. Since the transitivity of equalities is not drawn pairwise, these
+     * contradictions are checked on the classes instead of by {@link Contradiction} rules taking an equality.
+     *
+     * @param inferences set of {@link Inference} to check contradictions on
+     * @param equalities {@link EqualityClasses} of the equalities among the conclusions of the {@code inferences}
+     */
+    private static void checkEqualityClassContradictions(Set<Inference> inferences, EqualityClasses equalities) {
+        for (Inference inference : inferences) {
+            Gadget conclusion = inference.getConclusion();
+            List<Variable> sides;
+            if (conclusion instanceof InequalityGadget)
+                sides = List.of(((InequalityGadget) conclusion).getLeft(), ((InequalityGadget) conclusion).getRight());
+            else if (conclusion instanceof LessThanGadget)
+                sides = List.of(((LessThanGadget) conclusion).getLeft(), ((LessThanGadget) conclusion).getRight());
+            else if (conclusion instanceof SetMembershipGadget) {
+                SetMembershipGadget.checkInstanceEqualityContradiction((SetMembershipGadget) conclusion, equalities);
+                continue;
+            } else
+                continue;
+
+            if (equalities.areEqual(sides.get(0), sides.get(1))) {
+                List<Variable> variables = new ArrayList<>();
+                for (Inference reason : equalities.explain(sides.get(0), sides.get(1))) {
+                    EqualityGadget eq = (EqualityGadget) reason.getConclusion();
+                    variables.add(eq.getLeft());
+                    variables.add(eq.getRight());
+                }
+                variables.addAll(sides);
+                throw new CompileTimeException("Contradiction.", variables);
+            }
+        }
+    }
+
+    /**
+     * Returns the combinations satisfying the given {@code pattern} that contain at least one of the {@code required}
+     * gadgets. Patterns of multiple gadgets are only satisfied by gadgets sharing a linking variable.
+     *
+     * @param pattern  list of types describing the pattern a combination should conform
+     * @param buckets  all gadgets grouped by their class
+     * @param related  gadgets grouped by the linking variables they contain
+     * @param required gadgets of which at least one must be contained in each combination
+     * @param all      flag whether all gadgets are {@code required}
+     * @return combinations of related gadgets satisfying {@code pattern} that contain a gadget of {@code required}
+     */
+    private static Set<List<Gadget>> getRelatedCombinations(
+            List<Class<? extends Gadget>> pattern,
+            Map<Class<?>, List<Gadget>> buckets,
+            Map<Variable, List<Gadget>> related,
+            Set<Gadget> required,
+            boolean all
+    ) {
+        if (pattern.size() == 1)
+            return all ? getCombinations(pattern, buckets) : getCombinationsContaining(pattern, buckets, required);
+
+        Set<List<Gadget>> combinations = new LinkedHashSet<>();
+        for (List<Gadget> group : related.values()) {
+            if (group.size() < pattern.size())
+                continue;
+
+            Map<Class<?>, List<Gadget>> groupBuckets = groupByClass(group);
+            if (!groupBuckets.keySet().containsAll(pattern))
+                continue;
+
+            if (all) {
+                combinations.addAll(getCombinations(pattern, groupBuckets));
+            } else {
+                Set<Gadget> groupRequired = group.stream()
+                        .filter(required::contains)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                if (!groupRequired.isEmpty())
+                    combinations.addAll(getCombinationsContaining(pattern, groupBuckets, groupRequired));
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * Groups the given gadgets by their linking variables (see {@link GadgetUtils#getLinkingVariables(Gadget)}), where
+     * a gadget is part of the group of each of its linking variables.
+     *
+     * @param gadgets gadgets to group
+     * @return mapping of linking variables to the gadgets containing them
+     */
+    private static Map<Variable, List<Gadget>> groupByLinkingVariable(Collection<Gadget> gadgets) {
+        Map<Variable, List<Gadget>> groups = new LinkedHashMap<>();
+        for (Gadget gadget : gadgets)
+            for (Variable variable : GadgetUtils.getLinkingVariables(gadget))
+                groups.computeIfAbsent(variable, key -> new ArrayList<>()).add(gadget);
+
+        return groups;
+    }
+
+    /**
+     * Analyzes the parts of the evaluation paths within [{@code from}, {@code to}), splitting the range in halves until
+     * it contains a single part.
+     */
+    private static class PathAnalysis extends RecursiveAction {
+        private final transient List<EvaluationPaths> parts;
+        private final int from;
+        private final int to;
+        private final transient Failure failure;
+
+        private PathAnalysis(List<EvaluationPaths> parts, int from, int to, Failure failure) {
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            // cancel the remaining work if a preceding part already failed
+            if (from > failure.getIndex())
+                return;
+
+            if (to - from <= 1) {
+                for (int i = from; i < to && i < failure.getIndex(); i++) {
+                    try {
+                        processIncrementally(parts.get(i));
+                    } catch (RuntimeException e) {
+                        failure.report(i, e);
+                        return;
+                    }
+                }
+            } else {
+                int middle = from + (to - from) / 2;
+                invokeAll(new PathAnalysis(parts, from, middle, failure),
+                        new PathAnalysis(parts, middle, to, failure));
+            }
+        }
+    }
+
+    /**
+     * Keeps track of the exception thrown by the failing part with the lowest index.
+     */
+    private static class Failure {
+        private volatile long index = Long.MAX_VALUE;
+        private RuntimeException exception;
+
+        private long getIndex() {
+            return index;
+        }
+
+        private synchronized RuntimeException getException() {
+            return exception;
+        }
 
-            for (List<Gadget> contextCombination : contextCombinations)
-                invokeStaticMethod(contradictionCheck, contextCombination.toArray());
+        private synchronized void report(long index, RuntimeException exception) {
+            if (index < this.index) {
+                this.index = index;
+                this.exception = exception;
+            }
         }
     }
 }
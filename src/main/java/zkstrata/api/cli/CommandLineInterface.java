@@ -4,13 +4,16 @@ import org.apache.commons.cli.*;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.config.Configurator;
+import zkstrata.analysis.AnalysisMode;
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeGenerator;
 import zkstrata.compiler.Arguments;
 import zkstrata.compiler.Compiler;
 import zkstrata.domain.data.accessors.ValueAccessor;
 import zkstrata.domain.data.accessors.JsonAccessor;
+import zkstrata.domain.data.accessors.LineDelimitedAccessor;
 import zkstrata.domain.data.schemas.Schema;
 import zkstrata.domain.data.schemas.dynamic.JsonSchema;
+import zkstrata.optimizer.CalibratedCostModel;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -86,8 +89,9 @@ public class CommandLineInterface {
         setVerbosity(cmd);
 
         SubjectData subjectData = new SubjectData(getWitnessData(cmd), getInstanceData(cmd), getSchemas(cmd));
+        Settings settings = getSettings(cmd);
 
-        return new Arguments(new BulletproofsGadgetsCodeGenerator(name), statement, premises, subjectData);
+        return new Arguments(new BulletproofsGadgetsCodeGenerator(name), statement, premises, subjectData, settings);
     }
 
     /**
@@ -132,13 +136,16 @@ public class CommandLineInterface {
     }
 
     /**
-     * Checks whether the verbose option is set.
+     * Checks whether the verbose option is set. The cost report is logged on the info level, which is enabled if the
+     * report is requested.
      *
      * @param cmd {@link CommandLine} object that represents a list of arguments
      */
     private void setVerbosity(CommandLine cmd) {
         if (cmd.hasOption("verbose"))
             Configurator.setRootLevel(Level.DEBUG);
+        else if (cmd.hasOption("cost-report"))
+            Configurator.setRootLevel(Level.INFO);
     }
 
     private String getStatementFile(CommandLine cmd) {
@@ -196,12 +203,70 @@ public class CommandLineInterface {
                     String msg = String.format("Malformed instance data provided as argument: %s", instance);
                     throw new IllegalArgumentException(msg);
                 }
-                instanceData.put(parts[0], new JsonAccessor(parts[1]));
+                instanceData.put(parts[0], createInstanceAccessor(parts[1]));
             }
         }
         return instanceData;
     }
 
+    /**
+     * Creates the accessor of an instance data file: a {@link LineDelimitedAccessor} for text files (extension
+     * {@code .txt}), a {@link JsonAccessor} otherwise.
+     *
+     * @param file instance data file
+     * @return {@link ValueAccessor} of the file
+     */
+    private ValueAccessor createInstanceAccessor(String file) {
+        if (FilenameUtils.isExtension(file, "txt"))
+            return new LineDelimitedAccessor(file);
+
+        return new JsonAccessor(file);
+    }
+
+    private Settings getSettings(CommandLine cmd) {
+        Settings settings = new Settings();
+        if (cmd.hasOption("parallelism")) {
+            String parallelism = cmd.getOptionValue("parallelism");
+            try {
+                settings.withParallelism(Integer.parseInt(parallelism));
+            } catch (NumberFormatException e) {
+                String msg = String.format("Malformed parallelism provided as argument: %s", parallelism);
+                throw new IllegalArgumentException(msg);
+            }
+        }
+        if (cmd.hasOption("analysis")) {
+            String mode = cmd.getOptionValue("analysis");
+            try {
+                settings.withAnalysisMode(AnalysisMode.valueOf(mode.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                String msg = String.format("Malformed analysis mode provided as argument: %s", mode);
+                throw new IllegalArgumentException(msg);
+            }
+        }
+        if (cmd.hasOption("cost-model")) {
+            String file = cmd.getOptionValue("cost-model");
+            String table = getStatement(file);
+            try {
+                settings.withCostModel(CalibratedCostModel.parse(table));
+            } catch (IllegalArgumentException e) {
+                String msg = String.format("Malformed cost model provided as argument: %s (%s)", file, e.getMessage());
+                throw new IllegalArgumentException(msg);
+            }
+        }
+        if (cmd.hasOption("max-cost")) {
+            String maxCost = cmd.getOptionValue("max-cost");
+            try {
+                settings.withMaxCost(Long.parseLong(maxCost));
+            } catch (NumberFormatException e) {
+                String msg = String.format("Malformed maximum cost provided as argument: %s", maxCost);
+                throw new IllegalArgumentException(msg);
+            }
+        }
+        if (cmd.hasOption("cost-report"))
+            settings.withCostReport(true);
+        return settings;
+    }
+
     private List<Statement> getPremises(CommandLine cmd) {
         List<Statement> premises = new ArrayList<>();
         if (cmd.hasOption("premises"))
@@ -35,7 +35,7 @@ public class OptionBuilder {
                         .longOpt("instance-data")
                         .hasArgs()
                         .argName("alias=file")
-                        .desc("files containing public information")
+                        .desc("files containing public information (.txt files: one value per line)")
                         .build()
         );
 
@@ -57,6 +57,49 @@ public class OptionBuilder {
                         .build()
         );
 
+        this.options.addOption(
+                Option.builder()
+                        .longOpt("parallelism")
+                        .hasArg()
+                        .argName("threads")
+                        .desc("number of threads used for the semantic analysis and optimization (default: 1)")
+                        .build()
+        );
+
+        this.options.addOption(
+                Option.builder()
+                        .longOpt("analysis")
+                        .hasArg()
+                        .argName("mode")
+                        .desc("strategy of the semantic analysis: exhaustive or backtracking (default: exhaustive)")
+                        .build()
+        );
+
+        this.options.addOption(
+                Option.builder()
+                        .longOpt("cost-model")
+                        .hasArg()
+                        .argName("file")
+                        .desc("calibration table of the costs minimized by the optimizer (default: constraints)")
+                        .build()
+        );
+
+        this.options.addOption(
+                Option.builder()
+                        .longOpt("max-cost")
+                        .hasArg()
+                        .argName("cost")
+                        .desc("maximum cost estimate of the compiled statement by the cost model (default: unlimited)")
+                        .build()
+        );
+
+        this.options.addOption(
+                Option.builder()
+                        .longOpt("cost-report")
+                        .desc("report the cost estimates of the compiled statement per gadget and subject")
+                        .build()
+        );
+
         this.options.addOption(
                 Option.builder()
                         .longOpt("verbose")
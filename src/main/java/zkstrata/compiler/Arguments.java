@@ -1,8 +1,10 @@
 package zkstrata.compiler;
 
+import zkstrata.analysis.AnalysisMode;
 import zkstrata.codegen.CodeGenerator;
 import zkstrata.domain.data.accessors.ValueAccessor;
 import zkstrata.domain.data.schemas.Schema;
+import zkstrata.optimizer.CostModel;
 
 import java.util.List;
 import java.util.Map;
@@ -12,17 +14,29 @@ public class Arguments {
     private Statement statement;
     private List<Statement> premises;
     private SubjectData subjectData;
+    private Settings settings;
 
     public Arguments(
             CodeGenerator codeGenerator,
             Statement statement,
             List<Statement> premises,
             SubjectData subjectData
+    ) {
+        this(codeGenerator, statement, premises, subjectData, new Settings());
+    }
+
+    public Arguments(
+            CodeGenerator codeGenerator,
+            Statement statement,
+            List<Statement> premises,
+            SubjectData subjectData,
+            Settings settings
     ) {
         this.codeGenerator = codeGenerator;
         this.statement = statement;
         this.premises = premises;
         this.subjectData = subjectData;
+        this.settings = settings;
     }
 
     public Statement getStatement() {
@@ -41,6 +55,10 @@ public class Arguments {
         return subjectData;
     }
 
+    public Settings getSettings() {
+        return settings;
+    }
+
     public boolean hasWitnessData() {
         return !getSubjectData().getWitnessData().isEmpty();
     }
@@ -90,4 +108,110 @@ public class Arguments {
             return schemas;
         }
     }
+
+    /**
+     * Settings controlling how the compiler processes a statement. The parallelism and the cost report do not affect
+     * the result of the compilation. The analysis mode decides which contradiction is reported, but not whether the
+     * statement contradicts. The cost model determines the gadgets emitted for a statement, and a maximum cost may let
+     * the compilation fail.
+     */
+    public static class Settings {
+        private int parallelism = 1;
+        private AnalysisMode analysisMode = AnalysisMode.EXHAUSTIVE;
+        private CostModel costModel = CostModel.getDefault();
+        private long maxCost = Long.MAX_VALUE;
+        private boolean costReport = false;
+
+        /**
+         * Sets the number of threads used to analyze the evaluation paths of a statement (see
+         * {@link zkstrata.analysis.SemanticAnalyzer#process(zkstrata.domain.Statement, int)}) or to search its
+         * independent components for a contradiction (see
+         * {@link zkstrata.analysis.ContradictionSearch#process(zkstrata.domain.Statement, int)}), and to optimize its
+         * independent sub-trees (see {@link zkstrata.optimizer.Optimizer}).
+         *
+         * @param parallelism number of threads, 1 for sequential analysis and optimization
+         * @return this {@link Settings}
+         */
+        public Settings withParallelism(int parallelism) {
+            if (parallelism < 1)
+                throw new IllegalArgumentException(String.format("Invalid parallelism: %d", parallelism));
+
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * Sets the strategy used to check a statement for contradictions (see {@link AnalysisMode}).
+         *
+         * @param analysisMode {@link AnalysisMode} to use
+         * @return this {@link Settings}
+         */
+        public Settings withAnalysisMode(AnalysisMode analysisMode) {
+            this.analysisMode = analysisMode;
+            return this;
+        }
+
+        public AnalysisMode getAnalysisMode() {
+            return analysisMode;
+        }
+
+        /**
+         * Sets the model estimating the cost of a statement, which the optimizer minimizes (see {@link CostModel}).
+         *
+         * @param costModel {@link CostModel} to use
+         * @return this {@link Settings}
+         */
+        public Settings withCostModel(CostModel costModel) {
+            this.costModel = costModel;
+            return this;
+        }
+
+        public CostModel getCostModel() {
+            return costModel;
+        }
+
+        /**
+         * Sets the maximum cost estimate of the compiled statement by the cost model (see
+         * {@link zkstrata.optimizer.CostReport}), the compilation fails if it is exceeded. The estimates are only
+         * reported and checked if a maximum is set or a report is requested.
+         *
+         * @param maxCost maximum cost estimate
+         * @return this {@link Settings}
+         */
+        public Settings withMaxCost(long maxCost) {
+            if (maxCost < 1)
+                throw new IllegalArgumentException(String.format("Invalid maximum cost: %d", maxCost));
+
+            this.maxCost = maxCost;
+            return this;
+        }
+
+        public long getMaxCost() {
+            return maxCost;
+        }
+
+        public boolean hasMaxCost() {
+            return maxCost < Long.MAX_VALUE;
+        }
+
+        /**
+         * Sets whether the cost estimates of the compiled statement are reported per gadget, per subject and for the
+         * whole statement (see {@link zkstrata.optimizer.CostReport}), even if no maximum is set.
+         *
+         * @param costReport flag whether to report the cost estimates
+         * @return this {@link Settings}
+         */
+        public Settings withCostReport(boolean costReport) {
+            this.costReport = costReport;
+            return this;
+        }
+
+        public boolean hasCostReport() {
+            return costReport;
+        }
+    }
 }
@@ -2,6 +2,8 @@ package zkstrata.compiler;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import zkstrata.analysis.AnalysisMode;
+import zkstrata.analysis.ContradictionSearch;
 import zkstrata.analysis.ExposureAnalyzer;
 import zkstrata.analysis.SemanticAnalyzer;
 import zkstrata.codegen.CodeGenerator;
@@ -9,17 +11,25 @@ import zkstrata.codegen.TargetStructure;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.Statement;
 import zkstrata.domain.data.schemas.wrapper.StructuredData;
+import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.visitor.ASTVisitor;
+import zkstrata.domain.visitor.InterningFactory;
+import zkstrata.exceptions.CompileTimeException;
+import zkstrata.exceptions.Position;
+import zkstrata.optimizer.CostReport;
 import zkstrata.optimizer.Optimizer;
 import zkstrata.parser.ParseTreeVisitor;
 import zkstrata.parser.ast.AbstractSyntaxTree;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 public class Compiler {
     private static final Logger LOGGER = LogManager.getRootLogger();
 
     private Arguments arguments;
+    // the statement, its premises and validation rules share the equal literals and variables of the compilation
+    private final InterningFactory interningFactory = new InterningFactory();
 
     public Compiler(Arguments arguments) {
         this.arguments = arguments;
@@ -33,9 +43,21 @@ public class Compiler {
         if (arguments.hasWitnessData())
             new ExposureAnalyzer(arguments.getSubjectData()).process(statement);
 
-        SemanticAnalyzer.process(statement);
+        if (arguments.getSettings().getAnalysisMode() == AnalysisMode.BACKTRACKING)
+            ContradictionSearch.process(statement, arguments.getSettings().getParallelism());
+        else
+            SemanticAnalyzer.process(statement, arguments.getSettings().getParallelism());
+
+        Arguments.Settings settings = arguments.getSettings();
+        statement.setClaim(new Optimizer(statement, settings.getParallelism(), settings.getCostModel())
+                .process());
 
-        statement.setClaim(new Optimizer(statement).process());
+        // the estimates take another pass over the gadgets, so they are only reported and checked if requested
+        if (settings.hasMaxCost() || settings.hasCostReport()) {
+            CostReport report = CostReport.of(statement.getClaim(), settings.getCostModel());
+            reportCost(report);
+            checkCost(report, settings.getMaxCost());
+        }
 
         CodeGenerator codeGenerator = arguments.getCodeGenerator();
 
@@ -45,6 +67,54 @@ public class Compiler {
             return codeGenerator.generateVerifierTargetStructure(statement.getClaim());
     }
 
+    /**
+     * Reports the cost estimates of the given {@code report} per gadget, per subject and for the whole statement.
+     *
+     * @param report {@link CostReport} of the optimized statement
+     */
+    private void reportCost(CostReport report) {
+        if (LOGGER.isInfoEnabled()) {
+            for (CostReport.GadgetCost gadget : report.getGadgetCosts())
+                LOGGER.info("Estimated cost of {}{}: {}", gadget.getGadget().getClass().getSimpleName(),
+                        getPositions(gadget.getGadget().getVariables().values()), gadget.getCost());
+            report.getSubjectCosts().forEach((subject, cost) ->
+                    LOGGER.info("Estimated cost of subject {}: {}", subject, cost));
+            LOGGER.info("Estimated cost of the statement: {}", report.getTotal());
+        }
+    }
+
+    private static String getPositions(Collection<Variable> variables) {
+        List<String> positions = variables.stream()
+                .map(Variable::getPosition)
+                .filter(Objects::nonNull)
+                .map(position -> String.format("%d:%d", position.getLine(), position.getPosition()))
+                .distinct()
+                .collect(Collectors.toList());
+        return positions.isEmpty() ? "" : " at " + String.join(", ", positions);
+    }
+
+    /**
+     * Checks the cost estimate of the given {@code report} against the given maximum.
+     *
+     * @param report  {@link CostReport} of the optimized statement
+     * @param maxCost maximum cost estimate (see {@link Arguments.Settings#getMaxCost()})
+     * @throws CompileTimeException if the cost estimate of the statement exceeds {@code maxCost}, pointing to the
+     *                              costliest gadget
+     */
+    private void checkCost(CostReport report, long maxCost) {
+        long cost = report.getTotal();
+        if (cost > maxCost) {
+            Set<Position.Absolute> positions = report.getCostliestGadget()
+                    .map(gadget -> gadget.getGadget().getVariables().values().stream()
+                            .map(Variable::getPosition)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet()))
+                    .orElse(Collections.emptySet());
+            throw new CompileTimeException(String.format("The statement has a cost estimate of %d, "
+                    + "exceeding the maximum of %d.", cost, maxCost), positions);
+        }
+    }
+
     private Statement parseStatement() {
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Starting parsing of statement `{}`", arguments.getStatement().getSource());
@@ -56,7 +126,7 @@ public class Compiler {
             LOGGER.debug("Parsed the statement `{}` into the following AST:{}{}",
                     arguments.getStatement().getSource(), System.lineSeparator(), ast.getRoot().toDebugString());
 
-        return new ASTVisitor(arguments.getSubjectData()).visit(ast);
+        return new ASTVisitor(arguments.getSubjectData(), null, interningFactory).visit(ast);
     }
 
     /**
@@ -98,7 +168,7 @@ public class Compiler {
             LOGGER.debug("Parsed the validation rule of `{}` into the following AST:{}{}",
                     source, System.lineSeparator(), ast.getRoot().toDebugString());
 
-        ASTVisitor astVisitor = new ASTVisitor(arguments.getSubjectData(), parentAlias);
+        ASTVisitor astVisitor = new ASTVisitor(arguments.getSubjectData(), parentAlias, interningFactory);
 
         return astVisitor.visit(ast).getClaim();
     }
@@ -127,6 +197,6 @@ public class Compiler {
             LOGGER.debug("Parsed the premise `{}` into the following AST:{}{}",
                     premise.getSource(), System.lineSeparator(), ast.getRoot().toDebugString());
 
-        return new ASTVisitor(arguments.getSubjectData()).visit(ast);
+        return new ASTVisitor(arguments.getSubjectData(), null, interningFactory).visit(ast);
     }
 }
@@ -0,0 +1,466 @@
+package zkstrata.domain;
+
+import zkstrata.domain.gadgets.Gadget;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily enumerated sequence of the evaluation paths of a {@link Proposition} (see
+ * {@link Proposition#getEvaluationPaths()}).
+ * <p>
+ * Instead of materializing all gadget-combinations, the structure of the proposition is kept and each path is decoded
+ * from its index when requested: the paths of an {@link zkstrata.domain.conjunctions.AndConjunction} are decoded from a
+ * mixed-radix number (one digit per part), while the paths of an {@link zkstrata.domain.conjunctions.OrConjunction}
+ * are the concatenation of the paths of its parts. Paths are enumerated in the same order as the cartesian product
+ * (respectively concatenation) of the paths of the parts.
+ */
+public abstract class EvaluationPaths implements Iterable<List<Gadget>> {
+    private static final EvaluationPaths EMPTY = new Concatenation(Collections.emptyList());
+
+    /**
+     * Returns the number of evaluation paths, which saturates at {@link Long#MAX_VALUE} instead of overflowing. It is
+     * computed on first use, so {@link EvaluationPaths#traverse(Object, Traversal)} and
+     * {@link EvaluationPaths#split(List, List)} work on any number of paths, while only the first
+     * {@link Long#MAX_VALUE} paths can be accessed by index.
+     *
+     * @return number of evaluation paths, or {@link Long#MAX_VALUE} if there are at least as many
+     */
+    public abstract long size();
+
+    /**
+     * Decodes the evaluation path at the given {@code index}.
+     *
+     * @param index index of the path within [0, {@link EvaluationPaths#size()})
+     * @return list of {@link Gadget} forming the evaluation path
+     */
+    public List<Gadget> get(long index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException(String.format("Evaluation path %d out of %d.", index, size()));
+
+        List<Gadget> path = new ArrayList<>();
+        appendPath(index, path);
+        return path;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Appends the gadgets of the evaluation path at the given {@code index} to {@code path}.
+     *
+     * @param index index of the path, must be within [0, {@link EvaluationPaths#size()})
+     * @param path  list to append the gadgets to
+     */
+    protected abstract void appendPath(long index, List<Gadget> path);
+
+    /**
+     * Returns an evaluation path source without any path.
+     *
+     * @return empty {@link EvaluationPaths}
+     */
+    public static EvaluationPaths empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns an evaluation path source containing the given {@code path} only.
+     *
+     * @param path list of {@link Gadget} forming the single path
+     * @return {@link EvaluationPaths} containing a single path
+     */
+    public static EvaluationPaths of(List<Gadget> path) {
+        return new Single(path);
+    }
+
+    /**
+     * Returns the cartesian product of the given evaluation paths, where each path is the concatenation of one path of
+     * each of the given {@code factors}.
+     *
+     * @param factors list of {@link EvaluationPaths} to combine
+     * @return {@link EvaluationPaths} of the cartesian product
+     */
+    public static EvaluationPaths product(List<EvaluationPaths> factors) {
+        return new Product(factors);
+    }
+
+    /**
+     * Returns the concatenation of the given evaluation paths.
+     *
+     * @param summands list of {@link EvaluationPaths} to concatenate
+     * @return {@link EvaluationPaths} containing the paths of all {@code summands}
+     */
+    public static EvaluationPaths concatenation(List<EvaluationPaths> summands) {
+        return new Concatenation(summands);
+    }
+
+    @Override
+    public Iterator<List<Gadget>> iterator() {
+        return new Iterator<>() {
+            private long next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public List<Gadget> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                return get(next++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<List<Gadget>> spliterator() {
+        return new PathSpliterator(0, size(), size() < Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} decoding the evaluation paths on demand.
+     *
+     * @return {@link Stream} of evaluation paths
+     */
+    public Stream<List<Gadget>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Materializes all evaluation paths. Only intended for small statements and tests.
+     *
+     * @return list of all evaluation paths
+     */
+    public List<List<Gadget>> toList() {
+        List<List<Gadget>> paths = new ArrayList<>();
+        forEach(paths::add);
+        return paths;
+    }
+
+    /**
+     * Traverses the choice tree of these evaluation paths depth-first, visiting the paths in the order of their index.
+     * <p>
+     * Each node of the tree extends the state of its parent by the gadgets that are part of all paths below it (the
+     * gadgets common to all paths are added at the root), so the state of a prefix shared by multiple paths is only
+     * computed once. Paths starting with the same choices share the state of these choices.
+     *
+     * @param root      state of the root node (no gadgets)
+     * @param traversal {@link Traversal} computing the states and visiting the paths
+     */
+    public <S> void traverse(S root, Traversal<S> traversal) {
+        traverse(List.of(this), root, traversal);
+    }
+
+    private static <S> void traverse(List<EvaluationPaths> pending, S state, Traversal<S> traversal) {
+        List<Gadget> unconditional = new ArrayList<>();
+        List<EvaluationPaths> choices = new ArrayList<>();
+        for (EvaluationPaths paths : pending)
+            if (!paths.split(unconditional, choices))
+                return;
+
+        S next = unconditional.isEmpty() ? state : traversal.extend(state, unconditional);
+
+        if (choices.isEmpty()) {
+            traversal.visitPath(next);
+            return;
+        }
+
+        List<EvaluationPaths> remaining = choices.subList(1, choices.size());
+        for (EvaluationPaths option : choices.get(0).getOptions()) {
+            List<EvaluationPaths> branch = new ArrayList<>(remaining.size() + 1);
+            branch.add(option);
+            branch.addAll(remaining);
+            traverse(branch, next, traversal);
+        }
+    }
+
+    /**
+     * Partitions these evaluation paths along their choice tree, branching on the most significant choice of each part
+     * until there are at least {@code count} parts or no choices are left. Unlike index ranges, this works on any
+     * number of paths. As in {@link EvaluationPaths#traverse(Object, Traversal)}, the gadgets common to all paths of a
+     * part come first within its paths.
+     *
+     * @param count number of parts to aim for
+     * @return list of {@link EvaluationPaths} whose concatenation contains the same paths in the same order
+     */
+    public List<EvaluationPaths> partition(int count) {
+        List<EvaluationPaths> parts = isEmpty() ? Collections.emptyList() : List.of(this);
+        boolean branched = true;
+        while (branched && parts.size() < count) {
+            List<EvaluationPaths> next = new ArrayList<>();
+            branched = false;
+            for (EvaluationPaths part : parts) {
+                List<Gadget> unconditional = new ArrayList<>();
+                List<EvaluationPaths> choices = new ArrayList<>();
+                part.split(unconditional, choices);
+                if (choices.isEmpty()) {
+                    next.add(part);
+                    continue;
+                }
+
+                List<EvaluationPaths> remaining = choices.subList(1, choices.size());
+                for (EvaluationPaths option : choices.get(0).getOptions()) {
+                    if (option.isEmpty())
+                        continue;
+
+                    List<EvaluationPaths> factors = new ArrayList<>(remaining.size() + 2);
+                    factors.add(of(unconditional));
+                    factors.add(option);
+                    factors.addAll(remaining);
+                    next.add(product(factors));
+                }
+                branched = true;
+            }
+            parts = next;
+        }
+        return parts;
+    }
+
+    /**
+     * Splits these evaluation paths into the gadgets contained in every path ({@code unconditional}) and the
+     * concatenations that still require a choice ({@code choices}), in the order of their significance.
+     *
+     * @param unconditional list to append the gadgets contained in every path to
+     * @param choices       list to append the concatenations requiring a choice to
+     * @return false if there are no evaluation paths at all, true otherwise
+     */
+    public boolean split(List<Gadget> unconditional, List<EvaluationPaths> choices) {
+        if (isEmpty())
+            return false;
+
+        if (size() == 1)
+            appendPath(0, unconditional);
+        else if (this instanceof Product) {
+            for (EvaluationPaths factor : ((Product) this).factors)
+                factor.split(unconditional, choices);
+        } else
+            choices.add(this);
+
+        return true;
+    }
+
+    /**
+     * Returns the alternatives these evaluation paths consist of, where each path is a path of exactly one of them. For
+     * the choices returned by {@link EvaluationPaths#split(List, List)}, these are the options to choose from.
+     *
+     * @return list of {@link EvaluationPaths} whose concatenation are these evaluation paths
+     */
+    public List<EvaluationPaths> getOptions() {
+        return this instanceof Concatenation ? ((Concatenation) this).summands : List.of(this);
+    }
+
+    /**
+     * Returns all gadgets occurring in any of these evaluation paths, without enumerating the paths.
+     *
+     * @return set of all {@link Gadget} contained in at least one path
+     */
+    public Set<Gadget> listAllGadgets() {
+        Set<Gadget> gadgets = new LinkedHashSet<>();
+        appendGadgets(gadgets);
+        return gadgets;
+    }
+
+    private void appendGadgets(Set<Gadget> gadgets) {
+        if (this instanceof Single)
+            gadgets.addAll(((Single) this).path);
+        else if (this instanceof Product)
+            ((Product) this).factors.forEach(factor -> factor.appendGadgets(gadgets));
+        else
+            ((Concatenation) this).summands.forEach(summand -> summand.appendGadgets(gadgets));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(size() < Long.MAX_VALUE ? "%s(%d paths)" : "%s(at least %d paths)",
+                getClass().getSimpleName(), size());
+    }
+
+    private static long add(long first, long second) {
+        try {
+            return Math.addExact(first, second);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long multiply(long first, long second) {
+        try {
+            return Math.multiplyExact(first, second);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Callback of {@link EvaluationPaths#traverse(Object, Traversal)}.
+     *
+     * @param <S> type of the state of a node in the choice tree
+     */
+    public interface Traversal<S> {
+        /**
+         * Creates the state of a child node by extending the state of its parent.
+         *
+         * @param state   state of the parent node
+         * @param gadgets gadgets added by the child node
+         * @return state of the child node
+         */
+        S extend(S state, List<Gadget> gadgets);
+
+        /**
+         * Visits the evaluation path ending at a leaf of the choice tree.
+         *
+         * @param state state of the leaf, containing all gadgets of the evaluation path
+         */
+        void visitPath(S state);
+    }
+
+    /**
+     * {@link Spliterator} over an index range of the evaluation paths, split by halving the range. The range is only
+     * {@code exact} if the number of paths did not saturate.
+     */
+    private class PathSpliterator implements Spliterator<List<Gadget>> {
+        private long from;
+        private final long to;
+        private final boolean exact;
+
+        private PathSpliterator(long from, long to, boolean exact) {
+            this.from = from;
+            this.to = to;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<Gadget>> action) {
+            if (from >= to)
+                return false;
+
+            action.accept(get(from++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<List<Gadget>> trySplit() {
+            long middle = from + (to - from) / 2;
+            if (middle <= from)
+                return null;
+
+            PathSpliterator prefix = new PathSpliterator(from, middle, true);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return exact ? ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE : ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    private static class Single extends EvaluationPaths {
+        private final List<Gadget> path;
+
+        private Single(List<Gadget> path) {
+            this.path = path;
+        }
+
+        @Override
+        public long size() {
+            return 1;
+        }
+
+        @Override
+        protected void appendPath(long index, List<Gadget> path) {
+            path.addAll(this.path);
+        }
+    }
+
+    private static class Product extends EvaluationPaths {
+        private final List<EvaluationPaths> factors;
+        // number of paths, computed on first use
+        private volatile long size = -1;
+
+        private Product(List<EvaluationPaths> factors) {
+            this.factors = List.copyOf(factors);
+        }
+
+        @Override
+        public long size() {
+            long size = this.size;
+            if (size < 0) {
+                size = 1;
+                for (EvaluationPaths factor : factors)
+                    size = factor.size() == 0 ? 0 : multiply(size, factor.size());
+                this.size = size;
+            }
+            return size;
+        }
+
+        @Override
+        protected void appendPath(long index, List<Gadget> path) {
+            // decode the digits from the least significant (last factor) to the most significant (first factor). This
+            // also holds for saturated factors at any position: the remainder is at most the index, which is below
+            // Long.MAX_VALUE and thus below the true number of paths of a saturated factor, so such a factor takes the
+            // whole remainder as its digit and all factors before it are left with the digit 0
+            long[] digits = new long[factors.size()];
+            long remainder = index;
+            for (int i = factors.size() - 1; i >= 0; i--) {
+                long radix = factors.get(i).size();
+                digits[i] = remainder % radix;
+                remainder /= radix;
+            }
+
+            for (int i = 0; i < factors.size(); i++)
+                factors.get(i).appendPath(digits[i], path);
+        }
+    }
+
+    private static class Concatenation extends EvaluationPaths {
+        private final List<EvaluationPaths> summands;
+        // index of the first path of each summand followed by the number of paths, computed on first use
+        private volatile long[] offsets;
+
+        private Concatenation(List<EvaluationPaths> summands) {
+            this.summands = List.copyOf(summands);
+        }
+
+        private long[] getOffsets() {
+            long[] offsets = this.offsets;
+            if (offsets == null) {
+                offsets = new long[summands.size() + 1];
+                for (int i = 0; i < summands.size(); i++)
+                    offsets[i + 1] = add(offsets[i], summands.get(i).size());
+                this.offsets = offsets;
+            }
+            return offsets;
+        }
+
+        @Override
+        public long size() {
+            long[] offsets = getOffsets();
+            return offsets[offsets.length - 1];
+        }
+
+        @Override
+        protected void appendPath(long index, List<Gadget> path) {
+            long[] offsets = getOffsets();
+            // find the last summand starting at or before the index (skipping empty summands)
+            int position = Arrays.binarySearch(offsets, index);
+            if (position < 0)
+                position = -position - 2;
+            else
+                while (offsets[position + 1] == index)
+                    position++;
+
+            summands.get(position).appendPath(index - offsets[position], path);
+        }
+    }
+}
@@ -4,7 +4,10 @@ import org.apache.commons.text.TextStringBuilder;
 import zkstrata.codegen.representations.BulletproofsGadgets;
 import zkstrata.domain.conjunctions.AndConjunction;
 import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.data.types.Reference;
 import zkstrata.domain.gadgets.Gadget;
+import zkstrata.exceptions.Position;
+import zkstrata.optimizer.CostModel;
 import zkstrata.optimizer.TrueProposition;
 
 import java.util.*;
@@ -46,21 +49,59 @@ public interface Proposition extends BulletproofsGadgets {
     List<Gadget> listAllGadgets();
 
     /**
-     * Returns a list of gadget-combinations accessible through this proposition.
+     * Returns the gadget-combinations accessible through this proposition.
      * Every element ({@link List} of {@link Gadget}) represents a distinct evaluation path in the statement that, when
      * true, will make the overall statement true.
      * <p>
      * Example: In an OR conjunction, there will be a separate path for each conjunct part, as any of the parts can
      * make the overall statement true independently.
+     * <p>
+     * The paths are enumerated lazily, as their number grows exponentially with the number of nested conjunctions.
      *
-     * @return {@link List} of evaluation paths, which are {@link List} of {@link Gadget}
+     * @return {@link EvaluationPaths} of this proposition, whose elements are {@link List} of {@link Gadget}
      */
-    List<List<Gadget>> getEvaluationPaths();
+    EvaluationPaths getEvaluationPaths();
 
     /**
      * Returns an upper bound for the cost (number of constraints) to prove/verify this proposition.
      */
-    int getCostEstimate();
+    default long getCostEstimate() {
+        return getCostEstimate(CostModel.getDefault());
+    }
+
+    /**
+     * Returns the cost to prove/verify this proposition as estimated by the given {@link CostModel}.
+     *
+     * @param costModel {@link CostModel} to estimate the cost with
+     * @return estimated cost of this proposition
+     */
+    long getCostEstimate(CostModel costModel);
+
+    /**
+     * Returns the sum of the hash codes of the positions of all variables in the gadgets of this proposition. As the
+     * positions originate from the statement, this can be used to take a deterministic choice between propositions.
+     *
+     * @return sum of the hash codes of all variable positions (see {@link Position.Absolute#hashCode()})
+     */
+    default int getPositionHashCode() {
+        int[] hashCode = {0};
+        for (Gadget gadget : listAllGadgets())
+            gadget.forEachVariable(variable -> hashCode[0] += Objects.hashCode(variable.getPosition()));
+        return hashCode[0];
+    }
+
+    /**
+     * Returns the sum of the hash codes of the references of all variables in the gadgets of this proposition (see
+     * {@link Proposition#getPositionHashCode()}).
+     *
+     * @return sum of the hash codes of all variable references (see {@link Reference#hashCode()})
+     */
+    default int getReferenceHashCode() {
+        int[] hashCode = {0};
+        for (Gadget gadget : listAllGadgets())
+            gadget.forEachVariable(variable -> hashCode[0] += Objects.hashCode(variable.getReference()));
+        return hashCode[0];
+    }
 
     /**
      * Returns the string representation of this proposition as tree structure of conjunctions and gadgets.
@@ -2,18 +2,48 @@ package zkstrata.domain.conjunctions;
 
 import zkstrata.domain.Proposition;
 import zkstrata.domain.gadgets.Gadget;
+import zkstrata.optimizer.CostModel;
 import zkstrata.optimizer.Substitution;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Base class of conjunctions. As conjunctions are immutable, the properties derived from the whole sub-tree (the
+ * gadgets, the cost estimate and the hash codes used for tie-breaking) are computed once on construction. The cost
+ * estimate of other than the default {@link CostModel} is computed on first use.
+ */
 public abstract class AbstractConjunction implements Conjunction {
-    private List<Proposition> parts;
+    private final List<Proposition> parts;
+    private final List<Gadget> gadgets;
+    private final long costEstimate;
+    private final int positionHashCode;
+    private final int referenceHashCode;
+    // cost estimate of the last non-default cost model used
+    private volatile ModelCost modelCost;
+    // set of the parts used for equality and hashing, computed on first use
+    private Set<Proposition> partSet;
+    private int hashCode;
 
     public AbstractConjunction(List<Proposition> parts) {
-        this.parts = parts;
+        this.parts = List.copyOf(parts);
+        this.gadgets = this.parts.stream()
+                .map(Proposition::listAllGadgets)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toUnmodifiableList());
+        this.costEstimate = estimateCost(CostModel.getDefault());
+        this.positionHashCode = this.parts.stream().mapToInt(Proposition::getPositionHashCode).sum();
+        this.referenceHashCode = this.parts.stream().mapToInt(Proposition::getReferenceHashCode).sum();
+    }
+
+    private long estimateCost(CostModel costModel) {
+        long[] partCosts = new long[parts.size()];
+        for (int i = 0; i < partCosts.length; i++)
+            partCosts[i] = parts.get(i).getCostEstimate(costModel);
+        return costModel.estimate(getClass(), partCosts);
     }
 
     /**
@@ -31,10 +61,7 @@ public abstract class AbstractConjunction implements Conjunction {
 
     @Override
     public List<Gadget> listAllGadgets() {
-        return this.getParts().stream()
-                .map(Proposition::listAllGadgets)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+        return gadgets;
     }
 
     @Override
@@ -42,25 +69,86 @@ public abstract class AbstractConjunction implements Conjunction {
         return parts;
     }
 
+    @Override
+    public long getCostEstimate() {
+        return costEstimate;
+    }
+
+    @Override
+    public long getCostEstimate(CostModel costModel) {
+        if (costModel == CostModel.getDefault())
+            return costEstimate;
+
+        ModelCost cached = modelCost;
+        if (cached == null || cached.costModel != costModel) {
+            cached = new ModelCost(costModel, estimateCost(costModel));
+            modelCost = cached;
+        }
+        return cached.cost;
+    }
+
+    @Override
+    public int getPositionHashCode() {
+        return positionHashCode;
+    }
+
+    @Override
+    public int getReferenceHashCode() {
+        return referenceHashCode;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName().replace("Conjunction", "").toUpperCase();
     }
 
+    /**
+     * Returns the set of parts of this conjunction. As the order and multiplicity of the parts are irrelevant for the
+     * semantics of a conjunction, it is compared and hashed by this set.
+     *
+     * @return immutable set of the parts returned by {@link Conjunction#getParts()}
+     */
+    private Set<Proposition> getPartSet() {
+        Set<Proposition> set = partSet;
+        if (set == null) {
+            set = Set.copyOf(getParts());
+            partSet = set;
+        }
+        return set;
+    }
+
     @Override
     public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
         if (obj == null)
             return false;
 
         if (getClass() != obj.getClass())
             return false;
 
-        Conjunction other = (Conjunction) obj;
-        return getParts().containsAll(other.getParts()) && other.getParts().containsAll(getParts());
+        AbstractConjunction other = (AbstractConjunction) obj;
+        return hashCode() == other.hashCode() && getPartSet().equals(other.getPartSet());
     }
 
     @Override
     public int hashCode() {
-        return parts.hashCode();
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = getPartSet().hashCode();
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    private static class ModelCost {
+        private final CostModel costModel;
+        private final long cost;
+
+        private ModelCost(CostModel costModel, long cost) {
+            this.costModel = costModel;
+            this.cost = cost;
+        }
     }
 }
@@ -1,13 +1,12 @@
 package zkstrata.domain.conjunctions;
 
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeLine;
+import zkstrata.domain.EvaluationPaths;
 import zkstrata.domain.Proposition;
-import zkstrata.domain.gadgets.Gadget;
 import zkstrata.domain.visitor.AstElement;
 import zkstrata.optimizer.Substitution;
 import zkstrata.optimizer.TrueProposition;
 import zkstrata.parser.ast.connectives.And;
-import zkstrata.utils.CombinatoricsUtils;
 
 import java.util.Collection;
 import java.util.List;
@@ -18,7 +17,9 @@ import java.util.stream.Collectors;
 @AstElement(And.class)
 public class AndConjunction extends AbstractConjunction {
     public AndConjunction(List<Proposition> parts) {
-        super(parts);
+        super(parts.stream()
+                .filter(Predicate.not(Proposition::isTrueProposition))
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -51,18 +52,6 @@ public class AndConjunction extends AbstractConjunction {
         return Optional.empty();
     }
 
-    @Override
-    public List<Proposition> getParts() {
-        return super.getParts().stream()
-                .filter(Predicate.not(Proposition::isTrueProposition))
-                .collect(Collectors.toList());
-    }
-
-    @Override
-    public int getCostEstimate() {
-        return getParts().stream().mapToInt(Proposition::getCostEstimate).sum();
-    }
-
     /**
      * Returns the cartesian product of the logical evaluation paths of its parts.
      * <p>
@@ -80,16 +69,10 @@ public class AndConjunction extends AbstractConjunction {
      * Which is the cartesian product of the evaluation paths returned by the parts ({@link Proposition#getEvaluationPaths()}).
      */
     @Override
-    public List<List<Gadget>> getEvaluationPaths() {
-        return CombinatoricsUtils.computeCartesianProduct(
-                getParts().stream()
-                        .map(Proposition::getEvaluationPaths)
-                        .collect(Collectors.toList())
-        ).stream()
-                .map(evaluationPath -> evaluationPath.stream()
-                        .flatMap(Collection::stream)
-                        .collect(Collectors.toList()))
-                .collect(Collectors.toList());
+    public EvaluationPaths getEvaluationPaths() {
+        return EvaluationPaths.product(getParts().stream()
+                .map(Proposition::getEvaluationPaths)
+                .collect(Collectors.toList()));
     }
 
     @Override
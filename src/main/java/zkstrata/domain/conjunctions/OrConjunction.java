@@ -1,6 +1,7 @@
 package zkstrata.domain.conjunctions;
 
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeLine;
+import zkstrata.domain.EvaluationPaths;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.gadgets.Gadget;
 import zkstrata.domain.visitor.AstElement;
@@ -88,11 +89,6 @@ public class OrConjunction extends AbstractConjunction {
         return Optional.empty();
     }
 
-    @Override
-    public int getCostEstimate() {
-        return getParts().stream().mapToInt(Proposition::getCostEstimate).reduce(1, (a, b) -> a * b);
-    }
-
     /**
      * Returns the flattened combination of the logical evaluation paths of its parts.
      * <p>
@@ -110,11 +106,10 @@ public class OrConjunction extends AbstractConjunction {
      * Which is the flattened combination of the evaluation paths returned by the parts ({@link Proposition#getEvaluationPaths()}).
      */
     @Override
-    public List<List<Gadget>> getEvaluationPaths() {
-        return getParts().stream()
+    public EvaluationPaths getEvaluationPaths() {
+        return EvaluationPaths.concatenation(getParts().stream()
                 .map(Proposition::getEvaluationPaths)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -1,12 +1,16 @@
 package zkstrata.domain.data.accessors;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.Value;
+import zkstrata.domain.data.types.ValueSet;
 import zkstrata.domain.data.types.custom.HexLiteral;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
@@ -16,6 +20,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * Accessor of a JSON document. The document is parsed on the first access of a single value, collections accessed as
+ * {@link ValueSet} are streamed from the file instead (see {@link JsonAccessor#getValueSet(Selector, Class)}).
+ */
 public class JsonAccessor implements ValueAccessor {
     private String filename;
     private JSONObject jsonObject;
@@ -23,11 +31,20 @@ public class JsonAccessor implements ValueAccessor {
     public JsonAccessor(String filename) {
         this.filename = filename;
 
-        try {
-            this.jsonObject = new JSONObject(Files.readString(Path.of(filename), StandardCharsets.UTF_8));
-        } catch (IOException e) {
+        if (!Files.isReadable(Path.of(filename)))
             throw new IllegalArgumentException(String.format("Unable to read file %s.", filename));
+    }
+
+    private JSONObject getJsonObject() {
+        if (jsonObject == null) {
+            try {
+                this.jsonObject = new JSONObject(Files.readString(Path.of(filename), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new IllegalArgumentException(String.format("Unable to read file %s.", filename));
+            }
         }
+
+        return jsonObject;
     }
 
     public Set<String> getKeySet(List<String> selectors) {
@@ -40,7 +57,7 @@ public class JsonAccessor implements ValueAccessor {
     }
 
     public Object getObject(List<String> selectors) {
-        Object object = this.jsonObject;
+        Object object = getJsonObject();
         for (String key : selectors) {
             if (object instanceof JSONObject) {
                 if (((JSONObject) object).has(key)) {
@@ -80,6 +97,106 @@ public class JsonAccessor implements ValueAccessor {
         return new Literal(object);
     }
 
+    /**
+     * Returns the values of the array associated with the provided {@code selector} as {@link ValueSet}. The file is
+     * streamed up to the end of the array, so neither the array nor the rest of the document are held in memory.
+     */
+    @Override
+    public ValueSet getValueSet(Selector selector, Class<?> type) {
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(filename), StandardCharsets.UTF_8)) {
+            JSONTokener tokener = new JSONTokener(reader);
+            for (String key : selector.getSelectors())
+                if (!seekKey(tokener, key))
+                    return null;
+
+            if (tokener.nextClean() != '[')
+                return null;
+
+            ValueSet.Builder builder = new ValueSet.Builder(type);
+            if (tokener.nextClean() != ']') {
+                tokener.back();
+                do {
+                    builder.add(tokener.nextValue());
+                } while (nextSeparator(tokener, ']'));
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Unable to read file %s.", filename));
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(String.format("Invalid JSON document %s: %s", filename, e.getMessage()));
+        }
+    }
+
+    /**
+     * Advances the given {@code tokener} from the start of an object to the value of the given {@code key}, skipping
+     * the values of all other keys.
+     *
+     * @return {@code true} if the tokener is positioned at the value of {@code key}, {@code false} if the next value is
+     * no object or does not contain {@code key}
+     */
+    private static boolean seekKey(JSONTokener tokener, String key) {
+        if (tokener.nextClean() != '{')
+            return false;
+
+        if (tokener.nextClean() == '}')
+            return false;
+
+        tokener.back();
+        do {
+            String name = tokener.nextValue().toString();
+            if (tokener.nextClean() != ':')
+                throw tokener.syntaxError("Expected a ':' after a key");
+
+            if (name.equals(key))
+                return true;
+
+            skipValue(tokener);
+        } while (nextSeparator(tokener, '}'));
+
+        return false;
+    }
+
+    /**
+     * Consumes the next value of the given {@code tokener} without creating objects or arrays.
+     */
+    private static void skipValue(JSONTokener tokener) {
+        char next = tokener.nextClean();
+        if (next != '{' && next != '[') {
+            tokener.back();
+            tokener.nextValue();
+            return;
+        }
+
+        int depth = 1;
+        while (depth > 0) {
+            next = tokener.nextClean();
+            if (next == 0)
+                throw tokener.syntaxError("Unterminated object or array");
+            else if (next == '"' || next == '\'')
+                tokener.nextString(next);
+            else if (next == '{' || next == '[')
+                depth++;
+            else if (next == '}' || next == ']')
+                depth--;
+        }
+    }
+
+    /**
+     * Consumes the separator following an element of an object or array.
+     *
+     * @return {@code true} if another element follows, {@code false} if the given {@code end} was consumed
+     */
+    private static boolean nextSeparator(JSONTokener tokener, char end) {
+        char next = tokener.nextClean();
+        if (next == ',')
+            return true;
+
+        if (next == end)
+            return false;
+
+        throw tokener.syntaxError(String.format("Expected a ',' or '%s'", end));
+    }
+
     @Override
     public String getSource() {
         return filename;
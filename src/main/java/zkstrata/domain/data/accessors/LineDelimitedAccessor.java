@@ -0,0 +1,69 @@
+package zkstrata.domain.data.accessors;
+
+import zkstrata.domain.data.Selector;
+import zkstrata.domain.data.types.Value;
+import zkstrata.domain.data.types.ValueSet;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Accessor of a file containing one value per line (e.g. a list of identifiers), which is accessible as the collection
+ * {@link LineDelimitedAccessor#VALUES}. Blank lines are ignored.
+ * <p>
+ * The file is streamed into a {@link ValueSet} on access, so it is never held in memory as a whole.
+ */
+public class LineDelimitedAccessor implements ValueAccessor {
+    public static final String VALUES = "values";
+
+    private String filename;
+
+    public LineDelimitedAccessor(String filename) {
+        this.filename = filename;
+
+        if (!Files.isReadable(Path.of(filename)))
+            throw new IllegalArgumentException(String.format("Unable to read file %s.", filename));
+    }
+
+    @Override
+    public Value getValue(Selector selector) {
+        return null;
+    }
+
+    @Override
+    public ValueSet getValueSet(Selector selector, Class<?> type) {
+        if (!selector.equals(new Selector(VALUES)))
+            return null;
+
+        ValueSet.Builder builder = new ValueSet.Builder(type);
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(filename), StandardCharsets.UTF_8)) {
+            int number = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.strip();
+                if (line.isEmpty())
+                    continue;
+
+                try {
+                    builder.addText(line);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(String.format("%s (%s, line %d)",
+                            e.getMessage(), filename, number));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Unable to read file %s.", filename));
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public String getSource() {
+        return filename;
+    }
+}
@@ -2,6 +2,7 @@ package zkstrata.domain.data.accessors;
 
 import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.types.Value;
+import zkstrata.domain.data.types.ValueSet;
 
 public interface ValueAccessor {
     /**
@@ -12,6 +13,19 @@ public interface ValueAccessor {
      */
     Value getValue(Selector selector);
 
+    /**
+     * Returns the values of the collection associated with the provided {@code selector} as {@link ValueSet}.
+     *
+     * @param selector {@link Selector} to access a collection for
+     * @param type     type of the values of the collection
+     * @return {@link ValueSet} of the values associated with {@code selector} or {@code null} if no collection is
+     * associated with it
+     * @throws IllegalArgumentException if a value of the collection is not of the given {@code type}
+     */
+    default ValueSet getValueSet(Selector selector, Class<?> type) {
+        return null;
+    }
+
     /**
      * Returns the information of origin of the values of this accessor as string (e.g. a filename).
      *
@@ -16,6 +16,8 @@ import java.util.*;
 public class JsonSchema extends AbstractSchema {
     private static final String PROPERTIES = "properties";
     private static final String TYPE = "type";
+    private static final String ARRAY = "array";
+    private static final String ITEMS = "items";
     private static final String MAXIMUM = "maximum";
     private static final String MINIMUM = "minimum";
 
@@ -27,11 +29,21 @@ public class JsonSchema extends AbstractSchema {
         this.accessor = new JsonAccessor(filename);
     }
 
+    /**
+     * Returns the type of the property referenced by the given {@code selector}. For arrays, this is the type of their
+     * items, which must be restricted to exactly one primitive type as well.
+     *
+     * @param selector selector as reference to the property
+     * @return class object that represents the type of the referenced property (or of its items)
+     */
     @Override
     public Class<?> getType(Selector selector) {
         List<String> selectors = selector.getSelectors();
         String typeString = getTypeDefinition(selectors);
 
+        if (typeString.equals(ARRAY))
+            typeString = getItemsTypeDefinition(selectors);
+
         try {
             Class<?> type = JSONType.valueOf(typeString.toUpperCase()).getType();
 
@@ -67,6 +79,22 @@ public class JsonSchema extends AbstractSchema {
         return typeString.toString();
     }
 
+    private String getItemsTypeDefinition(List<String> selectors) {
+        List<String> typeSelector = constructPropertySelector(selectors);
+        typeSelector.add(ITEMS);
+        typeSelector.add(TYPE);
+
+        Value typeString = accessor.getValue(new Selector(typeSelector));
+        if (typeString == null || typeString.getType() != String.class || typeString.toString().equals(ARRAY)) {
+            String msg = String.format("Invalid items of array `%s` in schema %s. "
+                            + "The items of an array must be restricted to exactly one primitive type.",
+                    String.join(".", selectors), accessor.getSource());
+            throw new IllegalArgumentException(msg);
+        }
+
+        return typeString.toString();
+    }
+
     /**
      * Constructs a list of strings that can be used to access a property within a JSON Schema.
      * <p>
@@ -5,6 +5,8 @@ import zkstrata.domain.data.schemas.Schema;
 import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.Reference;
+import zkstrata.domain.data.types.ValueSet;
+import zkstrata.domain.data.types.wrapper.InstanceSet;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.exceptions.Position;
@@ -30,4 +32,35 @@ public class Instance extends AbstractStructuredData<InstanceVariable> {
         Literal value = (Literal) resolve(getSchema(), selector);
         return new InstanceVariable(value, new Reference(value.getType(), getAlias(), selector), position);
     }
+
+    /**
+     * Returns the collection referenced by the given {@code selector} as {@link InstanceSet}, whose type of elements is
+     * the type declared by the schema.
+     *
+     * @param selector {@link Selector} of the collection
+     * @param position position of the reference to the collection
+     * @return {@link InstanceSet} of the values of the collection
+     */
+    public InstanceSet getSet(Selector selector, Position.Absolute position) {
+        if (getAccessor() == null)
+            throw new CompileTimeException(String.format("Missing instance data for `%s`.", getAlias()), position);
+
+        Class<?> type = getSchema().getType(selector);
+        ValueSet values;
+        try {
+            values = getAccessor().getValueSet(selector, type);
+        } catch (IllegalArgumentException e) {
+            String msg = String.format("The provided data for subject `%s` does not match the schema `%s`: %s",
+                    getAlias(), getSchema().getSource(), e.getMessage());
+            throw new IllegalArgumentException(msg);
+        }
+
+        if (values == null) {
+            String msg = String.format("The provided data for subject `%s` does not match the schema `%s`: "
+                    + "Missing collection `%s`.", getAlias(), getSchema().getSource(), selector);
+            throw new IllegalArgumentException(msg);
+        }
+
+        return new InstanceSet(values, new Reference(type, getAlias(), selector), position);
+    }
 }
@@ -3,10 +3,12 @@ package zkstrata.domain.data.types;
 import zkstrata.utils.HexEncoder;
 
 public class Literal implements Value {
-    private Object value;
+    private final Object value;
+    private final int hashCode;
 
     public Literal(Object value) {
         this.value = value;
+        this.hashCode = value.hashCode();
     }
 
     public Object getValue() {
@@ -25,18 +27,22 @@ public class Literal implements Value {
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return hashCode;
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
         if (obj == null)
             return false;
 
         if (getClass() != obj.getClass())
             return false;
 
-        return value.equals(((Literal) obj).getValue());
+        Literal other = (Literal) obj;
+        return hashCode == other.hashCode && value.equals(other.getValue());
     }
 
     @Override
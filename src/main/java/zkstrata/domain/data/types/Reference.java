@@ -6,14 +6,17 @@ import zkstrata.exceptions.InternalCompilerException;
 import java.util.Objects;
 
 public class Reference implements Value {
-    private Class<?> type;
-    private String subject;
-    private Selector selector;
+    private final Class<?> type;
+    private final String subject;
+    private final Selector selector;
+    private final int hashCode;
 
     public Reference(Class<?> type, String subject, Selector selector) {
         this.type = type;
         this.subject = subject;
         this.selector = selector;
+        // hash the name of the type, as the hash code of a class differs between runs (it orders the substitutes)
+        this.hashCode = Objects.hash(type.getName(), subject, selector);
     }
 
     @Override
@@ -41,6 +44,9 @@ public class Reference implements Value {
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
         if (obj == null)
             return false;
 
@@ -48,13 +54,14 @@ public class Reference implements Value {
             return false;
 
         Reference ref = (Reference) obj;
-        return getType().equals(ref.getType())
+        return hashCode == ref.hashCode
+                && getType().equals(ref.getType())
                 && getSubject().equals(ref.getSubject())
                 && getSelector().equals(ref.getSelector());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, subject, selector);
+        return hashCode;
     }
 }
@@ -0,0 +1,284 @@
+package zkstrata.domain.data.types;
+
+import zkstrata.domain.data.types.custom.HexLiteral;
+import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.utils.Constants;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of literal values of one type, stored sorted and deduplicated in a compact representation, so large
+ * sets of instance data (e.g. loaded from a file) neither require an object per value nor a linear scan to look up a
+ * value.
+ * <p>
+ * Numbers (unsigned 64 bit integers, see {@link zkstrata.analysis.TypeConstraintsChecker}) are stored as primitive
+ * {@code long} with the sign bit flipped, so their signed order is their numeric order. All other values are stored in
+ * their natural order.
+ * <p>
+ * Sets are compared by a SHA-256 digest of their values computed when building the set, so comparing (e.g. when
+ * looking up memoized substitutions) never iterates the values.
+ */
+public class ValueSet {
+    private final Class<?> type;
+    private final long[] numbers;
+    private final Object[] values;
+    private final int hashCode;
+    private final byte[] digest;
+
+    private ValueSet(Class<?> type, long[] numbers, Object[] values, int hashCode) {
+        this.type = type;
+        this.numbers = numbers;
+        this.values = values;
+        this.hashCode = hashCode;
+        this.digest = digest(numbers, values);
+    }
+
+    private static long encode(BigInteger number) {
+        return number.longValue() ^ Long.MIN_VALUE;
+    }
+
+    private static BigInteger decode(long key) {
+        long bits = key ^ Long.MIN_VALUE;
+        BigInteger number = BigInteger.valueOf(bits & Long.MAX_VALUE);
+        return bits < 0 ? number.setBit(Long.SIZE - 1) : number;
+    }
+
+    /**
+     * Computes the SHA-256 digest of the given sorted values, each value prefixed by its length in bytes.
+     */
+    private static byte[] digest(long[] numbers, Object[] values) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalCompilerException("Missing SHA-256 implementation to digest a set of values.");
+        }
+
+        if (numbers != null) {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+            for (long number : numbers)
+                digest.update(buffer.putLong(0, number).array());
+            return digest.digest();
+        }
+
+        for (Object value : values) {
+            byte[] bytes;
+            if (value instanceof BigInteger)
+                bytes = ((BigInteger) value).toByteArray();
+            else if (value instanceof Boolean)
+                bytes = new byte[]{(byte) ((Boolean) value ? 1 : 0)};
+            else
+                bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Returns the type of the values of this set (the type of the {@link Literal} returned by
+     * {@link ValueSet#get(int)}).
+     *
+     * @return type of the values
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    public int size() {
+        return numbers != null ? numbers.length : values.length;
+    }
+
+    /**
+     * Checks whether the given {@code literal} is contained in this set using a binary search.
+     *
+     * @param literal {@link Literal} to look up
+     * @return {@code true} if the value of {@code literal} is contained in this set
+     */
+    public boolean contains(Literal literal) {
+        if (literal.getType() != type)
+            return false;
+
+        if (numbers != null)
+            return Arrays.binarySearch(numbers, encode((BigInteger) literal.getValue())) >= 0;
+
+        return Arrays.binarySearch(values, literal.getValue()) >= 0;
+    }
+
+    /**
+     * Returns the value at the given {@code index} in ascending order.
+     *
+     * @param index index of the value
+     * @return {@link Literal} of the value
+     */
+    public Literal get(int index) {
+        if (numbers != null)
+            return new Literal(decode(numbers[index]));
+
+        if (type == HexLiteral.class)
+            return new HexLiteral((BigInteger) values[index]);
+
+        return new Literal(values[index]);
+    }
+
+    /**
+     * Returns the sum of the hash codes of the values, which is the hash code of a {@link java.util.Set} of their
+     * {@link Literal} (or of the variables holding them).
+     *
+     * @return hash code of this set
+     */
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
+        if (obj == null)
+            return false;
+
+        if (getClass() != obj.getClass())
+            return false;
+
+        ValueSet other = (ValueSet) obj;
+        return type == other.type
+                && hashCode == other.hashCode
+                && Arrays.equals(digest, other.digest);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d]", type.getSimpleName(), size());
+    }
+
+    /**
+     * Collects the values of a {@link ValueSet} one by one, e.g. while streaming a file, converting them to the
+     * expected type. Duplicates are removed when building the set.
+     */
+    public static class Builder {
+        private final Class<?> type;
+        private long[] numbers = new long[16];
+        private List<Object> values = new ArrayList<>();
+        private int size;
+
+        /**
+         * @param type type of the values of the set ({@link BigInteger}, {@link HexLiteral}, {@link String} or
+         *             {@link Boolean})
+         */
+        public Builder(Class<?> type) {
+            if (type != BigInteger.class && type != HexLiteral.class && type != String.class && type != Boolean.class)
+                throw new IllegalArgumentException(String.format("Unsupported type of set: %s.", type.getSimpleName()));
+
+            this.type = type;
+        }
+
+        /**
+         * Adds a value as read from a JSON document ({@link Integer}, {@link Long}, {@link BigInteger},
+         * {@link String} or {@link Boolean}).
+         *
+         * @param value value to add
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if the value does not match the type of the set
+         */
+        public Builder add(Object value) {
+            if (value instanceof Integer || value instanceof Long)
+                value = BigInteger.valueOf(((Number) value).longValue());
+
+            if (value instanceof String && type == HexLiteral.class)
+                return addText((String) value);
+
+            if (type == HexLiteral.class || value.getClass() != type)
+                throw typeMismatch(value.getClass());
+
+            if (type == BigInteger.class)
+                return addNumber((BigInteger) value);
+
+            values.add(value);
+            return this;
+        }
+
+        /**
+         * Adds a value given as text (e.g. a line of a file), parsing it according to the type of the set.
+         *
+         * @param text textual representation of the value to add
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if the text does not represent a value of the type of the set
+         */
+        public Builder addText(String text) {
+            try {
+                if (type == BigInteger.class)
+                    return addNumber(new BigInteger(text));
+
+                if (type == HexLiteral.class)
+                    values.add(new BigInteger(text.replaceFirst("^0x", ""), 16));
+                else if (type == Boolean.class && (text.equals("true") || text.equals("false")))
+                    values.add(Boolean.valueOf(text));
+                else if (type == String.class)
+                    values.add(text);
+                else
+                    throw typeMismatch(String.class);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Invalid value `%s`, expected: %s.",
+                        text, type.getSimpleName()));
+            }
+
+            return this;
+        }
+
+        private Builder addNumber(BigInteger number) {
+            if (number.signum() < 0 || number.compareTo(Constants.UNSIGNED_64BIT_MAX) > 0)
+                throw new IllegalArgumentException(String.format("Invalid number %s. "
+                        + "Numbers must be unsigned and cannot exceed 64 bits.", number));
+
+            if (size == numbers.length)
+                numbers = Arrays.copyOf(numbers, size * 2);
+
+            numbers[size++] = encode(number);
+            return this;
+        }
+
+        private IllegalArgumentException typeMismatch(Class<?> found) {
+            return new IllegalArgumentException(String.format("Type mismatch. Found: %s, expected: %s.",
+                    found.getSimpleName(), type.getSimpleName()));
+        }
+
+        public ValueSet build() {
+            if (type == BigInteger.class) {
+                long[] sorted = Arrays.copyOf(numbers, size);
+                Arrays.sort(sorted);
+                int distinct = 0;
+                int hash = 0;
+                for (int i = 0; i < sorted.length; i++) {
+                    if (i == 0 || sorted[i] != sorted[distinct - 1]) {
+                        sorted[distinct++] = sorted[i];
+                        hash += decode(sorted[i]).hashCode();
+                    }
+                }
+                return new ValueSet(type, Arrays.copyOf(sorted, distinct), null, hash);
+            }
+
+            Object[] sorted = values.toArray();
+            Arrays.sort(sorted);
+            int distinct = 0;
+            int hash = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || !sorted[i].equals(sorted[distinct - 1])) {
+                    sorted[distinct++] = sorted[i];
+                    hash += sorted[i].hashCode();
+                }
+            }
+            return new ValueSet(type, null, Arrays.copyOf(sorted, distinct), hash);
+        }
+    }
+}
@@ -8,8 +8,8 @@ import zkstrata.exceptions.Position;
 import zkstrata.exceptions.AbstractTraceable;
 
 public abstract class AbstractVariable extends AbstractTraceable implements Variable {
-    private Value value;
-    private Reference reference;
+    private final Value value;
+    private final Reference reference;
 
     public AbstractVariable(Value value, Reference reference, Position.Absolute position) {
         super(position);
@@ -47,6 +47,9 @@ public abstract class AbstractVariable extends AbstractTraceable implements Vari
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
         if (obj == null)
             return false;
 
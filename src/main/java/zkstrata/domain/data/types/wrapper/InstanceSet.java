@@ -0,0 +1,99 @@
+package zkstrata.domain.data.types.wrapper;
+
+import zkstrata.domain.data.types.Reference;
+import zkstrata.domain.data.types.ValueSet;
+import zkstrata.exceptions.Position;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of {@link InstanceVariable} backed by a {@link ValueSet} of instance data (e.g. an array of a JSON document or
+ * a line-delimited file), referenced as a whole within a statement.
+ * <p>
+ * All elements share the {@link Reference} and the position of the set. They are only created when iterating the set,
+ * lookups ({@link InstanceSet#contains(Object)}) are answered by a binary search on the values. Two instance sets are
+ * compared by the digest of their values (see {@link ValueSet#equals(Object)}) and hashed by the precomputed hash code
+ * of their values, so neither iterates the set.
+ */
+public class InstanceSet extends AbstractSet<Variable> {
+    private final ValueSet values;
+    private final Reference reference;
+    private final Position.Absolute position;
+
+    public InstanceSet(ValueSet values, Reference reference, Position.Absolute position) {
+        this.values = values;
+        this.reference = reference;
+        this.position = position;
+    }
+
+    public ValueSet getValues() {
+        return values;
+    }
+
+    public Reference getReference() {
+        return reference;
+    }
+
+    public Position.Absolute getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the type of the elements of this set.
+     *
+     * @return type of the elements
+     */
+    public Class<?> getType() {
+        return values.getType();
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return object instanceof InstanceVariable && values.contains(((InstanceVariable) object).getValue());
+    }
+
+    @Override
+    public Iterator<Variable> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.size();
+            }
+
+            @Override
+            public Variable next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                return new InstanceVariable(values.get(index++), reference, position);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof InstanceSet)
+            return values.equals(((InstanceSet) object).getValues());
+
+        return super.equals(object);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%d]", reference, size());
+    }
+}
@@ -1,20 +1,27 @@
 package zkstrata.domain.gadgets;
 
+import zkstrata.domain.EvaluationPaths;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.data.types.Any;
 import zkstrata.domain.data.types.wrapper.Null;
 import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.optimizer.CostModel;
 import zkstrata.optimizer.Substitution;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static zkstrata.utils.ReflectionHelper.*;
 
 public abstract class AbstractGadget implements Gadget {
+    // hash codes of the variable positions and references, computed on first use (the gadget is initialized by then)
+    private Integer positionHashCode;
+    private Integer referenceHashCode;
+
     @Substitution(target = {Gadget.class, Gadget.class})
     public static Optional<Proposition> removeDuplicateGadget(Gadget first, Gadget second) {
         return first.equals(second) ? Optional.of(first) : Optional.empty();
@@ -88,38 +95,38 @@ public abstract class AbstractGadget implements Gadget {
     @Override
     public Map<String, Variable> getVariables() {
         Map<String, Variable> variables = new LinkedHashMap<>();
-
-        for (Field field : getTypeAnnotatedFields()) {
-            Object value = invokeGetter(this, field);
-            processValue(field.getName(), value, variables);
-        }
-
+        VariableAccessors.of(getClass()).forEachEntry(this, variables::put);
         return variables;
     }
 
-    private void processValue(String key, Object value, Map<String, Variable> variables) {
-        if (Collection.class.isAssignableFrom(value.getClass())) {
-            int index = 1;
-            for (Object element : ((Collection) value))
-                processValue(String.format("%s[%d]", key, index++), element, variables);
-        } else
-            variables.put(key, (Variable) value);
+    @Override
+    public void forEachVariable(Consumer<Variable> action) {
+        VariableAccessors.of(getClass()).forEachVariable(this, action);
     }
 
-    private Set<Field> getTypeAnnotatedFields() {
-        Set<Field> fields = new LinkedHashSet<>();
-        for (Field field : this.getClass().getDeclaredFields()) {
-            Type annotation = field.getAnnotation(Type.class);
+    @Override
+    public List<Gadget> listAllGadgets() {
+        return List.of(this);
+    }
 
-            if (annotation != null)
-                fields.add(field);
+    @Override
+    public int getPositionHashCode() {
+        Integer hash = positionHashCode;
+        if (hash == null) {
+            hash = Gadget.super.getPositionHashCode();
+            positionHashCode = hash;
         }
-        return fields;
+        return hash;
     }
 
     @Override
-    public List<Gadget> listAllGadgets() {
-        return new ArrayList<>(Arrays.asList((Gadget) this));
+    public int getReferenceHashCode() {
+        Integer hash = referenceHashCode;
+        if (hash == null) {
+            hash = Gadget.super.getReferenceHashCode();
+            referenceHashCode = hash;
+        }
+        return hash;
     }
 
     /**
@@ -129,6 +136,11 @@ public abstract class AbstractGadget implements Gadget {
     public void initialize() {
     }
 
+    @Override
+    public long getCostEstimate(CostModel costModel) {
+        return costModel.estimate(this);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName();
@@ -141,7 +153,7 @@ public abstract class AbstractGadget implements Gadget {
     public abstract int hashCode();
 
     @Override
-    public List<List<Gadget>> getEvaluationPaths() {
-        return Arrays.asList(Arrays.asList(this));
+    public EvaluationPaths getEvaluationPaths() {
+        return EvaluationPaths.of(List.of(this));
     }
 }
@@ -4,9 +4,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.TextStringBuilder;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
 import zkstrata.utils.GadgetUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface Gadget extends Proposition {
     /**
@@ -23,6 +27,39 @@ public interface Gadget extends Proposition {
      */
     Map<String, Variable> getVariables();
 
+    /**
+     * Performs the given {@code action} for each variable of this gadget, in the order of {@link Gadget#getVariables()}
+     * but without creating the map. A set of instance data ({@link zkstrata.domain.data.types.wrapper.InstanceSet}) is
+     * visited by one of its elements, as all of them share their reference and position.
+     *
+     * @param action action to perform for each {@link Variable} used by this gadget
+     */
+    void forEachVariable(Consumer<Variable> action);
+
+    /**
+     * Returns the witness variables used by this gadget, in the order of {@link Gadget#getVariables()}.
+     *
+     * @return list of {@link WitnessVariable} used by this gadget
+     */
+    default List<WitnessVariable> getWitnessVariables() {
+        List<WitnessVariable> witnesses = new ArrayList<>(2);
+        forEachVariable(variable -> {
+            if (variable instanceof WitnessVariable)
+                witnesses.add((WitnessVariable) variable);
+        });
+        return witnesses;
+    }
+
+    /**
+     * Returns the parameters the cost of this gadget depends on (e.g. the size of a set), as map of parameter names to
+     * values (see {@link zkstrata.optimizer.CalibratedCostModel}).
+     *
+     * @return map of parameter names to values, empty if the cost of this gadget is constant
+     */
+    default Map<String, Integer> getCostParameters() {
+        return Map.of();
+    }
+
     /**
      * Hook method that will be called after @Type annotated fields were wired.
      */
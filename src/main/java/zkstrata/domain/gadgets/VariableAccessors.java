@@ -0,0 +1,115 @@
+package zkstrata.domain.gadgets;
+
+import org.apache.commons.lang3.StringUtils;
+import zkstrata.domain.data.types.wrapper.InstanceSet;
+import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.exceptions.InternalCompilerException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Accessors of the {@link Type} annotated fields of a gadget class, bound once per class using the public getter
+ * methods of the fields (see {@link Gadget#getVariables()}).
+ */
+final class VariableAccessors {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<VariableAccessors> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected VariableAccessors computeValue(Class<?> type) {
+            return new VariableAccessors(type);
+        }
+    };
+
+    private final List<String> names = new ArrayList<>();
+    private final List<MethodHandle> getters = new ArrayList<>();
+
+    private VariableAccessors(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (field.getAnnotation(Type.class) == null)
+                continue;
+
+            String name = field.getName();
+            try {
+                MethodHandle getter = MethodHandles.publicLookup()
+                        .unreflect(type.getMethod("get" + StringUtils.capitalize(name)));
+                names.add(name);
+                getters.add(getter.asType(GETTER_TYPE));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new InternalCompilerException("Unable to call getter method for field %s in object of class %s. "
+                        + "Ensure the class defines public getter methods for all its fields.",
+                        name, type.getSimpleName());
+            }
+        }
+    }
+
+    static VariableAccessors of(Class<? extends Gadget> type) {
+        return ACCESSORS.get(type);
+    }
+
+    /**
+     * Performs the given {@code action} for each variable of the given {@code gadget} and its key (the field name, with
+     * the position appended for the elements of collections, e.g. {@code set[1]}).
+     *
+     * @param gadget {@link Gadget} to access the variables of
+     * @param action action to perform for each key and {@link Variable}
+     */
+    void forEachEntry(Gadget gadget, BiConsumer<String, Variable> action) {
+        for (int i = 0; i < getters.size(); i++)
+            visitEntry(names.get(i), get(i, gadget), action);
+    }
+
+    /**
+     * Performs the given {@code action} for each variable of the given {@code gadget}, in the same order as
+     * {@link VariableAccessors#forEachEntry(Gadget, BiConsumer)} but without creating the keys.
+     * <p>
+     * The elements of an {@link InstanceSet} share their reference and position, so an instance set is visited by its
+     * first element only instead of creating a variable for each of its values.
+     *
+     * @param gadget {@link Gadget} to access the variables of
+     * @param action action to perform for each {@link Variable}
+     */
+    void forEachVariable(Gadget gadget, Consumer<Variable> action) {
+        for (int i = 0; i < getters.size(); i++)
+            visitVariable(get(i, gadget), action);
+    }
+
+    private Object get(int index, Gadget gadget) {
+        try {
+            return getters.get(index).invokeExact((Object) gadget);
+        } catch (Throwable e) {
+            throw new InternalCompilerException("Unable to call getter method for field %s in object of class %s.",
+                    names.get(index), gadget.getClass().getSimpleName());
+        }
+    }
+
+    private static void visitEntry(String key, Object value, BiConsumer<String, Variable> action) {
+        if (value instanceof Collection) {
+            int index = 1;
+            for (Object element : (Collection<?>) value)
+                visitEntry(key + '[' + index++ + ']', element, action);
+        } else if (value != null) {
+            action.accept(key, (Variable) value);
+        }
+    }
+
+    private static void visitVariable(Object value, Consumer<Variable> action) {
+        if (value instanceof InstanceSet) {
+            InstanceSet set = (InstanceSet) value;
+            if (!set.isEmpty())
+                action.accept(set.iterator().next());
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value)
+                visitVariable(element, action);
+        } else if (value != null) {
+            action.accept((Variable) value);
+        }
+    }
+}
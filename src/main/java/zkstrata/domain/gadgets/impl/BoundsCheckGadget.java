@@ -2,8 +2,10 @@ package zkstrata.domain.gadgets.impl;
 
 import zkstrata.analysis.Contradiction;
 import zkstrata.analysis.Implication;
+import zkstrata.analysis.IntervalDomain;
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeLine;
 import zkstrata.domain.Proposition;
+import zkstrata.domain.conjunctions.OrConjunction;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.Null;
 import zkstrata.domain.data.types.wrapper.Variable;
@@ -25,8 +27,17 @@ import static zkstrata.domain.gadgets.impl.InequalityGadget.getDisparityToWitnes
 import static zkstrata.utils.GadgetUtils.*;
 
 public class BoundsCheckGadget extends AbstractGadget {
+    /**
+     * Maximum number of contiguous ranges a set of values is compressed to by {@link #compressToRanges}. Each further
+     * range adds a part to the {@link OrConjunction} of the resulting checks.
+     */
+    public static final int MAX_RANGES = 3;
+
     private static final BigInteger MIN_VALUE = BigInteger.ZERO;
     private static final BigInteger MAX_VALUE = Constants.UNSIGNED_64BIT_MAX;
+    // default bounds shared by all instances without explicit bounds
+    private static final InstanceVariable MIN = InstanceVariable.of(MIN_VALUE);
+    private static final InstanceVariable MAX = InstanceVariable.of(MAX_VALUE);
 
     @Type({BigInteger.class})
     private Variable value;
@@ -52,33 +63,6 @@ public class BoundsCheckGadget extends AbstractGadget {
         this(value, min, max, false);
     }
 
-    @Implication
-    public static Optional<Gadget> implyBounds(EqualityGadget eq, BoundsCheckGadget bc) {
-        if (isWitnessVariable(bc.getValue())) {
-            Optional<Variable> equal = getEqualityToWitness(eq, (WitnessVariable) bc.getValue());
-
-            if (equal.isPresent() && isWitnessVariable(equal.get()))
-                return Optional.of(new BoundsCheckGadget(equal.get(), bc.getMin(), bc.getMax()));
-        }
-
-        return Optional.empty();
-    }
-
-    @Implication
-    public static Optional<Gadget> implyRestrictedBounds(InequalityGadget iq, BoundsCheckGadget bc) {
-        if (isWitnessVariable(bc.getValue())) {
-            Optional<Variable> disparity = getDisparityToWitness(iq, (WitnessVariable) bc.getValue());
-
-            if (disparity.isPresent() && isVariableEqualToBigInteger(disparity.get(), bc.getMaxValue()))
-                return Optional.of(new BoundsCheckGadget(bc.getValue(), bc.getMin(), subtractOne(bc.getMax())));
-
-            if (disparity.isPresent() && isVariableEqualToBigInteger(disparity.get(), bc.getMinValue()))
-                return Optional.of(new BoundsCheckGadget(bc.getValue(), addOne(bc.getMin()), bc.getMax()));
-        }
-
-        return Optional.empty();
-    }
-
     @Implication
     public static Optional<Gadget> implyEquality(BoundsCheckGadget bc) {
         if (bc.getMaxValue().equals(bc.getMinValue())) {
@@ -88,17 +72,6 @@ public class BoundsCheckGadget extends AbstractGadget {
         return Optional.empty();
     }
 
-    @Contradiction
-    public static void checkTwoBoundsChecksContradiction(BoundsCheckGadget first, BoundsCheckGadget second) {
-        if (haveSameValue(first, second)) {
-            if (first.getMinValue().compareTo(second.getMaxValue()) > 0)
-                throw new CompileTimeException("Contradiction.", List.of(first.getMin(), second.getMax()));
-
-            if (first.getMaxValue().compareTo(second.getMinValue()) < 0)
-                throw new CompileTimeException("Contradiction.", List.of(first.getMax(), second.getMin()));
-        }
-    }
-
     @Contradiction
     public static void checkSelfBoundsContradiction(BoundsCheckGadget bc) {
         if (bc.getMinValue().compareTo(bc.getMaxValue()) > 0)
@@ -113,9 +86,9 @@ public class BoundsCheckGadget extends AbstractGadget {
             if (equal.isPresent() && isInstanceVariable(equal.get())) {
                 BigInteger value = (BigInteger) (((InstanceVariable) equal.get()).getValue()).getValue();
                 if (value.compareTo(bc.getMinValue()) < 0)
-                    throw new CompileTimeException("Contradiction.", List.of(eq.getRight(), bc.getMin()));
+                    throw new CompileTimeException("Contradiction.", List.of(equal.get(), bc.getMin()));
                 if (value.compareTo(bc.getMaxValue()) > 0)
-                    throw new CompileTimeException("Contradiction.", List.of(eq.getRight(), bc.getMax()));
+                    throw new CompileTimeException("Contradiction.", List.of(equal.get(), bc.getMax()));
             }
         }
     }
@@ -182,26 +155,175 @@ public class BoundsCheckGadget extends AbstractGadget {
         return Optional.empty();
     }
 
-    @Substitution(target = {BoundsCheckGadget.class}, context = {BoundsCheckGadget.class})
-    public static Optional<Proposition> removeLooseBounds(BoundsCheckGadget target, BoundsCheckGadget context) {
-        if (haveSameValue(target, context)
-                && target.getMinValue().compareTo(context.getMinValue()) <= 0
-                && target.getMaxValue().compareTo(context.getMaxValue()) >= 0)
-            return Optional.of(trueProposition());
+    /**
+     * Compresses an {@link OrConjunction} whose parts all check the same witness against instance values, either by an
+     * {@link EqualityGadget} (e.g. {@code x == 3 OR x == 4 OR x == 5}) or by a {@link BoundsCheckGadget}, into checks
+     * of the contiguous ranges they cover (e.g. {@code 3 <= x <= 5}).
+     * <p>
+     * Example: Input: x == 1 OR x == 2 OR 3 <= x <= 7 OR x == 9
+     * Output: 1 <= x <= 7 OR x == 9
+     *
+     * @param orConjunction {@link OrConjunction} to compress
+     * @return an {@link Optional} of the range checks if they have fewer parts than {@code orConjunction}
+     */
+    @Substitution(target = {OrConjunction.class})
+    public static Optional<Proposition> compressEqualityChain(OrConjunction orConjunction) {
+        Variable value = null;
+        List<InstanceVariable[]> ranges = new ArrayList<>();
+        for (Proposition part : orConjunction.getParts()) {
+            Variable checked;
+            InstanceVariable[] range;
+            if (part instanceof BoundsCheckGadget) {
+                BoundsCheckGadget bc = (BoundsCheckGadget) part;
+                checked = bc.getValue();
+                range = new InstanceVariable[]{bc.getMin(), bc.getMax()};
+            } else if (part instanceof EqualityGadget) {
+                EqualityGadget eq = (EqualityGadget) part;
+                checked = isWitnessVariable(eq.getLeft()) ? eq.getLeft() : eq.getRight();
+                Variable bound = checked == eq.getLeft() ? eq.getRight() : eq.getLeft();
+                if (!isInstanceVariable(bound) || !isOfTypeBigInteger(bound))
+                    return Optional.empty();
+                range = new InstanceVariable[]{(InstanceVariable) bound, (InstanceVariable) bound};
+            } else
+                return Optional.empty();
+
+            if (!isWitnessVariable(checked) || (value != null && !value.equals(checked)))
+                return Optional.empty();
+
+            value = checked;
+            ranges.add(range);
+        }
 
-        return Optional.empty();
+        ranges.sort(Comparator.comparing(range -> getNumber(range[0])));
+        Optional<List<InstanceVariable[]>> merged = mergeContiguousRanges(ranges.iterator(), ranges.size() - 1);
+        if (value == null || merged.isEmpty())
+            return Optional.empty();
+
+        return Optional.of(createRangeChecks(value, merged.get()));
     }
 
-    @Substitution(target = {BoundsCheckGadget.class, BoundsCheckGadget.class})
-    public static Optional<Proposition> mergeBounds(BoundsCheckGadget first, BoundsCheckGadget second) {
-        if (haveSameValue(first, second)) {
-            InstanceVariable upperBound = getUpperBound(first, second);
-            InstanceVariable lowerBound = getLowerBound(first, second);
+    /**
+     * Compresses the claim that {@code value} equals one of the given instance {@code values} into checks of the
+     * contiguous ranges they form: a single {@link BoundsCheckGadget} (or {@link EqualityGadget} for a range of one
+     * value) if they form one range, an {@link OrConjunction} of up to {@code limit} checks otherwise.
+     * <p>
+     * Example: Input: x in (3, 4, 5, 6, 10)
+     * Output: 3 <= x <= 6 OR x == 10
+     *
+     * @param value  {@link Variable} to check
+     * @param values instance variables of type {@link BigInteger} in ascending order
+     * @param limit  maximum number of ranges (at most {@link #MAX_RANGES})
+     * @return an {@link Optional} of the range checks if the values form at most {@code limit} ranges
+     */
+    public static Optional<Proposition> compressToRanges(Variable value, Iterable<Variable> values, int limit) {
+        Iterator<Variable> iterator = values.iterator();
+        Iterator<InstanceVariable[]> ranges = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InstanceVariable[] next() {
+                InstanceVariable element = (InstanceVariable) iterator.next();
+                return new InstanceVariable[]{element, element};
+            }
+        };
 
-            return Optional.of(new BoundsCheckGadget(first.getValue(), lowerBound, upperBound));
+        return mergeContiguousRanges(ranges, limit).map(merged -> createRangeChecks(value, merged));
+    }
+
+    /**
+     * Merges the given ranges of instance values (pairs of lower and upper bound, ordered by their lower bound) that
+     * overlap or are adjacent. Stops as soon as there are more than {@code limit} merged ranges.
+     *
+     * @param ranges ranges ordered by their lower bound
+     * @param limit  maximum number of merged ranges
+     * @return an {@link Optional} of the merged ranges, empty if there are more than {@code limit}
+     */
+    private static Optional<List<InstanceVariable[]>> mergeContiguousRanges(Iterator<InstanceVariable[]> ranges,
+                                                                           int limit) {
+        List<InstanceVariable[]> merged = new ArrayList<>();
+        InstanceVariable[] current = null;
+        while (ranges.hasNext()) {
+            InstanceVariable[] range = ranges.next();
+            if (current != null && getNumber(range[0]).compareTo(getNumber(current[1]).add(BigInteger.ONE)) <= 0) {
+                if (getNumber(range[1]).compareTo(getNumber(current[1])) > 0)
+                    current[1] = range[1];
+            } else {
+                if (merged.size() == limit)
+                    return Optional.empty();
+
+                current = new InstanceVariable[]{range[0], range[1]};
+                merged.add(current);
+            }
         }
+        return Optional.of(merged);
+    }
 
-        return Optional.empty();
+    private static Proposition createRangeChecks(Variable value, List<InstanceVariable[]> ranges) {
+        List<Proposition> checks = new ArrayList<>(ranges.size());
+        for (InstanceVariable[] range : ranges) {
+            if (getNumber(range[0]).equals(getNumber(range[1])))
+                checks.add(new EqualityGadget(value, range[0]));
+            else
+                checks.add(new BoundsCheckGadget(value, range[0], range[1]));
+        }
+
+        return checks.size() == 1 ? checks.get(0) : new OrConjunction(checks);
+    }
+
+    private static BigInteger getNumber(InstanceVariable variable) {
+        return (BigInteger) variable.getValue().getValue();
+    }
+
+    /**
+     * Merges all {@link BoundsCheckGadget} objects among the given {@code propositions} that check the same value into
+     * a single bounds check with the tightest bounds. The merged bounds check takes the place of the first bounds check
+     * on its value.
+     *
+     * @param propositions list of {@link Proposition} (logical group) to merge the bounds checks of
+     * @return list of {@link Proposition} containing at most one bounds check per value
+     */
+    public static List<Proposition> mergeAllBounds(List<Proposition> propositions) {
+        Map<Variable, BoundsCheckGadget> merged = new HashMap<>();
+        for (Proposition proposition : propositions)
+            if (proposition instanceof BoundsCheckGadget)
+                merged.merge(((BoundsCheckGadget) proposition).getValue(), (BoundsCheckGadget) proposition,
+                        BoundsCheckGadget::mergeBounds);
+
+        List<Proposition> result = new ArrayList<>(propositions.size());
+        for (Proposition proposition : propositions) {
+            if (proposition instanceof BoundsCheckGadget) {
+                BoundsCheckGadget bc = merged.remove(((BoundsCheckGadget) proposition).getValue());
+                if (bc != null)
+                    result.add(bc);
+            } else
+                result.add(proposition);
+        }
+        return result;
+    }
+
+    private static BoundsCheckGadget mergeBounds(BoundsCheckGadget first, BoundsCheckGadget second) {
+        return new BoundsCheckGadget(first.getValue(), getLowerBound(first, second), getUpperBound(first, second));
+    }
+
+    /**
+     * Checks whether the given bounds check is implied by the interval of its value in the given {@code domain}, which
+     * covers the bounds checks, equalities and inequalities to instance variables and the less-than relations the
+     * domain was computed from.
+     *
+     * @param bc     {@link BoundsCheckGadget} to check
+     * @param domain {@link IntervalDomain} of the known constraints
+     * @return true if {@code bc} is known to hold, false otherwise
+     */
+    public static boolean isImplied(BoundsCheckGadget bc, IntervalDomain domain) {
+        Optional<IntervalDomain.Interval> interval = domain.getInterval(bc.getValue());
+        if (interval.isEmpty() || interval.get().getMin() == null || interval.get().getMax() == null)
+            return false;
+
+        return interval.get().getMin().compareTo(bc.getMinValue()) >= 0
+                && interval.get().getMax().compareTo(bc.getMaxValue()) <= 0;
     }
 
     public static boolean isContainedInBounds(Variable variable, BoundsCheckGadget bc) {
@@ -240,6 +362,9 @@ public class BoundsCheckGadget extends AbstractGadget {
 
     @Override
     public boolean equals(Object object) {
+        if (this == object)
+            return true;
+
         if (object == null)
             return false;
 
@@ -263,15 +388,10 @@ public class BoundsCheckGadget extends AbstractGadget {
         }
 
         if (this.min == null)
-            this.min = InstanceVariable.of(MIN_VALUE);
+            this.min = MIN;
 
         if (this.max == null)
-            this.max = InstanceVariable.of(MAX_VALUE);
-    }
-
-    @Override
-    public int getCostEstimate() {
-        return Constants.BOUNDS_CHECK_COST_ESTIMATE;
+            this.max = MAX;
     }
 
     @Override
@@ -1,7 +1,6 @@
 package zkstrata.domain.gadgets.impl;
 
 import zkstrata.analysis.Contradiction;
-import zkstrata.analysis.Implication;
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeLine;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.data.types.Any;
@@ -12,12 +11,10 @@ import zkstrata.domain.visitor.AstElement;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.optimizer.Substitution;
 import zkstrata.parser.ast.predicates.Equality;
-import zkstrata.utils.Constants;
 
 import java.util.*;
 
 import static java.lang.String.format;
-import static zkstrata.utils.CombinatoricsUtils.getParity;
 import static zkstrata.utils.GadgetUtils.*;
 
 @AstElement(Equality.class)
@@ -38,15 +35,6 @@ public class EqualityGadget extends AbstractGadget {
         this.initialize();
     }
 
-    @Implication
-    public static Optional<Gadget> implyEquality(EqualityGadget eq1, EqualityGadget eq2) {
-        List<Variable> parity = getParity(eq1.getLeft(), eq1.getRight(), eq2.getLeft(), eq2.getRight());
-        if (new HashSet<>(parity).size() == 2)
-            return Optional.of(new EqualityGadget(parity.get(0), parity.get(1)));
-
-        return Optional.empty();
-    }
-
     @Contradiction
     public static void checkContradiction(EqualityGadget eq) {
         if (isInstanceVariable(eq.getLeft()) && isInstanceVariable(eq.getRight())
@@ -92,13 +80,11 @@ public class EqualityGadget extends AbstractGadget {
                     left.getType().getSimpleName(), right.getType().getSimpleName()), List.of(left, right));
     }
 
-    @Override
-    public int getCostEstimate() {
-        return Constants.EQUALITY_COST_ESTIMATE;
-    }
-
     @Override
     public boolean equals(Object object) {
+        if (this == object)
+            return true;
+
         if (object == null)
             return false;
 
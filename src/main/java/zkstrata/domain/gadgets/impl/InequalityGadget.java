@@ -12,7 +12,6 @@ import zkstrata.domain.gadgets.Type;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.optimizer.Substitution;
 import zkstrata.parser.ast.predicates.Inequality;
-import zkstrata.utils.Constants;
 
 import java.util.*;
 
@@ -43,14 +42,6 @@ public class InequalityGadget extends AbstractGadget {
             throw new CompileTimeException("Contradiction.", List.of(iq.getLeft(), iq.getRight()));
     }
 
-    @Contradiction
-    public static void checkEqualityContradiction(EqualityGadget eq, InequalityGadget iq) {
-        if (eq.getLeft().equals(iq.getRight()) && eq.getRight().equals(iq.getLeft())
-                || eq.getLeft().equals(iq.getLeft()) && eq.getRight().equals(iq.getRight()))
-            throw new CompileTimeException("Contradiction.",
-                    List.of(eq.getLeft(), eq.getRight(), iq.getLeft(), iq.getRight()));
-    }
-
     @Substitution(target = {InequalityGadget.class})
     public static Optional<Proposition> removeInstanceUnequalsInstance(InequalityGadget iq) {
         if (isInstanceVariable(iq.getLeft()) && isInstanceVariable(iq.getRight())
@@ -89,13 +80,11 @@ public class InequalityGadget extends AbstractGadget {
             throw new CompileTimeException("Type mismatch.", List.of(this.left, this.right));
     }
 
-    @Override
-    public int getCostEstimate() {
-        return Constants.INEQUALITY_COST_ESTIMATE;
-    }
-
     @Override
     public boolean equals(Object object) {
+        if (this == object)
+            return true;
+
         if (object == null)
             return false;
 
@@ -19,11 +19,16 @@ import static zkstrata.utils.GadgetUtils.isInstanceVariable;
 
 @AstElement(MerkleTree.class)
 public class MerkleTreeGadget extends AbstractGadget {
+    public static final String LEAVES = "leaves";
+
     @Type({HexLiteral.class})
     private Variable root;
 
     private BinaryTree<Variable> tree;
 
+    // hash of the (immutable) root and tree, computed on first use as it requires a traversal of the whole tree
+    private int hashCode;
+
     public MerkleTreeGadget() {
     }
 
@@ -48,13 +53,11 @@ public class MerkleTreeGadget extends AbstractGadget {
         }
     }
 
-    @Override
-    public int getCostEstimate() {
-        return Constants.MIMC_HASH_COST_ESTIMATE * (2 * tree.getRoot().countLeaves() - 1);
-    }
-
     @Override
     public boolean equals(Object object) {
+        if (this == object)
+            return true;
+
         if (object == null)
             return false;
 
@@ -62,12 +65,22 @@ public class MerkleTreeGadget extends AbstractGadget {
             return false;
 
         MerkleTreeGadget other = (MerkleTreeGadget) object;
-        return getRoot().equals(other.getRoot()) && getTree().equals(other.getTree());
+        return hashCode() == other.hashCode() && getRoot().equals(other.getRoot()) && getTree().equals(other.getTree());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getRoot(), getTree());
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = Objects.hash(getRoot(), getTree());
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public Map<String, Integer> getCostParameters() {
+        return Map.of(LEAVES, tree.getRoot().countLeaves());
     }
 
     @Override
@@ -66,13 +66,11 @@ public class MiMCHashGadget extends AbstractGadget {
         }
     }
 
-    @Override
-    public int getCostEstimate() {
-        return Constants.MIMC_HASH_COST_ESTIMATE;
-    }
-
     @Override
     public boolean equals(Object object) {
+        if (this == object)
+            return true;
+
         if (object == null)
             return false;
 
@@ -1,9 +1,13 @@
 package zkstrata.domain.gadgets.impl;
 
-import zkstrata.analysis.Contradiction;
+import zkstrata.analysis.EqualityClasses;
+import zkstrata.analysis.Inference;
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeLine;
 import zkstrata.domain.Proposition;
+import zkstrata.domain.conjunctions.OrConjunction;
 import zkstrata.domain.data.types.Any;
+import zkstrata.domain.data.types.wrapper.InstanceSet;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
 import zkstrata.domain.gadgets.AbstractGadget;
@@ -12,9 +16,9 @@ import zkstrata.domain.gadgets.Type;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.optimizer.Substitution;
 import zkstrata.parser.ast.predicates.SetMembership;
-import zkstrata.utils.Constants;
 import zkstrata.utils.GadgetUtils;
 
+import java.math.BigInteger;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,6 +28,8 @@ import static zkstrata.utils.GadgetUtils.isWitnessVariable;
 
 @AstElement(SetMembership.class)
 public class SetMembershipGadget extends AbstractGadget {
+    public static final String SET_SIZE = "set";
+
     @Type({Any.class})
     private Variable member;
 
@@ -42,21 +48,25 @@ public class SetMembershipGadget extends AbstractGadget {
     }
 
     /**
-     * Check whether there is an equality predicate claimed on a set of instance variables that contradict.
+     * Check whether the member of a set of instance variables is equal (see {@link EqualityClasses}) to an instance
+     * variable that is not part of the set.
      *
-     * @param sm {@link SetMembershipGadget} to check
-     * @param eq {@link EqualityGadget} to check
+     * @param sm         {@link SetMembershipGadget} to check
+     * @param equalities {@link EqualityClasses} of the known equalities
      */
-    @Contradiction
-    public static void checkInstanceEqualityContradiction(SetMembershipGadget sm, EqualityGadget eq) {
-        if (GadgetUtils.isWitnessVariable(sm.getMember())
-                && sm.getSet().stream().allMatch((GadgetUtils::isInstanceVariable))) {
-            Optional<Variable> equal = getEqualityToWitness(eq, (WitnessVariable) sm.getMember());
-            if (equal.isPresent()
-                    && GadgetUtils.isInstanceVariable(equal.get())
-                    && !sm.getSet().contains(equal.get())) {
-                List<Variable> variables = new ArrayList<>(sm.getSet());
-                variables.add(equal.get());
+    public static void checkInstanceEqualityContradiction(SetMembershipGadget sm, EqualityClasses equalities) {
+        if (GadgetUtils.isWitnessVariable(sm.getMember()) && containsOnlyInstanceVariables(sm.getSet())) {
+            Variable equal = equalities.getCanonical(sm.getMember());
+            if (GadgetUtils.isInstanceVariable(equal) && !sm.getSet().contains(equal)) {
+                // the elements of an instance set share their position, so one of them suffices to point at the set
+                List<Variable> variables = sm.getSet() instanceof InstanceSet
+                        ? new ArrayList<>(List.of(sm.getSet().iterator().next()))
+                        : new ArrayList<>(sm.getSet());
+                for (Inference reason : equalities.explain(sm.getMember(), equal)) {
+                    EqualityGadget eq = (EqualityGadget) reason.getConclusion();
+                    variables.add(eq.getLeft());
+                    variables.add(eq.getRight());
+                }
                 throw new CompileTimeException("Contradiction.", variables);
             }
         }
@@ -82,12 +92,142 @@ public class SetMembershipGadget extends AbstractGadget {
         return Optional.empty();
     }
 
+    /**
+     * Replaces an {@link OrConjunction} whose parts all claim the equality of the same witness to another variable by
+     * the set membership of the witness in the set of these variables, e.g. {@code x == 'A' OR x == 'B'} by
+     * {@code x in ('A', 'B')}. This is the reverse of {@link #expandToEqualities}, the optimizer applies whichever
+     * the cost model rates cheaper (if it rates the width of disjunctions at all, see {@link Substitution#disjunctive()}).
+     *
+     * @param orConjunction {@link OrConjunction} to replace
+     * @return {@link Optional} of the {@link SetMembershipGadget} if all parts are equalities to the same witness
+     */
+    @Substitution(target = {OrConjunction.class}, strict = true, disjunctive = true)
+    public static Optional<Proposition> replaceEqualityChain(OrConjunction orConjunction) {
+        List<Proposition> parts = orConjunction.getParts();
+        if (parts.isEmpty() || !(parts.get(0) instanceof EqualityGadget))
+            return Optional.empty();
+
+        EqualityGadget first = (EqualityGadget) parts.get(0);
+        for (Variable member : List.of(first.getLeft(), first.getRight())) {
+            if (!isWitnessVariable(member))
+                continue;
+
+            Set<Variable> set = new HashSet<>();
+            for (Proposition part : parts) {
+                if (!(part instanceof EqualityGadget))
+                    return Optional.empty();
+
+                Optional<Variable> equal = getEqualityToWitness((EqualityGadget) part, (WitnessVariable) member);
+                if (equal.isEmpty())
+                    break;
+
+                set.add(equal.get());
+            }
+
+            if (set.size() == parts.size())
+                return Optional.of(new SetMembershipGadget(member, set));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Expands the set membership of a witness into an {@link OrConjunction} of equalities of the witness to each
+     * element, e.g. {@code x in ('A', 'B')} into {@code x == 'A' OR x == 'B'}. This is the reverse of
+     * {@link #replaceEqualityChain}, the optimizer applies whichever the cost model rates cheaper (if it rates the width
+     * of disjunctions at all, see {@link Substitution#disjunctive()}).
+     * <p>
+     * Sets of instance data ({@link InstanceSet}) are not expanded, as this would create a gadget per element of data
+     * that may be arbitrarily large (and is loaded lazily).
+     *
+     * @param sm {@link SetMembershipGadget} to expand
+     * @return {@link Optional} of the equalities if the member is a witness and the set is no set of instance data
+     */
+    @Substitution(target = {SetMembershipGadget.class}, strict = true, disjunctive = true)
+    public static Optional<Proposition> expandToEqualities(SetMembershipGadget sm) {
+        if (!isWitnessVariable(sm.getMember()) || sm.getSet() instanceof InstanceSet)
+            return Optional.empty();
+
+        List<Proposition> equalities = sm.getSet().stream()
+                .map(element -> new EqualityGadget(sm.getMember(), element))
+                .collect(Collectors.toList());
+        return Optional.of(equalities.size() == 1 ? equalities.get(0) : new OrConjunction(equalities));
+    }
+
+    /**
+     * Compresses a set membership of a witness in a set of numbers that form a single contiguous range into a check of
+     * this range (see {@link BoundsCheckGadget#compressToRanges}), e.g. {@code x in (1, 2, 3, 4)} into
+     * {@code 1 <= x <= 4}.
+     *
+     * @param sm {@link SetMembershipGadget} to compress
+     * @return {@link Optional} of the range check if the set only contains instance values forming one range
+     */
+    @Substitution(target = {SetMembershipGadget.class})
+    public static Optional<Proposition> compressToBounds(SetMembershipGadget sm) {
+        return getAscendingValues(sm).flatMap(values -> BoundsCheckGadget.compressToRanges(sm.getMember(), values, 1));
+    }
+
+    /**
+     * Compresses a set membership of a witness in a set of numbers that form two up to
+     * {@link BoundsCheckGadget#MAX_RANGES} contiguous ranges into an {@link OrConjunction} of checks of these ranges
+     * (see {@link BoundsCheckGadget#compressToRanges}), e.g. {@code x in (1, 2, 3, 7)} into
+     * {@code 1 <= x <= 3 OR x == 7}.
+     *
+     * @param sm {@link SetMembershipGadget} to compress
+     * @return {@link Optional} of the range checks if the set only contains instance values forming few ranges
+     */
+    @Substitution(target = {SetMembershipGadget.class}, disjunctive = true)
+    public static Optional<Proposition> compressToRangeChecks(SetMembershipGadget sm) {
+        return getAscendingValues(sm)
+                .flatMap(values -> BoundsCheckGadget.compressToRanges(sm.getMember(), values, BoundsCheckGadget.MAX_RANGES))
+                .filter(OrConjunction.class::isInstance);
+    }
+
+    /**
+     * Returns the elements of the set of the given set membership of a witness in ascending order, if they are all
+     * instance variables of type {@link BigInteger}.
+     */
+    private static Optional<Iterable<Variable>> getAscendingValues(SetMembershipGadget sm) {
+        if (!isWitnessVariable(sm.getMember())
+                || !GadgetUtils.isOfTypeBigInteger(sm.getMember())
+                || !containsOnlyInstanceVariables(sm.getSet()))
+            return Optional.empty();
+
+        // the elements of an instance set are already iterated in ascending order
+        if (sm.getSet() instanceof InstanceSet)
+            return Optional.of(sm.getSet());
+
+        Comparator<Variable> ascending = Comparator.comparing(
+                element -> (BigInteger) ((InstanceVariable) element).getValue().getValue());
+        return Optional.of(sm.getSet().stream().sorted(ascending).collect(Collectors.toList()));
+    }
+
+    /**
+     * Checks whether the given {@code set} only contains instance variables, without iterating an
+     * {@link InstanceSet}.
+     *
+     * @param set set of variables to check
+     * @return {@code true} if {@code set} does not contain any witness variable
+     */
+    private static boolean containsOnlyInstanceVariables(Set<Variable> set) {
+        return set instanceof InstanceSet || set.stream().allMatch(GadgetUtils::isInstanceVariable);
+    }
+
     @Override
     public void initialize() {
         checkSetTypeHomogeneity();
     }
 
     private void checkSetTypeHomogeneity() {
+        if (this.set instanceof InstanceSet) {
+            InstanceSet instanceSet = (InstanceSet) this.set;
+            if (this.member.getType() != instanceSet.getType())
+                throw new CompileTimeException(format("Type mismatch: %s cannot be equal to %s.",
+                        member.getType().getSimpleName(), instanceSet.getType().getSimpleName()),
+                        List.of(member, instanceSet.iterator().next()));
+            return;
+        }
+
         for (Variable element : this.set) {
             if (this.member.getType() != element.getType())
                 throw new CompileTimeException(format("Type mismatch: %s cannot be equal to %s.",
@@ -97,6 +237,9 @@ public class SetMembershipGadget extends AbstractGadget {
 
     @Override
     public boolean equals(Object object) {
+        if (this == object)
+            return true;
+
         if (object == null)
             return false;
 
@@ -113,8 +256,8 @@ public class SetMembershipGadget extends AbstractGadget {
     }
 
     @Override
-    public int getCostEstimate() {
-        return Constants.MIMC_HASH_COST_ESTIMATE * set.size() + 5 * set.size() + 2;
+    public Map<String, Integer> getCostParameters() {
+        return Map.of(SET_SIZE, set.size());
     }
 
     @Override
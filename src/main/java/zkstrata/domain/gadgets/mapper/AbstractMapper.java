@@ -3,6 +3,7 @@ package zkstrata.domain.gadgets.mapper;
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeLine;
 import zkstrata.domain.gadgets.AbstractGadget;
 import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.optimizer.CostModel;
 
 import java.util.List;
 
@@ -25,7 +26,7 @@ public abstract class AbstractMapper extends AbstractGadget {
     }
 
     @Override
-    public int getCostEstimate() {
+    public long getCostEstimate(CostModel costModel) {
         throw new InternalCompilerException(ERROR, "getCostEstimate", getClass());
     }
 }
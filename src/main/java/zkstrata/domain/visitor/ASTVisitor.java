@@ -20,6 +20,7 @@ import zkstrata.domain.data.types.wrapper.Null;
 import zkstrata.domain.data.schemas.wrapper.Instance;
 import zkstrata.domain.data.schemas.wrapper.StructuredData;
 import zkstrata.domain.data.schemas.wrapper.Witness;
+import zkstrata.domain.data.types.wrapper.InstanceSet;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.gadgets.Gadget;
@@ -47,6 +48,7 @@ public class ASTVisitor {
     private final Map<String, ValueAccessor> instanceData;
     private final Map<String, Schema> schemas;
     private final MapListener<String, StructuredData> subjects;
+    private final InterningFactory interningFactory;
 
     private AbstractSyntaxTree ast;
 
@@ -55,11 +57,24 @@ public class ASTVisitor {
     }
 
     public ASTVisitor(Arguments.SubjectData subjectData, String parentAlias) {
+        this(subjectData, parentAlias, new InterningFactory());
+    }
+
+    /**
+     * Creates a visitor mapping an {@link AbstractSyntaxTree} to the domain, whose literals and variables are created
+     * by the given {@code interningFactory}. Visitors sharing a factory share the equal literals and variables.
+     *
+     * @param subjectData      {@link Arguments.SubjectData} to bind the subjects to
+     * @param parentAlias      alias of the subject whose validation rule is visited, {@code null} otherwise
+     * @param interningFactory {@link InterningFactory} of the compilation
+     */
+    public ASTVisitor(Arguments.SubjectData subjectData, String parentAlias, InterningFactory interningFactory) {
         this.witnessData = subjectData.getWitnessData();
         this.instanceData = subjectData.getInstanceData();
         this.schemas = subjectData.getSchemas();
         this.subjects = new MapListener<>(new HashMap<>());
         this.parentAlias = parentAlias;
+        this.interningFactory = interningFactory;
     }
 
     private static Set<Class<? extends Gadget>> prepareGadgetTypes() {
@@ -190,6 +205,9 @@ public class ASTVisitor {
         if (element == null)
             return new Null();
 
+        if (element instanceof SetReference)
+            return visitSetReference((SetReference) element);
+
         if (Collection.class.isAssignableFrom(element.getClass()))
             return visitCollection((Collection) element);
 
@@ -220,15 +238,15 @@ public class ASTVisitor {
      * As literals can only be public data (otherwise the witness would be leaked), return an {@link InstanceVariable}.
      */
     private InstanceVariable visitLiteral(Literal literal) {
-        return new InstanceVariable(from(literal), null, pinPosition(literal));
+        return interningFactory.createInstanceVariable(from(literal), pinPosition(literal));
     }
 
     private zkstrata.domain.data.types.Literal from(Literal literal) {
         Class<? extends Literal> type = literal.getClass();
         if (type == HexLiteral.class)
-            return new zkstrata.domain.data.types.custom.HexLiteral(((HexLiteral) literal).getValue());
+            return interningFactory.createHexLiteral(((HexLiteral) literal).getValue());
 
-        return new zkstrata.domain.data.types.Literal(literal.getValue());
+        return interningFactory.createLiteral(literal.getValue());
     }
 
     private Collection<Object> visitCollection(Collection collection) {
@@ -266,12 +284,33 @@ public class ASTVisitor {
         String subject = identifier.getSubject();
         if (subjects.containsKey(subject)) {
             StructuredData data = subjects.get(subject);
-            return data.getVariable(new Selector(identifier.getSelectors()), pinPosition(identifier));
+            return interningFactory.intern(data.getVariable(new Selector(identifier.getSelectors()),
+                    pinPosition(identifier)));
         } else {
             throw new CompileTimeException(format("Undeclared alias `%s` found.", subject), pinPosition(identifier));
         }
     }
 
+    /**
+     * Binds a reference to a collection of instance data to its values.
+     */
+    private InstanceSet visitSetReference(SetReference setReference) {
+        Identifier identifier = setReference.getIdentifier();
+        String subject = identifier.getSubject();
+        if (!subjects.containsKey(subject))
+            throw new CompileTimeException(format("Undeclared alias `%s` found.", subject), pinPosition(identifier));
+
+        StructuredData data = subjects.get(subject);
+        if (data.isWitness())
+            throw new CompileTimeException("Only instance data can be referenced as set.", pinPosition(identifier));
+
+        InstanceSet set = ((Instance) data).getSet(new Selector(identifier.getSelectors()), pinPosition(identifier));
+        if (set.isEmpty())
+            throw new CompileTimeException("Empty set.", pinPosition(identifier));
+
+        return set;
+    }
+
     private BinaryTree<Variable> visitBinaryTree(BinaryTree binaryTree) {
         return new BinaryTree<>(visitBinaryTreeNode(binaryTree.getRoot()));
     }
@@ -293,8 +332,8 @@ public class ASTVisitor {
             String constantIdentifier = method.getAnnotation(zkstrata.domain.data.types.Constant.class).value();
 
             if (constantIdentifier.equals(constant.getValue())) {
-                return new InstanceVariable((zkstrata.domain.data.types.Literal) invokeStaticMethod(method),
-                        null, pinPosition(constant));
+                return interningFactory.createInstanceVariable(
+                        (zkstrata.domain.data.types.Literal) invokeStaticMethod(method), pinPosition(constant));
             }
         }
 
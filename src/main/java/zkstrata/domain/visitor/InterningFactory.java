@@ -0,0 +1,106 @@
+package zkstrata.domain.visitor;
+
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.custom.HexLiteral;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.exceptions.Position;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Factory of the literals and variables created by the {@link ASTVisitor}, which interns them, so structurally equal
+ * nodes of a compilation are the same object and compare by identity.
+ * <p>
+ * Literals are interned by their value. Variables are only interned if their value, reference and position are equal,
+ * as the position of a variable is reported in errors and must not be taken from another occurrence of an equal
+ * variable. The intern tables only hold weak references and are dropped with the factory, which is used for a single
+ * compilation (see {@link zkstrata.compiler.Compiler}) and is not thread-safe.
+ */
+public class InterningFactory {
+    private final Map<Literal, WeakReference<Literal>> literals = new WeakHashMap<>();
+    private final Map<Variable, List<WeakReference<Variable>>> variables = new WeakHashMap<>();
+
+    public Literal createLiteral(Object value) {
+        return intern(new Literal(value));
+    }
+
+    public HexLiteral createHexLiteral(String value) {
+        return intern(new HexLiteral(value));
+    }
+
+    /**
+     * Creates an {@link InstanceVariable} of the given {@code literal} without a reference, i.e. a value given in the
+     * statement itself.
+     *
+     * @param literal  {@link Literal} value of the variable, interned as well
+     * @param position position of the variable
+     * @return interned {@link InstanceVariable}
+     */
+    public InstanceVariable createInstanceVariable(Literal literal, Position.Absolute position) {
+        return intern(new InstanceVariable(intern(literal), null, position));
+    }
+
+    /**
+     * Returns the interned literal equal to the given {@code literal}, which is interned itself if there is none.
+     *
+     * @param literal {@link Literal} to intern
+     * @param <T>     type of the literal
+     * @return the interned {@link Literal}
+     */
+    public <T extends Literal> T intern(T literal) {
+        WeakReference<Literal> reference = literals.get(literal);
+        Literal interned = reference == null ? null : reference.get();
+        if (interned != null) {
+            // equal literals are of the same class
+            @SuppressWarnings("unchecked")
+            T result = (T) interned;
+            return result;
+        }
+
+        literals.put(literal, new WeakReference<>(literal));
+        return literal;
+    }
+
+    /**
+     * Returns the interned variable with the same value, reference and position as the given {@code variable}, which
+     * is interned itself if there is none.
+     *
+     * @param variable {@link Variable} to intern
+     * @param <T>      type of the variable
+     * @return the interned {@link Variable}
+     */
+    public <T extends Variable> T intern(T variable) {
+        List<WeakReference<Variable>> candidates = variables.computeIfAbsent(variable, key -> new ArrayList<>());
+        candidates.removeIf(candidate -> candidate.get() == null);
+        for (WeakReference<Variable> candidate : candidates) {
+            Variable interned = candidate.get();
+            if (interned != null && isSameOccurrence(interned, variable)) {
+                // equal variables are of the same class
+                @SuppressWarnings("unchecked")
+                T result = (T) interned;
+                return result;
+            }
+        }
+
+        candidates.add(new WeakReference<>(variable));
+        return variable;
+    }
+
+    private static boolean isSameOccurrence(Variable interned, Variable variable) {
+        return Objects.equals(interned.getReference(), variable.getReference())
+                && isSamePosition(interned.getPosition(), variable.getPosition());
+    }
+
+    private static boolean isSamePosition(Position.Absolute interned, Position.Absolute position) {
+        if (interned == null || position == null)
+            return interned == position;
+
+        return interned.getLine() == position.getLine()
+                && interned.getPosition() == position.getPosition()
+                && Objects.equals(interned.getTarget(), position.getTarget())
+                && Objects.equals(interned.getSource(), position.getSource())
+                && Objects.equals(interned.getStatement(), position.getStatement());
+    }
+}
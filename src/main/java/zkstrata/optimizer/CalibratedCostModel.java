@@ -0,0 +1,206 @@
+package zkstrata.optimizer;
+
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.*;
+import zkstrata.domain.gadgets.mapper.AbstractMapper;
+import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.utils.Constants;
+import zkstrata.utils.ReflectionHelper;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * {@link CostModel} based on a calibration table, which assigns each gadget type a base cost and a cost per unit of
+ * each of its cost parameters (see {@link Gadget#getCostParameters()}), and each conjunction type the way the costs
+ * of its parts are combined ({@code sum} or {@code product}) and optionally the overhead it adds per part
+ * ({@code parts}) and once ({@code overhead}).
+ * <p>
+ * The table uses the format of {@link Properties}, keyed by the simple class names. The costs can be given in any
+ * unit (e.g. constraints or milliseconds of proving time measured on the target hardware) and are multiplied by the
+ * optional {@code scale} before being rounded (e.g. to get microseconds from a table in milliseconds):
+ * <pre>
+ * scale = 1000
+ * EqualityGadget = 0.004
+ * SetMembershipGadget = 0.01
+ * SetMembershipGadget.set = 4.2
+ * OrConjunction = sum
+ * OrConjunction.parts = 0.02
+ * ...</pre>
+ * Every gadget requires a base cost. Parameters without an entry cost nothing and the costs of the parts of
+ * conjunctions without an entry are summed up. The model rates the width of OR conjunctions (see
+ * {@link CostModel#ratesDisjunctionWidth()}) if it sums up their parts or charges an overhead per part.
+ * <p>
+ * The combined costs saturate at {@link Long#MAX_VALUE} instead of overflowing (see {@link CostModel#add}).
+ */
+public class CalibratedCostModel implements CostModel {
+    private static final String SCALE = "scale";
+    private static final String PARTS = "parts";
+    private static final String OVERHEAD = "overhead";
+    private static final CalibratedCostModel CONSTRAINTS = createConstraintModel();
+
+    private final double scale;
+    private final Map<Class<?>, Double> baseCosts = new HashMap<>();
+    private final Map<Class<?>, Map<String, Double>> parameterCosts = new HashMap<>();
+    private final Map<Class<?>, Combination> combinations = new HashMap<>();
+    private final boolean disjunctionWidthRated;
+
+    private CalibratedCostModel(Properties table) {
+        Map<String, Class<?>> types = new HashMap<>();
+        ReflectionHelper.getAllGadgets().stream()
+                .filter(type -> !AbstractMapper.class.isAssignableFrom(type))
+                .forEach(type -> types.put(type.getSimpleName(), type));
+        ReflectionHelper.getAllConjunctions().forEach(type -> types.put(type.getSimpleName(), type));
+
+        double scaleFactor = 1;
+        for (String key : table.stringPropertyNames()) {
+            String value = table.getProperty(key).trim();
+            String[] name = key.trim().split("\\.", 2);
+            Class<?> type = types.get(name[0]);
+
+            if (key.trim().equals(SCALE))
+                scaleFactor = parseCost(key, value);
+            else if (type == null)
+                throw new IllegalArgumentException(String.format("Unknown gadget or conjunction: %s", name[0]));
+            else if (Conjunction.class.isAssignableFrom(type) && name.length > 1)
+                parameterCosts.computeIfAbsent(type, t -> new HashMap<>())
+                        .put(parseConjunctionParameter(key, name[1]), parseCost(key, value));
+            else if (Conjunction.class.isAssignableFrom(type))
+                combinations.put(type, parseCombination(key, value));
+            else if (name.length > 1)
+                parameterCosts.computeIfAbsent(type, t -> new HashMap<>()).put(name[1], parseCost(key, value));
+            else
+                baseCosts.put(type, parseCost(key, value));
+        }
+        this.scale = scaleFactor;
+
+        this.disjunctionWidthRated = combinations.getOrDefault(OrConjunction.class, Combination.SUM) == Combination.SUM
+                || parameterCosts.getOrDefault(OrConjunction.class, Collections.emptyMap()).getOrDefault(PARTS, 0.0) > 0;
+
+        for (Class<?> type : types.values())
+            if (Gadget.class.isAssignableFrom(type) && !baseCosts.containsKey(type))
+                throw new IllegalArgumentException(String.format("Missing cost of gadget: %s", type.getSimpleName()));
+    }
+
+    /**
+     * Returns the cost model estimating the number of constraints of a proposition, as used by default.
+     *
+     * @return {@link CalibratedCostModel} counting constraints
+     */
+    public static CalibratedCostModel constraints() {
+        return CONSTRAINTS;
+    }
+
+    /**
+     * Creates a cost model from the given calibration {@code table} (see {@link CalibratedCostModel}).
+     *
+     * @param table calibration table in the format of {@link Properties}
+     * @return {@link CalibratedCostModel} of the given table
+     * @throws IllegalArgumentException if the table is malformed or incomplete
+     */
+    public static CalibratedCostModel parse(String table) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(table));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unable to read calibration table: %s", e.getMessage()));
+        }
+        return new CalibratedCostModel(properties);
+    }
+
+    private static CalibratedCostModel createConstraintModel() {
+        Properties table = new Properties();
+        table.setProperty(EqualityGadget.class.getSimpleName(), String.valueOf(Constants.EQUALITY_COST_ESTIMATE));
+        table.setProperty(InequalityGadget.class.getSimpleName(), String.valueOf(Constants.INEQUALITY_COST_ESTIMATE));
+        table.setProperty(MiMCHashGadget.class.getSimpleName(), String.valueOf(Constants.MIMC_HASH_COST_ESTIMATE));
+        table.setProperty(LessThanGadget.class.getSimpleName(), String.valueOf(Constants.LESS_THAN_COST_ESTIMATE));
+        table.setProperty(BoundsCheckGadget.class.getSimpleName(), String.valueOf(Constants.BOUNDS_CHECK_COST_ESTIMATE));
+        // one hash and one inequality per element of the set, plus two constraints for the product of the differences
+        table.setProperty(SetMembershipGadget.class.getSimpleName(), "2");
+        table.setProperty(SetMembershipGadget.class.getSimpleName() + "." + SetMembershipGadget.SET_SIZE,
+                String.valueOf(Constants.MIMC_HASH_COST_ESTIMATE + Constants.INEQUALITY_COST_ESTIMATE));
+        // one hash per node of the tree (2 * leaves - 1)
+        table.setProperty(MerkleTreeGadget.class.getSimpleName(), String.valueOf(-Constants.MIMC_HASH_COST_ESTIMATE));
+        table.setProperty(MerkleTreeGadget.class.getSimpleName() + "." + MerkleTreeGadget.LEAVES,
+                String.valueOf(2 * Constants.MIMC_HASH_COST_ESTIMATE));
+        table.setProperty(AndConjunction.class.getSimpleName(), Combination.SUM.name());
+        table.setProperty(OrConjunction.class.getSimpleName(), Combination.PRODUCT.name());
+        return new CalibratedCostModel(table);
+    }
+
+    private static double parseCost(String key, String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid cost of %s: %s", key, value));
+        }
+    }
+
+    private static String parseConjunctionParameter(String key, String parameter) {
+        if (!parameter.equals(PARTS) && !parameter.equals(OVERHEAD))
+            throw new IllegalArgumentException(String.format("Unknown parameter of conjunction: %s", key));
+        return parameter;
+    }
+
+    private static Combination parseCombination(String key, String value) {
+        try {
+            return Combination.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid combination of %s: %s", key, value));
+        }
+    }
+
+    @Override
+    public long estimate(Gadget gadget) {
+        Double baseCost = baseCosts.get(gadget.getClass());
+        if (baseCost == null)
+            throw new InternalCompilerException("Missing cost of gadget %s.", gadget.getClass());
+
+        double cost = baseCost;
+        Map<String, Double> perUnit = parameterCosts.getOrDefault(gadget.getClass(), Collections.emptyMap());
+        for (Map.Entry<String, Integer> parameter : gadget.getCostParameters().entrySet())
+            cost += perUnit.getOrDefault(parameter.getKey(), 0.0) * parameter.getValue();
+
+        return Math.round(scale * cost);
+    }
+
+    @Override
+    public long estimate(Class<? extends Conjunction> type, long[] partCosts) {
+        Map<String, Double> overheads = parameterCosts.getOrDefault(type, Collections.emptyMap());
+        double overhead = overheads.getOrDefault(PARTS, 0.0) * partCosts.length + overheads.getOrDefault(OVERHEAD, 0.0);
+        long cost = Math.round(scale * overhead);
+
+        if (combinations.getOrDefault(type, Combination.SUM) == Combination.PRODUCT) {
+            long product = 1;
+            for (long partCost : partCosts)
+                product = multiply(product, partCost);
+            return CostModel.add(cost, product);
+        }
+
+        for (long partCost : partCosts)
+            cost = CostModel.add(cost, partCost);
+        return cost;
+    }
+
+    @Override
+    public boolean ratesDisjunctionWidth() {
+        return disjunctionWidthRated;
+    }
+
+    private static long multiply(long first, long second) {
+        try {
+            return Math.multiplyExact(first, second);
+        } catch (ArithmeticException e) {
+            return (first < 0) == (second < 0) ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+    }
+
+    private enum Combination {
+        SUM,
+        PRODUCT
+    }
+}
@@ -0,0 +1,63 @@
+package zkstrata.optimizer;
+
+import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.gadgets.Gadget;
+
+/**
+ * Model estimating the cost to prove/verify a proposition (see
+ * {@link zkstrata.domain.Proposition#getCostEstimate(CostModel)}), which the {@link Optimizer} minimizes.
+ */
+public interface CostModel {
+    /**
+     * Returns the default cost model, which estimates the number of constraints of a proposition (see
+     * {@link CalibratedCostModel#constraints()}).
+     *
+     * @return default {@link CostModel}
+     */
+    static CostModel getDefault() {
+        return CalibratedCostModel.constraints();
+    }
+
+    /**
+     * Returns the estimated cost of the given {@code gadget}.
+     *
+     * @param gadget {@link Gadget} to estimate the cost of
+     * @return estimated cost of the gadget
+     */
+    long estimate(Gadget gadget);
+
+    /**
+     * Returns the estimated cost of a conjunction of the given {@code type} connecting parts of the given costs.
+     *
+     * @param type      class of the {@link Conjunction}
+     * @param partCosts estimated costs of the parts of the conjunction
+     * @return estimated cost of the conjunction
+     */
+    long estimate(Class<? extends Conjunction> type, long[] partCosts);
+
+    /**
+     * Checks whether the estimated cost of an {@link zkstrata.domain.conjunctions.OrConjunction} grows with the number
+     * of its parts. Only then the optimizer considers substitutions trading a single gadget for a disjunction of
+     * several (see {@link Substitution#disjunctive()}), as a model combining the parts of an OR by their product (like
+     * the default one) rates a disjunction of any number of equalities like a single equality.
+     *
+     * @return {@code true} if the cost of an OR conjunction grows with the number of its parts
+     */
+    boolean ratesDisjunctionWidth();
+
+    /**
+     * Returns the sum of the given costs, which saturates at {@link Long#MAX_VALUE} (or {@link Long#MIN_VALUE})
+     * instead of overflowing. Thereby, a proposition too costly to be estimated exactly still ranks as the most costly.
+     *
+     * @param first  cost to add
+     * @param second cost to add
+     * @return saturated sum of the costs
+     */
+    static long add(long first, long second) {
+        long sum = first + second;
+        // the sum overflows iff both costs have the same sign and the sum has the other
+        if (((first ^ sum) & (second ^ sum)) < 0)
+            return first < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        return sum;
+    }
+}
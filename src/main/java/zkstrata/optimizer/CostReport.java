@@ -0,0 +1,111 @@
+package zkstrata.optimizer;
+
+import zkstrata.domain.Proposition;
+import zkstrata.domain.gadgets.Gadget;
+
+import java.util.*;
+
+/**
+ * Report of the cost estimates of a (compiled) statement by a {@link CostModel}, per gadget, per subject and for the
+ * whole statement.
+ * <p>
+ * The estimates are the ones the optimizer minimizes (see {@link Proposition#getCostEstimate(CostModel)}), so they are
+ * only as exact as the cost model: the default model estimates the constraints of a gadget by a single number per gadget
+ * type, which neither distinguishes multiplication gates from linear constraints nor is checked against the circuits
+ * synthesized by the backend. A calibrated model (see {@link CalibratedCostModel}) can supply measured numbers.
+ * <p>
+ * The estimate of the statement combines the estimates of its gadgets as the cost model combines the parts of each
+ * conjunction, so it includes the overhead the model charges for disjunctions. The estimate of a gadget referring to
+ * multiple subjects is added to each of them, the estimates of the conjunctions are not attributed to any subject.
+ */
+public class CostReport {
+    private final long total;
+    private final List<GadgetCost> gadgetCosts = new ArrayList<>();
+    private final Map<String, Long> subjectCosts = new TreeMap<>();
+
+    private CostReport(Proposition statement, CostModel costModel) {
+        this.total = statement.getCostEstimate(costModel);
+        for (Gadget gadget : statement.listAllGadgets()) {
+            long cost = costModel.estimate(gadget);
+            gadgetCosts.add(new GadgetCost(gadget, cost));
+            getSubjects(gadget).forEach(subject -> subjectCosts.merge(subject, cost, CostModel::add));
+        }
+    }
+
+    /**
+     * Estimates the cost of the given {@code statement} and of its gadgets by the given {@code costModel}.
+     *
+     * @param statement {@link Proposition} to report on
+     * @param costModel {@link CostModel} to estimate the costs with
+     * @return {@link CostReport} of the given {@code statement}
+     */
+    public static CostReport of(Proposition statement, CostModel costModel) {
+        return new CostReport(statement, costModel);
+    }
+
+    /**
+     * Returns the cost estimate of the whole statement.
+     *
+     * @return cost estimate of the statement
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the cost estimate of each gadget of the statement.
+     *
+     * @return list of {@link GadgetCost} in the order of {@link Proposition#listAllGadgets()}
+     */
+    public List<GadgetCost> getGadgetCosts() {
+        return Collections.unmodifiableList(gadgetCosts);
+    }
+
+    /**
+     * Returns the cost estimates of the gadgets by the subjects they refer to.
+     *
+     * @return map of subject aliases to their cost estimate
+     */
+    public Map<String, Long> getSubjectCosts() {
+        return Collections.unmodifiableMap(subjectCosts);
+    }
+
+    /**
+     * Returns the gadget with the highest cost estimate.
+     *
+     * @return {@link Optional} of the {@link GadgetCost}, empty if there are no gadgets
+     */
+    public Optional<GadgetCost> getCostliestGadget() {
+        return gadgetCosts.stream().max(Comparator.comparingLong(GadgetCost::getCost));
+    }
+
+    private static Set<String> getSubjects(Gadget gadget) {
+        Set<String> subjects = new HashSet<>();
+        gadget.forEachVariable(variable -> {
+            if (variable.getReference() != null)
+                subjects.add(variable.getReference().getSubject());
+        });
+        return subjects;
+    }
+
+    /**
+     * Cost estimate of a single gadget.
+     */
+    public static class GadgetCost {
+        private final Gadget gadget;
+        private final long cost;
+
+        private GadgetCost(Gadget gadget, long cost) {
+            this.gadget = gadget;
+            this.cost = cost;
+        }
+
+        public Gadget getGadget() {
+            return gadget;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+    }
+}
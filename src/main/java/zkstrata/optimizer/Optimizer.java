@@ -1,46 +1,89 @@
 package zkstrata.optimizer;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import zkstrata.analysis.EqualityClasses;
 import zkstrata.analysis.Inference;
+import zkstrata.analysis.IntervalDomain;
+import zkstrata.analysis.LessThanGraph;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.Statement;
 import zkstrata.domain.conjunctions.AndConjunction;
 import zkstrata.domain.conjunctions.Conjunction;
-import zkstrata.domain.data.types.Reference;
 import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
 import zkstrata.exceptions.InternalCompilerException;
-import zkstrata.exceptions.Position;
 import zkstrata.utils.*;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static zkstrata.domain.Proposition.trueProposition;
 import static zkstrata.utils.CombinatoricsUtils.getCombinations;
+import static zkstrata.utils.CombinatoricsUtils.getCombinationsContaining;
 
 public class Optimizer {
     private static final Logger LOGGER = LogManager.getRootLogger();
 
-    private final Set<Class<? extends Gadget>> gadgetTypes;
-    private final Set<Class<? extends Conjunction>> conjunctionTypes;
-    private final List<SubstitutionRule> substitutionRules;
+    private static final Set<Class<? extends Gadget>> GADGET_TYPES = ReflectionHelper.getAllGadgets();
+    private static final Set<Class<? extends Conjunction>> CONJUNCTION_TYPES = ReflectionHelper.getAllConjunctions();
+    private static final Map<Class<? extends Proposition>, List<SubstitutionRule>> SUBSTITUTION_RULES =
+            indexSubstitutionRules(prepareSubstitutionRules());
+    // in case of a tie in cost reduction, take a deterministic choice based on information from the statement
+    private static final Comparator<Substitute> SUBSTITUTE_ORDER = Comparator.comparingLong(Substitute::getCostReduction)
+            .thenComparingInt(Substitute::getReferenceHashCode)
+            .thenComparingInt(Substitute::getReplacementHashCode)
+            .thenComparingInt(Substitute::getTargetHashCode)
+            .thenComparing(Substitute::getSource);
 
     private Proposition claim;
     private Proposition premise;
     private Proposition validationRule;
+    private final int parallelism;
+    private final CostModel costModel;
+    private final SubstitutionMemo substitutionMemo = new SubstitutionMemo();
 
     public Optimizer(Statement statement) {
+        this(statement, 1);
+    }
+
+    /**
+     * Creates an optimizer for the given {@code statement}. If {@code parallelism} is greater than one, the logical
+     * groups of a conjunction and their children are optimized concurrently using a {@link ForkJoinPool} with the given
+     * number of threads. The results are merged in the order of the groups, so the optimized statement is identical to
+     * the one of the sequential optimization.
+     *
+     * @param statement   {@link Statement} to optimize
+     * @param parallelism number of threads to use
+     */
+    public Optimizer(Statement statement, int parallelism) {
+        this(statement, parallelism, CostModel.getDefault());
+    }
+
+    /**
+     * Creates an optimizer for the given {@code statement}, which minimizes the cost estimated by the given
+     * {@code costModel} (see {@link Optimizer#Optimizer(Statement, int)}).
+     *
+     * @param statement   {@link Statement} to optimize
+     * @param parallelism number of threads to use
+     * @param costModel   {@link CostModel} to estimate the cost of propositions with
+     */
+    public Optimizer(Statement statement, int parallelism, CostModel costModel) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException(String.format("Invalid parallelism: %d", parallelism));
+
         this.claim = statement.getClaim();
         this.premise = statement.getPremise();
         this.validationRule = statement.getValidationRule();
-        this.gadgetTypes = ReflectionHelper.getAllGadgets();
-        this.conjunctionTypes = ReflectionHelper.getAllConjunctions();
-        this.substitutionRules = prepareSubstitutionRules();
+        this.parallelism = parallelism;
+        this.costModel = costModel;
     }
 
     /**
@@ -48,15 +91,24 @@ public class Optimizer {
      * {@link Statement#getPremise()} as assumptions to remove implications with.
      *
      * @return a semantically equal {@link Proposition} to the union of {@code statement} and {@link Optimizer#premise},
-     * which has the same or less {@link Proposition#getCostEstimate()}.
+     * which has the same or less {@link Proposition#getCostEstimate(CostModel)}.
      */
     public Proposition process() {
         logEntryInformation();
 
-        Set<Inference> baseAssumptions = determineBaseAssumptions();
-        Proposition optimizedClaim = dispatch(this.claim, baseAssumptions, baseAssumptions);
+        Proposition optimizedStatement;
+        if (parallelism > 1) {
+            LOGGER.debug("Optimizing independent sub-trees using {} threads", parallelism);
 
-        Proposition optimizedStatement = combineStatement(optimizedClaim);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                optimizedStatement = pool.invoke(ForkJoinTask.adapt(this::optimizeStatement));
+            } finally {
+                pool.shutdownNow();
+            }
+        } else {
+            optimizedStatement = optimizeStatement();
+        }
 
         logExitInformation(optimizedStatement.toDebugString());
 
@@ -65,6 +117,12 @@ public class Optimizer {
         return optimizedStatement;
     }
 
+    private Proposition optimizeStatement() {
+        Set<Inference> baseAssumptions = determineBaseAssumptions();
+        Proposition optimizedClaim = dispatch(this.claim, baseAssumptions, baseAssumptions);
+        return combineStatement(optimizedClaim);
+    }
+
     private void logEntryInformation() {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Starting optimization");
@@ -82,9 +140,22 @@ public class Optimizer {
             LOGGER.debug("Finishing optimization");
 
             LOGGER.debug("Combined statement after optimization:{}{}", System.lineSeparator(), optimizedClaim);
+
+            LOGGER.debug("Substitution rule invocations answered from memo: {} hits, {} misses",
+                    substitutionMemo.getHits(), substitutionMemo.getMisses());
         }
     }
 
+    /**
+     * Returns the memo of the substitution rule invocations of this optimizer, which exposes how many invocations have
+     * been answered from the memo.
+     *
+     * @return {@link SubstitutionMemo} used by this optimizer
+     */
+    public SubstitutionMemo getSubstitutionMemo() {
+        return substitutionMemo;
+    }
+
     private void checkTautology(Proposition optimizedStatement) {
         if (optimizedStatement.equals(trueProposition()))
             LOGGER.warn("The statement was reduced to a tautology.");
@@ -110,8 +181,7 @@ public class Optimizer {
      * @return set of {@link Inference} that can be assumed as proven
      */
     private Set<Inference> determineBaseAssumptions() {
-        List<List<Gadget>> evaluationPaths = premise.getEvaluationPaths();
-        Set<Gadget> commonGadgets = CombinatoricsUtils.computeIntersection(evaluationPaths);
+        Set<Gadget> commonGadgets = CombinatoricsUtils.computeIntersection(premise.getEvaluationPaths());
 
         return ImplicationHelper.drawInferences(new ArrayList<>(commonGadgets));
     }
@@ -139,6 +209,9 @@ public class Optimizer {
 
     /**
      * Optimizes the given {@link Conjunction} by running all applicable substitution rules.
+     * <p>
+     * The logically cohesive groups of propositions, and the children within each group, are optimized independently
+     * of each other (concurrently, if enabled).
      *
      * @param conjunction     {@link Conjunction} to optimize
      * @param baseAssumptions set of {@link Inference} that are assumed to be true within this conjunction
@@ -147,25 +220,44 @@ public class Optimizer {
     private Proposition processConjunction(Conjunction conjunction, Set<Inference> baseAssumptions) {
         Set<Inference> contextAssumptions = determineConjunctionAssumptions(conjunction, baseAssumptions);
 
-        List<Proposition> parts = new ArrayList<>();
         // loop through logically cohesive combinations of propositions
-        List<List<Proposition>> cohesivePropositions = conjunction.getCohesivePropositions();
-        for (List<Proposition> group : cohesivePropositions) {
+        List<Proposition> parts = mapConcurrently(conjunction.getCohesivePropositions(), group -> {
             // 1) run substitution rules on children of logical group in isolation
-            List<Proposition> processedGroup = group.stream()
-                    .map(p -> dispatch(p, baseAssumptions, contextAssumptions))
+            List<Proposition> processedGroup = mapConcurrently(group, p -> dispatch(p, baseAssumptions, contextAssumptions))
+                    .stream()
                     .map(p -> collapse(p, conjunction.getClass()))
                     .flatMap(Collection::stream)
                     .collect(Collectors.toList());
 
             // 2) run substitution rules on whole logical group
-            parts.addAll(runSubstitutionRules(processedGroup, baseAssumptions));
-        }
+            return runSubstitutionRules(processedGroup, baseAssumptions);
+        }).stream().flatMap(Collection::stream).collect(Collectors.toList());
 
         // 3) run substitution rules on conjunction itself
         return runSubstitutionRules(Conjunction.createInstanceOf(conjunction.getClass(), parts), baseAssumptions);
     }
 
+    /**
+     * Applies the given {@code function} to all {@code elements}. If the optimization runs in parallel, each element is
+     * processed as a separate task of the {@link ForkJoinPool}. The results are joined in the order of the
+     * {@code elements}, so the result (and the exception thrown, which is the one of the first failing element) is the
+     * same as when processing the elements sequentially.
+     *
+     * @param elements list of elements to process
+     * @param function function to apply to each element
+     * @return list of the results in the order of the {@code elements}
+     */
+    private <T, R> List<R> mapConcurrently(List<T> elements, Function<T, R> function) {
+        if (parallelism < 2 || elements.size() < 2 || !ForkJoinTask.inForkJoinPool())
+            return elements.stream().map(function).collect(Collectors.toList());
+
+        List<ForkJoinTask<R>> tasks = elements.stream()
+                .map(element -> ForkJoinTask.adapt(() -> function.apply(element)))
+                .collect(Collectors.toList());
+        tasks.forEach(ForkJoinTask::fork);
+        return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+
     /**
      * Determines all inferences that can be drawn for the children of the provided {@link Conjunction}.
      *
@@ -210,6 +302,9 @@ public class Optimizer {
      * @return a semantically identical {@link Proposition} to the given {@code target} with equal or less cost
      */
     private Proposition runSubstitutionRules(Proposition target, Set<Inference> context) {
+        if (removeImpliedGadgets(List.of(target), context, false).isEmpty())
+            return trueProposition();
+
         Proposition state = target;
         Optional<Substitute> improvement;
         do {
@@ -234,25 +329,137 @@ public class Optimizer {
      * @return a semantically identical {@link Proposition} to the given {@code target} with equal or less cost
      */
     private List<Proposition> runSubstitutionRules(List<Proposition> targets, Set<Inference> context) {
-        // create local assumptions between targets
-        List<Proposition> state = new ArrayList<>(targets);
+        // merge all bounds checks on the same value at once instead of substituting them pairwise
+        List<Proposition> merged = BoundsCheckGadget.mergeAllBounds(targets);
+        List<Proposition> state = removeImpliedGadgets(merged,
+                determineConjunctionAssumptions(new AndConjunction(merged), context), true);
+
+        // match the substitution rules once and only update the matches affected by each applied substitute
+        Worklist worklist = new Worklist(state, context);
         Optional<Substitute> improvement;
-        do {
-            Set<Inference> contextAssumptions = determineConjunctionAssumptions(new AndConjunction(state), context);
-            improvement = pickSubstitute(state, contextAssumptions, true);
-            if (improvement.isPresent()) {
-                Substitute substitute = improvement.get();
-                LOGGER.debug("Applying substitution `{}`: Replace {} by {} (based on context: {}).",
-                        substitute.getSource(), substitute.getTargets(),
-                        substitute.getReplacement(), substitute.getContext());
-                state.removeAll(substitute.getTargets());
-                state.add(substitute.getReplacement());
-            }
-        } while (improvement.isPresent());
+        while ((improvement = worklist.poll()).isPresent()) {
+            Substitute substitute = improvement.get();
+            LOGGER.debug("Applying substitution `{}`: Replace {} by {} (based on context: {}).",
+                    substitute.getSource(), substitute.getTargets(),
+                    substitute.getReplacement(), substitute.getContext());
+            worklist.apply(substitute);
+        }
+
+        return worklist.getState();
+    }
+
+    /**
+     * Removes the equalities, less-than relations and bounds checks among the given {@code targets} that are implied by
+     * the {@code context} (see {@link EqualityClasses#areEqual(Variable, Variable)},
+     * {@link LessThanGadget#isImplied(LessThanGadget, LessThanGraph, EqualityClasses)} and
+     * {@link BoundsCheckGadget#isImplied(BoundsCheckGadget, IntervalDomain)}). As the transitivity of equalities and
+     * less-than relations and the bounds following from them are not drawn pairwise as inferences, such gadgets are not
+     * removed by the substitution rules (e.g. {@link zkstrata.domain.gadgets.AbstractGadget#removeConclusion}).
+     * <p>
+     * The equality classes, the less-than graph and the interval domain are built once for the {@code context}. If the
+     * inferences drawn from the targets are to be ignored, the equalities are checked first, then the less-than
+     * relations and then the bounds checks, each in the order of the {@code targets}. The inferences drawn from a
+     * target are only added to the structures once it (and every other target they are drawn from) is kept, so of two
+     * gadgets implying each other the first one is kept.
+     *
+     * @param targets       list of {@link Proposition} to remove implied gadgets from
+     * @param context       set of {@link Inference} of assumptions as the context of the targets
+     * @param filterContext flag whether to ignore inferences drawn from a target itself or a removed target
+     * @return list of {@link Proposition} without the implied equalities, less-than relations and bounds checks
+     */
+    private List<Proposition> removeImpliedGadgets(List<Proposition> targets, Set<Inference> context, boolean filterContext) {
+        if (targets.stream().noneMatch(Optimizer::isClassBased))
+            return targets;
+
+        Set<Proposition> pending = new HashSet<>();
+        if (filterContext)
+            targets.stream().filter(Optimizer::isClassBased).forEach(pending::add);
+
+        // the inferences drawn from pending targets are held back until all targets they are drawn from are kept
+        List<Inference> premises = new ArrayList<>();
+        Map<Proposition, List<Inference>> heldBack = new HashMap<>();
+        for (Inference inference : context) {
+            List<Gadget> dependencies = inference.getAssumptions().stream()
+                    .filter(pending::contains)
+                    .collect(Collectors.toList());
+            if (dependencies.isEmpty())
+                premises.add(inference);
+            for (Gadget dependency : dependencies)
+                heldBack.computeIfAbsent(dependency, key -> new ArrayList<>()).add(inference);
+        }
+
+        List<Proposition> state = new ArrayList<>(targets);
+        EqualityClasses equalities = EqualityClasses.of(premises);
+        for (Proposition target : targets) {
+            if (!(target instanceof EqualityGadget))
+                continue;
+
+            EqualityGadget eq = (EqualityGadget) target;
+            if (equalities.areEqual(eq.getLeft(), eq.getRight()))
+                removeImplied(target, state);
+            else
+                keep(target, pending, heldBack).forEach(inference -> {
+                    premises.add(inference);
+                    equalities.add(inference);
+                });
+        }
+
+        if (targets.stream().noneMatch(target -> target instanceof LessThanGadget || target instanceof BoundsCheckGadget))
+            return state;
+
+        // equalities drawn from kept less-than relations and bounds checks are not merged into the classes anymore
+        LessThanGraph lessThanGraph = LessThanGraph.of(premises, equalities);
+        for (Proposition target : targets) {
+            if (!(target instanceof LessThanGadget))
+                continue;
+
+            if (LessThanGadget.isImplied((LessThanGadget) target, lessThanGraph, equalities))
+                removeImplied(target, state);
+            else
+                keep(target, pending, heldBack).forEach(inference -> {
+                    premises.add(inference);
+                    lessThanGraph.add(inference);
+                });
+        }
 
+        if (targets.stream().noneMatch(BoundsCheckGadget.class::isInstance))
+            return state;
+
+        IntervalDomain domain = IntervalDomain.of(premises, equalities, lessThanGraph);
+        for (Proposition target : targets) {
+            if (!(target instanceof BoundsCheckGadget))
+                continue;
+
+            if (BoundsCheckGadget.isImplied((BoundsCheckGadget) target, domain))
+                removeImplied(target, state);
+            else
+                domain.add(keep(target, pending, heldBack));
+        }
         return state;
     }
 
+    private static void removeImplied(Proposition target, List<Proposition> state) {
+        LOGGER.debug("Removing {} (implied by context).", target);
+        state.remove(target);
+    }
+
+    /**
+     * Marks the given pending {@code target} as kept and returns the inferences held back that are now drawn from kept
+     * targets only.
+     */
+    private static List<Inference> keep(Proposition target, Set<Proposition> pending,
+                                        Map<Proposition, List<Inference>> heldBack) {
+        pending.remove(target);
+        return heldBack.getOrDefault(target, Collections.emptyList()).stream()
+                .filter(inference -> inference.getAssumptions().stream().noneMatch(pending::contains))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isClassBased(Proposition proposition) {
+        return proposition instanceof EqualityGadget || proposition instanceof LessThanGadget
+                || proposition instanceof BoundsCheckGadget;
+    }
+
     /**
      * Invokes all applicable substitution rules for the given {@code targets} and {@code context}. Returns the
      * {@link Substitute} that leads to the biggest cost reduction.
@@ -260,53 +467,126 @@ public class Optimizer {
      * @param targets       list of {@link Proposition} to execute substitution rules on
      * @param context       set of {@link Inference} to use in context parameters
      * @param filterContext boolean flag whether to allow duplicate implications from context
-     * @return {@link Substitute} object that, when applied, reduces the cost of {@code targets} by >= 0
+     * @return {@link Substitute} object that, when applied, reduces the cost of {@code targets} by >= 0 (> 0 if
+     * the rule is {@link Substitution#strict()})
      */
     private Optional<Substitute> pickSubstitute(List<Proposition> targets, Set<Inference> context, boolean filterContext) {
+        Map<Class<?>, List<Proposition>> targetBuckets = CombinatoricsUtils.groupByClass(targets);
+        Map<Class<?>, List<Inference>> contextBuckets = groupByConclusionClass(context);
+
         List<Substitute> substitutes = new ArrayList<>();
-        for (SubstitutionRule rule : substitutionRules) {
-            for (Substitute.Arguments arguments : getSatisfyingArgs(rule, targets, context, filterContext)) {
-                invokeSubstitutionRule(rule.getMethod(), arguments)
-                        .ifPresent(proposition -> {
-                            Substitute substitute = new Substitute(rule.getName(), arguments, proposition);
-                            if (substitute.getCostReduction() >= 0)
-                                substitutes.add(substitute);
-                        });
-            }
-        }
+        for (SubstitutionRule rule : getApplicableRules(targetBuckets))
+            for (Substitute.Arguments arguments : getSatisfyingArgs(rule, targetBuckets, contextBuckets, filterContext))
+                invokeRule(rule, arguments).ifPresent(substitutes::add);
 
         // return the substitute that leads to the biggest cost reduction
-        // in case of a tie, take a deterministic choice based on information from the statement
-        return substitutes.stream().max(
-                Comparator.comparingInt(Substitute::getCostReduction)
-                        .thenComparingInt(Substitute::getReferenceHashCode)
-                        .thenComparingInt(Substitute::getReplacementHashCode)
-                        .thenComparingInt(Substitute::getTargetHashCode)
-        );
+        return substitutes.stream()
+                .filter(Substitute::isImprovement)
+                .max(SUBSTITUTE_ORDER);
+    }
+
+    /**
+     * Invokes the given substitution {@code rule} on the given {@code arguments}, answering repeated invocations from
+     * the {@link Optimizer#substitutionMemo}.
+     *
+     * @param rule      {@link SubstitutionRule} to invoke
+     * @param arguments {@link Substitute.Arguments} satisfying the signature of the {@code rule}
+     * @return {@link Substitute} returned by the {@code rule}
+     */
+    private Optional<Substitute> invokeRule(SubstitutionRule rule, Substitute.Arguments arguments) {
+        return substitutionMemo.computeIfAbsent(rule, arguments.getTargets(), arguments.getContext(),
+                () -> rule.getCompiledRule().invoke(arguments.getTargets(), arguments.getContext()))
+                .map(proposition -> new Substitute(rule.getName(), arguments, proposition, rule.isStrict(),
+                        costModel));
+    }
+
+    /**
+     * Returns the substitution rules whose first target type matches the class of one of the given targets, in the
+     * order of the classes in {@code targetBuckets}. Rules that are {@link Substitution#disjunctive()} are only
+     * returned if the {@link Optimizer#costModel} rates the width of disjunctions.
+     *
+     * @param targetBuckets targets grouped by their class
+     * @return list of {@link SubstitutionRule} that could be satisfied by the given targets
+     */
+    private List<SubstitutionRule> getApplicableRules(Map<Class<?>, List<Proposition>> targetBuckets) {
+        boolean disjunctive = costModel.ratesDisjunctionWidth();
+        List<SubstitutionRule> rules = new ArrayList<>();
+        for (Class<?> type : targetBuckets.keySet())
+            for (SubstitutionRule rule : SUBSTITUTION_RULES.getOrDefault(type, Collections.emptyList()))
+                if (disjunctive || !rule.isDisjunctive())
+                    rules.add(rule);
+
+        return rules;
     }
 
     /**
-     * Returns all combinations of {@code targets} and {@code context} that fulfill the signature of the provided
-     * {@code rule}.
+     * Returns all combinations of targets and context that fulfill the signature of the provided {@code rule}.
      *
-     * @param rule          {@link SubstitutionRule} to get satisfying arguments for
-     * @param targets       list of {@link Proposition} to choose targets arguments from
-     * @param context       list of {@link Inference} to choose context arguments from
-     * @param filterContext flag whether to allow the replacement of mutual inferences
+     * @param rule           {@link SubstitutionRule} to get satisfying arguments for
+     * @param targetBuckets  {@link Proposition} objects grouped by their class to choose targets arguments from
+     * @param contextBuckets {@link Inference} objects grouped by the class of their conclusion to choose context
+     *                       arguments from
+     * @param filterContext  flag whether to allow the replacement of mutual inferences
      * @return list of {@link Substitute.Arguments} that satisfy the signature of the given {@link SubstitutionRule}
      */
-    private List<Substitute.Arguments> getSatisfyingArgs(SubstitutionRule rule, List<Proposition> targets, Set<Inference> context, boolean filterContext) {
+    private List<Substitute.Arguments> getSatisfyingArgs(
+            SubstitutionRule rule,
+            Map<Class<?>, List<Proposition>> targetBuckets,
+            Map<Class<?>, List<Inference>> contextBuckets,
+            boolean filterContext
+    ) {
+        return getSatisfyingArgs(rule, targetBuckets, contextBuckets, filterContext, null, null);
+    }
+
+    /**
+     * Returns the combinations of targets and context that fulfill the signature of the provided {@code rule} (see
+     * {@link Optimizer#getSatisfyingArgs(SubstitutionRule, Map, Map, boolean)}), restricted to the combinations
+     * containing one of the {@code requiredTargets} and one of the {@code requiredContext} conclusions. A restriction
+     * of {@code null} does not restrict the combinations.
+     *
+     * @param rule            {@link SubstitutionRule} to get satisfying arguments for
+     * @param targetBuckets   {@link Proposition} objects grouped by their class to choose targets arguments from
+     * @param contextBuckets  {@link Inference} objects grouped by the class of their conclusion to choose context
+     *                        arguments from
+     * @param filterContext   flag whether to allow the replacement of mutual inferences
+     * @param requiredTargets targets of which one must be part of each combination of targets (or {@code null})
+     * @param requiredContext conclusions of which one must be part of each combination of context (or {@code null})
+     * @return list of {@link Substitute.Arguments} that satisfy the signature of the given {@link SubstitutionRule}
+     */
+    private List<Substitute.Arguments> getSatisfyingArgs(
+            SubstitutionRule rule,
+            Map<Class<?>, List<Proposition>> targetBuckets,
+            Map<Class<?>, List<Inference>> contextBuckets,
+            boolean filterContext,
+            Collection<Proposition> requiredTargets,
+            Collection<Proposition> requiredContext
+    ) {
         List<Substitute.Arguments> satisfyingArguments = new ArrayList<>();
+        List<Class<? extends Proposition>> contextTypes = rule.getContextTypes();
 
-        // check whether this substitution rule can be satisfied using the provided targets
-        Set<List<Proposition>> targetCombinations = getCombinations(rule.getTargetTypes(), targets);
+        // check whether the context could satisfy this substitution rule at all
+        if (!contextBuckets.keySet().containsAll(contextTypes))
+            return satisfyingArguments;
 
-        List<Class<? extends Proposition>> contextTypes = rule.getContextTypes();
+        if (requiredContext != null && requiredContext.stream().noneMatch(c -> contextTypes.contains(c.getClass())))
+            return satisfyingArguments;
+
+        // check whether this substitution rule can be satisfied using the provided targets
+        Set<List<Proposition>> targetCombinations = requiredTargets == null
+                ? getCombinations(rule.getTargetTypes(), targetBuckets)
+                : getCombinationsContaining(rule.getTargetTypes(), targetBuckets, requiredTargets);
 
         if (!contextTypes.isEmpty()) {
+            List<Inference> context = rule.getDistinctContextTypes().stream()
+                    .map(contextBuckets::get)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toList());
             for (List<Proposition> targetCombination : targetCombinations) {
                 Set<Proposition> targetContext = filterTargetContext(context, targetCombination, filterContext);
-                Set<List<Proposition>> contextCombinations = getCombinations(contextTypes, targetContext);
+                Set<List<Proposition>> contextCombinations = requiredContext == null
+                        ? getCombinations(contextTypes, targetContext)
+                        : getCombinationsContaining(contextTypes, CombinatoricsUtils.groupByClass(targetContext),
+                        requiredContext.stream().filter(targetContext::contains).collect(Collectors.toList()));
                 satisfyingArguments.addAll(contextCombinations.stream()
                         .map(contextCombination -> new Substitute.Arguments(targetCombination, contextCombination))
                         .collect(Collectors.toList()));
@@ -321,7 +601,7 @@ public class Optimizer {
     }
 
     /**
-     * Maps the given set of {@link Inference} to their conclusion ({@link Proposition}), filtering mutual inferences
+     * Maps the given list of {@link Inference} to their conclusion ({@link Proposition}), filtering mutual inferences
      * if {@code doFilter} is set.
      * <p>
      * Mutual inference filtering is required to prevent mutual inferences (e.g. duplicates) to both be replaced due to
@@ -332,7 +612,7 @@ public class Optimizer {
      * @param doFilter flag whether to filter mutual inferences
      * @return set of conclusions ({@link Proposition}) to use as context
      */
-    private Set<Proposition> filterTargetContext(Set<Inference> context, List<Proposition> targets, boolean doFilter) {
+    private Set<Proposition> filterTargetContext(List<Inference> context, List<Proposition> targets, boolean doFilter) {
         return context.stream()
                 .filter(inference -> !doFilter || inference.getAssumptions().stream().noneMatch(targets::contains))
                 .map(Inference::getConclusion)
@@ -340,21 +620,17 @@ public class Optimizer {
     }
 
     /**
-     * Invoke the given {@code substitutionRule}, which is expected to return an {@link Optional} of {@link Proposition}.
+     * Groups the given set of {@link Inference} by the class of their conclusion.
      *
-     * @param substitutionRule {@link Method} to invoke
-     * @param arguments        arguments to use for method invocation
-     * @return {@link Optional} of {@link Proposition} returned by the invoked method
+     * @param inferences set of {@link Inference} to group
+     * @return mapping of classes to the inferences whose conclusion is of exactly this class
      */
-    private Optional<Proposition> invokeSubstitutionRule(Method substitutionRule, Substitute.Arguments arguments) {
-        ReflectionHelper.assertParameterizedReturnType(substitutionRule, Optional.class, Proposition.class);
+    private static Map<Class<?>, List<Inference>> groupByConclusionClass(Set<Inference> inferences) {
+        Map<Class<?>, List<Inference>> buckets = new HashMap<>();
+        for (Inference inference : inferences)
+            buckets.computeIfAbsent(inference.getConclusion().getClass(), k -> new ArrayList<>()).add(inference);
 
-        Object[] args = ArrayUtils.addAll(arguments.getTargets().toArray(), arguments.getContext().toArray());
-
-        @SuppressWarnings("unchecked")
-        Optional<Proposition> substitution = (Optional<Proposition>) ReflectionHelper.invokeStaticMethod(substitutionRule, args);
-
-        return substitution;
+        return buckets;
     }
 
     /**
@@ -363,13 +639,33 @@ public class Optimizer {
      *
      * @return list of {@link SubstitutionRule}
      */
-    private List<SubstitutionRule> prepareSubstitutionRules() {
+    private static List<SubstitutionRule> prepareSubstitutionRules() {
         return ReflectionHelper.getMethodsAnnotatedWith(Substitution.class).stream()
-                .map(this::processSubstitutionRule)
+                .map(Optimizer::processSubstitutionRule)
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Indexes the given substitution rules by their first target type. The order of the rules is preserved within
+     * each type.
+     *
+     * @param rules list of {@link SubstitutionRule} to index
+     * @return mapping of proposition classes to the substitution rules that take them as first target
+     */
+    private static Map<Class<? extends Proposition>, List<SubstitutionRule>> indexSubstitutionRules(
+            List<SubstitutionRule> rules
+    ) {
+        Map<Class<? extends Proposition>, List<SubstitutionRule>> index = new HashMap<>();
+        for (SubstitutionRule rule : rules) {
+            if (rule.getTargetTypes().isEmpty())
+                throw new InternalCompilerException("Substitution rule %s must define at least one target.", rule.getName());
+
+            index.computeIfAbsent(rule.getTargetTypes().get(0), k -> new ArrayList<>()).add(rule);
+        }
+        return index;
+    }
+
     /**
      * Processes the given {@link Method}, expected to be annotated as {@link Substitution}, by calling the replacement
      * methods for the wildcards {@link Gadget} and {@link Conjunction}.
@@ -377,14 +673,15 @@ public class Optimizer {
      * @param method {@link Method} to process
      * @return list of all {@link SubstitutionRule} that could be derived from the given {@code method}
      */
-    private List<SubstitutionRule> processSubstitutionRule(Method method) {
+    private static List<SubstitutionRule> processSubstitutionRule(Method method) {
         Substitution annotation = method.getAnnotation(Substitution.class);
         List<Class<? extends Proposition>> targetTypes = Arrays.asList(annotation.target());
         List<Class<? extends Proposition>> contextTypes = Arrays.asList(annotation.context());
 
-        SubstitutionRule rule = new SubstitutionRule(method, targetTypes, contextTypes);
+        SubstitutionRule rule = new SubstitutionRule(CompiledRule.compileOptional(method, Proposition.class, Proposition.class),
+                targetTypes, contextTypes, annotation.strict(), annotation.disjunctive());
         return replaceGadgetWildcard(rule).stream()
-                .map(this::replaceConjunctionWildcard)
+                .map(Optimizer::replaceConjunctionWildcard)
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
     }
@@ -397,9 +694,9 @@ public class Optimizer {
      * @return list of {@link SubstitutionRule}, where each object represents a wildcard replacement or the given
      * {@code rule} if the wildcard is not present
      */
-    private List<SubstitutionRule> replaceGadgetWildcard(SubstitutionRule rule) {
+    private static List<SubstitutionRule> replaceGadgetWildcard(SubstitutionRule rule) {
         if (rule.getTargetTypes().contains(Gadget.class) || rule.getContextTypes().contains(Gadget.class))
-            return gadgetTypes.stream()
+            return GADGET_TYPES.stream()
                     .map(gadget -> createPermutation(rule, Gadget.class, gadget))
                     .collect(Collectors.toList());
         else
@@ -414,9 +711,9 @@ public class Optimizer {
      * @return list of {@link SubstitutionRule}, where each object represents a wildcard replacement or the given
      * {@code rule} if the wildcard is not present
      */
-    private List<SubstitutionRule> replaceConjunctionWildcard(SubstitutionRule rule) {
+    private static List<SubstitutionRule> replaceConjunctionWildcard(SubstitutionRule rule) {
         if (rule.getTargetTypes().contains(Conjunction.class) || rule.getContextTypes().contains(Conjunction.class))
-            return conjunctionTypes.stream()
+            return CONJUNCTION_TYPES.stream()
                     .map(conjunction -> createPermutation(rule, Conjunction.class, conjunction))
                     .collect(Collectors.toList());
         else
@@ -432,7 +729,7 @@ public class Optimizer {
      * @param replacement type to replace with
      * @return permutation of {@code rule} with all {@code wildcard} replaced by {@code replacement}
      */
-    private SubstitutionRule createPermutation(
+    private static SubstitutionRule createPermutation(
             SubstitutionRule rule,
             Class<? extends Proposition> wildcard,
             Class<? extends Proposition> replacement
@@ -443,7 +740,8 @@ public class Optimizer {
         List<Class<? extends Proposition>> permutationContextTypes = rule.getContextTypes().stream()
                 .map(type -> replaceWildcard(type, wildcard, replacement))
                 .collect(Collectors.toList());
-        return new SubstitutionRule(rule.getMethod(), permutationTargetTypes, permutationContextTypes);
+        return new SubstitutionRule(rule.getCompiledRule(), permutationTargetTypes, permutationContextTypes,
+                rule.isStrict(), rule.isDisjunctive());
     }
 
     /**
@@ -454,32 +752,209 @@ public class Optimizer {
      * @param replacement object to replace by
      * @return {@code replacement} if the {@code target} matches the {@code wildcard}, {@code target} otherwise
      */
-    private <T> T replaceWildcard(T target, T wildcard, T replacement) {
+    private static <T> T replaceWildcard(T target, T wildcard, T replacement) {
         return target == wildcard ? replacement : target;
     }
 
+    /**
+     * Incremental matching of the substitution rules on a logical group of targets.
+     * <p>
+     * Instead of matching all rules on all combinations of targets and context after each applied substitute, the
+     * matched substitutes are kept in a priority queue (ordered by their cost reduction, see
+     * {@link Optimizer#SUBSTITUTE_ORDER}). After applying a substitute, only the combinations containing the replacement
+     * or a newly drawn conclusion are matched. Queued substitutes whose targets have been replaced or whose context no
+     * longer holds are discarded once they reach the head of the queue.
+     * <p>
+     * The context is maintained incrementally as well: the inferences drawn from a replaced target are dropped and only
+     * the inferences of the replacement are drawn.
+     */
+    private class Worklist {
+        private final List<Proposition> state;
+        private final Set<Inference> baseContext;
+        private final Map<Proposition, Integer> occurrences = new HashMap<>();
+        private final PriorityQueue<Candidate> queue = new PriorityQueue<>(
+                Comparator.comparing(Candidate::getSubstitute, SUBSTITUTE_ORDER.reversed())
+                        .thenComparingLong(Candidate::getSequence)
+        );
+        private final Map<SubstitutionRule, Set<Substitute.Arguments>> queued = new HashMap<>();
+        private Set<Inference> context;
+        private Map<Proposition, List<Inference>> supports;
+        private long sequence;
+
+        private Worklist(List<Proposition> targets, Set<Inference> baseContext) {
+            this.state = new ArrayList<>(targets);
+            this.baseContext = baseContext;
+            state.forEach(target -> occurrences.merge(target, 1, Integer::sum));
+            setContext(determineConjunctionAssumptions(new AndConjunction(state), baseContext));
+            match(null, null);
+        }
+
+        private List<Proposition> getState() {
+            return state;
+        }
+
+        /**
+         * Removes and returns the queued {@link Substitute} with the biggest cost reduction that is still applicable.
+         *
+         * @return {@link Substitute} to apply next, empty if there is nothing to further replace
+         */
+        private Optional<Substitute> poll() {
+            while (!queue.isEmpty()) {
+                Candidate candidate = queue.poll();
+                queued.get(candidate.getRule()).remove(candidate.getSubstitute().getArguments());
+                if (isApplicable(candidate.getSubstitute()))
+                    return Optional.of(candidate.getSubstitute());
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Replaces the targets of the given {@code substitute} by its replacement, updates the context accordingly and
+         * matches the substitution rules on the combinations affected by this change.
+         *
+         * @param substitute {@link Substitute} to apply
+         */
+        private void apply(Substitute substitute) {
+            Set<Proposition> removed = new HashSet<>(substitute.getTargets());
+            Proposition replacement = substitute.getReplacement();
+            state.removeAll(removed);
+            removed.forEach(occurrences::remove);
+            state.add(replacement);
+            occurrences.merge(replacement, 1, Integer::sum);
+
+            // drop the inferences drawn from a replaced target (base assumptions hold regardless of the targets)
+            Set<Inference> retained = context.stream()
+                    .filter(inference -> baseContext.contains(inference)
+                            || inference.getAssumptions().stream().noneMatch(removed::contains))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Set<Inference> updated = replacement instanceof Gadget
+                    ? ImplicationHelper.drawInferences(List.of((Gadget) replacement), retained)
+                    : retained;
+            Set<Proposition> newConclusions = updated.stream()
+                    .filter(inference -> !context.contains(inference))
+                    .map(Inference::getConclusion)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            setContext(updated);
+
+            match(List.of(replacement), null);
+            if (!newConclusions.isEmpty())
+                match(null, newConclusions);
+        }
+
+        private void setContext(Set<Inference> context) {
+            this.context = context;
+            this.supports = new HashMap<>();
+            for (Inference inference : context)
+                supports.computeIfAbsent(inference.getConclusion(), key -> new ArrayList<>()).add(inference);
+        }
+
+        /**
+         * Matches all substitution rules on the current state and context and queues the resulting substitutes (see
+         * {@link Optimizer#getSatisfyingArgs(SubstitutionRule, Map, Map, boolean, Collection, Collection)}).
+         *
+         * @param requiredTargets targets of which one must be part of each match (or {@code null})
+         * @param requiredContext conclusions of which one must be part of each match (or {@code null})
+         */
+        private void match(Collection<Proposition> requiredTargets, Collection<Proposition> requiredContext) {
+            Map<Class<?>, List<Proposition>> targetBuckets = CombinatoricsUtils.groupByClass(state);
+            Map<Class<?>, List<Inference>> contextBuckets = groupByConclusionClass(context);
+            for (SubstitutionRule rule : getApplicableRules(targetBuckets)) {
+                Set<Substitute.Arguments> ruleQueued = queued.computeIfAbsent(rule, key -> new HashSet<>());
+                for (Substitute.Arguments arguments : getSatisfyingArgs(rule, targetBuckets, contextBuckets, true,
+                        requiredTargets, requiredContext)) {
+                    if (ruleQueued.contains(arguments))
+                        continue;
+
+                    invokeRule(rule, arguments)
+                            .filter(Substitute::isImprovement)
+                            .ifPresent(substitute -> {
+                                ruleQueued.add(arguments);
+                                queue.add(new Candidate(rule, substitute, sequence++));
+                            });
+                }
+            }
+        }
+
+        /**
+         * Checks whether the given {@code substitute} can still be applied to the current state, i.e. whether all its
+         * targets are part of the state and all its context is concluded without assuming one of its targets.
+         *
+         * @param substitute queued {@link Substitute} to check
+         * @return true if the {@code substitute} is still applicable
+         */
+        private boolean isApplicable(Substitute substitute) {
+            Map<Proposition, Integer> required = new HashMap<>();
+            substitute.getTargets().forEach(target -> required.merge(target, 1, Integer::sum));
+            for (Map.Entry<Proposition, Integer> entry : required.entrySet())
+                if (occurrences.getOrDefault(entry.getKey(), 0) < entry.getValue())
+                    return false;
+
+            for (Proposition conclusion : substitute.getContext()) {
+                boolean holds = supports.getOrDefault(conclusion, Collections.emptyList()).stream()
+                        .anyMatch(inference -> inference.getAssumptions().stream()
+                                .noneMatch(substitute.getTargets()::contains));
+                if (!holds)
+                    return false;
+            }
+            return true;
+        }
+    }
+
     /**
      * Object to represent the result of a successful substitution rule.
      */
     private static class Substitute {
-        private String source;
-        private Arguments arguments;
-        private Proposition replacement;
-
-        private Substitute(String source, Arguments arguments, Proposition replacement) {
+        private final String source;
+        private final Arguments arguments;
+        private final Proposition replacement;
+        // ranking of the substitute (see SUBSTITUTE_ORDER), computed once from the cached properties of the propositions
+        private final long costReduction;
+        private final int referenceHashCode;
+        private final int targetHashCode;
+        private final boolean strict;
+
+        private Substitute(String source, Arguments arguments, Proposition replacement, boolean strict,
+                           CostModel costModel) {
             this.source = source;
             this.arguments = arguments;
             this.replacement = replacement;
+            this.strict = strict;
+
+            long targetCost = 0;
+            int targetReferences = 0;
+            int targetPositions = 0;
+            for (Proposition target : arguments.getTargets()) {
+                targetCost = CostModel.add(targetCost, target.getCostEstimate(costModel));
+                targetReferences += target.getReferenceHashCode();
+                targetPositions += target.getPositionHashCode();
+            }
+            this.costReduction = CostModel.add(targetCost, -replacement.getCostEstimate(costModel));
+            this.referenceHashCode = replacement.getReferenceHashCode() + targetReferences;
+            this.targetHashCode = targetPositions;
+        }
+
+        private long getCostReduction() {
+            return costReduction;
         }
 
-        private Integer getCostReduction() {
-            return arguments.getTargets().stream().mapToInt(Proposition::getCostEstimate).sum() - replacement.getCostEstimate();
+        /**
+         * Checks whether applying this substitute does not increase the cost, or strictly reduces it if the rule is
+         * {@link Substitution#strict()}.
+         *
+         * @return {@code true} if the greedy optimization may apply this substitute
+         */
+        private boolean isImprovement() {
+            return strict ? costReduction > 0 : costReduction >= 0;
         }
 
         private String getSource() {
             return source;
         }
 
+        private Arguments getArguments() {
+            return arguments;
+        }
+
         private List<Proposition> getTargets() {
             return arguments.getTargets();
         }
@@ -493,36 +968,15 @@ public class Optimizer {
         }
 
         private int getReferenceHashCode() {
-            return Stream.concat(
-                    replacement.listAllGadgets().stream(),
-                    getTargets().stream().map(Proposition::listAllGadgets).flatMap(Collection::stream)
-            )
-                    .map(Gadget::getVariables)
-                    .map(Map::values)
-                    .flatMap(Collection::stream)
-                    .map(Variable::getReference)
-                    .filter(Objects::nonNull)
-                    .mapToInt(Reference::hashCode)
-                    .sum();
+            return referenceHashCode;
         }
 
         private int getReplacementHashCode() {
-            return hashCodeOf(replacement.listAllGadgets().stream());
+            return replacement.getPositionHashCode();
         }
 
         private int getTargetHashCode() {
-            return hashCodeOf(getTargets().stream().map(Proposition::listAllGadgets).flatMap(Collection::stream));
-        }
-
-        private int hashCodeOf(Stream<Gadget> stream) {
-            return stream
-                    .map(Gadget::getVariables)
-                    .map(Map::values)
-                    .flatMap(Collection::stream)
-                    .map(Variable::getPosition)
-                    .filter(Objects::nonNull)
-                    .mapToInt(Position.Absolute::hashCode)
-                    .sum();
+            return targetHashCode;
         }
 
         private static class Arguments {
@@ -541,6 +995,50 @@ public class Optimizer {
             private List<Proposition> getContext() {
                 return context;
             }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj)
+                    return true;
+
+                if (obj == null || getClass() != obj.getClass())
+                    return false;
+
+                Arguments other = (Arguments) obj;
+                return targets.equals(other.targets) && context.equals(other.context);
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(targets, context);
+            }
+        }
+    }
+
+    /**
+     * Object to represent a matched {@link Substitute} in the queue of a {@link Worklist}.
+     */
+    private static class Candidate {
+        private SubstitutionRule rule;
+        private Substitute substitute;
+        private long sequence;
+
+        private Candidate(SubstitutionRule rule, Substitute substitute, long sequence) {
+            this.rule = rule;
+            this.substitute = substitute;
+            this.sequence = sequence;
+        }
+
+        private SubstitutionRule getRule() {
+            return rule;
+        }
+
+        private Substitute getSubstitute() {
+            return substitute;
+        }
+
+        private long getSequence() {
+            return sequence;
         }
     }
 
@@ -548,22 +1046,34 @@ public class Optimizer {
      * Object to represent a substitution rule defined by methods annotated as {@link Substitution}.
      */
     private static class SubstitutionRule {
-        private Method method;
+        private CompiledRule<Proposition, Optional<Proposition>> compiledRule;
         private List<Class<? extends Proposition>> targetTypes;
         private List<Class<? extends Proposition>> contextTypes;
-
-        private SubstitutionRule(Method method, List<Class<? extends Proposition>> targetTypes, List<Class<? extends Proposition>> contextTypes) {
-            this.method = method;
+        private List<Class<? extends Proposition>> distinctContextTypes;
+        private boolean strict;
+        private boolean disjunctive;
+
+        private SubstitutionRule(
+                CompiledRule<Proposition, Optional<Proposition>> compiledRule,
+                List<Class<? extends Proposition>> targetTypes,
+                List<Class<? extends Proposition>> contextTypes,
+                boolean strict,
+                boolean disjunctive
+        ) {
+            this.compiledRule = compiledRule;
             this.targetTypes = targetTypes;
             this.contextTypes = contextTypes;
+            this.distinctContextTypes = new ArrayList<>(new LinkedHashSet<>(contextTypes));
+            this.strict = strict;
+            this.disjunctive = disjunctive;
         }
 
         private String getName() {
-            return method.getName();
+            return compiledRule.getName();
         }
 
-        private Method getMethod() {
-            return method;
+        private CompiledRule<Proposition, Optional<Proposition>> getCompiledRule() {
+            return compiledRule;
         }
 
         private List<Class<? extends Proposition>> getTargetTypes() {
@@ -573,5 +1083,17 @@ public class Optimizer {
         private List<Class<? extends Proposition>> getContextTypes() {
             return contextTypes;
         }
+
+        private List<Class<? extends Proposition>> getDistinctContextTypes() {
+            return distinctContextTypes;
+        }
+
+        private boolean isStrict() {
+            return strict;
+        }
+
+        private boolean isDisjunctive() {
+            return disjunctive;
+        }
     }
 }
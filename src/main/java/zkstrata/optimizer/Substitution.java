@@ -12,4 +12,18 @@ import java.lang.annotation.Target;
 public @interface Substitution {
     Class<? extends Proposition>[] target();
     Class<? extends Proposition>[] context() default {};
+
+    /**
+     * Whether the substitution is only applied if it strictly reduces the cost. Rules converting between two
+     * representations in both directions must be strict, as they would otherwise alternate forever if the cost model
+     * rates both representations equally.
+     */
+    boolean strict() default false;
+
+    /**
+     * Whether the substitution converts between a single gadget and an {@link zkstrata.domain.conjunctions.OrConjunction}
+     * of gadgets checking the same value. Such rules are only applied if the cost model rates the number of parts of an
+     * OR (see {@link CostModel#ratesDisjunctionWidth()}).
+     */
+    boolean disjunctive() default false;
 }
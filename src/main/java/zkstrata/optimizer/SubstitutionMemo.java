@@ -0,0 +1,170 @@
+package zkstrata.optimizer;
+
+import zkstrata.domain.Proposition;
+import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.domain.gadgets.Gadget;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bounded memo table of the results of substitution rule invocations, keyed on the identity of the rule and the
+ * arguments (targets and context) it was invoked on.
+ * <p>
+ * Substitution rules are pure functions of their arguments, so the same invocation is answered from this table when it
+ * recurs (e.g. in a later iteration on the same logical group or when the optimized claim is optimized again in
+ * combination with the validation rule). Negative results (the rule did not apply) are cached as well. The least
+ * recently used entries are evicted once the {@code capacity} is reached.
+ * <p>
+ * As variables are compared by their value or reference only, the arguments of an invocation additionally have to
+ * agree on the positions of their variables. This way, a memoized replacement is indistinguishable from the one the
+ * rule would return, independent of the order the table was filled in (e.g. by concurrent optimization tasks).
+ * Sets of instance data take part in the key by their digest and their shared position only (see
+ * {@link zkstrata.domain.data.types.wrapper.InstanceSet}), so building and comparing keys never iterates them.
+ */
+public class SubstitutionMemo {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private final Map<Key, Optional<Proposition>> results;
+    private long hits;
+    private long misses;
+
+    public SubstitutionMemo() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SubstitutionMemo(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException(String.format("Invalid memo capacity: %d", capacity));
+
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Optional<Proposition>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the memoized result of invoking {@code rule} on the given {@code targets} and {@code context}, running
+     * the {@code invocation} if there is none.
+     *
+     * @param rule       substitution rule (compared by identity)
+     * @param targets    list of {@link Proposition} the rule is invoked on as targets
+     * @param context    list of {@link Proposition} the rule is invoked on as context
+     * @param invocation invocation of the rule on the given arguments
+     * @return {@link Optional} of the replacement returned by the rule
+     */
+    public Optional<Proposition> computeIfAbsent(
+            Object rule,
+            List<Proposition> targets,
+            List<Proposition> context,
+            Supplier<Optional<Proposition>> invocation
+    ) {
+        Key key = new Key(rule, targets, context);
+        synchronized (this) {
+            Optional<Proposition> result = results.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+            misses++;
+        }
+
+        // invoke the rule outside of the lock, concurrent misses on the same key compute the same result
+        Optional<Proposition> result = invocation.get();
+        synchronized (this) {
+            results.put(key, result);
+        }
+        return result;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    private static class Key {
+        private final Object rule;
+        private final List<Proposition> targets;
+        private final List<Proposition> context;
+        private final List<Variable> variables;
+        private final int hashCode;
+
+        private Key(Object rule, List<Proposition> targets, List<Proposition> context) {
+            this.rule = rule;
+            this.targets = List.copyOf(targets);
+            this.context = List.copyOf(context);
+            this.variables = new ArrayList<>();
+            Stream.concat(this.targets.stream(), this.context.stream())
+                    .map(Proposition::listAllGadgets)
+                    .flatMap(Collection::stream)
+                    .forEach(gadget -> gadget.forEachVariable(variables::add));
+            this.hashCode = Objects.hash(System.identityHashCode(rule), this.targets, this.context);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+
+            if (obj == null || getClass() != obj.getClass())
+                return false;
+
+            Key other = (Key) obj;
+            return rule == other.rule && hashCode == other.hashCode
+                    && isIdentical(targets, other.targets) && isIdentical(context, other.context)
+                    && isIdenticallyPositioned(variables, other.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        /**
+         * Compares the given lists of propositions element-wise. As {@link Conjunction#equals(Object)} ignores the
+         * order and multiplicity of parts, conjunctions are only identical if their parts are identical in order.
+         */
+        private static boolean isIdentical(List<Proposition> first, List<Proposition> second) {
+            if (first.size() != second.size())
+                return false;
+
+            for (int i = 0; i < first.size(); i++) {
+                Proposition left = first.get(i);
+                Proposition right = second.get(i);
+                if (left instanceof Conjunction && right instanceof Conjunction) {
+                    if (left.getClass() != right.getClass()
+                            || !isIdentical(((Conjunction) left).getParts(), ((Conjunction) right).getParts()))
+                        return false;
+                } else if (!left.equals(right)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isIdenticallyPositioned(List<Variable> first, List<Variable> second) {
+            if (first.size() != second.size())
+                return false;
+
+            for (int i = 0; i < first.size(); i++) {
+                Variable left = first.get(i);
+                Variable right = second.get(i);
+                if (left.getPosition() != right.getPosition()
+                        || !Objects.equals(left.getReference(), right.getReference()))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
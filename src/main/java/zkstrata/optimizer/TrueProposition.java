@@ -1,6 +1,7 @@
 package zkstrata.optimizer;
 
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeLine;
+import zkstrata.domain.EvaluationPaths;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.gadgets.Gadget;
 
@@ -20,12 +21,12 @@ public class TrueProposition implements Proposition {
     }
 
     @Override
-    public List<List<Gadget>> getEvaluationPaths() {
-        return Collections.emptyList();
+    public EvaluationPaths getEvaluationPaths() {
+        return EvaluationPaths.empty();
     }
 
     @Override
-    public int getCostEstimate() {
+    public long getCostEstimate(CostModel costModel) {
         return 0;
     }
 
@@ -2,6 +2,8 @@ package zkstrata.parser.ast.predicates;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import zkstrata.parser.ParserRule;
+import zkstrata.parser.ast.types.Identifier;
+import zkstrata.parser.ast.types.SetReference;
 import zkstrata.parser.ast.types.Value;
 import zkstrata.utils.StatementBuilder;
 import zkstrata.zkStrata;
@@ -26,9 +28,12 @@ public class SetMembership extends Predicate {
     public static SetMembership parse(ParserRuleContext ctx) {
         zkStrata.Set_membershipContext setMembershipContext = (zkStrata.Set_membershipContext) ctx;
         List<Value> member = getValues(setMembershipContext);
-        List<Value> set = getValues(setMembershipContext.set());
+        zkStrata.SetContext setContext = setMembershipContext.set();
 
-        return new SetMembership(member.get(0), new HashSet<>(set));
+        if (setContext.reference() != null)
+            return new SetMembership(member.get(0), new SetReference((Identifier) getValues(setContext).get(0)));
+
+        return new SetMembership(member.get(0), new HashSet<>(getValues(setContext)));
     }
 
     public Value getMember() {
@@ -41,6 +46,9 @@ public class SetMembership extends Predicate {
 
     @Override
     public void addTo(StatementBuilder statementBuilder) {
-        statementBuilder.setMembership(member.toString(), set.stream().map(Value::toString).collect(Collectors.toSet()));
+        if (set instanceof SetReference)
+            statementBuilder.setMembership(member.toString(), set.toString());
+        else
+            statementBuilder.setMembership(member.toString(), set.stream().map(Value::toString).collect(Collectors.toSet()));
     }
 }
@@ -0,0 +1,56 @@
+package zkstrata.parser.ast.types;
+
+import zkstrata.exceptions.Position;
+import zkstrata.exceptions.Traceable;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Set given by a reference to a collection of instance data (e.g. {@code sanctions.names}) instead of its elements.
+ * <p>
+ * The elements are only known once the reference is bound to the instance data (see
+ * {@link zkstrata.domain.visitor.ASTVisitor}), so the set is empty within the abstract syntax tree.
+ */
+public class SetReference extends AbstractSet<Value> implements Traceable {
+    private Identifier identifier;
+
+    public SetReference(Identifier identifier) {
+        this.identifier = identifier;
+    }
+
+    public Identifier getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public Position getPosition() {
+        return identifier.getPosition();
+    }
+
+    @Override
+    public Iterator<Value> iterator() {
+        return Collections.emptyIterator();
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return this == object;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return identifier.toString();
+    }
+}
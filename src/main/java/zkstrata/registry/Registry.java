@@ -0,0 +1,130 @@
+package zkstrata.registry;
+
+import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.data.schemas.Schema;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.exceptions.InternalCompilerException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Registry of zkStrata extension points, read from the resource {@link Registry#RESOURCE} generated at build time by
+ * {@link zkstrata.registry.processor.RegistryProcessor}.
+ * <p>
+ * Each line of the resource lists the kind of an entry followed by the binary names of the classes (and the name of
+ * the method) it refers to, e.g. {@code gadget zkstrata.domain.gadgets.impl.EqualityGadget}. The classes are resolved
+ * when loading the registry, hence a stale resource fails on the first use of the compiler.
+ */
+public final class Registry {
+    public static final String RESOURCE = "META-INF/zkstrata/registry";
+
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class);
+
+    private final List<Class<? extends Gadget>> gadgets = new ArrayList<>();
+    private final List<Class<? extends Conjunction>> conjunctions = new ArrayList<>();
+    private final Map<String, Class<? extends Schema>> schemas = new LinkedHashMap<>();
+    private final Map<Class<? extends Annotation>, List<Method>> methods = new LinkedHashMap<>();
+    private final List<Constructor<?>> tokenTypes = new ArrayList<>();
+
+    private Registry() {
+    }
+
+    /**
+     * Loads the registry generated at build time using the class loader of this class.
+     *
+     * @return {@link Registry} of all extension points
+     */
+    public static Registry load() {
+        ClassLoader loader = Registry.class.getClassLoader();
+        try (InputStream stream = loader.getResourceAsStream(RESOURCE)) {
+            if (stream == null)
+                throw new InternalCompilerException("Missing registry resource %s.", RESOURCE);
+
+            Registry registry = new Registry();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null)
+                if (!line.isBlank() && !line.startsWith("#"))
+                    registry.addEntry(line.split(" "), loader);
+
+            return registry;
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new InternalCompilerException(e, "Unable to load the registry %s: %s", RESOURCE, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addEntry(String[] entry, ClassLoader loader) throws ReflectiveOperationException {
+        switch (entry[0]) {
+            case "gadget":
+                gadgets.add((Class<? extends Gadget>) loadClass(entry[1], loader));
+                break;
+            case "conjunction":
+                conjunctions.add((Class<? extends Conjunction>) loadClass(entry[1], loader));
+                break;
+            case "schema":
+                schemas.put(entry[1], (Class<? extends Schema>) loadClass(entry[2], loader));
+                break;
+            case "annotation":
+                methods.put((Class<? extends Annotation>) loadClass(entry[1], loader), new ArrayList<>());
+                break;
+            case "method":
+                methods.get(loadClass(entry[1], loader)).add(loadClass(entry[2], loader).getMethod(entry[3], loadClasses(entry, 4, loader)));
+                break;
+            case "constructor":
+                tokenTypes.add(loadClass(entry[1], loader).getConstructor(loadClasses(entry, 2, loader)));
+                break;
+            default:
+                throw new InternalCompilerException("Unknown registry entry %s.", entry[0]);
+        }
+    }
+
+    private static Class<?>[] loadClasses(String[] names, int from, ClassLoader loader)
+            throws ClassNotFoundException {
+        Class<?>[] classes = new Class<?>[names.length - from];
+        for (int i = from; i < names.length; i++)
+            classes[i - from] = loadClass(names[i], loader);
+        return classes;
+    }
+
+    private static Class<?> loadClass(String name, ClassLoader loader) throws ClassNotFoundException {
+        Class<?> primitive = PRIMITIVES.get(name);
+        return primitive != null ? primitive : Class.forName(name, false, loader);
+    }
+
+    public List<Class<? extends Gadget>> getGadgets() {
+        return Collections.unmodifiableList(gadgets);
+    }
+
+    public List<Class<? extends Conjunction>> getConjunctions() {
+        return Collections.unmodifiableList(conjunctions);
+    }
+
+    public Map<String, Class<? extends Schema>> getSchemas() {
+        return Collections.unmodifiableMap(schemas);
+    }
+
+    /**
+     * Returns the registered methods by their annotation. Every annotation tracked by the registry is contained, even
+     * if no method is annotated with it.
+     *
+     * @return map of annotations to the methods annotated with them
+     */
+    public Map<Class<? extends Annotation>, List<Method>> getMethods() {
+        return Collections.unmodifiableMap(methods);
+    }
+
+    public List<Constructor<?>> getTokenTypes() {
+        return Collections.unmodifiableList(tokenTypes);
+    }
+}
@@ -0,0 +1,253 @@
+package zkstrata.registry.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor generating the resource {@code META-INF/zkstrata/registry} at build time, which is read by
+ * {@code zkstrata.registry.Registry}.
+ * <p>
+ * The generated registry lists all gadget and conjunction implementations, predefined schemas and all methods and
+ * constructors annotated as rules, constants, parser rules or token types. This replaces the classpath scanning that
+ * was previously done on every start of the compiler.
+ * <p>
+ * This processor is compiled ahead of the remaining sources (see {@code pom.xml}) and must therefore not depend on any
+ * other class of zkStrata. All types are referenced by their fully qualified name.
+ */
+@SupportedAnnotationTypes("*")
+public class RegistryProcessor extends AbstractProcessor {
+    // location of the registry within the class output, see zkstrata.registry.Registry#RESOURCE
+    private static final String REGISTRY_RESOURCE = "META-INF/zkstrata/registry";
+
+    private static final String GADGET = "zkstrata.domain.gadgets.Gadget";
+    private static final String CONJUNCTION = "zkstrata.domain.conjunctions.Conjunction";
+    private static final String SCHEMA = "zkstrata.domain.data.schemas.predefined.Schema";
+    private static final String SCHEMA_INTERFACE = "zkstrata.domain.data.schemas.Schema";
+    private static final String TOKEN_TYPE = "zkstrata.parser.TokenType";
+
+    private static final List<String> METHOD_ANNOTATIONS = List.of(
+            "zkstrata.analysis.Implication",
+            "zkstrata.analysis.Contradiction",
+            "zkstrata.analysis.TypeConstraint",
+            "zkstrata.optimizer.Substitution",
+            "zkstrata.domain.data.types.Constant",
+            "zkstrata.parser.ParserRule"
+    );
+
+    private final SortedSet<String> gadgets = new TreeSet<>();
+    private final SortedSet<String> conjunctions = new TreeSet<>();
+    private final SortedMap<String, String> schemas = new TreeMap<>();
+    private final Map<String, SortedMap<String, List<String>>> methods = new LinkedHashMap<>();
+    private final SortedMap<String, List<String>> constructors = new TreeMap<>();
+    // types visited in any round, as a type is only a root element of the round it is introduced in
+    private final Set<String> visited = new HashSet<>();
+
+    public RegistryProcessor() {
+        for (String annotation : METHOD_ANNOTATIONS)
+            methods.put(annotation, new TreeMap<>());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Collects the annotated elements of the types introduced in each round (including types generated by other
+     * processors) and writes the registry once all rounds are over. The registry is a resource rather than a source
+     * file, as a source file created in the last round would not be subject to annotation processing.
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeRegistry();
+            return false;
+        }
+
+        for (Element element : roundEnv.getRootElements())
+            if (element instanceof TypeElement)
+                visitType((TypeElement) element);
+
+        return false;
+    }
+
+    private void visitType(TypeElement type) {
+        String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+        if (!visited.add(name))
+            return;
+
+        if (isConcreteSubtypeOf(type, GADGET))
+            gadgets.add(name);
+
+        if (isConcreteSubtypeOf(type, CONJUNCTION))
+            conjunctions.add(name);
+
+        AnnotationMirror schema = getAnnotation(type, SCHEMA);
+        if (schema != null) {
+            if (!isConcreteSubtypeOf(type, SCHEMA_INTERFACE))
+                error(type, "@Schema annotated class %s must be a concrete schema implementation.", name);
+            schemas.put(getAnnotationValue(schema, "name"), name);
+        }
+
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.METHOD)
+                visitMethod(name, (ExecutableElement) member);
+            else if (member.getKind() == ElementKind.CONSTRUCTOR)
+                visitConstructor(name, (ExecutableElement) member);
+            else if (member instanceof TypeElement)
+                visitType((TypeElement) member);
+        }
+    }
+
+    private void visitMethod(String owner, ExecutableElement method) {
+        for (String annotation : METHOD_ANNOTATIONS) {
+            if (getAnnotation(method, annotation) == null)
+                continue;
+
+            if (!method.getModifiers().containsAll(Set.of(Modifier.PUBLIC, Modifier.STATIC)))
+                error(method, "Method %s annotated as @%s must be public and static.",
+                        method.getSimpleName(), getSimpleName(annotation));
+
+            methods.get(annotation)
+                    .computeIfAbsent(owner, k -> new ArrayList<>())
+                    .add(String.format("%s %s%s", owner, method.getSimpleName(), getParameterTypes(method)));
+        }
+    }
+
+    private void visitConstructor(String owner, ExecutableElement constructor) {
+        if (getAnnotation(constructor, TOKEN_TYPE) == null)
+            return;
+
+        if (!constructor.getModifiers().contains(Modifier.PUBLIC))
+            error(constructor, "Constructor of %s annotated as @TokenType must be public.", owner);
+
+        constructors.computeIfAbsent(owner, k -> new ArrayList<>())
+                .add(owner + getParameterTypes(constructor));
+    }
+
+    private String getParameterTypes(ExecutableElement executable) {
+        return executable.getParameters().stream()
+                .map(parameter -> ' ' + getBinaryName(processingEnv.getTypeUtils().erasure(parameter.asType())))
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * Returns the name of the given erased type as returned by {@link Class#getName()}, e.g. {@code int},
+     * {@code java.util.Map$Entry} or {@code [Ljava.lang.String;}.
+     */
+    private String getBinaryName(TypeMirror type) {
+        switch (type.getKind()) {
+            case DECLARED:
+                return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement())
+                        .toString();
+            case ARRAY:
+                return '[' + getDescriptor(((ArrayType) type).getComponentType());
+            default:
+                return type.toString();
+        }
+    }
+
+    private String getDescriptor(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case CHAR:
+                return "C";
+            case SHORT:
+                return "S";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case ARRAY:
+                return getBinaryName(type);
+            default:
+                return 'L' + getBinaryName(type) + ';';
+        }
+    }
+
+    private boolean isConcreteSubtypeOf(TypeElement type, String supertype) {
+        TypeElement superElement = processingEnv.getElementUtils().getTypeElement(supertype);
+        if (superElement == null || type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT))
+            return false;
+
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(superElement.asType());
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), erasure);
+    }
+
+    private AnnotationMirror getAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotation))
+                return mirror;
+        }
+        return null;
+    }
+
+    private String getAnnotationValue(AnnotationMirror mirror, String key) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+            if (entry.getKey().getSimpleName().contentEquals(key))
+                return entry.getValue().getValue().toString();
+
+        throw new IllegalStateException(String.format("Missing property %s on annotation %s.", key, mirror));
+    }
+
+    private String getSimpleName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    }
+
+    private void error(Element element, String message, Object... params) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(message, params), element);
+    }
+
+    private void writeRegistry() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    REGISTRY_RESOURCE);
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                writeEntries(out);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Unable to write %s: %s", REGISTRY_RESOURCE, e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes one entry per line, consisting of the kind of the entry followed by the binary names of the classes (and
+     * the name of the method) it refers to, separated by spaces.
+     */
+    private void writeEntries(PrintWriter out) {
+        out.printf("# Registry of zkStrata extension points, generated by %s%n", getClass().getName());
+        gadgets.forEach(gadget -> out.printf("gadget %s%n", gadget));
+        conjunctions.forEach(conjunction -> out.printf("conjunction %s%n", conjunction));
+        schemas.forEach((name, schema) -> out.printf("schema %s %s%n", name, schema));
+        methods.keySet().forEach(annotation -> out.printf("annotation %s%n", annotation));
+        methods.forEach((annotation, owners) -> owners.values().stream()
+                .flatMap(Collection::stream)
+                .forEach(method -> out.printf("method %s %s%n", annotation, method)));
+        constructors.values().stream()
+                .flatMap(Collection::stream)
+                .forEach(constructor -> out.printf("constructor %s%n", constructor));
+    }
+}
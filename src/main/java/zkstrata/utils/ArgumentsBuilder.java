@@ -1,9 +1,12 @@
 package zkstrata.utils;
 
+import zkstrata.analysis.AnalysisMode;
+import zkstrata.optimizer.CostModel;
 import zkstrata.codegen.CodeGenerator;
 import zkstrata.codegen.representations.BulletproofsGadgetsCodeGenerator;
 import zkstrata.compiler.Arguments;
 import zkstrata.domain.data.accessors.JsonAccessor;
+import zkstrata.domain.data.accessors.LineDelimitedAccessor;
 import zkstrata.domain.data.accessors.ValueAccessor;
 import zkstrata.domain.data.schemas.Schema;
 import zkstrata.domain.data.schemas.dynamic.JsonSchema;
@@ -25,6 +28,7 @@ public class ArgumentsBuilder {
     private static final String SCHEMAS_PATH = "src/test/resources/schemas/";
     private static final String ZKSTRATA_EXT = ".zkstrata";
     private static final String JSON_EXT = ".json";
+    private static final String TXT_EXT = ".txt";
     private static final String SCHEMA_EXT = ".schema.json";
 
     private String statementsPath;
@@ -36,7 +40,7 @@ public class ArgumentsBuilder {
     private Map<String, ValueAccessor> witnessData = new HashMap<>();
     private Map<String, ValueAccessor> instanceData = new HashMap<>();
     private Map<String, Schema> schemas = new HashMap<>();
-
+    private Settings settings = new Settings();
 
     public ArgumentsBuilder(String statementsPath, String dataPath, String schemaPath, Class clazz) {
         this.statementsPath = statementsPath;
@@ -74,14 +78,46 @@ public class ArgumentsBuilder {
         return this;
     }
 
+    public ArgumentsBuilder withLineDelimitedInstance(String alias, String filename) {
+        String instanceFile = this.dataPath + filename + TXT_EXT;
+        this.instanceData.put(alias, new LineDelimitedAccessor(instanceFile));
+        return this;
+    }
+
     public ArgumentsBuilder withSchema(String identifier, String filename) {
         String schemaFile = this.schemaPath + filename + SCHEMA_EXT;
         this.schemas.put(identifier, new JsonSchema(schemaFile, identifier));
         return this;
     }
 
+    public ArgumentsBuilder withParallelism(int parallelism) {
+        this.settings.withParallelism(parallelism);
+        return this;
+    }
+
+    public ArgumentsBuilder withAnalysisMode(AnalysisMode analysisMode) {
+        this.settings.withAnalysisMode(analysisMode);
+        return this;
+    }
+
+    public ArgumentsBuilder withCostModel(CostModel costModel) {
+        this.settings.withCostModel(costModel);
+        return this;
+    }
+
+    public ArgumentsBuilder withMaxCost(long maxCost) {
+        this.settings.withMaxCost(maxCost);
+        return this;
+    }
+
+    public ArgumentsBuilder withCostReport(boolean costReport) {
+        this.settings.withCostReport(costReport);
+        return this;
+    }
+
     public Arguments build() {
-        return new Arguments(codeGenerator, statement, premises, new SubjectData(witnessData, instanceData, schemas));
+        return new Arguments(codeGenerator, statement, premises, new SubjectData(witnessData, instanceData, schemas),
+                settings);
     }
 
     private String getStatements(String name) {
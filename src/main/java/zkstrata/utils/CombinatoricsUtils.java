@@ -1,8 +1,5 @@
 package zkstrata.utils;
 
-import zkstrata.domain.data.types.wrapper.Variable;
-import zkstrata.domain.data.types.wrapper.WitnessVariable;
-
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,37 +23,135 @@ public class CombinatoricsUtils {
      * @return all possible combinations of objects drawn from {@code objects} satisfying the given {@code pattern}
      */
     public static <T> Set<List<T>> getCombinations(List<Class<? extends T>> pattern, List<T> objects) {
+        return getCombinations(pattern, groupByClass(objects));
+    }
+
+    public static <T> Set<List<T>> getCombinations(List<Class<? extends T>> pattern, Set<T> objects) {
+        return getCombinations(pattern, groupByClass(objects));
+    }
+
+    /**
+     * Returns a set containing all possible combinations (lists) of objects according to the order of the provided list
+     * of types (see {@link CombinatoricsUtils#getCombinations(List, List)}), drawing the objects from {@code buckets}
+     * that have been grouped by their class using {@link CombinatoricsUtils#groupByClass(Collection)}.
+     * <p>
+     * Only the buckets of the types in {@code pattern} are visited, so the cost of this method does not depend on the
+     * number of objects of other types.
+     *
+     * @param pattern list of types describing the pattern a combination should conform
+     * @param buckets mapping of classes to the objects of exactly this class to draw from
+     * @return all possible combinations of objects drawn from {@code buckets} satisfying the given {@code pattern}
+     */
+    public static <T> Set<List<T>> getCombinations(List<Class<? extends T>> pattern, Map<Class<?>, List<T>> buckets) {
         if (pattern.isEmpty())
             return Collections.emptySet();
 
-        int lastIndex = pattern.size() - 1;
-        Class<? extends T> type = pattern.get(lastIndex);
-        List<Class<? extends T>> remainingTypes = new ArrayList<>(pattern);
-        remainingTypes.remove(lastIndex);
-
-        return objects.stream()
-                .filter(object -> object.getClass().equals(type))
-                .map(object -> {
-                    if (remainingTypes.isEmpty()) {
-                        List<List<T>> listOfLists = new ArrayList<>();
-                        List<T> list = new ArrayList<>();
-                        list.add(object);
-                        listOfLists.add(list);
-                        return listOfLists;
-                    } else {
-                        List<T> remainingObjects = new ArrayList<>(objects);
-                        remainingObjects.remove(object);
-                        Set<List<T>> combinations = getCombinations(remainingTypes, remainingObjects);
-                        combinations.forEach(list -> list.add(object));
-                        return combinations;
-                    }
-                })
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
+        for (Class<? extends T> type : pattern)
+            if (!buckets.containsKey(type))
+                return Collections.emptySet();
+
+        Set<List<T>> combinations = new HashSet<>();
+        collectCombinations(pattern, buckets, new int[pattern.size()], new ArrayList<>(pattern.size()), combinations);
+        return combinations;
     }
-    
-    public static <T> Set<List<T>> getCombinations(List<Class<? extends T>> pattern, Set<T> objects) {
-        return getCombinations(pattern, new ArrayList<>(objects));
+
+    /**
+     * Returns all combinations satisfying the given {@code pattern} (see {@link CombinatoricsUtils#getCombinations(List,
+     * Map)}) that contain at least one of the {@code required} objects. This way, only the combinations affected by
+     * newly added objects have to be visited.
+     *
+     * @param pattern  list of types describing the pattern a combination should conform
+     * @param buckets  mapping of classes to the objects of exactly this class to draw from
+     * @param required objects of which at least one must be contained in each combination
+     * @return combinations of {@code buckets} satisfying {@code pattern} that contain an object of {@code required}
+     */
+    public static <T> Set<List<T>> getCombinationsContaining(
+            List<Class<? extends T>> pattern,
+            Map<Class<?>, List<T>> buckets,
+            Collection<T> required
+    ) {
+        Set<List<T>> combinations = new LinkedHashSet<>();
+        for (int position = 0; position < pattern.size(); position++) {
+            List<Class<? extends T>> remainingTypes = new ArrayList<>(pattern);
+            Class<? extends T> type = remainingTypes.remove(position);
+
+            for (T object : required) {
+                if (object.getClass() != type)
+                    continue;
+
+                if (remainingTypes.isEmpty()) {
+                    combinations.add(new ArrayList<>(List.of(object)));
+                    continue;
+                }
+
+                for (List<T> combination : getCombinations(remainingTypes, buckets)) {
+                    if (combination.stream().anyMatch(chosen -> chosen == object))
+                        continue;
+
+                    combination.add(position, object);
+                    combinations.add(combination);
+                }
+            }
+        }
+        return combinations;
+    }
+
+    /**
+     * Recursively completes the combination {@code current} by choosing an object for the next position of the
+     * {@code pattern}. An object is never used twice within a combination (tracked by its index in {@code indices}).
+     *
+     * @param pattern      list of types describing the pattern a combination should conform
+     * @param buckets      mapping of classes to the objects of exactly this class to draw from
+     * @param indices      bucket indices of the objects chosen for each position of {@code current}
+     * @param current      combination under construction
+     * @param combinations set to add completed combinations to
+     */
+    private static <T> void collectCombinations(
+            List<Class<? extends T>> pattern,
+            Map<Class<?>, List<T>> buckets,
+            int[] indices,
+            List<T> current,
+            Set<List<T>> combinations
+    ) {
+        int position = current.size();
+        if (position == pattern.size()) {
+            combinations.add(new ArrayList<>(current));
+            return;
+        }
+
+        Class<? extends T> type = pattern.get(position);
+        List<T> bucket = buckets.get(type);
+        for (int i = 0; i < bucket.size(); i++) {
+            if (isChosen(pattern, indices, position, i))
+                continue;
+
+            indices[position] = i;
+            current.add(bucket.get(i));
+            collectCombinations(pattern, buckets, indices, current, combinations);
+            current.remove(position);
+        }
+    }
+
+    private static <T> boolean isChosen(List<Class<? extends T>> pattern, int[] indices, int position, int index) {
+        for (int i = 0; i < position; i++)
+            if (indices[i] == index && pattern.get(i) == pattern.get(position))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Groups the given objects by their class, preserving the iteration order of {@code objects} within each group.
+     *
+     * @param objects objects to group
+     * @return mapping of classes to the list of {@code objects} of exactly this class
+     */
+    public static <T> Map<Class<?>, List<T>> groupByClass(Collection<T> objects) {
+        Map<Class<?>, List<T>> buckets = new LinkedHashMap<>();
+        for (T object : objects)
+            buckets.computeIfAbsent(object.getClass(), k -> new ArrayList<>()).add(object);
+
+        return buckets;
     }
 
     /**
@@ -94,49 +189,25 @@ public class CombinatoricsUtils {
     }
 
     /**
-     * Checks whether two-sided gadgets have a common witness variable and returns the other two variables.
-     *
-     * @param left1  left side of first gadget
-     * @param right1 right side of first gadget
-     * @param left2  left side of second gadget
-     * @param right2 right side of second gadget
-     * @return {@link List} containing two variables if the given gadgets have a common witness variable,
-     * empty list otherwise.
-     */
-    public static List<Variable> getParity(Variable left1, Variable right1, Variable left2, Variable right2) {
-        if (left1 instanceof WitnessVariable) {
-            if (left2 instanceof WitnessVariable && left1.equals(left2))
-                return List.of(right1, right2);
-            if (right2 instanceof WitnessVariable && left1.equals(right2))
-                return List.of(right1, left2);
-        }
-
-        if (right1 instanceof WitnessVariable) {
-            if (left2 instanceof WitnessVariable && right1.equals(left2))
-                return List.of(left1, right2);
-            if (right2 instanceof WitnessVariable && right1.equals(right2))
-                return List.of(left1, left2);
-        }
-
-        return Collections.emptyList();
-    }
-
-    /**
-     * Returns all elements that occur in each of the provided list of lists (intersection of all lists).
+     * Returns all elements that occur in each of the provided collections (intersection of all collections).
+     * <p>
+     * The collections are consumed one at a time, so they can be enumerated lazily (e.g. evaluation paths). The
+     * enumeration stops as soon as the intersection becomes empty.
      *
-     * @param listOfLists {@link List} of {@link List} to intersect
-     * @return intersection of elements occurring in each of the lists within the provided list
+     * @param collections {@link Iterable} of collections to intersect
+     * @return intersection of elements occurring in each of the provided collections
      */
-    public static <T> Set<T> computeIntersection(List<List<T>> listOfLists) {
-        if(listOfLists.isEmpty())
+    public static <T> Set<T> computeIntersection(Iterable<? extends Collection<T>> collections) {
+        Iterator<? extends Collection<T>> iterator = collections.iterator();
+        if (!iterator.hasNext())
             return Collections.emptySet();
 
-        Set<T> commonElements = new HashSet<>(listOfLists.get(0));
+        Set<T> commonElements = new HashSet<>(iterator.next());
 
-        for (int i = 1; i < listOfLists.size(); i++) {
-            List<T> list = listOfLists.get(i);
+        while (!commonElements.isEmpty() && iterator.hasNext()) {
+            Collection<T> collection = iterator.next();
             Set<T> common = new HashSet<>();
-            for (T element : list) {
+            for (T element : collection) {
                 if (commonElements.contains(element))
                     common.add(element);
             }
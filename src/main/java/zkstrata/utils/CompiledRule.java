@@ -0,0 +1,238 @@
+package zkstrata.utils;
+
+import zkstrata.exceptions.CompileTimeException;
+import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.exceptions.TypeCheckException;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rule method (such as {@link zkstrata.analysis.Implication}, {@link zkstrata.analysis.Contradiction} or
+ * {@link zkstrata.optimizer.Substitution}) compiled into a typed functional interface using {@link LambdaMetafactory}.
+ * <p>
+ * The signature of the rule is validated once when it is compiled, invocations are then direct calls to the rule method
+ * without reflection, exception unwrapping or allocation of argument arrays.
+ *
+ * @param <P> common supertype of the parameters of the rule
+ * @param <R> return type of the rule
+ */
+public class CompiledRule<P, R> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final int MAX_ARITY = 3;
+
+    private final Method method;
+    private final List<Class<? extends P>> parameterTypes;
+    private final Object invoker;
+
+    private CompiledRule(Method method, List<Class<? extends P>> parameterTypes) {
+        this.method = method;
+        this.parameterTypes = Collections.unmodifiableList(parameterTypes);
+        this.invoker = createInvoker(method);
+    }
+
+    /**
+     * Compiles the given {@code method}, which is expected to return an {@link Optional} of {@code argumentType} and to
+     * take parameters of type {@code parameterBound}.
+     *
+     * @param method         static {@link Method} to compile
+     * @param parameterBound common supertype all parameters of the method must conform to
+     * @param argumentType   expected class of the argument of the {@link Optional} returned
+     * @return {@link CompiledRule} invoking {@code method}
+     */
+    public static <P, T> CompiledRule<P, Optional<T>> compileOptional(Method method, Class<P> parameterBound,
+                                                                     Class<T> argumentType) {
+        ReflectionHelper.assertParameterizedReturnType(method, Optional.class, argumentType);
+        return new CompiledRule<>(method, getParameterTypes(method, parameterBound));
+    }
+
+    /**
+     * Compiles the given {@code method}, which is expected to return nothing and to take parameters of type
+     * {@code parameterBound}.
+     *
+     * @param method         static {@link Method} to compile
+     * @param parameterBound common supertype all parameters of the method must conform to
+     * @return {@link CompiledRule} invoking {@code method}
+     */
+    public static <P> CompiledRule<P, Void> compileVoid(Method method, Class<P> parameterBound) {
+        if (method.getReturnType() != void.class)
+            throw new InternalCompilerException("Return type of method %s does not match void.", method.getName());
+
+        return new CompiledRule<>(method, getParameterTypes(method, parameterBound));
+    }
+
+    private static <P> List<Class<? extends P>> getParameterTypes(Method method, Class<P> parameterBound) {
+        if (!Modifier.isStatic(method.getModifiers()))
+            throw new InternalCompilerException("Rule %s in %s must be static.", method.getName(), method.getDeclaringClass());
+
+        if (method.getParameterCount() < 1 || method.getParameterCount() > MAX_ARITY)
+            throw new InternalCompilerException("Rule %s in %s must take between 1 and %s arguments.",
+                    method.getName(), method.getDeclaringClass(), MAX_ARITY);
+
+        List<Class<? extends P>> result = new ArrayList<>();
+        for (Class<?> type : method.getParameterTypes()) {
+            if (parameterBound.isAssignableFrom(type))
+                result.add(type.asSubclass(parameterBound));
+            else
+                throw new InternalCompilerException("Invalid argument type %s of method %s in %s.",
+                        type.getSimpleName(), method.getName(), method.getDeclaringClass());
+        }
+        return result;
+    }
+
+    /**
+     * Creates an implementation of the functional interface matching the arity and return type of the given method.
+     *
+     * @param method {@link Method} to create an invoker for
+     * @return an instance of one of the nested functional interfaces delegating to {@code method}
+     */
+    private static Object createInvoker(Method method) {
+        boolean isVoid = method.getReturnType() == void.class;
+        Class<?> invokerType;
+        switch (method.getParameterCount()) {
+            case 1:
+                invokerType = isVoid ? UnaryCheck.class : UnaryRule.class;
+                break;
+            case 2:
+                invokerType = isVoid ? BinaryCheck.class : BinaryRule.class;
+                break;
+            default:
+                invokerType = isVoid ? TernaryCheck.class : TernaryRule.class;
+        }
+
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            MethodType samType = MethodType.genericMethodType(method.getParameterCount());
+            if (isVoid)
+                samType = samType.changeReturnType(void.class);
+
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(invokerType),
+                    samType, handle, handle.type());
+            return site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new InternalCompilerException(e, "Unable to compile rule %s in %s.",
+                    method.getName(), method.getDeclaringClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Invokes this rule using the provided {@code arguments}.
+     *
+     * @param arguments arguments to pass to the rule, must match {@link CompiledRule#getParameterTypes()}
+     * @return value returned by the rule ({@code null} for rules returning nothing)
+     */
+    public R invoke(List<? extends P> arguments) {
+        return invoke(arguments, Collections.emptyList());
+    }
+
+    /**
+     * Invokes this rule using the concatenation of {@code first} and {@code second} as arguments.
+     *
+     * @param first  leading arguments to pass to the rule
+     * @param second trailing arguments to pass to the rule
+     * @return value returned by the rule ({@code null} for rules returning nothing)
+     */
+    @SuppressWarnings("unchecked")
+    public R invoke(List<? extends P> first, List<? extends P> second) {
+        if (first.size() + second.size() != parameterTypes.size())
+            throw new InternalCompilerException("Error during invocation of method %s in %s.",
+                    method.getName(), method.getDeclaringClass().getSimpleName());
+
+        try {
+            switch (parameterTypes.size()) {
+                case 1:
+                    return (R) invoke1(get(first, second, 0));
+                case 2:
+                    return (R) invoke2(get(first, second, 0), get(first, second, 1));
+                default:
+                    return (R) invoke3(get(first, second, 0), get(first, second, 1), get(first, second, 2));
+            }
+        } catch (CompileTimeException | TypeCheckException | InternalCompilerException e) {
+            throw e;
+        } catch (Exception e) {
+            // checked exceptions are not declared by the functional interfaces, but can still be thrown by the rule
+            throw new InternalCompilerException(e, "Invalid exception %s thrown by %s in %s.",
+                    e.getClass().getSimpleName(), method.getName(), method.getDeclaringClass());
+        }
+    }
+
+    private Object invoke1(Object a) {
+        if (invoker instanceof UnaryRule)
+            return ((UnaryRule) invoker).apply(a);
+
+        ((UnaryCheck) invoker).apply(a);
+        return null;
+    }
+
+    private Object invoke2(Object a, Object b) {
+        if (invoker instanceof BinaryRule)
+            return ((BinaryRule) invoker).apply(a, b);
+
+        ((BinaryCheck) invoker).apply(a, b);
+        return null;
+    }
+
+    private Object invoke3(Object a, Object b, Object c) {
+        if (invoker instanceof TernaryRule)
+            return ((TernaryRule) invoker).apply(a, b, c);
+
+        ((TernaryCheck) invoker).apply(a, b, c);
+        return null;
+    }
+
+    private static Object get(List<?> first, List<?> second, int index) {
+        return index < first.size() ? first.get(index) : second.get(index - first.size());
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getName() {
+        return method.getName();
+    }
+
+    public List<Class<? extends P>> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s.%s", method.getDeclaringClass().getSimpleName(), method.getName());
+    }
+
+    @FunctionalInterface
+    interface UnaryRule {
+        Object apply(Object a);
+    }
+
+    @FunctionalInterface
+    interface BinaryRule {
+        Object apply(Object a, Object b);
+    }
+
+    @FunctionalInterface
+    interface TernaryRule {
+        Object apply(Object a, Object b, Object c);
+    }
+
+    @FunctionalInterface
+    interface UnaryCheck {
+        void apply(Object a);
+    }
+
+    @FunctionalInterface
+    interface BinaryCheck {
+        void apply(Object a, Object b);
+    }
+
+    @FunctionalInterface
+    interface TernaryCheck {
+        void apply(Object a, Object b, Object c);
+    }
+}
@@ -4,9 +4,12 @@ import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.Variable;
+import zkstrata.domain.gadgets.Gadget;
 import zkstrata.exceptions.InternalCompilerException;
 
 import java.math.BigInteger;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class GadgetUtils {
     private GadgetUtils() {
@@ -49,4 +52,21 @@ public class GadgetUtils {
         BigInteger value = (BigInteger) variable.getValue().getValue();
         return new InstanceVariable(new Literal(value.subtract(BigInteger.ONE)), variable.getReference(), variable.getPosition());
     }
+
+    /**
+     * Returns the variables through which the given {@code gadget} can take part in an implication or contradiction
+     * with other gadgets: its witness variables, or all its variables if it has no witness variable.
+     *
+     * @param gadget {@link Gadget} to get the linking variables of
+     * @return set of {@link Variable} linking the gadget to others
+     */
+    public static Set<Variable> getLinkingVariables(Gadget gadget) {
+        Set<Variable> witnesses = new LinkedHashSet<>(gadget.getWitnessVariables());
+        if (!witnesses.isEmpty())
+            return witnesses;
+
+        Set<Variable> variables = new LinkedHashSet<>();
+        gadget.forEachVariable(variables::add);
+        return variables;
+    }
 }
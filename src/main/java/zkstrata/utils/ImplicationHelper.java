@@ -1,20 +1,21 @@
 package zkstrata.utils;
 
+import zkstrata.analysis.AssumptionIndex;
+import zkstrata.analysis.EqualityClasses;
 import zkstrata.analysis.Implication;
 import zkstrata.analysis.Inference;
 import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
 import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
 
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static zkstrata.utils.ReflectionHelper.*;
-
 public class ImplicationHelper {
-    private static final Set<Method> IMPLICATION_RULES = getMethodsAnnotatedWith(Implication.class);
+    private static final Map<Class<? extends Gadget>, List<IndexedRule>> IMPLICATION_RULES = indexImplicationRules();
 
     private ImplicationHelper() {
         throw new IllegalStateException("Utility class");
@@ -28,7 +29,7 @@ public class ImplicationHelper {
      * @return set of {@link Inference} returned by the executed implication rules
      */
     public static Set<Inference> drawInferences(List<Gadget> targets) {
-        Set<Inference> inferences = drawSelfInferences(targets);
+        Set<Inference> inferences = drawSelfInferences(targets, new AssumptionIndex());
 
         return drawAllInferences(inferences, inferences);
     }
@@ -42,7 +43,10 @@ public class ImplicationHelper {
      * @return set of {@link Inference} returned by the executed implication rules
      */
     public static Set<Inference> drawInferences(List<Gadget> targets, Set<Inference> existing) {
-        Set<Inference> inferences = drawSelfInferences(targets);
+        // extend the numbering of the assumptions of the existing inferences
+        AssumptionIndex assumptionIndex = existing.isEmpty() ? new AssumptionIndex()
+                : existing.iterator().next().getAssumptionIndex();
+        Set<Inference> inferences = drawSelfInferences(targets, assumptionIndex);
 
         return drawAllInferences(inferences, Stream.concat(inferences.stream(), existing.stream())
                 .collect(Collectors.toCollection(LinkedHashSet::new)));
@@ -55,6 +59,10 @@ public class ImplicationHelper {
      * To reduce the implication rules that will be run, a mapping of witness variables to the inferences they occur in
      * is used. This way only inferences containing common witnesses (thus, related inferences) are being used to run
      * implication rules.
+     * <p>
+     * The transitivity of equalities is not drawn pairwise, but using {@link EqualityClasses}: each variable is only
+     * inferred to be equal to the canonical member of its class (see
+     * {@link ImplicationHelper#drawEqualityInferences(Set, EqualityClasses, Set)}).
      *
      * @param targets {@link Inference} objects to use as targets in implication rule invocations
      * @param context {@link Inference} objects to use as context in implication rule invocations
@@ -62,17 +70,82 @@ public class ImplicationHelper {
      */
     private static Set<Inference> drawAllInferences(Set<Inference> targets, Set<Inference> context) {
         Set<Inference> allInferences = new LinkedHashSet<>(context);
+        Set<Gadget> conclusions = new HashSet<>();
+        EqualityClasses equalities = new EqualityClasses();
+        for (Inference inference : context) {
+            conclusions.add(inference.getConclusion());
+            if (!targets.contains(inference))
+                equalities.add(inference);
+        }
+
+        Map<Gadget, List<Inference>> subsumptionIndex = new HashMap<>();
+        allInferences.forEach(inference -> addToSubsumptionIndex(subsumptionIndex, inference));
+
+        Set<Inference> newTargets = targets;
         Map<WitnessVariable, Set<Inference>> targetMapping = createWitnessToInferenceMap(targets);
         Map<WitnessVariable, Set<Inference>> contextMapping = createWitnessToInferenceMap(allInferences);
         while (!targetMapping.isEmpty()) {
-            Set<Inference> newInferences = simplify(drawDirectInferences(targetMapping, contextMapping), allInferences);
+            Set<Inference> directInferences = drawDirectInferences(targetMapping, contextMapping);
+            directInferences.addAll(drawEqualityInferences(newTargets, equalities, conclusions));
+            Set<Inference> newInferences = simplify(directInferences, subsumptionIndex);
             targetMapping = createWitnessToInferenceMap(newInferences);
             targetMapping.forEach((var, inf) -> contextMapping.computeIfAbsent(var, s -> new LinkedHashSet<>()).addAll(inf));
             allInferences.addAll(newInferences);
+            newInferences.forEach(inference -> conclusions.add(inference.getConclusion()));
+            newInferences.forEach(inference -> addToSubsumptionIndex(subsumptionIndex, inference));
+            newTargets = newInferences;
         }
         return allInferences;
     }
 
+    /**
+     * Adds the equalities among the conclusions of the given {@code targets} to the {@code equalities} and infers for
+     * each member of a class that was extended, that it is equal to the canonical member of its class (see
+     * {@link EqualityClasses#getCanonical(Variable)}). This replaces the pairwise transitivity of equalities, which
+     * results in a quadratic number of inferences per class, by a linear number of inferences.
+     * <p>
+     * Each inference is derived from the inference of the member it was reached from in the spanning forest of the
+     * class and the equality connecting both.
+     *
+     * @param targets     set of {@link Inference} containing new equalities
+     * @param equalities  {@link EqualityClasses} of all equalities drawn previously
+     * @param conclusions set of conclusions drawn previously (not inferred again)
+     * @return set of new {@link Inference} stating the equality of a variable and the canonical member of its class
+     */
+    private static Set<Inference> drawEqualityInferences(
+            Set<Inference> targets,
+            EqualityClasses equalities,
+            Set<Gadget> conclusions
+    ) {
+        Set<Variable> extended = new LinkedHashSet<>();
+        for (Inference target : targets)
+            if (equalities.add(target))
+                extended.add(((EqualityGadget) target.getConclusion()).getLeft());
+
+        Set<Variable> roots = new HashSet<>();
+        Set<Inference> inferences = new LinkedHashSet<>();
+        for (Variable variable : extended) {
+            if (!roots.add(equalities.find(variable)))
+                continue;
+
+            Variable canonical = equalities.getCanonical(variable);
+            Map<Variable, Inference> derivations = new HashMap<>();
+            for (Map.Entry<Variable, EqualityClasses.Justification> entry : equalities.getJustifications(canonical).entrySet()) {
+                Variable predecessor = entry.getValue().getPredecessor();
+                Set<Inference> premises = new LinkedHashSet<>();
+                if (!predecessor.equals(canonical))
+                    premises.add(derivations.get(predecessor));
+                premises.add(entry.getValue().getReason());
+
+                Inference derivation = Inference.from(premises, new EqualityGadget(entry.getKey(), canonical));
+                derivations.put(entry.getKey(), derivation);
+                if (!conclusions.contains(derivation.getConclusion()))
+                    inferences.add(derivation);
+            }
+        }
+        return inferences;
+    }
+
     /**
      * Triggers {@link ImplicationHelper#runAllImplicationRules(Set, Set)} for all common inference sets in the provided
      * {@code targetMapping}. This will lead to the implication of all direct inferences (implications that can be drawn
@@ -107,9 +180,16 @@ public class ImplicationHelper {
      * @return set of inferences returned by the executed implication rules
      */
     private static Set<Inference> runAllImplicationRules(Set<Inference> targets, Set<Inference> context) {
+        // create mapping to store gadgets to the inferences was drawn from
+        Map<Gadget, List<Inference>> inferenceMapping = new HashMap<>();
+        // initially fill map with given inferences (a gadget could already be drawn from different inferences)
+        for (Inference inference : context)
+            inferenceMapping.computeIfAbsent(inference.getConclusion(), s -> new ArrayList<>()).add(inference);
+        Map<Class<?>, List<Gadget>> buckets = CombinatoricsUtils.groupByClass(inferenceMapping.keySet());
+
         Set<Inference> inferences = new LinkedHashSet<>();
         for (Inference target : targets) {
-            inferences.addAll(runImplicationRules(target, context));
+            inferences.addAll(runImplicationRules(target, inferenceMapping, buckets));
         }
         return inferences;
     }
@@ -118,12 +198,13 @@ public class ImplicationHelper {
      * Transforms the given list of {@link Gadget} into a set of {@link Inference}, where each inference is drawn from
      * the gadget itself.
      *
-     * @param gadgets list of gadgets
+     * @param gadgets         list of gadgets
+     * @param assumptionIndex {@link AssumptionIndex} to number the gadgets with
      * @return set of inferences drawn from the gadgets with no additional assumption
      */
-    private static Set<Inference> drawSelfInferences(List<Gadget> gadgets) {
+    private static Set<Inference> drawSelfInferences(List<Gadget> gadgets, AssumptionIndex assumptionIndex) {
         return gadgets.stream()
-                .map(g -> new Inference(Set.of(g), g, Collections.emptySet()))
+                .map(g -> new Inference(assumptionIndex, Set.of(g), g, Collections.emptySet()))
                 .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
@@ -137,9 +218,8 @@ public class ImplicationHelper {
     private static Map<WitnessVariable, Set<Inference>> createWitnessToInferenceMap(Set<Inference> inferences) {
         Map<WitnessVariable, Set<Inference>> inferenceMapping = new HashMap<>();
         for (Inference inference : inferences)
-            for (Variable var : inference.getConclusion().getVariables().values())
-                if (var instanceof WitnessVariable)
-                    inferenceMapping.computeIfAbsent((WitnessVariable) var, s -> new LinkedHashSet<>()).add(inference);
+            for (WitnessVariable var : inference.getConclusion().getWitnessVariables())
+                inferenceMapping.computeIfAbsent(var, s -> new LinkedHashSet<>()).add(inference);
 
         return inferenceMapping;
     }
@@ -148,38 +228,47 @@ public class ImplicationHelper {
      * Filters the given set of {@link Inference} for such that have been implied before using less or the same assumptions.
      * <p>
      * This method is used to prevent recursive implications by staying with the most basic inference (least assumptions).
+     * Only inferences of the same conclusion are compared, using the {@code subsumptionIndex} for the existing ones.
      *
-     * @param newInferences      set of inferences to simplify
-     * @param existingInferences set of inferences that have been implied before
+     * @param newInferences    set of inferences to simplify
+     * @param subsumptionIndex inferences that have been implied before, grouped by their conclusion
      * @return the given set of inferences without elements that have been implied before
      */
-    private static Set<Inference> simplify(Set<Inference> newInferences, Set<Inference> existingInferences) {
+    private static Set<Inference> simplify(Set<Inference> newInferences, Map<Gadget, List<Inference>> subsumptionIndex) {
+        Map<Gadget, List<Inference>> newIndex = new HashMap<>();
+        newInferences.forEach(inference -> addToSubsumptionIndex(newIndex, inference));
+
         return newInferences.stream()
-                .filter(curr -> Stream.concat(newInferences.stream().filter(i -> !curr.equals(i)), existingInferences.stream())
-                        .noneMatch(curr::canBeImpliedFrom))
+                .filter(curr -> Stream.concat(
+                        newIndex.get(curr.getConclusion()).stream().filter(i -> !curr.equals(i)),
+                        subsumptionIndex.getOrDefault(curr.getConclusion(), Collections.emptyList()).stream()
+                ).noneMatch(curr::canBeImpliedFrom))
                 .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
+    private static void addToSubsumptionIndex(Map<Gadget, List<Inference>> subsumptionIndex, Inference inference) {
+        subsumptionIndex.computeIfAbsent(inference.getConclusion(), key -> new ArrayList<>()).add(inference);
+    }
+
     /**
-     * Invokes all provided methods annotated as {@link Implication} for the given {@code assumption} using the given
-     * set of {@link Inference} of related inferences as basic assumptions.
+     * Invokes all methods annotated as {@link Implication} taking the conclusion of the given {@code target} as argument
+     * using the given related inferences as basic assumptions.
      *
-     * @param target  {@link Inference} to include into implication rule invocations
-     * @param context set of {@link Inference} to complete implication rule invocations with
+     * @param target           {@link Inference} to include into implication rule invocations
+     * @param inferenceMapping mapping of the related gadgets to the inferences they were drawn from
+     * @param buckets          related gadgets grouped by their class to complete implication rule invocations with
      * @return set of newly drawn {@link Inference}
      */
-    private static Set<Inference> runImplicationRules(Inference target, Set<Inference> context) {
-        // create mapping to store gadgets to the inferences was drawn from
-        Map<Gadget, List<Inference>> inferenceMapping = new HashMap<>();
-        // initially fill map with given inferences (a gadget could already be drawn from different inferences)
-        for (Inference inference : context)
-            inferenceMapping.computeIfAbsent(inference.getConclusion(), s -> new ArrayList<>()).add(inference);
-
+    private static Set<Inference> runImplicationRules(
+            Inference target,
+            Map<Gadget, List<Inference>> inferenceMapping,
+            Map<Class<?>, List<Gadget>> buckets
+    ) {
+        Gadget gadget = target.getConclusion();
         Set<Inference> newInferences = new LinkedHashSet<>();
-        for (Method method : IMPLICATION_RULES) {
-            Set<List<Gadget>> setOfArguments = prepareArguments(method, target.getConclusion(), inferenceMapping.keySet());
-            for (List<Gadget> arguments : setOfArguments) {
-                Optional<Gadget> impliedGadget = invokeImplicationRule(method, arguments.toArray());
+        for (IndexedRule indexedRule : IMPLICATION_RULES.getOrDefault(gadget.getClass(), Collections.emptyList())) {
+            for (List<Gadget> arguments : prepareArguments(indexedRule, gadget, buckets)) {
+                Optional<Gadget> impliedGadget = indexedRule.getRule().invoke(arguments);
                 if (impliedGadget.isPresent()) {
                     List<Inference> inferences = createInferences(impliedGadget.get(), arguments, inferenceMapping);
                     newInferences.addAll(inferences);
@@ -190,30 +279,24 @@ public class ImplicationHelper {
     }
 
     /**
-     * Takes an implication rule ({@code method}) and a {@link Gadget} to call the implication rule for.
-     * If the provided method takes the gadget as argument and requires more parameters, use the {@code context} to
-     * satisfy the method signature list.
+     * Takes an implication rule ({@code indexedRule}) taking the given {@link Gadget} as argument and uses the
+     * {@code buckets} to satisfy the remaining parameters of the method signature.
      *
-     * @param method  {@link Method} annotated as {@link Implication} to prepare arguments for
-     * @param gadget  gadget to draw implications for
-     * @param context set of {@link Gadget} as context for {@code gadget} to satisfy the given method with
-     * @return set of arguments satisfying the given {@code implicationRule} or empty set
+     * @param indexedRule {@link IndexedRule} to prepare arguments for
+     * @param gadget      gadget to draw implications for
+     * @param buckets     {@link Gadget} objects grouped by class as context for {@code gadget} to satisfy the rule with
+     * @return set of arguments satisfying the given {@code indexedRule} or empty set
      */
-    private static Set<List<Gadget>> prepareArguments(Method method, Gadget gadget, Set<Gadget> context) {
-        Class<? extends Gadget> type = gadget.getClass();
-        List<Class<? extends Gadget>> parameterTypes = getGadgetParameterTypes(method);
-        if (parameterTypes.contains(type)) {
-            int index = parameterTypes.indexOf(type);
-            parameterTypes.remove(index);
-
-            Set<List<Gadget>> contextCombinations = CombinatoricsUtils.getCombinations(parameterTypes, context);
-            for (List<Gadget> contextCombination : contextCombinations)
-                contextCombination.add(index, gadget);
-
-            return contextCombinations;
-        }
+    private static Set<List<Gadget>> prepareArguments(
+            IndexedRule indexedRule,
+            Gadget gadget,
+            Map<Class<?>, List<Gadget>> buckets
+    ) {
+        Set<List<Gadget>> contextCombinations = CombinatoricsUtils.getCombinations(indexedRule.getContextTypes(), buckets);
+        for (List<Gadget> contextCombination : contextCombinations)
+            contextCombination.add(indexedRule.getPosition(), gadget);
 
-        return Collections.emptySet();
+        return contextCombinations;
     }
 
     /**
@@ -242,20 +325,46 @@ public class ImplicationHelper {
     }
 
     /**
-     * Invokes the given {@link Method} using the provided {@code args}.
-     * The method is expected to be a {@link Implication} annotated method that returns an {@link Optional} of
-     * {@link Gadget} which can be implied from the given {@code args}.
+     * Compiles all methods annotated as {@link Implication} and indexes them by the parameter types they take. A rule
+     * is listed under each distinct parameter type, with the position of the first parameter of this type.
      *
-     * @param implicationRule {@link Method} to invoke
-     * @param args            arguments to pass to the method
-     * @return {@link Optional} {@link Gadget} returned by the invoked method
+     * @return mapping of gadget classes to the implication rules that can take a gadget of this class as argument
+     */
+    private static Map<Class<? extends Gadget>, List<IndexedRule>> indexImplicationRules() {
+        Map<Class<? extends Gadget>, List<IndexedRule>> index = new HashMap<>();
+        for (Method method : ReflectionHelper.getMethodsAnnotatedWith(Implication.class)) {
+            CompiledRule<Gadget, Optional<Gadget>> rule = CompiledRule.compileOptional(method, Gadget.class, Gadget.class);
+            for (Class<? extends Gadget> type : new LinkedHashSet<>(rule.getParameterTypes()))
+                index.computeIfAbsent(type, k -> new ArrayList<>()).add(new IndexedRule(rule, type));
+        }
+        return index;
+    }
+
+    /**
+     * Implication rule indexed by the type of one of its parameters.
      */
-    private static Optional<Gadget> invokeImplicationRule(Method implicationRule, Object[] args) {
-        assertParameterizedReturnType(implicationRule, Optional.class, Gadget.class);
+    private static class IndexedRule {
+        private final CompiledRule<Gadget, Optional<Gadget>> rule;
+        private final int position;
+        private final List<Class<? extends Gadget>> contextTypes;
 
-        @SuppressWarnings("unchecked")
-        Optional<Gadget> impliedGadget = (Optional<Gadget>) invokeStaticMethod(implicationRule, args);
+        private IndexedRule(CompiledRule<Gadget, Optional<Gadget>> rule, Class<? extends Gadget> type) {
+            this.rule = rule;
+            this.position = rule.getParameterTypes().indexOf(type);
+            this.contextTypes = new ArrayList<>(rule.getParameterTypes());
+            this.contextTypes.remove(position);
+        }
+
+        private CompiledRule<Gadget, Optional<Gadget>> getRule() {
+            return rule;
+        }
 
-        return impliedGadget;
+        private int getPosition() {
+            return position;
+        }
+
+        private List<Class<? extends Gadget>> getContextTypes() {
+            return contextTypes;
+        }
     }
 }
@@ -1,12 +1,9 @@
 package zkstrata.utils;
 
 import org.apache.commons.lang3.StringUtils;
-import org.reflections.Reflections;
-import org.reflections.scanners.MethodAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
 import zkstrata.domain.gadgets.Gadget;
 import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.registry.Registry;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.exceptions.InternalCompilerException;
 import zkstrata.exceptions.TypeCheckException;
@@ -14,12 +11,11 @@ import zkstrata.exceptions.TypeCheckException;
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
 
 public class ReflectionHelper {
+    private static final Registry REGISTRY = Registry.load();
+
     private ReflectionHelper() {
         throw new IllegalStateException("Utility class");
     }
@@ -30,14 +26,7 @@ public class ReflectionHelper {
      * @return {@link Set} of classes implementing {@link Gadget}
      */
     public static Set<Class<? extends Gadget>> getAllGadgets() {
-        Reflections reflections = new Reflections("zkstrata.domain.gadgets");
-
-        Set<Class<? extends Gadget>> gadgets = reflections.getSubTypesOf(Gadget.class);
-
-        return gadgets
-                .stream()
-                .filter(gadget -> !Modifier.isAbstract(gadget.getModifiers()))
-                .collect(Collectors.toSet());
+        return Collections.unmodifiableSet(new LinkedHashSet<>(REGISTRY.getGadgets()));
     }
 
     /**
@@ -46,46 +35,52 @@ public class ReflectionHelper {
      * @return {@link Set} of classes implementing {@link Conjunction}
      */
     public static Set<Class<? extends Conjunction>> getAllConjunctions() {
-        Reflections reflections = new Reflections("zkstrata.domain.conjunctions");
-
-        Set<Class<? extends Conjunction>> conjunctions = reflections.getSubTypesOf(Conjunction.class);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(REGISTRY.getConjunctions()));
+    }
 
-        return conjunctions
-                .stream()
-                .filter(conjunction -> !Modifier.isAbstract(conjunction.getModifiers()))
-                .collect(Collectors.toSet());
+    /**
+     * Returns all predefined schemas (classes annotated as {@link zkstrata.domain.data.schemas.predefined.Schema})
+     * as mapping of their name to their class.
+     *
+     * @return {@link Map} of schema names to classes implementing {@link zkstrata.domain.data.schemas.Schema}
+     */
+    public static Map<String, Class<? extends zkstrata.domain.data.schemas.Schema>> getPredefinedSchemas() {
+        return REGISTRY.getSchemas();
     }
 
     /**
      * Returns all methods annotated with the given annotation.
+     * <p>
+     * The methods are looked up in the {@link Registry}, which is created at build time. Throws an
+     * {@link InternalCompilerException} if the given annotation is not tracked by the registry.
      *
      * @param clazz {@link Annotation} to look for
      * @return {@link Set} of {@link Method} annotated with {@code clazz}
      */
     public static Set<Method> getMethodsAnnotatedWith(Class<? extends Annotation> clazz) {
-        Reflections reflections = new Reflections(
-                new ConfigurationBuilder()
-                        .setUrls(ClasspathHelper.forPackage("zkstrata"))
-                        .setScanners(new MethodAnnotationsScanner())
-        );
+        List<Method> methods = REGISTRY.getMethods().get(clazz);
+
+        if (methods == null)
+            throw new InternalCompilerException("The annotation %s is not tracked by the registry.", clazz.getSimpleName());
 
-        return reflections.getMethodsAnnotatedWith(clazz);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(methods));
     }
 
     /**
      * Returns all constructors annotated with the given annotation.
+     * <p>
+     * Only constructors annotated as {@link zkstrata.parser.TokenType} are tracked by the {@link Registry}.
      *
      * @param clazz {@link Annotation} to look for
      * @return {@link Set} of {@link Constructor} annotated with {@code clazz}
      */
     public static Set<Constructor> getConstructorsAnnotatedWith(Class<? extends Annotation> clazz) {
-        Reflections reflections = new Reflections(
-                new ConfigurationBuilder()
-                        .setUrls(ClasspathHelper.forPackage("zkstrata"))
-                        .setScanners(new MethodAnnotationsScanner())
-        );
+        Set<Constructor> constructors = new LinkedHashSet<>();
+        for (Constructor<?> constructor : REGISTRY.getTokenTypes())
+            if (constructor.isAnnotationPresent(clazz))
+                constructors.add(constructor);
 
-        return reflections.getConstructorsAnnotatedWith(clazz);
+        return constructors;
     }
 
     /**
@@ -1,10 +1,7 @@
 package zkstrata.utils;
 
-import org.reflections.Reflections;
 import zkstrata.domain.data.schemas.predefined.Schema;
 
-import java.util.Set;
-
 public class SchemaHelper {
     private SchemaHelper() {
         throw new IllegalStateException("Utility class");
@@ -18,18 +15,11 @@ public class SchemaHelper {
      * @return instance of the class annotated as {@link Schema} with name property equal to {@code name}
      */
     public static zkstrata.domain.data.schemas.Schema resolve(String name) {
-        Reflections reflections = new Reflections("zkstrata.domain.data.schemas.predefined");
-        Set<Class<?>> schemas = reflections.getTypesAnnotatedWith(Schema.class);
-
-        for (Class<?> schema : schemas) {
-            Schema annotation = schema.getAnnotation(Schema.class);
-            if (annotation.name().equals(name)) {
-                ReflectionHelper.assertIsAssignableFrom(zkstrata.domain.data.schemas.Schema.class, schema);
+        Class<? extends zkstrata.domain.data.schemas.Schema> schema = ReflectionHelper.getPredefinedSchemas().get(name);
 
-                return (zkstrata.domain.data.schemas.Schema) ReflectionHelper.createInstance(schema);
-            }
-        }
+        if (schema == null)
+            return null;
 
-        return null;
+        return ReflectionHelper.createInstance(schema);
     }
 }
@@ -153,6 +153,12 @@ public class StatementBuilder {
         return this;
     }
 
+    public StatementBuilder setMembership(String member, String setReference) {
+        predicates.add(String.format("%s IS MEMBER OF %s", member, setReference));
+
+        return this;
+    }
+
     public String build() {
         if (fullBuildMode)
             return buildStatement();
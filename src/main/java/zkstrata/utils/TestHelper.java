@@ -1,10 +1,13 @@
 package zkstrata.utils;
 
+import zkstrata.analysis.AssumptionIndex;
+import zkstrata.analysis.Inference;
 import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.Reference;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.Gadget;
 import zkstrata.exceptions.Position;
 import zkstrata.parser.ast.Subject;
 import zkstrata.parser.ast.types.HexLiteral;
@@ -13,7 +16,9 @@ import zkstrata.parser.ast.types.IntegerLiteral;
 import zkstrata.parser.ast.types.StringLiteral;
 
 import java.math.BigInteger;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import static zkstrata.parser.ast.Subject.*;
 
@@ -42,6 +47,20 @@ public class TestHelper {
         return new InstanceVariable(literal, null, ABS_POSITION);
     }
 
+    /**
+     * Creates an {@link Inference} for each of the given gadgets, which is drawn from the gadget itself.
+     *
+     * @param gadgets {@link Gadget} objects to create inferences for
+     * @return set of {@link Inference} sharing one {@link AssumptionIndex}
+     */
+    public static Set<Inference> createInferences(Gadget... gadgets) {
+        AssumptionIndex assumptionIndex = new AssumptionIndex();
+        Set<Inference> inferences = new LinkedHashSet<>();
+        for (Gadget gadget : gadgets)
+            inferences.add(new Inference(assumptionIndex, Set.of(gadget), gadget, Set.of()));
+        return inferences;
+    }
+
     private static Reference createReference(Class<?> type, String suffix) {
         return new Reference(type, createAlias(suffix), new Selector(List.of(createSelector(suffix))));
     }
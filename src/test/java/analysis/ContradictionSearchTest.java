@@ -0,0 +1,222 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.analysis.ContradictionSearch;
+import zkstrata.analysis.SemanticAnalyzer;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.Statement;
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.InequalityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+import zkstrata.exceptions.CompileTimeException;
+import zkstrata.exceptions.Position;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.utils.TestHelper.createInstanceVariable;
+import static zkstrata.utils.TestHelper.createWitnessVariable;
+
+public class ContradictionSearchTest {
+    private static final int WITNESSES = 4;
+    private static final int STATEMENTS = 300;
+
+    @Test
+    void Search_Should_Agree_With_Exhaustive_Analysis() {
+        Random random = new Random(42);
+        int contradictions = 0;
+        for (int i = 0; i < STATEMENTS; i++) {
+            Statement statement = new Statement(createRandomProposition(random, 2), Proposition.trueProposition(),
+                    Proposition.trueProposition());
+
+            boolean exhaustive = contradicts(() -> SemanticAnalyzer.process(statement));
+            boolean search = contradicts(() -> ContradictionSearch.process(statement));
+            assertEquals(exhaustive, search, statement.getClaim().toDebugString());
+
+            if (exhaustive)
+                contradictions++;
+        }
+        // make sure both outcomes are covered
+        assertTrue(contradictions > 0 && contradictions < STATEMENTS);
+    }
+
+    @Test
+    void Independent_Choices_Should_Pass() {
+        List<Proposition> parts = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            WitnessVariable witness = createWitnessVariable(BigInteger.class, i);
+            parts.add(new OrConjunction(List.of(
+                    new EqualityGadget(witness, createInstance(1)),
+                    new EqualityGadget(witness, createInstance(2)),
+                    new EqualityGadget(witness, createInstance(3))
+            )));
+            parts.add(new BoundsCheckGadget(witness, createInstance(1), createInstance(3)));
+        }
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(),
+                Proposition.trueProposition());
+
+        assertEquals(205891132094649L, statement.getClaim().getEvaluationPaths().size());
+        assertDoesNotThrow(() -> ContradictionSearch.process(statement));
+    }
+
+    @Test
+    void Search_Should_Not_Depend_On_Number_Of_Paths() {
+        List<Proposition> parts = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            WitnessVariable witness = createWitnessVariable(BigInteger.class, i);
+            parts.add(new OrConjunction(List.of(
+                    new EqualityGadget(witness, createInstance(1)),
+                    new EqualityGadget(witness, createInstance(2))
+            )));
+        }
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(),
+                Proposition.trueProposition());
+
+        assertEquals(Long.MAX_VALUE, statement.getClaim().getEvaluationPaths().size());
+        assertDoesNotThrow(() -> ContradictionSearch.process(statement));
+
+        parts.add(new BoundsCheckGadget(createWitnessVariable(BigInteger.class, 69), createInstance(3), createInstance(4)));
+        Statement contradicting = new Statement(new AndConjunction(parts), Proposition.trueProposition(),
+                Proposition.trueProposition());
+        assertThrows(CompileTimeException.class, () -> ContradictionSearch.process(contradicting));
+    }
+
+    @Test
+    void Independent_Choices_Should_Throw() {
+        List<Proposition> parts = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            WitnessVariable witness = createWitnessVariable(BigInteger.class, i);
+            parts.add(new OrConjunction(List.of(
+                    new EqualityGadget(witness, createInstance(1)),
+                    new EqualityGadget(witness, createInstance(2)),
+                    new EqualityGadget(witness, createInstance(i == 29 ? 4 : 3))
+            )));
+            parts.add(new BoundsCheckGadget(witness, createInstance(1), createInstance(3)));
+        }
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(),
+                Proposition.trueProposition());
+
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
+                ContradictionSearch.process(statement)
+        );
+        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
+    }
+
+    @Test
+    void Contradiction_Through_Asserted_Equality_Should_Throw() {
+        WitnessVariable first = createWitnessVariable(BigInteger.class, 1);
+        WitnessVariable second = createWitnessVariable(BigInteger.class, 2);
+        Proposition claim = new AndConjunction(List.of(
+                new EqualityGadget(first, second),
+                new OrConjunction(List.of(new EqualityGadget(first, createInstance(5)), new LessThanGadget(first, second))),
+                new OrConjunction(List.of(new EqualityGadget(second, createInstance(5)), new EqualityGadget(second, createInstance(7))))
+        ));
+        Statement statement = new Statement(claim, Proposition.trueProposition(), Proposition.trueProposition());
+
+        assertThrows(CompileTimeException.class, () -> SemanticAnalyzer.process(statement));
+        assertThrows(CompileTimeException.class, () -> ContradictionSearch.process(statement));
+    }
+
+    @Test
+    void Parallel_Search_Should_Report_First_Contradiction() {
+        List<Proposition> parts = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            WitnessVariable witness = createWitnessVariable(BigInteger.class, i);
+            // the components of witness 3 and 29 contradict, with the values in line 2 and 3 respectively
+            int line = i == 3 ? 2 : i == 29 ? 3 : 1;
+            parts.add(new OrConjunction(List.of(
+                    new EqualityGadget(witness, createInstanceAt(line == 1 ? 1 : 4, line)),
+                    new EqualityGadget(witness, createInstanceAt(line == 1 ? 2 : 5, line))
+            )));
+            parts.add(new BoundsCheckGadget(witness, createInstanceAt(1, 1), createInstanceAt(3, 1)));
+        }
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(),
+                Proposition.trueProposition());
+
+        CompileTimeException sequential = assertThrows(CompileTimeException.class, () ->
+                ContradictionSearch.process(statement)
+        );
+        assertTrue(sequential.getMessage().contains("lines 1, 2"));
+
+        for (int i = 0; i < 10; i++) {
+            CompileTimeException parallel = assertThrows(CompileTimeException.class, () ->
+                    ContradictionSearch.process(statement, 4)
+            );
+            assertEquals(sequential.getMessage(), parallel.getMessage());
+        }
+    }
+
+    @Test
+    void Parallel_Search_Should_Agree_With_Sequential_Search() {
+        Random random = new Random(7);
+        for (int i = 0; i < STATEMENTS; i++) {
+            Statement statement = new Statement(createRandomProposition(random, 2), Proposition.trueProposition(),
+                    Proposition.trueProposition());
+
+            boolean sequential = contradicts(() -> ContradictionSearch.process(statement));
+            boolean parallel = contradicts(() -> ContradictionSearch.process(statement, 4));
+            assertEquals(sequential, parallel, statement.getClaim().toDebugString());
+        }
+    }
+
+    /**
+     * Creates a random tree of AND and OR conjunctions of the given {@code depth} over a few witness variables.
+     */
+    private static Proposition createRandomProposition(Random random, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0)
+            return createRandomGadget(random);
+
+        List<Proposition> parts = new ArrayList<>();
+        int size = 2 + random.nextInt(2);
+        for (int i = 0; i < size; i++)
+            parts.add(createRandomProposition(random, depth - 1));
+
+        return random.nextBoolean() ? new AndConjunction(parts) : new OrConjunction(parts);
+    }
+
+    private static Proposition createRandomGadget(Random random) {
+        WitnessVariable witness = createWitnessVariable(BigInteger.class, random.nextInt(WITNESSES));
+        WitnessVariable other = createWitnessVariable(BigInteger.class, random.nextInt(WITNESSES));
+        InstanceVariable value = createInstance(random.nextInt(10));
+        switch (random.nextInt(5)) {
+            case 0:
+                return new EqualityGadget(witness, value);
+            case 1:
+                return new EqualityGadget(witness, other);
+            case 2:
+                return new InequalityGadget(witness, value);
+            case 3:
+                return witness.equals(other) ? new EqualityGadget(witness, value) : new LessThanGadget(witness, other);
+            default:
+                int min = random.nextInt(10);
+                return new BoundsCheckGadget(witness, createInstance(min), createInstance(min + random.nextInt(5)));
+        }
+    }
+
+    private static InstanceVariable createInstance(int value) {
+        return createInstanceVariable(new Literal(BigInteger.valueOf(value)));
+    }
+
+    private static InstanceVariable createInstanceAt(int value, int line) {
+        Position.Absolute position = new Position.Absolute("", "1\n2\n3", new Position.Relative("", line, 0));
+        return new InstanceVariable(new Literal(BigInteger.valueOf(value)), null, position);
+    }
+
+    private static boolean contradicts(Runnable analysis) {
+        try {
+            analysis.run();
+            return false;
+        } catch (CompileTimeException e) {
+            return true;
+        }
+    }
+}
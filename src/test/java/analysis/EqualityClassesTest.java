@@ -0,0 +1,140 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.analysis.AssumptionIndex;
+import zkstrata.analysis.EqualityClasses;
+import zkstrata.analysis.Inference;
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.utils.ImplicationHelper;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.utils.TestHelper.createInstanceVariable;
+import static zkstrata.utils.TestHelper.createWitnessVariable;
+
+public class EqualityClassesTest {
+    private static final InstanceVariable INSTANCE_VAR_17 = createInstanceVariable(new Literal(BigInteger.valueOf(17)));
+    private static final InstanceVariable INSTANCE_VAR_41 = createInstanceVariable(new Literal(BigInteger.valueOf(41)));
+
+    private static final WitnessVariable WITNESS_VAR_1 = createWitnessVariable(BigInteger.class, 1);
+    private static final WitnessVariable WITNESS_VAR_2 = createWitnessVariable(BigInteger.class, 2);
+    private static final WitnessVariable WITNESS_VAR_3 = createWitnessVariable(BigInteger.class, 3);
+    private static final WitnessVariable WITNESS_VAR_4 = createWitnessVariable(BigInteger.class, 4);
+
+    private final AssumptionIndex assumptionIndex = new AssumptionIndex();
+
+    @Test
+    void Union_Should_Merge_Classes() {
+        EqualityClasses classes = EqualityClasses.of(List.of(
+                createInference(new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2)),
+                createInference(new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_4))
+        ));
+        assertTrue(classes.areEqual(WITNESS_VAR_2, WITNESS_VAR_1));
+        assertFalse(classes.areEqual(WITNESS_VAR_1, WITNESS_VAR_3));
+
+        assertTrue(classes.union(WITNESS_VAR_2, WITNESS_VAR_3, null));
+        assertFalse(classes.union(WITNESS_VAR_1, WITNESS_VAR_4, null));
+        assertTrue(classes.areEqual(WITNESS_VAR_1, WITNESS_VAR_4));
+    }
+
+    @Test
+    void Canonical_Should_Be_Instance_Variable() {
+        EqualityClasses classes = EqualityClasses.of(List.of(
+                createInference(new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2)),
+                createInference(new EqualityGadget(WITNESS_VAR_3, INSTANCE_VAR_17)),
+                createInference(new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_3))
+        ));
+        assertEquals(INSTANCE_VAR_17, classes.getCanonical(WITNESS_VAR_1));
+        assertEquals(WITNESS_VAR_4, classes.getCanonical(WITNESS_VAR_4));
+    }
+
+    @Test
+    void Explain_Should_Return_Path() {
+        Inference eq1 = createInference(new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2));
+        Inference eq2 = createInference(new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_2));
+        Inference eq3 = createInference(new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_4));
+        EqualityClasses classes = EqualityClasses.of(List.of(eq1, eq2, eq3));
+
+        assertEquals(List.of(eq1, eq2, eq3), classes.explain(WITNESS_VAR_1, WITNESS_VAR_4));
+        assertEquals(List.of(eq2, eq1), classes.explain(WITNESS_VAR_3, WITNESS_VAR_1));
+        assertEquals(Collections.emptyList(), classes.explain(WITNESS_VAR_1, INSTANCE_VAR_17));
+    }
+
+    @Test
+    void Parity_Implication_1() {
+        assertParityImplication(new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_1));
+    }
+
+    @Test
+    void Parity_Implication_2() {
+        assertParityImplication(new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_1),
+                new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_1));
+    }
+
+    @Test
+    void Parity_Implication_3() {
+        assertParityImplication(new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2));
+    }
+
+    @Test
+    void Parity_Implication_4() {
+        assertParityImplication(new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_1),
+                new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2));
+    }
+
+    @Test
+    void Parity_None_Implication() {
+        Inference eq1 = createInference(new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17));
+        Inference eq2 = createInference(new EqualityGadget(INSTANCE_VAR_41, WITNESS_VAR_2));
+        EqualityClasses classes = EqualityClasses.of(List.of(eq1, eq2));
+
+        assertFalse(classes.areEqual(WITNESS_VAR_1, WITNESS_VAR_2));
+        assertFalse(classes.areEqual(INSTANCE_VAR_17, WITNESS_VAR_2));
+        assertEquals(Collections.emptyList(), classes.explain(WITNESS_VAR_1, WITNESS_VAR_2));
+    }
+
+    @Test
+    void Chain_Of_Equalities_Should_Draw_Linear_Number_Of_Inferences() {
+        int length = 200;
+        List<Gadget> chain = new ArrayList<>();
+        for (int i = 0; i < length; i++)
+            chain.add(new EqualityGadget(createWitnessVariable(BigInteger.class, i),
+                    createWitnessVariable(BigInteger.class, i + 1)));
+        chain.add(new EqualityGadget(createWitnessVariable(BigInteger.class, length), INSTANCE_VAR_17));
+
+        Set<Inference> inferences = ImplicationHelper.drawInferences(chain);
+
+        assertTrue(inferences.size() <= 2 * (length + 1));
+        assertTrue(inferences.stream().anyMatch(inference -> inference.getConclusion()
+                .equals(new EqualityGadget(createWitnessVariable(BigInteger.class, 0), INSTANCE_VAR_17))));
+    }
+
+    /**
+     * Asserts that the given equalities sharing {@code WITNESS_VAR_1} put {@code INSTANCE_VAR_17} and
+     * {@code WITNESS_VAR_2} into the same class, explained by both equalities.
+     */
+    private void assertParityImplication(EqualityGadget eq1, EqualityGadget eq2) {
+        Inference inference1 = createInference(eq1);
+        Inference inference2 = createInference(eq2);
+        EqualityClasses classes = EqualityClasses.of(List.of(inference1, inference2));
+
+        assertTrue(classes.areEqual(INSTANCE_VAR_17, WITNESS_VAR_2));
+        assertEquals(INSTANCE_VAR_17, classes.getCanonical(WITNESS_VAR_2));
+        assertEquals(List.of(inference1, inference2), classes.explain(INSTANCE_VAR_17, WITNESS_VAR_2));
+    }
+
+    private Inference createInference(Gadget gadget) {
+        return new Inference(assumptionIndex, Set.of(gadget), gadget, Collections.emptySet());
+    }
+}
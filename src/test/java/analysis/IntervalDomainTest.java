@@ -0,0 +1,312 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.analysis.AssumptionIndex;
+import zkstrata.analysis.EqualityClasses;
+import zkstrata.analysis.Inference;
+import zkstrata.analysis.IntervalDomain;
+import zkstrata.analysis.LessThanGraph;
+import zkstrata.analysis.SemanticAnalyzer;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.Statement;
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.InequalityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+import zkstrata.exceptions.CompileTimeException;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.utils.TestHelper.*;
+
+public class IntervalDomainTest {
+    private static final InstanceVariable INSTANCE_VAR_17 = createInstanceVariable(new Literal(BigInteger.valueOf(17)));
+    private static final InstanceVariable INSTANCE_VAR_29 = createInstanceVariable(new Literal(BigInteger.valueOf(29)));
+    private static final InstanceVariable INSTANCE_VAR_30 = createInstanceVariable(new Literal(BigInteger.valueOf(30)));
+    private static final InstanceVariable INSTANCE_VAR_40 = createInstanceVariable(new Literal(BigInteger.valueOf(40)));
+    private static final InstanceVariable INSTANCE_VAR_41 = createInstanceVariable(new Literal(BigInteger.valueOf(41)));
+    private static final InstanceVariable INSTANCE_VAR_53 = createInstanceVariable(new Literal(BigInteger.valueOf(53)));
+
+    private static final WitnessVariable WITNESS_VAR_1 = createWitnessVariable(BigInteger.class, 1);
+    private static final WitnessVariable WITNESS_VAR_2 = createWitnessVariable(BigInteger.class, 2);
+    private static final WitnessVariable WITNESS_VAR_3 = createWitnessVariable(BigInteger.class, 3);
+
+    @Test
+    void Tightest_Bounds() {
+        IntervalDomain domain = of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41),
+                new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_29),
+                new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3),
+                new EqualityGadget(WITNESS_VAR_3, INSTANCE_VAR_41)
+        );
+
+        IntervalDomain.Interval first = domain.getInterval(WITNESS_VAR_1).orElseThrow();
+        assertEquals(BigInteger.valueOf(30), first.getMin());
+        assertEquals(BigInteger.valueOf(39), first.getMax());
+
+        IntervalDomain.Interval second = domain.getInterval(WITNESS_VAR_2).orElseThrow();
+        assertEquals(BigInteger.valueOf(31), second.getMin());
+        assertEquals(BigInteger.valueOf(40), second.getMax());
+        assertEquals(INSTANCE_VAR_41, second.getMaxSource());
+    }
+
+    @Test
+    void Unconstrained_Bounds() {
+        IntervalDomain domain = of(new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2));
+
+        IntervalDomain.Interval interval = domain.getInterval(WITNESS_VAR_2).orElseThrow();
+        assertNull(interval.getMin());
+        assertNull(interval.getMax());
+        assertTrue(domain.getInterval(WITNESS_VAR_3).isEmpty());
+    }
+
+    @Test
+    void Bounds_Through_Less_Than_Chain_Should_Throw() {
+        assertThrows(CompileTimeException.class, () -> of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41),
+                new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3),
+                new BoundsCheckGadget(WITNESS_VAR_3, INSTANCE_VAR_17, INSTANCE_VAR_30)
+        ));
+    }
+
+    @Test
+    void Excluded_Bounds_Should_Throw() {
+        assertThrows(CompileTimeException.class, () -> of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_30),
+                new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_29),
+                new InequalityGadget(INSTANCE_VAR_30, WITNESS_VAR_1)
+        ));
+    }
+
+    @Test
+    void Restriction_Upper() {
+        IntervalDomain domain = of(
+                new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_41),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41)
+        );
+
+        IntervalDomain.Interval interval = domain.getInterval(WITNESS_VAR_1).orElseThrow();
+        assertEquals(BigInteger.valueOf(17), interval.getMin());
+        assertEquals(BigInteger.valueOf(40), interval.getMax());
+    }
+
+    @Test
+    void Restriction_Lower() {
+        IntervalDomain domain = of(
+                new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_40),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_40, INSTANCE_VAR_53)
+        );
+
+        IntervalDomain.Interval interval = domain.getInterval(WITNESS_VAR_1).orElseThrow();
+        assertEquals(BigInteger.valueOf(41), interval.getMin());
+        assertEquals(BigInteger.valueOf(53), interval.getMax());
+    }
+
+    @Test
+    void Restriction_None() {
+        IntervalDomain domain = of(
+                new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_53),
+                new InequalityGadget(WITNESS_VAR_2, INSTANCE_VAR_17),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41)
+        );
+
+        IntervalDomain.Interval interval = domain.getInterval(WITNESS_VAR_1).orElseThrow();
+        assertEquals(BigInteger.valueOf(17), interval.getMin());
+        assertEquals(BigInteger.valueOf(41), interval.getMax());
+    }
+
+    @Test
+    void Bounds_Through_Less_Than() {
+        IntervalDomain domain = of(
+                new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_29),
+                new BoundsCheckGadget(WITNESS_VAR_3, INSTANCE_VAR_17, INSTANCE_VAR_29)
+        );
+
+        IntervalDomain.Interval first = domain.getInterval(WITNESS_VAR_1).orElseThrow();
+        assertNull(first.getMin());
+        assertEquals(BigInteger.valueOf(28), first.getMax());
+        assertEquals(INSTANCE_VAR_29, first.getMaxSource());
+    }
+
+    @Test
+    void Lower_Bound_Through_Less_Than() {
+        IntervalDomain domain = of(
+                new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29)
+        );
+
+        IntervalDomain.Interval second = domain.getInterval(WITNESS_VAR_2).orElseThrow();
+        assertEquals(BigInteger.valueOf(18), second.getMin());
+        assertNull(second.getMax());
+        assertEquals(INSTANCE_VAR_17, second.getMinSource());
+    }
+
+    @Test
+    void Bounds_Not_Through_Unrelated_Less_Than() {
+        IntervalDomain domain = of(
+                new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_2),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29)
+        );
+
+        IntervalDomain.Interval interval = domain.getInterval(WITNESS_VAR_2).orElseThrow();
+        assertNull(interval.getMin());
+        assertNull(interval.getMax());
+        assertNull(domain.getInterval(WITNESS_VAR_3).orElseThrow().getMax());
+    }
+
+    @Test
+    void Bounds_Through_Less_Than_To_Instance() {
+        // the right side of the less-than relation is bound to an instance variable by an equality
+        IntervalDomain domain = of(
+                new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_29),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41)
+        );
+
+        IntervalDomain.Interval interval = domain.getInterval(WITNESS_VAR_1).orElseThrow();
+        assertEquals(BigInteger.valueOf(17), interval.getMin());
+        assertEquals(BigInteger.valueOf(28), interval.getMax());
+        assertTrue(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29),
+                domain));
+    }
+
+    @Test
+    void Less_Than_Instance_Should_Throw() {
+        assertThrows(CompileTimeException.class, () -> of(
+                new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_1),
+                new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1),
+                new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_41)
+        ));
+    }
+
+    @Test
+    void Two_Bounds_Checks_Should_Throw() {
+        assertThrows(CompileTimeException.class, () -> of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_41, INSTANCE_VAR_53),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29)
+        ));
+        assertThrows(CompileTimeException.class, () -> of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_41, INSTANCE_VAR_53)
+        ));
+        assertDoesNotThrow(() -> of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53)
+        ));
+    }
+
+    @Test
+    void Loose_Bounds_Are_Implied() {
+        IntervalDomain domain = of(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41));
+
+        assertTrue(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_53),
+                domain));
+        assertFalse(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_30, INSTANCE_VAR_53),
+                domain));
+        assertFalse(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_40),
+                domain));
+        assertFalse(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_53),
+                domain));
+    }
+
+    @Test
+    void Overlapping_Bounds_Are_Not_Implied() {
+        IntervalDomain domain = of(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53));
+
+        assertFalse(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41),
+                domain));
+    }
+
+    @Test
+    void Restriction_Of_Instance_Value() {
+        IntervalDomain domain = of(
+                new InequalityGadget(WITNESS_VAR_2, INSTANCE_VAR_17),
+                new BoundsCheckGadget(INSTANCE_VAR_29, INSTANCE_VAR_17, INSTANCE_VAR_41)
+        );
+
+        IntervalDomain.Interval interval = domain.getInterval(INSTANCE_VAR_29).orElseThrow();
+        assertEquals(BigInteger.valueOf(17), interval.getMin());
+        assertEquals(BigInteger.valueOf(41), interval.getMax());
+        assertTrue(domain.getInterval(WITNESS_VAR_2).isEmpty());
+    }
+
+    @Test
+    void Bounds_Are_Not_Shared_Through_Instance_Equality() {
+        IntervalDomain domain = of(
+                new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41)
+        );
+
+        IntervalDomain.Interval second = domain.getInterval(WITNESS_VAR_2).orElseThrow();
+        assertEquals(BigInteger.valueOf(17), second.getMin());
+        assertEquals(BigInteger.valueOf(17), second.getMax());
+        assertFalse(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_17),
+                domain));
+    }
+
+    @Test
+    void Added_Bounds_Should_Be_Propagated() {
+        AssumptionIndex assumptionIndex = new AssumptionIndex();
+        Gadget lt = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        Gadget bc = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_29);
+        Set<Inference> inferences = Set.of(new Inference(assumptionIndex, Set.of(lt), lt, Set.of()));
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+        IntervalDomain domain = IntervalDomain.of(inferences, equalities, LessThanGraph.of(inferences, equalities));
+        assertNull(domain.getInterval(WITNESS_VAR_1).orElseThrow().getMax());
+
+        domain.add(Set.of(new Inference(assumptionIndex, Set.of(bc), bc, Set.of())));
+        assertEquals(BigInteger.valueOf(28), domain.getInterval(WITNESS_VAR_1).orElseThrow().getMax());
+    }
+
+    @Test
+    void Bounds_Are_Shared_By_Equal_Variables() {
+        IntervalDomain domain = of(
+                new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41)
+        );
+
+        assertTrue(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_41),
+                domain));
+        assertFalse(BoundsCheckGadget.isImplied(new BoundsCheckGadget(WITNESS_VAR_3, INSTANCE_VAR_17, INSTANCE_VAR_41),
+                domain));
+    }
+
+    @Test
+    void Long_Less_Than_Chain_Should_Throw() {
+        List<Proposition> parts = new ArrayList<>();
+        parts.add(new BoundsCheckGadget(createWitnessVariable(BigInteger.class, 10), INSTANCE_VAR_17, INSTANCE_VAR_41));
+        for (int i = 0; i < 30; i++)
+            parts.add(new LessThanGadget(createWitnessVariable(BigInteger.class, i + 10),
+                    createWitnessVariable(BigInteger.class, i + 11)));
+        parts.add(new BoundsCheckGadget(createWitnessVariable(BigInteger.class, 40), INSTANCE_VAR_17, INSTANCE_VAR_41));
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(), Proposition.trueProposition());
+
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
+                SemanticAnalyzer.process(statement)
+        );
+        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
+    }
+
+    private static IntervalDomain of(Gadget... gadgets) {
+        AssumptionIndex assumptionIndex = new AssumptionIndex();
+        Set<Inference> inferences = new LinkedHashSet<>();
+        for (Gadget gadget : gadgets)
+            inferences.add(new Inference(assumptionIndex, Set.of(gadget), gadget, Set.of()));
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+        return IntervalDomain.of(inferences, equalities, LessThanGraph.of(inferences, equalities));
+    }
+}
@@ -0,0 +1,209 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.analysis.AssumptionIndex;
+import zkstrata.analysis.EqualityClasses;
+import zkstrata.analysis.Inference;
+import zkstrata.analysis.LessThanGraph;
+import zkstrata.analysis.SemanticAnalyzer;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.Statement;
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+import zkstrata.exceptions.CompileTimeException;
+import zkstrata.utils.ImplicationHelper;
+
+import java.math.BigInteger;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.utils.TestHelper.createInstanceVariable;
+import static zkstrata.utils.TestHelper.createWitnessVariable;
+
+public class LessThanGraphTest {
+    private static final InstanceVariable INSTANCE_VAR_17 = createInstanceVariable(new Literal(BigInteger.valueOf(17)));
+    private static final InstanceVariable INSTANCE_VAR_29 = createInstanceVariable(new Literal(BigInteger.valueOf(29)));
+
+    private static final WitnessVariable WITNESS_VAR_1 = createWitnessVariable(BigInteger.class, 1);
+    private static final WitnessVariable WITNESS_VAR_2 = createWitnessVariable(BigInteger.class, 2);
+    private static final WitnessVariable WITNESS_VAR_3 = createWitnessVariable(BigInteger.class, 3);
+    private static final WitnessVariable WITNESS_VAR_4 = createWitnessVariable(BigInteger.class, 4);
+
+    @Test
+    void Is_Less_Through_Equality() {
+        LessThanGadget lt1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        LessThanGadget lt2 = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_4);
+        LessThanGraph graph = of(lt1, new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_3), lt2);
+
+        assertTrue(graph.isLess(WITNESS_VAR_1, WITNESS_VAR_4));
+        assertFalse(graph.isLess(WITNESS_VAR_4, WITNESS_VAR_1));
+        assertFalse(graph.isLess(WITNESS_VAR_2, WITNESS_VAR_3));
+        assertEquals(List.of(lt1, lt2), graph.explain(WITNESS_VAR_1, WITNESS_VAR_4));
+        assertTrue(graph.findCycle().isEmpty());
+    }
+
+    @Test
+    void Is_Less_Than_Equal_Variables() {
+        LessThanGraph graph = of(new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1),
+                new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_2), new EqualityGadget(WITNESS_VAR_4, WITNESS_VAR_1));
+
+        assertTrue(graph.isLess(WITNESS_VAR_3, WITNESS_VAR_1));
+        assertTrue(graph.isLess(WITNESS_VAR_2, WITNESS_VAR_4));
+        assertTrue(graph.isLess(WITNESS_VAR_3, WITNESS_VAR_4));
+        assertFalse(graph.isLess(WITNESS_VAR_4, WITNESS_VAR_3));
+    }
+
+    @Test
+    void Find_Cycle() {
+        LessThanGadget lt1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        LessThanGadget lt2 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3);
+        LessThanGadget lt3 = new LessThanGadget(WITNESS_VAR_4, WITNESS_VAR_1);
+        LessThanGraph graph = of(lt1, lt2, new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_4), lt3);
+
+        Optional<List<LessThanGadget>> cycle = graph.findCycle();
+        assertTrue(cycle.isPresent());
+        assertEquals(Set.of(lt1, lt2, lt3), new HashSet<>(cycle.get()));
+    }
+
+    @Test
+    void Less_Than_Cycle_Should_Throw() {
+        Proposition claim = new AndConjunction(List.of(
+                new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3),
+                new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_1)
+        ));
+        Statement statement = new Statement(claim, Proposition.trueProposition(), Proposition.trueProposition());
+
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
+                SemanticAnalyzer.process(statement)
+        );
+        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
+    }
+
+    @Test
+    void Is_Less_Transitively_1() {
+        LessThanGadget lt1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        LessThanGadget lt2 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3);
+        LessThanGraph graph = of(lt1, lt2);
+
+        assertTrue(graph.isLess(WITNESS_VAR_1, WITNESS_VAR_3));
+        assertEquals(List.of(lt1, lt2), graph.explain(WITNESS_VAR_1, WITNESS_VAR_3));
+    }
+
+    @Test
+    void Is_Less_Transitively_2() {
+        LessThanGadget lt1 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1);
+        LessThanGadget lt2 = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_2);
+        LessThanGraph graph = of(lt1, lt2);
+
+        assertTrue(graph.isLess(WITNESS_VAR_3, WITNESS_VAR_1));
+        assertEquals(List.of(lt2, lt1), graph.explain(WITNESS_VAR_3, WITNESS_VAR_1));
+    }
+
+    @Test
+    void Is_Not_Less_Transitively() {
+        LessThanGraph graph = of(new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_2));
+
+        assertFalse(graph.isLess(WITNESS_VAR_1, WITNESS_VAR_3));
+        assertFalse(graph.isLess(WITNESS_VAR_3, WITNESS_VAR_1));
+        assertEquals(Collections.emptyList(), graph.explain(WITNESS_VAR_1, WITNESS_VAR_3));
+    }
+
+    @Test
+    void Opposite_Relations_Should_Form_Cycle() {
+        LessThanGadget lt1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        LessThanGadget lt2 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1);
+
+        assertEquals(Optional.of(List.of(lt1, lt2)), of(lt1, lt2).findCycle());
+    }
+
+    @Test
+    void Exposed_Comparison_Is_Implied() {
+        LessThanGadget lt = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        Set<Inference> inferences = inferencesOf(new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_29));
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+
+        assertTrue(LessThanGadget.isImplied(lt, LessThanGraph.of(inferences, equalities), equalities));
+    }
+
+    @Test
+    void Exposed_Comparison_Is_Not_Implied_1() {
+        LessThanGadget lt = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        Set<Inference> inferences = inferencesOf(new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2));
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+
+        assertFalse(LessThanGadget.isImplied(lt, LessThanGraph.of(inferences, equalities), equalities));
+    }
+
+    @Test
+    void Exposed_Comparison_Is_Not_Implied_2() {
+        LessThanGadget lt = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        Set<Inference> inferences = inferencesOf(new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29),
+                new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_17));
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+
+        assertFalse(LessThanGadget.isImplied(lt, LessThanGraph.of(inferences, equalities), equalities));
+    }
+
+    @Test
+    void Exposed_Comparison_Is_Not_Implied_3() {
+        LessThanGadget lt = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        Set<Inference> inferences = inferencesOf(new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17));
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+
+        assertFalse(LessThanGadget.isImplied(lt, LessThanGraph.of(inferences, equalities), equalities));
+    }
+
+    @Test
+    void Added_Relation_Should_Extend_Reachability() {
+        Set<Inference> inferences = inferencesOf(new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2));
+        LessThanGraph graph = LessThanGraph.of(inferences, EqualityClasses.of(inferences));
+        assertFalse(graph.isLess(WITNESS_VAR_1, WITNESS_VAR_3));
+
+        LessThanGadget lt = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3);
+        assertTrue(graph.add(inferencesOf(lt).iterator().next()));
+        assertFalse(graph.add(inferencesOf(new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_4)).iterator().next()));
+        assertTrue(graph.isLess(WITNESS_VAR_1, WITNESS_VAR_3));
+        assertFalse(graph.isLess(WITNESS_VAR_1, WITNESS_VAR_4));
+    }
+
+    @Test
+    void Ordered_Chain_Should_Draw_Linear_Inferences() {
+        List<Gadget> chain = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            chain.add(new LessThanGadget(createWitnessVariable(BigInteger.class, i + 10),
+                    createWitnessVariable(BigInteger.class, i + 11)));
+
+        Set<Inference> inferences = ImplicationHelper.drawInferences(chain);
+        assertEquals(chain.size(), inferences.size());
+
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+        LessThanGraph graph = LessThanGraph.of(inferences, equalities);
+        assertTrue(graph.isLess(createWitnessVariable(BigInteger.class, 10), createWitnessVariable(BigInteger.class, 110)));
+        assertEquals(chain, graph.explain(createWitnessVariable(BigInteger.class, 10),
+                createWitnessVariable(BigInteger.class, 110)));
+    }
+
+    private static LessThanGraph of(Gadget... gadgets) {
+        Set<Inference> inferences = inferencesOf(gadgets);
+        EqualityClasses equalities = EqualityClasses.of(inferences);
+        return LessThanGraph.of(inferences, equalities);
+    }
+
+    private static Set<Inference> inferencesOf(Gadget... gadgets) {
+        AssumptionIndex assumptionIndex = new AssumptionIndex();
+        Set<Inference> inferences = new LinkedHashSet<>();
+        for (Gadget gadget : gadgets)
+            inferences.add(new Inference(assumptionIndex, Set.of(gadget), gadget, Set.of()));
+        return inferences;
+    }
+}
@@ -1,19 +1,24 @@
 package analysis;
 
 import org.junit.jupiter.api.Test;
+import zkstrata.analysis.AssumptionIndex;
 import zkstrata.analysis.Inference;
 import zkstrata.analysis.SemanticAnalyzer;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.Statement;
 import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.conjunctions.OrConjunction;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
 import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
 import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.InequalityGadget;
 import zkstrata.exceptions.CompileTimeException;
+import zkstrata.exceptions.Position;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -30,6 +35,8 @@ public class SemanticAnalyzerTest {
     private static final WitnessVariable WITNESS_VAR_3 = createWitnessVariable(BigInteger.class, 3);
     private static final WitnessVariable WITNESS_VAR_4 = createWitnessVariable(BigInteger.class, 4);
 
+    private final AssumptionIndex assumptionIndex = new AssumptionIndex();
+
     @Test
     void Complex_Contradiction_Should_Throw_1() {
         EqualityGadget eq1 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
@@ -62,50 +69,163 @@ public class SemanticAnalyzerTest {
         );
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
     }
+
+    @Test
+    void Parallel_Analysis_Should_Report_First_Contradiction() {
+        List<Proposition> parts = new ArrayList<>();
+        parts.add(new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, createInstanceVariableAt(29, 1)),
+                new EqualityGadget(WITNESS_VAR_1, createInstanceVariableAt(17, 2)),
+                new EqualityGadget(WITNESS_VAR_1, createInstanceVariableAt(50, 3))
+        )));
+        parts.add(new BoundsCheckGadget(WITNESS_VAR_1, createInstanceVariableAt(29, 4), createInstanceVariableAt(41, 5)));
+        for (int i = 0; i < 8; i++)
+            parts.add(new OrConjunction(List.of(
+                    new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_3),
+                    new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_4)
+            )));
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(), Proposition.trueProposition());
+
+        CompileTimeException sequential = assertThrows(CompileTimeException.class, () ->
+                SemanticAnalyzer.process(statement)
+        );
+        assertTrue(sequential.getMessage().contains("lines 2, 4"));
+
+        for (int i = 0; i < 10; i++) {
+            CompileTimeException parallel = assertThrows(CompileTimeException.class, () ->
+                    SemanticAnalyzer.process(statement, 4)
+            );
+            assertEquals(sequential.getMessage(), parallel.getMessage());
+        }
+    }
+
+    @Test
+    void Parallel_Analysis_Should_Pass() {
+        List<Proposition> parts = new ArrayList<>();
+        parts.add(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41));
+        for (int i = 0; i < 8; i++)
+            parts.add(new OrConjunction(List.of(
+                    new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29),
+                    new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_3)
+            )));
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(), Proposition.trueProposition());
+
+        assertDoesNotThrow(() -> SemanticAnalyzer.process(statement, 4));
+    }
+
+    @Test
+    void Incremental_Analysis_Should_Report_Contradiction_Of_Last_Path() {
+        BoundsCheckGadget bc = new BoundsCheckGadget(WITNESS_VAR_1, createInstanceVariableAt(29, 4), createInstanceVariableAt(41, 5));
+        EqualityGadget eq1 = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_3);
+        EqualityGadget eq2 = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+        EqualityGadget eq3 = new EqualityGadget(WITNESS_VAR_3, createInstanceVariableAt(29, 3));
+        EqualityGadget eq4 = new EqualityGadget(WITNESS_VAR_2, createInstanceVariableAt(17, 2));
+        Proposition claim = new AndConjunction(List.of(bc, new OrConjunction(List.of(eq1, eq2)),
+                new OrConjunction(List.of(eq3, eq4))));
+        Statement statement = new Statement(claim, Proposition.trueProposition(), Proposition.trueProposition());
+
+        CompileTimeException incremental = assertThrows(CompileTimeException.class, () ->
+                SemanticAnalyzer.process(statement)
+        );
+
+        Statement lastPath = new Statement(new AndConjunction(List.of(bc, eq2, eq4)), Proposition.trueProposition(),
+                Proposition.trueProposition());
+        CompileTimeException exhaustive = assertThrows(CompileTimeException.class, () ->
+                SemanticAnalyzer.process(lastPath)
+        );
+        assertEquals(exhaustive.getMessage(), incremental.getMessage());
+    }
+
+    @Test
+    void Long_Equality_Chain_Should_Throw() {
+        List<Proposition> parts = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            parts.add(new EqualityGadget(createWitnessVariable(BigInteger.class, i + 10),
+                    createWitnessVariable(BigInteger.class, i + 11)));
+        parts.add(new InequalityGadget(createWitnessVariable(BigInteger.class, 110), createWitnessVariable(BigInteger.class, 10)));
+        Statement statement = new Statement(new AndConjunction(parts), Proposition.trueProposition(), Proposition.trueProposition());
+
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
+                SemanticAnalyzer.process(statement)
+        );
+        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
+    }
+
+    private static InstanceVariable createInstanceVariableAt(int value, int line) {
+        Position.Absolute position = new Position.Absolute("", "1\n2\n3\n4\n5", new Position.Relative("", line, 0));
+        return new InstanceVariable(new Literal(BigInteger.valueOf(value)), null, position);
+    }
+
     @Test
     void Inference_Equals_1() {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        Inference inference = new Inference(Set.of(equalityGadget), equalityGadget, null);
+        Inference inference = new Inference(assumptionIndex, Set.of(equalityGadget), equalityGadget, null);
         assertFalse(inference.equals(null));
     }
 
     @Test
     void Inference_Equals_2() {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        Inference inference = new Inference(Set.of(equalityGadget), equalityGadget, null);
+        Inference inference = new Inference(assumptionIndex, Set.of(equalityGadget), equalityGadget, null);
         assertFalse(inference.equals(new Object()));
     }
 
     @Test
     void Inference_Equals_3() {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        Inference inference1 = new Inference(null, equalityGadget, null);
-        Inference inference2 = new Inference(null, equalityGadget, null);
+        Inference inference1 = new Inference(assumptionIndex, null, equalityGadget, null);
+        Inference inference2 = new Inference(assumptionIndex, null, equalityGadget, null);
         assertNotEquals(inference1, inference2);
     }
 
     @Test
     void Inference_Equals_4() {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        Inference inference1 = new Inference(Set.of(equalityGadget), null, null);
-        Inference inference2 = new Inference(Set.of(equalityGadget), null, null);
+        Inference inference1 = new Inference(assumptionIndex, Set.of(equalityGadget), null, null);
+        Inference inference2 = new Inference(assumptionIndex, Set.of(equalityGadget), null, null);
         assertNotEquals(inference1, inference2);
     }
 
     @Test
     void Inference_Equals_5() {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        Inference inference1 = new Inference(Set.of(equalityGadget), equalityGadget, null);
+        Inference inference1 = new Inference(assumptionIndex, Set.of(equalityGadget), equalityGadget, null);
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_4, INSTANCE_VAR_29, INSTANCE_VAR_41);
-        Inference inference2 = new Inference(Set.of(boundsCheckGadget), boundsCheckGadget, null);
+        Inference inference2 = new Inference(assumptionIndex, Set.of(boundsCheckGadget), boundsCheckGadget, null);
         assertNotEquals(inference1, inference2);
     }
 
     @Test
     void Inference_Equals_6() {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        Inference inference1 = new Inference(Set.of(equalityGadget), equalityGadget, null);
-        Inference inference2 = new Inference(Set.of(equalityGadget), equalityGadget, null);
+        Inference inference1 = new Inference(assumptionIndex, Set.of(equalityGadget), equalityGadget, null);
+        Inference inference2 = new Inference(assumptionIndex, Set.of(equalityGadget), equalityGadget, null);
         assertEquals(inference1, inference2);
     }
+
+    @Test
+    void Inference_Equals_7() {
+        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
+        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41);
+        Inference premise1 = new Inference(assumptionIndex, Set.of(boundsCheckGadget), boundsCheckGadget, Set.of());
+        Inference premise2 = new Inference(assumptionIndex, Set.of(equalityGadget), equalityGadget, Set.of());
+        Inference inference1 = Inference.from(Set.of(premise1, premise2), equalityGadget);
+        Inference inference2 = new Inference(new AssumptionIndex(), Set.of(equalityGadget, boundsCheckGadget), equalityGadget, null);
+        assertEquals(inference1, inference2);
+        assertEquals(inference1.hashCode(), inference2.hashCode());
+        assertEquals(Set.of(equalityGadget, boundsCheckGadget), inference1.getAssumptions());
+    }
+
+    @Test
+    void Inference_Can_Be_Implied_From() {
+        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
+        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41);
+        Inference premise1 = new Inference(assumptionIndex, Set.of(boundsCheckGadget), boundsCheckGadget, Set.of());
+        Inference premise2 = new Inference(assumptionIndex, Set.of(equalityGadget), equalityGadget, Set.of());
+        Inference derived = Inference.from(Set.of(premise1, premise2), equalityGadget);
+        assertTrue(derived.canBeImpliedFrom(premise2));
+        assertFalse(premise2.canBeImpliedFrom(derived));
+        assertTrue(derived.canBeImpliedFrom(new Inference(new AssumptionIndex(), Set.of(equalityGadget), equalityGadget, null)));
+        assertFalse(derived.canBeImpliedFrom(premise1));
+    }
 }
@@ -0,0 +1,102 @@
+package benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import zkstrata.analysis.Contradiction;
+import zkstrata.analysis.Inference;
+import zkstrata.analysis.SemanticAnalyzer;
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.InequalityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+import zkstrata.utils.CompiledRule;
+import zkstrata.utils.ImplicationHelper;
+import zkstrata.utils.ReflectionHelper;
+
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static zkstrata.utils.CombinatoricsUtils.getCombinations;
+import static zkstrata.utils.CombinatoricsUtils.groupByClass;
+import static zkstrata.utils.TestHelper.createInstanceVariable;
+import static zkstrata.utils.TestHelper.createWitnessVariable;
+
+/**
+ * Compares the contradiction checks on combinations of related conclusions (sharing a witness variable) against the
+ * checks on all combinations of conclusions previously done for each evaluation path.
+ * <p>
+ * Run using: mvn test -P benchmark
+ */
+@Tag("benchmark")
+public class ContradictionCheckBenchmark {
+    private static final int RUNS = 5;
+    private static final int[] SIZES = {100, 250, 500, 1000};
+
+    @Test
+    void Related_Versus_All_Combinations() {
+        List<CompiledRule<Gadget, Void>> rules = new ArrayList<>();
+        for (Method method : ReflectionHelper.getMethodsAnnotatedWith(Contradiction.class))
+            rules.add(CompiledRule.compileVoid(method, Gadget.class));
+
+        for (int size : SIZES) {
+            Set<Inference> inferences = ImplicationHelper.drawInferences(createGadgets(size));
+
+            long related = measure(() -> SemanticAnalyzer.checkContradictions(inferences));
+            long all = measure(() -> checkAllCombinations(rules, inferences));
+
+            System.out.println(String.format("Contradiction checks for %d gadgets (%d inferences, median of %d runs): "
+                    + "all combinations %.2f ms, related combinations %.2f ms", size, inferences.size(), RUNS,
+                    all / 1e6, related / 1e6));
+        }
+    }
+
+    /**
+     * Creates {@code size} consistent gadgets on {@code size / 3} witnesses, each witness being bounded, unequal to an
+     * instance and compared or equal to another witness.
+     */
+    private static List<Gadget> createGadgets(int size) {
+        List<Gadget> gadgets = new ArrayList<>();
+        InstanceVariable max = createInstanceVariable(new Literal(BigInteger.valueOf(Long.MAX_VALUE)));
+        for (int i = 0; gadgets.size() < size; i++) {
+            WitnessVariable witness = createWitnessVariable(BigInteger.class, i);
+            InstanceVariable value = createInstanceVariable(new Literal(BigInteger.valueOf(i)));
+            gadgets.add(new BoundsCheckGadget(witness, value, max));
+            gadgets.add(new InequalityGadget(witness, createInstanceVariable(new Literal(BigInteger.valueOf(size + i)))));
+            if (i % 2 == 0)
+                gadgets.add(new LessThanGadget(witness, createWitnessVariable(BigInteger.class, size + i)));
+            else
+                gadgets.add(new EqualityGadget(witness, createWitnessVariable(BigInteger.class, size + i)));
+        }
+        return gadgets;
+    }
+
+    private static void checkAllCombinations(List<CompiledRule<Gadget, Void>> rules, Set<Inference> inferences) {
+        Map<Class<?>, List<Gadget>> conclusions = groupByClass(inferences.stream()
+                .map(Inference::getConclusion)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        for (CompiledRule<Gadget, Void> rule : rules) {
+            if (!conclusions.keySet().containsAll(rule.getParameterTypes()))
+                continue;
+
+            for (List<Gadget> combination : getCombinations(rule.getParameterTypes(), conclusions))
+                rule.invoke(combination);
+        }
+    }
+
+    private long measure(Runnable runnable) {
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            runnable.run();
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+}
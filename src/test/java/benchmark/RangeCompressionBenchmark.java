@@ -0,0 +1,139 @@
+package benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.Statement;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.Selector;
+import zkstrata.domain.data.types.Reference;
+import zkstrata.domain.data.types.ValueSet;
+import zkstrata.domain.data.types.wrapper.InstanceSet;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.SetMembershipGadget;
+import zkstrata.optimizer.CalibratedCostModel;
+import zkstrata.optimizer.CostModel;
+import zkstrata.optimizer.Optimizer;
+import zkstrata.utils.Constants;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static zkstrata.domain.Proposition.trueProposition;
+import static zkstrata.utils.TestHelper.createWitnessVariable;
+import static zkstrata.utils.TestHelper.getAbsPosition;
+
+/**
+ * Compares the cost estimates of generated set memberships in sets of instance data and OR conjunctions of equalities,
+ * whose values form one or a few contiguous ranges, before and after the optimizer compressed them to bounds checks.
+ * The optimizer uses a cost model rating OR conjunctions by the costs of their parts plus a selector per part and one
+ * constraint selecting a part, since the default model rates an OR conjunction by the product of its parts and thus
+ * never compresses an OR of equalities.
+ * <p>
+ * Run using: mvn test -P benchmark
+ */
+@Tag("benchmark")
+public class RangeCompressionBenchmark {
+    private static final WitnessVariable WITNESS = createWitnessVariable(BigInteger.class, 1);
+    private static final int[] SIZES = {4, 16, 64, 256, 1024};
+    private static final int OR_BRANCH_COST = Constants.INEQUALITY_COST_ESTIMATE;
+    private static final int OR_SELECTION_COST = 1;
+    private static final CostModel COST_MODEL = CalibratedCostModel.parse(String.join("\n",
+            "EqualityGadget = " + Constants.EQUALITY_COST_ESTIMATE,
+            "InequalityGadget = " + Constants.INEQUALITY_COST_ESTIMATE,
+            "MiMCHashGadget = " + Constants.MIMC_HASH_COST_ESTIMATE,
+            "LessThanGadget = " + Constants.LESS_THAN_COST_ESTIMATE,
+            "BoundsCheckGadget = " + Constants.BOUNDS_CHECK_COST_ESTIMATE,
+            "SetMembershipGadget = 2",
+            "SetMembershipGadget.set = " + (Constants.MIMC_HASH_COST_ESTIMATE + Constants.INEQUALITY_COST_ESTIMATE),
+            "MerkleTreeGadget = " + Constants.MIMC_HASH_COST_ESTIMATE,
+            "OrConjunction = sum",
+            "OrConjunction.parts = " + OR_BRANCH_COST,
+            "OrConjunction.overhead = " + OR_SELECTION_COST
+    ));
+
+    @Test
+    void Contiguous_Set_Memberships() {
+        long totalBefore = 0;
+        long totalAfter = 0;
+        for (int ranges = 1; ranges <= 3; ranges++) {
+            for (int size : SIZES) {
+                Proposition claim = new SetMembershipGadget(WITNESS, createInstanceSet(values(size, ranges)));
+                long[] result = optimize(claim);
+                totalBefore += result[0];
+                totalAfter += result[1];
+                report(String.format("set of %d in %d range(s)", size, ranges), result);
+            }
+        }
+
+        System.out.println(String.format("Total cost: before %d, after %d, saved %d",
+                totalBefore, totalAfter, totalBefore - totalAfter));
+    }
+
+    @Test
+    void Equality_Chains() {
+        long totalBefore = 0;
+        long totalAfter = 0;
+        for (int ranges = 1; ranges <= 3; ranges++) {
+            for (int size : SIZES) {
+                List<Proposition> parts = new ArrayList<>();
+                for (InstanceVariable value : values(size, ranges))
+                    parts.add(new EqualityGadget(WITNESS, value));
+                long[] result = optimize(new OrConjunction(parts));
+                totalBefore += result[0];
+                totalAfter += result[1];
+                report(String.format("OR of %d equalities in %d range(s)", size, ranges), result);
+                // from 256 values on, checking the ranges is cheaper than the equalities
+                if (size >= 256)
+                    assertEquals(ranges * Constants.BOUNDS_CHECK_COST_ESTIMATE + (ranges > 1
+                            ? ranges * OR_BRANCH_COST + OR_SELECTION_COST
+                            : 0), result[1]);
+            }
+        }
+
+        System.out.println(String.format("Total cost: before %d, after %d, saved %d",
+                totalBefore, totalAfter, totalBefore - totalAfter));
+    }
+
+    /**
+     * Returns the cost estimates of the given {@code claim} before and after optimizing it, and the time taken.
+     */
+    private static long[] optimize(Proposition claim) {
+        Statement statement = new Statement(claim, trueProposition(), trueProposition());
+        long start = System.nanoTime();
+        Proposition optimized = new Optimizer(statement, 1, COST_MODEL).process();
+        long time = System.nanoTime() - start;
+
+        long before = claim.getCostEstimate(COST_MODEL);
+        long after = optimized.getCostEstimate(COST_MODEL);
+        assertTrue(after <= before);
+        return new long[]{before, after, time};
+    }
+
+    private static void report(String workload, long[] result) {
+        System.out.println(String.format("%-48s before %9d, after %9d (%.2f ms), saved %d",
+                workload, result[0], result[1], result[2] / 1e6, result[0] - result[1]));
+    }
+
+    /**
+     * Generates {@code size} values split into {@code ranges} contiguous ranges separated by gaps.
+     */
+    private static List<InstanceVariable> values(int size, int ranges) {
+        List<InstanceVariable> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            values.add(InstanceVariable.of(BigInteger.valueOf(1000L + i + (long) (i * ranges / size) * size)));
+        return values;
+    }
+
+    private static InstanceSet createInstanceSet(List<InstanceVariable> values) {
+        ValueSet.Builder builder = new ValueSet.Builder(BigInteger.class);
+        values.forEach(value -> builder.add(value.getValue().getValue()));
+        return new InstanceSet(builder.build(), new Reference(BigInteger.class, "list", new Selector("values")),
+                getAbsPosition());
+    }
+}
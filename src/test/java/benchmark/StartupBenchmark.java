@@ -0,0 +1,76 @@
+package benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import zkstrata.analysis.Contradiction;
+import zkstrata.analysis.Implication;
+import zkstrata.analysis.TypeConstraint;
+import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.data.schemas.predefined.Schema;
+import zkstrata.domain.data.types.Constant;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.optimizer.Substitution;
+import zkstrata.parser.ParserRule;
+import zkstrata.utils.ReflectionHelper;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Compares the lookup of rules, gadgets, conjunctions and schemas through the build time registry against the classpath
+ * scans previously done during the start of each compilation.
+ * <p>
+ * Run using: mvn test -P benchmark
+ */
+@Tag("benchmark")
+public class StartupBenchmark {
+    private static final int RUNS = 10;
+    private static final List<Class<? extends Annotation>> ANNOTATIONS = List.of(Implication.class,
+            Contradiction.class, Substitution.class, TypeConstraint.class, Constant.class, ParserRule.class);
+
+    @Test
+    void Registry_Versus_Classpath_Scan() {
+        long registry = measure(this::lookupRegistry);
+        long scan = measure(this::scanClasspath);
+
+        System.out.println(String.format("Startup lookups (median of %d runs): classpath scan %.2f ms, registry %.3f ms",
+                RUNS, scan / 1e6, registry / 1e6));
+    }
+
+    private void lookupRegistry() {
+        assertFalse(ReflectionHelper.getAllGadgets().isEmpty());
+        assertFalse(ReflectionHelper.getAllConjunctions().isEmpty());
+        assertFalse(ReflectionHelper.getPredefinedSchemas().isEmpty());
+        for (Class<? extends Annotation> annotation : ANNOTATIONS)
+            assertFalse(ReflectionHelper.getMethodsAnnotatedWith(annotation).isEmpty());
+    }
+
+    private void scanClasspath() {
+        assertFalse(new Reflections("zkstrata.domain.gadgets").getSubTypesOf(Gadget.class).isEmpty());
+        assertFalse(new Reflections("zkstrata.domain.conjunctions").getSubTypesOf(Conjunction.class).isEmpty());
+        assertFalse(new Reflections("zkstrata.domain.data.schemas.predefined").getTypesAnnotatedWith(Schema.class).isEmpty());
+        for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+            Reflections reflections = new Reflections(new ConfigurationBuilder()
+                    .setUrls(ClasspathHelper.forPackage("zkstrata"))
+                    .setScanners(new MethodAnnotationsScanner()));
+            assertFalse(reflections.getMethodsAnnotatedWith(annotation).isEmpty());
+        }
+    }
+
+    private long measure(Runnable runnable) {
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            runnable.run();
+            timings[i] = System.nanoTime() - start;
+        }
+        java.util.Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+}
@@ -6,11 +6,13 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.junit.jupiter.api.Test;
+import zkstrata.analysis.AnalysisMode;
 import zkstrata.api.cli.SpecialOptionException;
 import zkstrata.compiler.Arguments;
 import zkstrata.api.cli.CommandLineInterface;
 import zkstrata.domain.data.accessors.JsonAccessor;
 import zkstrata.domain.data.schemas.dynamic.JsonSchema;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintWriter;
@@ -23,6 +25,7 @@ public class CommandLineInterfaceTest {
     private static final String INSTANCE_FILE = TEST_RESOURCES + "data/passport_instance.json";
     private static final String SCHEMA_FILE = TEST_RESOURCES + "schemas/passport_ch.schema.json";
     private static final String PREMISE_FILE = TEST_RESOURCES + "statements/" + NAME + ".zkstrata";
+    private static final String COST_MODEL_FILE = TEST_RESOURCES + "miscellaneous/cost_model.properties";
 
     private static final String INSTANCE_ALIAS = "pass_instance";
     private static final String WITNESS_ALIAS = "pass";
@@ -98,6 +101,116 @@ public class CommandLineInterfaceTest {
         assertThrows(IllegalArgumentException.class, () -> cli.parse(command));
     }
 
+    @Test
+    void Parallelism_Option() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--parallelism",
+                "4"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertEquals(4, cli.parse(command).getSettings().getParallelism());
+    }
+
+    @Test
+    void Malformed_Parallelism() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--parallelism",
+                "many"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertThrows(IllegalArgumentException.class, () -> cli.parse(command));
+    }
+
+    @Test
+    void Analysis_Option() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--analysis",
+                "backtracking"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertEquals(AnalysisMode.BACKTRACKING, cli.parse(command).getSettings().getAnalysisMode());
+    }
+
+    @Test
+    void Malformed_Analysis() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--analysis",
+                "guess"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertThrows(IllegalArgumentException.class, () -> cli.parse(command));
+    }
+
+    @Test
+    void Cost_Model_Option() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--cost-model",
+                COST_MODEL_FILE
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertEquals(4, cli.parse(command).getSettings().getCostModel().estimate(new EqualityGadget()));
+    }
+
+    @Test
+    void Malformed_Cost_Model() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--cost-model",
+                TEST_RESOURCES + "miscellaneous/accessor_test.json"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertThrows(IllegalArgumentException.class, () -> cli.parse(command));
+    }
+
+    @Test
+    void Max_Cost_Option() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--max-cost",
+                "5000"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertEquals(5000, cli.parse(command).getSettings().getMaxCost());
+        assertTrue(cli.parse(command).getSettings().hasMaxCost());
+        assertFalse(cli.parse(new String[]{"--statement", STATEMENT_FILE}).getSettings().hasMaxCost());
+    }
+
+    @Test
+    void Cost_Report_Option() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--cost-report"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertTrue(cli.parse(command).getSettings().hasCostReport());
+        assertFalse(cli.parse(new String[]{"--statement", STATEMENT_FILE}).getSettings().hasCostReport());
+    }
+
+    @Test
+    void Malformed_Max_Cost() {
+        String[] command = new String[]{
+                "--statement",
+                STATEMENT_FILE,
+                "--max-cost",
+                "many"
+        };
+        CommandLineInterface cli = new CommandLineInterface(new PrintWriter(System.out));
+        assertThrows(IllegalArgumentException.class, () -> cli.parse(command));
+    }
+
     @Test
     void Verbose_Flag() {
         String[] command = new String[]{
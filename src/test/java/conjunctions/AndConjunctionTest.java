@@ -33,6 +33,7 @@ public class AndConjunctionTest {
         AndConjunction andConjunction1 = new AndConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET));
         AndConjunction andConjunction2 = new AndConjunction(List.of(INEQUALITY_GADGET, EQUALITY_GADGET));
         assertEquals(andConjunction1, andConjunction2);
+        assertEquals(andConjunction1.hashCode(), andConjunction2.hashCode());
     }
 
     @Test
@@ -49,6 +50,17 @@ public class AndConjunctionTest {
         assertNotEquals(andConjunction2, andConjunction1);
     }
 
+    @Test
+    void Parts_Are_Filtered_On_Construction() {
+        AndConjunction andConjunction = new AndConjunction(List.of(TRUE_PROPOSITION, EQUALITY_GADGET, INEQUALITY_GADGET));
+        assertEquals(List.of(EQUALITY_GADGET, INEQUALITY_GADGET), andConjunction.getParts());
+        assertEquals(EQUALITY_GADGET.getCostEstimate() + INEQUALITY_GADGET.getCostEstimate(),
+                andConjunction.getCostEstimate());
+        assertEquals(EQUALITY_GADGET.getPositionHashCode() + INEQUALITY_GADGET.getPositionHashCode(),
+                andConjunction.getPositionHashCode());
+        assertThrows(UnsupportedOperationException.class, () -> andConjunction.getParts().add(TRUE_PROPOSITION));
+    }
+
     @Test
     void Remove_Tautology_Substitution_1() {
         AndConjunction andConjunction = new AndConjunction(List.of(TRUE_PROPOSITION, TRUE_PROPOSITION, TRUE_PROPOSITION));
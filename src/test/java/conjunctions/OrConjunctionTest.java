@@ -1,6 +1,7 @@
 package conjunctions;
 
 import org.junit.jupiter.api.Test;
+import zkstrata.domain.EvaluationPaths;
 import zkstrata.domain.Proposition;
 import zkstrata.domain.conjunctions.AbstractConjunction;
 import zkstrata.domain.conjunctions.AndConjunction;
@@ -8,6 +9,7 @@ import zkstrata.domain.conjunctions.OrConjunction;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.Gadget;
 import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
 import zkstrata.domain.gadgets.impl.EqualityGadget;
 import zkstrata.domain.gadgets.impl.InequalityGadget;
@@ -15,6 +17,7 @@ import zkstrata.domain.gadgets.impl.LessThanGadget;
 import zkstrata.optimizer.TrueProposition;
 
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -120,4 +123,97 @@ public class OrConjunctionTest {
         Optional<Proposition> actual = AbstractConjunction.removeDuplicateConjunction(orConjunction1, orConjunction2);
         assertEquals(Optional.of(orConjunction1), actual);
     }
+
+    @Test
+    void Evaluation_Paths_Should_Follow_Cartesian_Product() {
+        AndConjunction andConjunction = new AndConjunction(List.of(
+                new OrConjunction(List.of(EQUALITY_GADGET, LESS_THAN_GADGET)),
+                INEQUALITY_GADGET,
+                new OrConjunction(List.of(BOUNDS_CHECK_GADGET, EQUALITY_GADGET))
+        ));
+        assertEquals(List.of(
+                List.of(EQUALITY_GADGET, INEQUALITY_GADGET, BOUNDS_CHECK_GADGET),
+                List.of(EQUALITY_GADGET, INEQUALITY_GADGET, EQUALITY_GADGET),
+                List.of(LESS_THAN_GADGET, INEQUALITY_GADGET, BOUNDS_CHECK_GADGET),
+                List.of(LESS_THAN_GADGET, INEQUALITY_GADGET, EQUALITY_GADGET)
+        ), andConjunction.getEvaluationPaths().toList());
+    }
+
+    @Test
+    void Evaluation_Paths_Should_Skip_True_Proposition() {
+        OrConjunction orConjunction = new OrConjunction(List.of(TRUE_PROPOSITION, EQUALITY_GADGET, TRUE_PROPOSITION, LESS_THAN_GADGET));
+        assertEquals(List.of(List.of(EQUALITY_GADGET), List.of(LESS_THAN_GADGET)), orConjunction.getEvaluationPaths().toList());
+    }
+
+    @Test
+    void Evaluation_Paths_Should_Be_Decoded_Lazily() {
+        OrConjunction orConjunction = new OrConjunction(List.of(EQUALITY_GADGET, LESS_THAN_GADGET, INEQUALITY_GADGET));
+        AndConjunction andConjunction = new AndConjunction(Collections.nCopies(30, orConjunction));
+        EvaluationPaths evaluationPaths = andConjunction.getEvaluationPaths();
+
+        assertEquals(205891132094649L, evaluationPaths.size());
+        assertEquals(Collections.nCopies(30, INEQUALITY_GADGET), evaluationPaths.get(evaluationPaths.size() - 1));
+        assertEquals(Collections.nCopies(30, EQUALITY_GADGET), evaluationPaths.iterator().next());
+    }
+
+    @Test
+    void Evaluation_Paths_Should_Saturate() {
+        OrConjunction orConjunction = new OrConjunction(List.of(EQUALITY_GADGET, LESS_THAN_GADGET));
+        AndConjunction andConjunction = new AndConjunction(Collections.nCopies(70, orConjunction));
+        EvaluationPaths evaluationPaths = andConjunction.getEvaluationPaths();
+
+        assertEquals(Long.MAX_VALUE, evaluationPaths.size());
+        assertEquals(Collections.nCopies(70, EQUALITY_GADGET), evaluationPaths.get(0));
+        List<Gadget> last = evaluationPaths.get(Long.MAX_VALUE - 1);
+        assertEquals(Collections.nCopies(7, EQUALITY_GADGET), last.subList(0, 7));
+        assertEquals(Collections.nCopies(62, LESS_THAN_GADGET), last.subList(7, 69));
+        assertEquals(EQUALITY_GADGET, last.get(69));
+        assertEquals(0, new AndConjunction(List.of(andConjunction, new OrConjunction(Collections.emptyList())))
+                .getEvaluationPaths().size());
+    }
+
+    @Test
+    void Saturated_Non_Leading_Factors_Should_Be_Decoded() {
+        OrConjunction orConjunction = new OrConjunction(List.of(EQUALITY_GADGET, LESS_THAN_GADGET));
+        AndConjunction saturated = new AndConjunction(Collections.nCopies(70, orConjunction));
+        EvaluationPaths nested = saturated.getEvaluationPaths();
+
+        EvaluationPaths evaluationPaths = new AndConjunction(List.of(
+                new OrConjunction(List.of(INEQUALITY_GADGET, BOUNDS_CHECK_GADGET)), saturated, orConjunction
+        )).getEvaluationPaths();
+        assertEquals(Long.MAX_VALUE, evaluationPaths.size());
+        List<Gadget> last = evaluationPaths.get(Long.MAX_VALUE - 1);
+        assertEquals(INEQUALITY_GADGET, last.get(0));
+        assertEquals(nested.get((Long.MAX_VALUE - 1) / 2), last.subList(1, 71));
+        assertEquals(EQUALITY_GADGET, last.get(71));
+        assertEquals(Collections.nCopies(62, LESS_THAN_GADGET), last.subList(9, 71));
+
+        List<Gadget> twice = new AndConjunction(List.of(saturated, saturated)).getEvaluationPaths()
+                .get(Long.MAX_VALUE - 1);
+        assertEquals(nested.get(0), twice.subList(0, 70));
+        assertEquals(nested.get(Long.MAX_VALUE - 1), twice.subList(70, 140));
+    }
+
+    @Test
+    void Evaluation_Paths_Should_Be_Partitioned_Along_Choices() {
+        AndConjunction andConjunction = new AndConjunction(List.of(
+                new OrConjunction(List.of(EQUALITY_GADGET, LESS_THAN_GADGET)),
+                INEQUALITY_GADGET,
+                new OrConjunction(List.of(BOUNDS_CHECK_GADGET, EQUALITY_GADGET))
+        ));
+        List<EvaluationPaths> parts = andConjunction.getEvaluationPaths().partition(3);
+
+        assertEquals(4, parts.size());
+        assertEquals(List.of(List.of(INEQUALITY_GADGET, EQUALITY_GADGET, BOUNDS_CHECK_GADGET)), parts.get(0).toList());
+        assertEquals(List.of(List.of(INEQUALITY_GADGET, EQUALITY_GADGET, EQUALITY_GADGET)), parts.get(1).toList());
+        assertEquals(List.of(List.of(INEQUALITY_GADGET, LESS_THAN_GADGET, BOUNDS_CHECK_GADGET)), parts.get(2).toList());
+        assertEquals(List.of(List.of(INEQUALITY_GADGET, LESS_THAN_GADGET, EQUALITY_GADGET)), parts.get(3).toList());
+
+        OrConjunction orConjunction = new OrConjunction(List.of(EQUALITY_GADGET, LESS_THAN_GADGET));
+        EvaluationPaths saturated = new AndConjunction(Collections.nCopies(70, orConjunction)).getEvaluationPaths();
+        parts = saturated.partition(8);
+        assertEquals(8, parts.size());
+        assertEquals(Collections.nCopies(70, EQUALITY_GADGET), parts.get(0).get(0));
+        assertEquals(Collections.nCopies(3, LESS_THAN_GADGET), parts.get(7).get(0).subList(0, 3));
+    }
 }
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import zkstrata.compiler.Arguments;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.visitor.InterningFactory;
 import zkstrata.domain.visitor.ASTVisitor;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.exceptions.InternalCompilerException;
@@ -11,7 +15,9 @@ import zkstrata.exceptions.Position;
 import zkstrata.parser.ast.AbstractSyntaxTree;
 import zkstrata.parser.ast.Node;
 import zkstrata.parser.ast.Subject;
+import zkstrata.parser.ast.connectives.And;
 import zkstrata.parser.ast.connectives.Connective;
+import zkstrata.parser.ast.predicates.Equality;
 import zkstrata.parser.ast.predicates.LessThan;
 import zkstrata.parser.ast.predicates.Predicate;
 import zkstrata.parser.ast.types.Constant;
@@ -22,6 +28,7 @@ import zkstrata.utils.ArgumentsBuilder;
 import zkstrata.utils.Constants;
 import zkstrata.utils.StatementBuilder;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -36,15 +43,17 @@ public class ASTVisitorTest {
     private static final Subject SUBJECT = createSubject(true, "");
 
     private static final Identifier IDENTIFIER = createIdentifier("", "String");
+    private static final Identifier NUMBER_IDENTIFIER = createIdentifier("", "Number");
     private static final IntegerLiteral INT_NEG = createIntegerLiteral(-10);
     private static final IntegerLiteral INT_13 = createIntegerLiteral(13);
     private static final IntegerLiteral INT_LARGE = createIntegerLiteral(Constants.UNSIGNED_65BIT_MIN);
 
+    private Arguments args;
     private ASTVisitor visitor;
 
     @BeforeEach
     void setup() {
-        Arguments args = new ArgumentsBuilder(ASTVisitorTest.class)
+        this.args = new ArgumentsBuilder(ASTVisitorTest.class)
                 .withSchema("schema", "schema")
                 .build();
         this.visitor = new ASTVisitor(args.getSubjectData(), "test");
@@ -124,6 +133,52 @@ public class ASTVisitorTest {
         assertTrue(exception.getMessage().toLowerCase().contains("unimplemented type"));
     }
 
+    @Test
+    void Equal_Literals_Should_Share_Instance() {
+        IntegerLiteral first = new IntegerLiteral("13", new Position.Relative(SOURCE, 1, 0));
+        IntegerLiteral second = new IntegerLiteral("13", new Position.Relative(SOURCE, 2, 0));
+        And and = new And(new Equality(NUMBER_IDENTIFIER, first), new Equality(NUMBER_IDENTIFIER, second), getAbsPosition());
+        AbstractSyntaxTree ast = new AbstractSyntaxTree(SOURCE, STATEMENT, List.of(SUBJECT), and);
+
+        InterningFactory interningFactory = new InterningFactory();
+        List<InstanceVariable> variables = getInstanceVariables(
+                new ASTVisitor(args.getSubjectData(), "test", interningFactory).visit(ast).getClaim());
+        List<InstanceVariable> revisited = getInstanceVariables(
+                new ASTVisitor(args.getSubjectData(), "test", interningFactory).visit(ast).getClaim());
+
+        assertEquals(2, variables.size());
+        // variables at different positions keep their position, but share the literal
+        assertNotSame(variables.get(0), variables.get(1));
+        assertSame(variables.get(0).getValue(), variables.get(1).getValue());
+        // variables at the same position are shared within the compilation
+        assertSame(variables.get(0), revisited.get(0));
+        assertSame(variables.get(1), revisited.get(1));
+    }
+
+    @Test
+    void Equal_Literals_Of_Separate_Compilations_Should_Not_Share_Instance() {
+        Equality equality = new Equality(NUMBER_IDENTIFIER, INT_13);
+        AbstractSyntaxTree ast = new AbstractSyntaxTree(SOURCE, STATEMENT, List.of(SUBJECT), equality);
+
+        List<InstanceVariable> variables = getInstanceVariables(
+                new ASTVisitor(args.getSubjectData(), "test", new InterningFactory()).visit(ast).getClaim());
+        List<InstanceVariable> others = getInstanceVariables(
+                new ASTVisitor(args.getSubjectData(), "test", new InterningFactory()).visit(ast).getClaim());
+
+        assertEquals(variables, others);
+        assertNotSame(variables.get(0).getValue(), others.get(0).getValue());
+    }
+
+    private static List<InstanceVariable> getInstanceVariables(Proposition proposition) {
+        List<InstanceVariable> variables = new ArrayList<>();
+        for (Gadget gadget : proposition.listAllGadgets())
+            gadget.forEachVariable(variable -> {
+                if (variable instanceof InstanceVariable)
+                    variables.add((InstanceVariable) variable);
+            });
+        return variables;
+    }
+
     public class MissingConjunctionImplementation extends Connective {
         public MissingConjunctionImplementation(Node left, Node right, Position position) {
             super(left, right, position);
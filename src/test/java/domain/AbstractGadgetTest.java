@@ -126,7 +126,7 @@ public class AbstractGadgetTest {
         }
 
         @Override
-        public int getCostEstimate() {
+        public long getCostEstimate() {
             return 0;
         }
     }
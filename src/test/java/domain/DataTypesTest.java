@@ -4,12 +4,15 @@ import org.junit.jupiter.api.Test;
 import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.Reference;
+import zkstrata.domain.data.types.ValueSet;
+import zkstrata.domain.data.types.custom.HexLiteral;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.Null;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
 import zkstrata.exceptions.InternalCompilerException;
 
 import java.math.BigInteger;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static zkstrata.utils.TestHelper.getAbsPosition;
@@ -173,4 +176,58 @@ public class DataTypesTest {
         Null nullVariable = new Null();
         assertNull(nullVariable.getPosition());
     }
+
+    @Test
+    void ValueSet_Is_Sorted_And_Deduplicated() {
+        ValueSet set = new ValueSet.Builder(BigInteger.class)
+                .add(7).add(3L).add(new BigInteger("18446744073709551615")).addText("7").add(0)
+                .build();
+        assertEquals(4, set.size());
+        assertEquals(new Literal(BigInteger.ZERO), set.get(0));
+        assertEquals(new Literal(BigInteger.valueOf(3)), set.get(1));
+        assertEquals(new Literal(BigInteger.valueOf(7)), set.get(2));
+        assertEquals(new Literal(new BigInteger("18446744073709551615")), set.get(3));
+    }
+
+    @Test
+    void ValueSet_Contains() {
+        ValueSet set = new ValueSet.Builder(String.class).add("Doe").addText("Roe").add("Doe").build();
+        assertEquals(2, set.size());
+        assertTrue(set.contains(new Literal("Roe")));
+        assertFalse(set.contains(new Literal("Smith")));
+        assertFalse(set.contains(new Literal(BigInteger.ONE)));
+    }
+
+    @Test
+    void ValueSet_Contains_Hex() {
+        ValueSet set = new ValueSet.Builder(HexLiteral.class).add("0x2a").addText("ff").build();
+        assertTrue(set.contains(new HexLiteral("0xff")));
+        assertFalse(set.contains(new Literal(BigInteger.valueOf(42))));
+        assertEquals(new HexLiteral("0x2a"), set.get(0));
+    }
+
+    @Test
+    void ValueSet_Equals_And_HashCode() {
+        ValueSet set1 = new ValueSet.Builder(BigInteger.class).add(1).add(2).build();
+        ValueSet set2 = new ValueSet.Builder(BigInteger.class).add(2).add(1).add(2).build();
+        assertEquals(set1, set2);
+        assertEquals(Set.of(new Literal(BigInteger.ONE), new Literal(BigInteger.TWO)).hashCode(), set1.hashCode());
+    }
+
+    @Test
+    void ValueSet_Digest_Separates_Values() {
+        ValueSet set1 = new ValueSet.Builder(String.class).add("ab").add("c").build();
+        ValueSet set2 = new ValueSet.Builder(String.class).add("a").add("bc").build();
+        assertNotEquals(set1, set2);
+        assertNotEquals(new ValueSet.Builder(BigInteger.class).add(1).add(4).build(),
+                new ValueSet.Builder(BigInteger.class).add(2).add(3).build());
+    }
+
+    @Test
+    void ValueSet_Type_Mismatch_Should_Throw() {
+        ValueSet.Builder builder = new ValueSet.Builder(BigInteger.class);
+        assertThrows(IllegalArgumentException.class, () -> builder.add("1"));
+        assertThrows(IllegalArgumentException.class, () -> builder.addText("one"));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(-1));
+    }
 }
@@ -6,6 +6,7 @@ import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.accessors.JsonAccessor;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.Value;
+import zkstrata.domain.data.types.ValueSet;
 import zkstrata.domain.data.types.custom.HexLiteral;
 
 import java.math.BigInteger;
@@ -107,4 +108,36 @@ public class JsonAccessorTest {
         Set<String> keySet = this.accessor.getKeySet(List.of("string"));
         assertEquals(Collections.emptySet(), keySet);
     }
+
+    @Test
+    void Get_Value_Set() {
+        ValueSet set = this.accessor.getValueSet(new Selector(List.of("array")), String.class);
+        assertEquals(new ValueSet.Builder(String.class).add("element0").add("element1").add("element2").build(), set);
+    }
+
+    @Test
+    void Get_Nested_Value_Set() {
+        ValueSet set = this.accessor.getValueSet(new Selector(List.of("object", "numbers")), BigInteger.class);
+        assertEquals(new ValueSet.Builder(BigInteger.class).add(1).add(2).add(3).build(), set);
+    }
+
+    @Test
+    void Get_Value_Set_Missing() {
+        assertNull(this.accessor.getValueSet(new Selector(List.of("missing")), String.class));
+        assertNull(this.accessor.getValueSet(new Selector(List.of("string")), String.class));
+        assertNull(this.accessor.getValueSet(new Selector(List.of("object", "property0")), String.class));
+    }
+
+    @Test
+    void Get_Value_Set_Type_Mismatch() {
+        assertThrows(IllegalArgumentException.class, () ->
+                this.accessor.getValueSet(new Selector(List.of("array")), BigInteger.class));
+    }
+
+    @Test
+    void Get_Value_Set_Malformed() {
+        JsonAccessor accessor = new JsonAccessor(DATA_PATH + "malformed_test.json");
+        assertThrows(IllegalArgumentException.class, () ->
+                accessor.getValueSet(new Selector(List.of("values")), BigInteger.class));
+    }
 }
@@ -1,6 +1,7 @@
 package gadgets;
 
 import org.junit.jupiter.api.Test;
+import zkstrata.domain.conjunctions.OrConjunction;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
@@ -11,6 +12,7 @@ import zkstrata.domain.gadgets.impl.InequalityGadget;
 import zkstrata.exceptions.CompileTimeException;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 
 import static java.util.Optional.empty;
@@ -19,6 +21,7 @@ import static zkstrata.domain.Proposition.trueProposition;
 import static zkstrata.domain.gadgets.impl.BoundsCheckGadget.*;
 import static zkstrata.utils.GadgetUtils.*;
 import static zkstrata.utils.TestHelper.*;
+import static zkstrata.analysis.SemanticAnalyzer.checkContradictions;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BoundsCheckGadgetTest {
@@ -66,48 +69,6 @@ public class BoundsCheckGadgetTest {
         assertFalse(boundsCheckGadget.equals(null));
     }
 
-    @Test
-    void Imply_Bounds_Left() {
-        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-        BoundsCheckGadget implication = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_41);
-
-        Optional<Gadget> result = implyBounds(equalityGadget, boundsCheckGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof BoundsCheckGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Bounds_Upper() {
-        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_41);
-        BoundsCheckGadget implication = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-
-        Optional<Gadget> result = implyBounds(equalityGadget, boundsCheckGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof BoundsCheckGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Bounds_None_1() {
-        EqualityGadget equalityGadget = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-
-        Optional<Gadget> result = implyBounds(equalityGadget, boundsCheckGadget);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_Bounds_None_2() {
-        EqualityGadget equalityGadget = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(INSTANCE_VAR_29, INSTANCE_VAR_17, INSTANCE_VAR_41);
-
-        Optional<Gadget> result = implyBounds(equalityGadget, boundsCheckGadget);
-        assertTrue(result.isEmpty());
-    }
-
     @Test
     void Imply_Equality_Upper() {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_17);
@@ -127,57 +88,6 @@ public class BoundsCheckGadgetTest {
         assertTrue(result.isEmpty());
     }
 
-    @Test
-    void Imply_Restriction_Upper() {
-        InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_41);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-        BoundsCheckGadget implication = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_40);
-
-        Optional<Gadget> result = implyRestrictedBounds(inequalityGadget, boundsCheckGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof BoundsCheckGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Restriction_Lower() {
-        InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_40);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_40, INSTANCE_VAR_53);
-        BoundsCheckGadget implication = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_41, INSTANCE_VAR_53);
-
-        Optional<Gadget> result = implyRestrictedBounds(inequalityGadget, boundsCheckGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof BoundsCheckGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Restriction_None_1() {
-        InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_53);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-
-        Optional<Gadget> result = implyRestrictedBounds(inequalityGadget, boundsCheckGadget);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_Restriction_None_2() {
-        InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_2, INSTANCE_VAR_17);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-
-        Optional<Gadget> result = implyRestrictedBounds(inequalityGadget, boundsCheckGadget);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_Restriction_None_3() {
-        InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_2, INSTANCE_VAR_17);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(INSTANCE_VAR_29, INSTANCE_VAR_17, INSTANCE_VAR_41);
-
-        Optional<Gadget> result = implyRestrictedBounds(inequalityGadget, boundsCheckGadget);
-        assertTrue(result.isEmpty());
-    }
-
     @Test
     void Single_Gadget_Contradiction() {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_41, INSTANCE_VAR_29);
@@ -198,41 +108,6 @@ public class BoundsCheckGadgetTest {
         );
     }
 
-    @Test
-    void Two_Gadget_Contradiction_1() {
-        BoundsCheckGadget boundsCheckGadget1 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_41, INSTANCE_VAR_53);
-        BoundsCheckGadget boundsCheckGadget2 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29);
-
-        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkTwoBoundsChecksContradiction(boundsCheckGadget1, boundsCheckGadget2)
-        );
-
-        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
-    }
-
-    @Test
-    void Two_Gadget_Contradiction_2() {
-        BoundsCheckGadget boundsCheckGadget1 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29);
-        BoundsCheckGadget boundsCheckGadget2 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_41, INSTANCE_VAR_53);
-
-        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkTwoBoundsChecksContradiction(boundsCheckGadget1, boundsCheckGadget2)
-        );
-
-        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
-    }
-
-    @Test
-    void Two_Gadget_No_Contradiction() {
-        BoundsCheckGadget boundsCheckGadget1 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-        BoundsCheckGadget boundsCheckGadget2 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53);
-
-        assertDoesNotThrow(() -> {
-            checkTwoBoundsChecksContradiction(boundsCheckGadget1, boundsCheckGadget2);
-            checkTwoBoundsChecksContradiction(boundsCheckGadget2, boundsCheckGadget1);
-        });
-    }
-
     @Test
     void Instance_Contradiction() {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(INSTANCE_VAR_17, INSTANCE_VAR_41, INSTANCE_VAR_53);
@@ -264,7 +139,7 @@ public class BoundsCheckGadgetTest {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
 
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkEqualityBoundsContradiction(equalityGadget, boundsCheckGadget)
+                checkContradictions(createInferences(equalityGadget, boundsCheckGadget))
         );
 
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
@@ -276,7 +151,7 @@ public class BoundsCheckGadgetTest {
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_53);
 
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkEqualityBoundsContradiction(equalityGadget, boundsCheckGadget)
+                checkContradictions(createInferences(equalityGadget, boundsCheckGadget))
         );
 
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
@@ -287,7 +162,7 @@ public class BoundsCheckGadgetTest {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
 
-        assertDoesNotThrow(() -> checkEqualityBoundsContradiction(equalityGadget, boundsCheckGadget));
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, boundsCheckGadget)));
     }
 
     @Test
@@ -295,7 +170,7 @@ public class BoundsCheckGadgetTest {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_41);
 
-        assertDoesNotThrow(() -> checkEqualityBoundsContradiction(equalityGadget, boundsCheckGadget));
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, boundsCheckGadget)));
     }
 
     @Test
@@ -303,7 +178,7 @@ public class BoundsCheckGadgetTest {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_41);
 
-        assertDoesNotThrow(() -> checkEqualityBoundsContradiction(equalityGadget, boundsCheckGadget));
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, boundsCheckGadget)));
     }
 
     @Test
@@ -311,7 +186,7 @@ public class BoundsCheckGadgetTest {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
 
-        assertDoesNotThrow(() -> checkEqualityBoundsContradiction(equalityGadget, boundsCheckGadget));
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, boundsCheckGadget)));
     }
 
     @Test
@@ -447,33 +322,12 @@ public class BoundsCheckGadgetTest {
         assertEquals(empty(), removeInstanceComparison(target));
     }
 
-    @Test
-    void Loose_Bounds_Substitution() {
-        BoundsCheckGadget target = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_53);
-        BoundsCheckGadget context = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41);
-        assertEquals(of(trueProposition()), removeLooseBounds(target, context));
-    }
-
-    @Test
-    void Loose_Bounds_No_Substitution_1() {
-        BoundsCheckGadget target = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53);
-        BoundsCheckGadget context = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-        assertEquals(empty(), removeLooseBounds(target, context));
-    }
-
-    @Test
-    void Loose_Bounds_No_Substitution_2() {
-        BoundsCheckGadget target = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
-        BoundsCheckGadget context = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53);
-        assertEquals(empty(), removeLooseBounds(target, context));
-    }
-
     @Test
     void Merge_Bounds_Substitution_1() {
         BoundsCheckGadget boundsCheckGadget1 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
         BoundsCheckGadget boundsCheckGadget2 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53);
         BoundsCheckGadget substitution = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41);
-        assertEquals(of(substitution), mergeBounds(boundsCheckGadget1, boundsCheckGadget2));
+        assertEquals(List.of(substitution), mergeAllBounds(List.of(boundsCheckGadget1, boundsCheckGadget2)));
     }
 
     @Test
@@ -481,14 +335,27 @@ public class BoundsCheckGadgetTest {
         BoundsCheckGadget boundsCheckGadget1 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53);
         BoundsCheckGadget boundsCheckGadget2 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
         BoundsCheckGadget substitution = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41);
-        assertEquals(of(substitution), mergeBounds(boundsCheckGadget1, boundsCheckGadget2));
+        assertEquals(List.of(substitution), mergeAllBounds(List.of(boundsCheckGadget1, boundsCheckGadget2)));
     }
 
     @Test
     void Merge_Bounds_No_Substitution() {
         BoundsCheckGadget boundsCheckGadget1 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53);
         BoundsCheckGadget boundsCheckGadget2 = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_41);
-        assertEquals(empty(), mergeBounds(boundsCheckGadget1, boundsCheckGadget2));
+        assertEquals(List.of(boundsCheckGadget1, boundsCheckGadget2),
+                mergeAllBounds(List.of(boundsCheckGadget1, boundsCheckGadget2)));
+    }
+
+    @Test
+    void Merge_All_Bounds() {
+        BoundsCheckGadget boundsCheckGadget1 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_53);
+        BoundsCheckGadget boundsCheckGadget2 = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_41);
+        BoundsCheckGadget boundsCheckGadget3 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53);
+        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_29);
+        BoundsCheckGadget boundsCheckGadget4 = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41);
+        BoundsCheckGadget substitution = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41);
+        assertEquals(List.of(substitution, boundsCheckGadget2, equalityGadget), mergeAllBounds(List.of(boundsCheckGadget1,
+                boundsCheckGadget2, boundsCheckGadget3, equalityGadget, boundsCheckGadget4)));
     }
 
     @Test
@@ -526,4 +393,48 @@ public class BoundsCheckGadgetTest {
         BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_41);
         assertFalse(isContainedInBounds(INSTANCE_VAR_STRING, boundsCheckGadget));
     }
+
+    @Test
+    void Compress_Equality_Chain_Substitution_1() {
+        InstanceVariable instanceVar18 = createInstanceVariable(new Literal(BigInteger.valueOf(18)));
+        OrConjunction orConjunction = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_40),
+                new BoundsCheckGadget(WITNESS_VAR_1, instanceVar18, INSTANCE_VAR_29),
+                new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_1),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_41)
+        ));
+        OrConjunction expected = new OrConjunction(List.of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_40, INSTANCE_VAR_41)
+        ));
+        assertEquals(of(expected), compressEqualityChain(orConjunction));
+    }
+
+    @Test
+    void Compress_Equality_Chain_Substitution_2() {
+        OrConjunction orConjunction = new OrConjunction(List.of(
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_41),
+                new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_29, INSTANCE_VAR_53)
+        ));
+        assertEquals(of(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_53)),
+                compressEqualityChain(orConjunction));
+    }
+
+    @Test
+    void Compress_Equality_Chain_Substitution_None_1() {
+        OrConjunction orConjunction = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29)
+        ));
+        assertEquals(empty(), compressEqualityChain(orConjunction));
+    }
+
+    @Test
+    void Compress_Equality_Chain_Substitution_None_2() {
+        OrConjunction orConjunction = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_40),
+                new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_41)
+        ));
+        assertEquals(empty(), compressEqualityChain(orConjunction));
+    }
 }
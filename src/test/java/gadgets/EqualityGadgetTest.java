@@ -5,7 +5,6 @@ import zkstrata.domain.Proposition;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
-import zkstrata.domain.gadgets.Gadget;
 import zkstrata.domain.gadgets.impl.EqualityGadget;
 import zkstrata.exceptions.CompileTimeException;
 
@@ -125,66 +124,6 @@ public class EqualityGadgetTest {
         assertFalse(equalityGadget.equals(null));
     }
 
-    @Test
-    void Parity_Implication_1() {
-        EqualityGadget equalityGadget1 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_1);
-        EqualityGadget implication = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2);
-
-        Optional<Gadget> result = EqualityGadget.implyEquality(equalityGadget1, equalityGadget2);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof EqualityGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Parity_Implication_2() {
-        EqualityGadget equalityGadget1 = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_1);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_2, WITNESS_VAR_1);
-        EqualityGadget implication = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2);
-
-        Optional<Gadget> result = EqualityGadget.implyEquality(equalityGadget1, equalityGadget2);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof EqualityGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Parity_Implication_3() {
-        EqualityGadget equalityGadget1 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget implication = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2);
-
-        Optional<Gadget> result = EqualityGadget.implyEquality(equalityGadget1, equalityGadget2);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof EqualityGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Parity_Implication_4() {
-        EqualityGadget equalityGadget1 = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_1);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget implication = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2);
-
-        Optional<Gadget> result = EqualityGadget.implyEquality(equalityGadget1, equalityGadget2);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof EqualityGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Parity_None_Implication() {
-        EqualityGadget equalityGadget1 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        EqualityGadget equalityGadget2 = new EqualityGadget(INSTANCE_VAR_41, WITNESS_VAR_2);
-
-        Optional<Gadget> result1 = EqualityGadget.implyEquality(equalityGadget1, equalityGadget2);
-        assertTrue(result1.isEmpty());
-
-        Optional<Gadget> result2 = EqualityGadget.implyEquality(equalityGadget2, equalityGadget1);
-        assertTrue(result2.isEmpty());
-    }
-
     @Test
     void Type_Mismatch() {
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
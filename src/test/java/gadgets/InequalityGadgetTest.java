@@ -16,6 +16,7 @@ import static java.util.Optional.of;
 import static zkstrata.domain.Proposition.trueProposition;
 import static zkstrata.domain.gadgets.impl.InequalityGadget.*;
 import static zkstrata.utils.TestHelper.*;
+import static zkstrata.analysis.SemanticAnalyzer.checkContradictions;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class InequalityGadgetTest {
@@ -59,7 +60,7 @@ public class InequalityGadgetTest {
         InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_2, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_41);
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkEqualityContradiction(equalityGadget, inequalityGadget)
+                checkContradictions(createInferences(equalityGadget, inequalityGadget))
         );
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
     }
@@ -69,7 +70,7 @@ public class InequalityGadgetTest {
         InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_2, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(INSTANCE_VAR_41, WITNESS_VAR_2);
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkEqualityContradiction(equalityGadget, inequalityGadget)
+                checkContradictions(createInferences(equalityGadget, inequalityGadget))
         );
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
     }
@@ -78,14 +79,14 @@ public class InequalityGadgetTest {
     void Equality_No_Contradiction_1() {
         InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_2, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        assertDoesNotThrow(() -> checkEqualityContradiction(equalityGadget, inequalityGadget));
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, inequalityGadget)));
     }
 
     @Test
     void Equality_No_Contradiction_2() {
         InequalityGadget inequalityGadget = new InequalityGadget(WITNESS_VAR_1, INSTANCE_VAR_41);
         EqualityGadget equalityGadget = new EqualityGadget(INSTANCE_VAR_41, WITNESS_VAR_2);
-        assertDoesNotThrow(() -> checkEqualityContradiction(equalityGadget, inequalityGadget));
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, inequalityGadget)));
     }
 
     @Test
@@ -4,8 +4,6 @@ import org.junit.jupiter.api.Test;
 import zkstrata.domain.data.types.Literal;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
-import zkstrata.domain.gadgets.Gadget;
-import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
 import zkstrata.domain.gadgets.impl.EqualityGadget;
 import zkstrata.domain.gadgets.impl.LessThanGadget;
 import zkstrata.exceptions.CompileTimeException;
@@ -13,11 +11,9 @@ import zkstrata.exceptions.CompileTimeException;
 import java.math.BigInteger;
 import java.util.*;
 
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
-import static zkstrata.domain.Proposition.trueProposition;
 import static zkstrata.domain.gadgets.impl.LessThanGadget.*;
 import static zkstrata.utils.TestHelper.*;
+import static zkstrata.analysis.SemanticAnalyzer.checkContradictions;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class LessThanGadgetTest {
@@ -70,7 +66,7 @@ public class LessThanGadgetTest {
         LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkEqualityContradiction(equalityGadget, lessThanGadget)
+                checkContradictions(createInferences(equalityGadget, lessThanGadget))
         );
 
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
@@ -81,7 +77,7 @@ public class LessThanGadgetTest {
         LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkEqualityContradiction(equalityGadget, lessThanGadget)
+                checkContradictions(createInferences(equalityGadget, lessThanGadget))
         );
 
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
@@ -91,171 +87,13 @@ public class LessThanGadgetTest {
     void Equality_No_Contradiction_1() {
         LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        assertDoesNotThrow(() -> checkEqualityContradiction(equalityGadget, lessThanGadget));
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, lessThanGadget)));
     }
 
     @Test
     void Equality_No_Contradiction_2() {
         LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
         EqualityGadget equalityGadget = new EqualityGadget(INSTANCE_VAR_29, WITNESS_VAR_2);
-        assertDoesNotThrow(() -> checkEqualityContradiction(equalityGadget, lessThanGadget));
-    }
-
-    @Test
-    void Exposure_Substitution() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget1 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_29);
-        assertEquals(of(trueProposition()), removeExposedComparison(lessThanGadget, equalityGadget1, equalityGadget2));
-    }
-
-    @Test
-    void Exposure_No_Substitution_1() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget1 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        assertEquals(empty(), removeExposedComparison(lessThanGadget, equalityGadget1, equalityGadget2));
-    }
-
-    @Test
-    void Exposure_No_Substitution_2() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget1 = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-        assertEquals(empty(), removeExposedComparison(lessThanGadget, equalityGadget1, equalityGadget2));
-    }
-
-    @Test
-    void Exposure_No_Substitution_3() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget1 = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29);
-        EqualityGadget equalityGadget2 = new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_17);
-        assertEquals(empty(), removeExposedComparison(lessThanGadget, equalityGadget1, equalityGadget2));
-    }
-
-    @Test
-    void Imply_Transitivity_1() {
-        LessThanGadget lessThanGadget1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        LessThanGadget lessThanGadget2 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3);
-        LessThanGadget implication = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_3);
-
-        Optional<Gadget> result = implyTransitivity(lessThanGadget1, lessThanGadget2);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof LessThanGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Transitivity_2() {
-        LessThanGadget lessThanGadget1 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1);
-        LessThanGadget lessThanGadget2 = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_2);
-        LessThanGadget implication = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_1);
-
-        Optional<Gadget> result = implyTransitivity(lessThanGadget1, lessThanGadget2);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof LessThanGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_No_Transitivity_1() {
-        LessThanGadget lessThanGadget1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        LessThanGadget lessThanGadget2 = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_2);
-
-        Optional<Gadget> result = implyTransitivity(lessThanGadget1, lessThanGadget2);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_No_Transitivity_2() {
-        LessThanGadget lessThanGadget1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        LessThanGadget lessThanGadget2 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1);
-
-        Optional<Gadget> result = implyTransitivity(lessThanGadget1, lessThanGadget2);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_Equality_1() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_1);
-        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_2);
-        LessThanGadget implication = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_1);
-
-        Optional<Gadget> result = implyEquality(lessThanGadget, equalityGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof LessThanGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Equality_2() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_2);
-        LessThanGadget implication = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_3);
-
-        Optional<Gadget> result = implyEquality(lessThanGadget, equalityGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof LessThanGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Equality_None_1() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_3, WITNESS_VAR_4);
-
-        Optional<Gadget> result = implyEquality(lessThanGadget, equalityGadget);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_Equality_None_2() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
-
-        Optional<Gadget> result = implyEquality(lessThanGadget, equalityGadget);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_Equality_None_3() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        EqualityGadget equalityGadget = new EqualityGadget(INSTANCE_VAR_17, WITNESS_VAR_2);
-
-        Optional<Gadget> result = implyEquality(lessThanGadget, equalityGadget);
-        assertTrue(result.isEmpty());
-    }
-
-    @Test
-    void Imply_Bounds_1() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, INSTANCE_VAR_29);
-        BoundsCheckGadget implication = new BoundsCheckGadget(WITNESS_VAR_1, null, INSTANCE_VAR_29);
-
-        Optional<Gadget> result = implyBounds(lessThanGadget, boundsCheckGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof BoundsCheckGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Bounds_2() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_2);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29);
-        BoundsCheckGadget implication = new BoundsCheckGadget(WITNESS_VAR_2, INSTANCE_VAR_17, null);
-
-        Optional<Gadget> result = implyBounds(lessThanGadget, boundsCheckGadget);
-        assertTrue(result.isPresent());
-        assertTrue(result.get() instanceof BoundsCheckGadget);
-        assertEquals(implication, result.get());
-    }
-
-    @Test
-    void Imply_Bounds_None() {
-        LessThanGadget lessThanGadget = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_2);
-        BoundsCheckGadget boundsCheckGadget = new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, INSTANCE_VAR_29);
-
-        Optional<Gadget> result = implyBounds(lessThanGadget, boundsCheckGadget);
-        assertTrue(result.isEmpty());
+        assertDoesNotThrow(() -> checkContradictions(createInferences(equalityGadget, lessThanGadget)));
     }
 }
@@ -1,15 +1,25 @@
 package gadgets;
 
 import org.junit.jupiter.api.Test;
+import zkstrata.analysis.EqualityClasses;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.Reference;
+import zkstrata.domain.data.types.ValueSet;
+import zkstrata.domain.data.types.wrapper.InstanceSet;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
 import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.impl.BoundsCheckGadget;
 import zkstrata.domain.gadgets.impl.EqualityGadget;
 import zkstrata.domain.gadgets.impl.SetMembershipGadget;
 import zkstrata.exceptions.CompileTimeException;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static java.util.Optional.empty;
@@ -34,6 +44,21 @@ public class SetMembershipGadgetTest {
     private static final Set<Variable> SET_2 = Set.of(INSTANCE_VAR_41, WITNESS_VAR_1, INSTANCE_VAR_29, WITNESS_VAR_2);
     private static final Set<Variable> SET_3 = Set.of(INSTANCE_VAR_41, INSTANCE_VAR_17, INSTANCE_VAR_29);
     private static final Set<Variable> SET_4 = Set.of(INSTANCE_VAR_41, INSTANCE_VAR_STRING, INSTANCE_VAR_29);
+    private static final InstanceSet INSTANCE_SET = new InstanceSet(
+            new ValueSet.Builder(BigInteger.class).add(41).add(17).add(29).add(17).build(),
+            new Reference(BigInteger.class, "list", new Selector("values")), getAbsPosition());
+
+    @Test
+    void Variables_Of_Set_Are_Indexed() {
+        SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, SET_3);
+        Map<String, Variable> variables = setMembershipGadget.getVariables();
+        assertEquals(List.of("member", "set[1]", "set[2]", "set[3]"), new ArrayList<>(variables.keySet()));
+
+        List<Variable> visited = new ArrayList<>();
+        setMembershipGadget.forEachVariable(visited::add);
+        assertEquals(new ArrayList<>(variables.values()), visited);
+        assertEquals(List.of(WITNESS_VAR_1), setMembershipGadget.getWitnessVariables());
+    }
 
     @Test
     void Is_Equal_To_1() {
@@ -102,12 +127,17 @@ public class SetMembershipGadgetTest {
         assertEquals(empty(), removeEqualityContained(setMembershipGadget, equalityGadget));
     }
 
+    @Test
+    void Replace_Equality_Chain_Of_Empty_Or() {
+        assertEquals(empty(), replaceEqualityChain(new OrConjunction(List.of())));
+    }
+
     @Test
     void Instance_Equality_Contradiction() {
         SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, SET_3);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_53);
         CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
-                checkInstanceEqualityContradiction(setMembershipGadget, equalityGadget)
+                checkInstanceEqualityContradiction(setMembershipGadget, EqualityClasses.of(createInferences(equalityGadget)))
         );
 
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
@@ -118,7 +148,7 @@ public class SetMembershipGadgetTest {
         SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, SET_3);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_53);
         assertDoesNotThrow(() ->
-                checkInstanceEqualityContradiction(setMembershipGadget, equalityGadget)
+                checkInstanceEqualityContradiction(setMembershipGadget, EqualityClasses.of(createInferences(equalityGadget)))
         );
     }
 
@@ -127,7 +157,7 @@ public class SetMembershipGadgetTest {
         SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, SET_2);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_53);
         assertDoesNotThrow(() ->
-                checkInstanceEqualityContradiction(setMembershipGadget, equalityGadget)
+                checkInstanceEqualityContradiction(setMembershipGadget, EqualityClasses.of(createInferences(equalityGadget)))
         );
     }
 
@@ -136,7 +166,7 @@ public class SetMembershipGadgetTest {
         SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, SET_3);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
         assertDoesNotThrow(() ->
-                checkInstanceEqualityContradiction(setMembershipGadget, equalityGadget)
+                checkInstanceEqualityContradiction(setMembershipGadget, EqualityClasses.of(createInferences(equalityGadget)))
         );
     }
 
@@ -145,7 +175,7 @@ public class SetMembershipGadgetTest {
         SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, SET_3);
         EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17);
         assertDoesNotThrow(() ->
-                checkInstanceEqualityContradiction(setMembershipGadget, equalityGadget)
+                checkInstanceEqualityContradiction(setMembershipGadget, EqualityClasses.of(createInferences(equalityGadget)))
         );
     }
 
@@ -157,4 +187,119 @@ public class SetMembershipGadgetTest {
 
         assertTrue(exception.getMessage().toLowerCase().contains("type mismatch"));
     }
+
+    @Test
+    void Instance_Set_Equals_Set_Of_Variables() {
+        assertEquals(SET_3, INSTANCE_SET);
+        assertEquals(INSTANCE_SET, SET_3);
+        assertEquals(SET_3.hashCode(), INSTANCE_SET.hashCode());
+        assertEquals(new SetMembershipGadget(WITNESS_VAR_1, SET_3), new SetMembershipGadget(WITNESS_VAR_1, INSTANCE_SET));
+    }
+
+    @Test
+    void Instance_Set_Witness_Variables() {
+        SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, INSTANCE_SET);
+        assertEquals(List.of(WITNESS_VAR_1), setMembershipGadget.getWitnessVariables());
+        assertEquals(4, setMembershipGadget.getVariables().size());
+    }
+
+    @Test
+    void Instance_Set_Is_Visited_Once() {
+        SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, INSTANCE_SET);
+        List<Variable> visited = new ArrayList<>();
+        setMembershipGadget.forEachVariable(visited::add);
+        assertEquals(2, visited.size());
+        assertEquals(WITNESS_VAR_1, visited.get(0));
+        assertEquals(INSTANCE_SET.getReference(), visited.get(1).getReference());
+        assertSame(INSTANCE_SET.getPosition(), visited.get(1).getPosition());
+    }
+
+    @Test
+    void Instance_Set_Equality_Contained_Substitution() {
+        SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, INSTANCE_SET);
+        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29);
+        assertEquals(of(trueProposition()), removeEqualityContained(setMembershipGadget, equalityGadget));
+    }
+
+    @Test
+    void Instance_Set_Equality_Contradiction() {
+        SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1, INSTANCE_SET);
+        EqualityGadget equalityGadget = new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_53);
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
+                checkInstanceEqualityContradiction(setMembershipGadget, EqualityClasses.of(createInferences(equalityGadget)))
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
+    }
+
+    @Test
+    void Heterogeneous_Instance_Set_Should_Throw() {
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
+                new SetMembershipGadget(INSTANCE_VAR_STRING, INSTANCE_SET)
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("type mismatch"));
+    }
+
+    @Test
+    void Compress_To_Bounds_Substitution_1() {
+        InstanceVariable instanceVar18 = createInstanceVariable(new Literal(BigInteger.valueOf(18)));
+        InstanceVariable instanceVar19 = createInstanceVariable(new Literal(BigInteger.valueOf(19)));
+        SetMembershipGadget setMembershipGadget = new SetMembershipGadget(WITNESS_VAR_1,
+                Set.of(instanceVar19, INSTANCE_VAR_17, instanceVar18));
+        assertEquals(of(new BoundsCheckGadget(WITNESS_VAR_1, INSTANCE_VAR_17, instanceVar19)),
+                compressToBounds(setMembershipGadget));
+    }
+
+    @Test
+    void Compress_To_Bounds_Substitution_2() {
+        OrConjunction expected = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_41)
+        ));
+        assertEquals(of(expected), compressToRangeChecks(new SetMembershipGadget(WITNESS_VAR_1, SET_3)));
+        assertEquals(of(expected), compressToRangeChecks(new SetMembershipGadget(WITNESS_VAR_1, INSTANCE_SET)));
+        assertEquals(empty(), compressToBounds(new SetMembershipGadget(WITNESS_VAR_1, SET_3)));
+    }
+
+    @Test
+    void Compress_To_Bounds_Substitution_None() {
+        Set<Variable> set = Set.of(INSTANCE_VAR_17, INSTANCE_VAR_29, INSTANCE_VAR_41, INSTANCE_VAR_53);
+        assertEquals(empty(), compressToBounds(new SetMembershipGadget(WITNESS_VAR_1, set)));
+        assertEquals(empty(), compressToRangeChecks(new SetMembershipGadget(WITNESS_VAR_1, set)));
+        assertEquals(empty(), compressToBounds(new SetMembershipGadget(WITNESS_VAR_1, SET_1A)));
+    }
+
+    @Test
+    void Replace_Equality_Chain_Substitution() {
+        OrConjunction orConjunction = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(INSTANCE_VAR_29, WITNESS_VAR_1),
+                new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2)
+        ));
+        SetMembershipGadget expected = new SetMembershipGadget(WITNESS_VAR_1,
+                Set.of(INSTANCE_VAR_17, INSTANCE_VAR_29, WITNESS_VAR_2));
+        assertEquals(of(expected), replaceEqualityChain(orConjunction));
+    }
+
+    @Test
+    void Replace_Equality_Chain_Substitution_None() {
+        OrConjunction orConjunction = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_2, INSTANCE_VAR_29)
+        ));
+        assertEquals(empty(), replaceEqualityChain(orConjunction));
+    }
+
+    @Test
+    void Expand_To_Equalities_Substitution() {
+        OrConjunction expected = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_41)
+        ));
+        assertEquals(of(expected), expandToEqualities(new SetMembershipGadget(WITNESS_VAR_1, SET_3)));
+        assertEquals(empty(), expandToEqualities(new SetMembershipGadget(WITNESS_VAR_1, INSTANCE_SET)));
+    }
 }
@@ -1,13 +1,20 @@
 package integration;
 
 import org.junit.jupiter.api.Test;
+import zkstrata.codegen.representations.BulletproofsGadgetsStructure;
 import zkstrata.compiler.Arguments;
 import zkstrata.compiler.Compiler;
 import zkstrata.utils.ArgumentsBuilder;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class GadgetBaseTest {
+    // root of the Merkle tree of the passport schema, checked by its validation rule
+    private static final String PASSPORT_ROOT = "0x036f2060b4200fe26e76a483faa12b95d3d90d4aeaca1b76babcd6c5c62db730";
+
     @Test
     void Equality_Statement_Should_Succeed() {
         assertDoesNotThrow(() -> {
@@ -89,4 +96,36 @@ public class GadgetBaseTest {
             new Compiler(args).compile();
         });
     }
+
+    @Test
+    void Instance_Set_Statement_Should_Succeed() {
+        BulletproofsGadgetsStructure statement = compile(new ArgumentsBuilder(GadgetBaseTest.class)
+                .withStatement("instance_set")
+                .withInstance("pass", "passport.metadata")
+                .withInstance("list", "sanctions")
+                .withSchema("sanctions", "sanctions"));
+        assertEquals(List.of("SET_MEMBER W0 I0 I1 I2 I3", "SET_MEMBER W1 I4 I5 I6",
+                "MERKLE I7 (((W2 W0) (W3 W4)) ((W1 W5) (W6 W7)))"), statement.getGadgets());
+        assertEquals(Set.of("I0 = 0x446f65", "I1 = 0x4d696c6c6572", "I2 = 0x526f65", "I3 = 0x536d697468", "I4 = 0x07b7",
+                "I5 = 0x07bc", "I6 = 0x07c6", "I7 = " + PASSPORT_ROOT), Set.copyOf(statement.getInstances()));
+        assertTrue(statement.getWitnesses().isEmpty());
+    }
+
+    @Test
+    void Line_Delimited_Instance_Set_Statement_Should_Succeed() {
+        BulletproofsGadgetsStructure statement = compile(new ArgumentsBuilder(GadgetBaseTest.class)
+                .withStatement("instance_set_lines")
+                .withInstance("pass", "passport.metadata")
+                .withLineDelimitedInstance("list", "sanctions")
+                .withSchema("sanctions", "sanctions"));
+        assertEquals(List.of("SET_MEMBER W0 I0 I1 I2 I3", "MERKLE I4 (((W1 W0) (W2 W3)) ((W4 W5) (W6 W7)))"),
+                statement.getGadgets());
+        assertEquals(Set.of("I0 = 0x446f65", "I1 = 0x4d696c6c6572", "I2 = 0x526f65", "I3 = 0x536d697468",
+                "I4 = " + PASSPORT_ROOT), Set.copyOf(statement.getInstances()));
+        assertTrue(statement.getWitnesses().isEmpty());
+    }
+
+    private static BulletproofsGadgetsStructure compile(ArgumentsBuilder builder) {
+        return (BulletproofsGadgetsStructure) new Compiler(builder.build()).compile();
+    }
 }
@@ -11,6 +11,8 @@ import zkstrata.compiler.Compiler;
 import zkstrata.exceptions.CompileTimeException;
 import zkstrata.utils.ArgumentsBuilder;
 
+import java.util.Set;
+
 public class IntegrationTest {
     @Test
     void Default_Quiet_Should_Succeed() {
@@ -51,6 +53,43 @@ public class IntegrationTest {
         Configurator.setRootLevel(Level.OFF);
     }
 
+    @Test
+    void Max_Cost_Exceeded_Should_Throw() {
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () -> {
+            Arguments args = new ArgumentsBuilder(IntegrationTest.class)
+                    .withStatement("and_conjunction")
+                    .withInstance("pass", "passport.metadata")
+                    .withMaxCost(10)
+                    .build();
+            new Compiler(args).compile();
+        });
+        assertTrue(exception.getMessage().toLowerCase().contains("exceeding the maximum"));
+    }
+
+    @Test
+    void Max_Cost_Met_Should_Succeed() {
+        assertDoesNotThrow(() -> {
+            Arguments args = new ArgumentsBuilder(IntegrationTest.class)
+                    .withStatement("and_conjunction")
+                    .withInstance("pass", "passport.metadata")
+                    .withMaxCost(100000)
+                    .build();
+            new Compiler(args).compile();
+        });
+    }
+
+    @Test
+    void Cost_Report_Should_Succeed() {
+        assertDoesNotThrow(() -> {
+            Arguments args = new ArgumentsBuilder(IntegrationTest.class)
+                    .withStatement("or_conjunction")
+                    .withInstance("pass", "passport.metadata")
+                    .withCostReport(true)
+                    .build();
+            new Compiler(args).compile();
+        });
+    }
+
     @Test
     void Duplicate_Alias_Should_Throw() {
         CompileTimeException exception = assertThrows(CompileTimeException.class, () -> {
@@ -131,6 +170,53 @@ public class IntegrationTest {
         assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
     }
 
+    @Test
+    void Instance_Set_Contradiction_Should_Throw() {
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () -> {
+            Arguments args = new ArgumentsBuilder(IntegrationTest.class)
+                    .withStatement("instance_set_contradiction")
+                    .withInstance("pass", "passport.metadata")
+                    .withInstance("list", "sanctions")
+                    .withSchema("sanctions", "sanctions")
+                    .build();
+            new Compiler(args).compile();
+        });
+        // the set reference and the equality to a value missing from the set are reported
+        assertTrue(exception.getMessage().startsWith("Error at lines 6, 8: Contradiction."));
+    }
+
+    @Test
+    void Instance_Set_Should_Compile_Independent_Of_Format() {
+        ArgumentsBuilder json = new ArgumentsBuilder(IntegrationTest.class)
+                .withStatement("instance_set_lines")
+                .withInstance("pass", "passport.metadata")
+                .withInstance("list", "sanctions")
+                .withSchema("sanctions", "sanctions");
+        ArgumentsBuilder lines = new ArgumentsBuilder(IntegrationTest.class)
+                .withStatement("instance_set_lines")
+                .withInstance("pass", "passport.metadata")
+                .withLineDelimitedInstance("list", "sanctions")
+                .withSchema("sanctions", "sanctions");
+        BulletproofsGadgetsStructure fromJson = (BulletproofsGadgetsStructure) new Compiler(json.build()).compile();
+        BulletproofsGadgetsStructure fromLines = (BulletproofsGadgetsStructure) new Compiler(lines.build()).compile();
+        assertEquals(fromJson.getGadgets(), fromLines.getGadgets());
+        assertEquals(Set.copyOf(fromJson.getInstances()), Set.copyOf(fromLines.getInstances()));
+        assertTrue(fromJson.getGadgets().contains("SET_MEMBER W0 I0 I1 I2 I3"));
+    }
+
+    @Test
+    void Instance_Set_Missing_Instance_Data_Should_Throw() {
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () -> {
+            Arguments args = new ArgumentsBuilder(IntegrationTest.class)
+                    .withStatement("instance_set_lines")
+                    .withInstance("pass", "passport.metadata")
+                    .withSchema("sanctions", "sanctions")
+                    .build();
+            new Compiler(args).compile();
+        });
+        assertTrue(exception.getMessage().toLowerCase().contains("missing instance data"));
+    }
+
     @Test
     void Witness_Exposure_Should_Throw() {
         CompileTimeException exception = assertThrows(CompileTimeException.class, () -> {
@@ -408,6 +494,27 @@ public class IntegrationTest {
         });
     }
 
+    @Test
+    void Parallel_Optimization_Should_Match_Sequential() {
+        BulletproofsGadgetsStructure sequential = compileComplexStatement(1);
+        for (int i = 0; i < 5; i++) {
+            BulletproofsGadgetsStructure parallel = compileComplexStatement(4);
+            assertEquals(sequential.getGadgets(), parallel.getGadgets());
+            assertEquals(sequential.getInstances(), parallel.getInstances());
+            assertEquals(sequential.getWitnesses(), parallel.getWitnesses());
+        }
+    }
+
+    private BulletproofsGadgetsStructure compileComplexStatement(int parallelism) {
+        Arguments args = new ArgumentsBuilder(IntegrationTest.class)
+                .withStatement("complex_statement")
+                .withInstance("pass", "passport.metadata")
+                .withInstance("date", "date")
+                .withParallelism(parallelism)
+                .build();
+        return (BulletproofsGadgetsStructure) new Compiler(args).compile();
+    }
+
     @Test
     void Complex_Contradiction_Should_Throw() {
         CompileTimeException exception = assertThrows(CompileTimeException.class, () -> {
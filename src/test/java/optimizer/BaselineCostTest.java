@@ -0,0 +1,167 @@
+package optimizer;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.compiler.Arguments;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.Statement;
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.schemas.wrapper.StructuredData;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.*;
+import zkstrata.domain.visitor.ASTVisitor;
+import zkstrata.optimizer.Optimizer;
+import zkstrata.optimizer.TrueProposition;
+import zkstrata.parser.ParseTreeVisitor;
+import zkstrata.utils.ArgumentsBuilder;
+import zkstrata.utils.Constants;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the cost estimates of the default cost model to those of the original estimation, in which each
+ * proposition estimated its own cost (see {@link BaselineCostTest#estimateBaseline}), on the propositions of the
+ * statements of the integration tests before and after their optimization. The original estimation wrapped around
+ * beyond {@link Integer#MAX_VALUE} (e.g. for the nested OR conjunctions of {@code or_conjunction}), whereas the
+ * default model saturates at {@link Long#MAX_VALUE}, so the estimates are compared to the exact original formulas.
+ */
+public class BaselineCostTest {
+    private static final List<ArgumentsBuilder> STATEMENTS = List.of(
+            statement("equality").withInstance("pass", "passport.metadata"),
+            statement("inequality").withInstance("pass", "passport.metadata"),
+            statement("boundscheck").withInstance("pass", "passport.metadata")
+                    .withInstance("pass2", "passport2.metadata"),
+            statement("mimchash").withInstance("pass", "passport.metadata"),
+            statement("merkletree").withInstance("pass", "passport.metadata").withSchema("hex", "hex"),
+            statement("lessthan").withInstance("pass", "passport.metadata").withInstance("pass2", "passport2")
+                    .withInstance("pass3", "passport2"),
+            statement("setmembership").withInstance("pass1", "passport.metadata")
+                    .withInstance("pass2", "passport.metadata"),
+            statement("instance_set").withInstance("pass", "passport.metadata").withInstance("list", "sanctions")
+                    .withSchema("sanctions", "sanctions"),
+            statement("default").withInstance("pass", "passport.metadata"),
+            statement("default").withInstance("pass", "passport.metadata")
+                    .withSchema("passport_ch", "default_validation_rule"),
+            statement("default").withSchema("passport_ch", "or_validation_rule"),
+            statement("default").withSchema("passport_ch", "validation_rules").withWitness("pass", "passport")
+                    .withInstance("pass", "passport.metadata"),
+            statement("default").withPremise("equality").withPremise("boundscheck").withPremise("mimchash")
+                    .withPremise("merkletree").withInstance("pass", "passport.metadata").withSchema("hex", "hex"),
+            statement("default_extended").withPremise("default").withWitness("pass", "passport")
+                    .withInstance("pass", "passport.metadata"),
+            statement("and_conjunction").withInstance("pass", "passport.metadata"),
+            statement("or_conjunction").withInstance("pass", "passport.metadata"),
+            statement("default_instance").withInstance("pass_i", "passport"),
+            statement("verbose_default").withWitness("pass_1", "passport").withWitness("pass_2", "passport")
+                    .withInstance("pass_1", "passport.metadata").withInstance("pass_2", "passport_instance"),
+            statement("multiple_witnesses").withWitness("pass1", "passport").withWitness("pass2", "passport2")
+                    .withInstance("pass1", "passport.metadata").withInstance("pass2", "passport2.metadata"),
+            statement("multiple_instances").withInstance("pass1", "passport").withInstance("pass2", "passport2"),
+            statement("boolean").withSchema("boolean", "boolean"),
+            statement("date_constants").withSchema("date", "date"),
+            statement("complex_optimization").withSchema("schema", "basic"),
+            statement("complex_statement").withInstance("pass", "passport.metadata").withInstance("date", "date")
+    );
+
+    @Test
+    void Default_Model_Should_Reproduce_Baseline_Estimates() {
+        int orConjunctions = 0;
+        for (ArgumentsBuilder builder : STATEMENTS) {
+            Statement statement = parse(builder.build());
+            for (Proposition proposition : List.of(statement.getClaim(), statement.getPremise(),
+                    statement.getValidationRule(), new Optimizer(statement).process()))
+                orConjunctions += assertBaselineEstimates(proposition);
+        }
+
+        // the estimate of OR conjunctions is the one most likely to deviate
+        assertTrue(orConjunctions > 0);
+    }
+
+    /**
+     * Asserts that the given {@code proposition} and all its parts are estimated like in the original estimation.
+     *
+     * @return number of {@link OrConjunction} objects checked
+     */
+    private static int assertBaselineEstimates(Proposition proposition) {
+        long expected = estimateBaseline(proposition).min(BigInteger.valueOf(Long.MAX_VALUE)).longValueExact();
+        assertEquals(expected, proposition.getCostEstimate(), proposition.toDebugString());
+
+        int orConjunctions = proposition instanceof OrConjunction ? 1 : 0;
+        if (proposition instanceof Conjunction)
+            for (Proposition part : ((Conjunction) proposition).getParts())
+                orConjunctions += assertBaselineEstimates(part);
+        return orConjunctions;
+    }
+
+    /**
+     * Estimates the cost of the given {@code proposition} by the formulas the propositions originally used, but without
+     * overflowing.
+     */
+    private static BigInteger estimateBaseline(Proposition proposition) {
+        if (proposition instanceof AndConjunction)
+            return ((AndConjunction) proposition).getParts().stream()
+                    .map(BaselineCostTest::estimateBaseline).reduce(BigInteger.ZERO, BigInteger::add);
+        if (proposition instanceof OrConjunction)
+            return ((OrConjunction) proposition).getParts().stream()
+                    .map(BaselineCostTest::estimateBaseline).reduce(BigInteger.ONE, BigInteger::multiply);
+        if (proposition instanceof TrueProposition)
+            return BigInteger.ZERO;
+        return BigInteger.valueOf(estimateBaseline((Gadget) proposition));
+    }
+
+    private static int estimateBaseline(Gadget gadget) {
+        if (gadget instanceof EqualityGadget)
+            return Constants.EQUALITY_COST_ESTIMATE;
+        if (gadget instanceof InequalityGadget)
+            return Constants.INEQUALITY_COST_ESTIMATE;
+        if (gadget instanceof MiMCHashGadget)
+            return Constants.MIMC_HASH_COST_ESTIMATE;
+        if (gadget instanceof LessThanGadget)
+            return Constants.LESS_THAN_COST_ESTIMATE;
+        if (gadget instanceof BoundsCheckGadget)
+            return Constants.BOUNDS_CHECK_COST_ESTIMATE;
+        if (gadget instanceof MerkleTreeGadget)
+            return Constants.MIMC_HASH_COST_ESTIMATE
+                    * (2 * ((MerkleTreeGadget) gadget).getTree().getRoot().countLeaves() - 1);
+        if (gadget instanceof SetMembershipGadget) {
+            int size = ((SetMembershipGadget) gadget).getSet().size();
+            return Constants.MIMC_HASH_COST_ESTIMATE * size + 5 * size + 2;
+        }
+
+        throw new IllegalArgumentException(String.format("No baseline estimate of %s.", gadget.getClass()));
+    }
+
+    private static ArgumentsBuilder statement(String name) {
+        return new ArgumentsBuilder(BaselineCostTest.class).withStatement(name);
+    }
+
+    /**
+     * Parses the statement, premises and validation rules of the given {@code arguments} like the compiler does.
+     */
+    private static Statement parse(Arguments arguments) {
+        Arguments.Statement source = arguments.getStatement();
+        Statement statement = new ASTVisitor(arguments.getSubjectData())
+                .visit(new ParseTreeVisitor(source.getSource()).visit(source.getValue()));
+
+        for (Arguments.Statement premise : arguments.getPremises())
+            statement.addPremise(new ASTVisitor(arguments.getSubjectData())
+                    .visit(new ParseTreeVisitor(premise.getSource()).visit(premise.getValue())).getClaim());
+
+        Proposition validationRules = Proposition.trueProposition();
+        for (StructuredData subject : statement.getSubjects()) {
+            if (subject.isWitness() && subject.getSchema().hasValidationRule()) {
+                ParseTreeVisitor visitor = new ParseTreeVisitor(subject.getSchema().getSource(),
+                        subject.getSchema().getIdentifier());
+                validationRules = validationRules.combine(new ASTVisitor(arguments.getSubjectData(), subject.getAlias())
+                        .visit(visitor.visit(subject.getSchema().getValidationRule())).getClaim());
+            }
+        }
+        statement.setValidationRule(validationRules);
+
+        return statement;
+    }
+}
@@ -0,0 +1,147 @@
+package optimizer;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.InequalityGadget;
+import zkstrata.domain.gadgets.impl.SetMembershipGadget;
+import zkstrata.optimizer.CalibratedCostModel;
+import zkstrata.optimizer.CostModel;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.utils.TestHelper.createInstanceVariable;
+import static zkstrata.utils.TestHelper.createWitnessVariable;
+
+public class CalibratedCostModelTest {
+    private static final WitnessVariable WITNESS_VAR_1 = createWitnessVariable(BigInteger.class, 1);
+    private static final WitnessVariable WITNESS_VAR_2 = createWitnessVariable(BigInteger.class, 2);
+
+    private static final EqualityGadget EQUALITY_GADGET = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+    private static final InequalityGadget INEQUALITY_GADGET = new InequalityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+    private static final SetMembershipGadget SET_MEMBERSHIP_GADGET = new SetMembershipGadget(WITNESS_VAR_1, Set.of(
+            createInstanceVariable(new Literal(BigInteger.ONE)),
+            createInstanceVariable(new Literal(BigInteger.TWO)),
+            createInstanceVariable(new Literal(BigInteger.TEN))
+    ));
+
+    private static final String TABLE = String.join("\n",
+            "scale = 1000",
+            "EqualityGadget = 0.004",
+            "InequalityGadget = 0.02",
+            "MiMCHashGadget = 7.8",
+            "LessThanGadget = 3.1",
+            "BoundsCheckGadget = 1.05",
+            "SetMembershipGadget = 0.01",
+            "SetMembershipGadget.set = 7.82",
+            "MerkleTreeGadget = 0",
+            "OrConjunction = sum"
+    );
+
+    @Test
+    void Default_Model_Should_Count_Constraints() {
+        CostModel model = CostModel.getDefault();
+        assertEquals(1, EQUALITY_GADGET.getCostEstimate(model));
+        assertEquals(5, INEQUALITY_GADGET.getCostEstimate(model));
+        assertEquals(3 * (1946 + 5) + 2, SET_MEMBERSHIP_GADGET.getCostEstimate(model));
+        assertEquals(6, new AndConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET)).getCostEstimate(model));
+        assertEquals(5, new OrConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET)).getCostEstimate(model));
+    }
+
+    @Test
+    void Default_Model_Should_Rate_All_Or_Conjunctions_Alike() {
+        CostModel model = CostModel.getDefault();
+        InequalityGadget first = new InequalityGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.ONE)));
+        InequalityGadget second = new InequalityGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.TWO)));
+        InequalityGadget other = new InequalityGadget(WITNESS_VAR_2, createInstanceVariable(new Literal(BigInteger.TWO)));
+
+        assertEquals(25, new OrConjunction(List.of(first, second)).getCostEstimate(model));
+        assertEquals(25, new OrConjunction(List.of(first, other)).getCostEstimate(model));
+        assertFalse(model.ratesDisjunctionWidth());
+    }
+
+    @Test
+    void Calibrated_Model_Should_Rate_Disjunction_Width() {
+        assertTrue(CalibratedCostModel.parse(TABLE).ratesDisjunctionWidth());
+        assertTrue(CalibratedCostModel.parse(TABLE.replace("OrConjunction = sum", "")).ratesDisjunctionWidth());
+        String product = TABLE.replace("OrConjunction = sum", "OrConjunction = product");
+        assertFalse(CalibratedCostModel.parse(product).ratesDisjunctionWidth());
+        assertFalse(CalibratedCostModel.parse(product + "\nOrConjunction.overhead = 1").ratesDisjunctionWidth());
+        assertTrue(CalibratedCostModel.parse(product + "\nOrConjunction.parts = 1").ratesDisjunctionWidth());
+    }
+
+    @Test
+    void Calibrated_Model_Should_Scale_Costs() {
+        CostModel model = CalibratedCostModel.parse(TABLE);
+        assertEquals(4, EQUALITY_GADGET.getCostEstimate(model));
+        assertEquals(20, INEQUALITY_GADGET.getCostEstimate(model));
+        assertEquals(Math.round(1000 * (0.01 + 3 * 7.82)), SET_MEMBERSHIP_GADGET.getCostEstimate(model));
+    }
+
+    @Test
+    void Calibrated_Model_Should_Combine_Conjunctions() {
+        CostModel model = CalibratedCostModel.parse(TABLE);
+        OrConjunction orConjunction = new OrConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET));
+        assertEquals(24, orConjunction.getCostEstimate(model));
+        assertEquals(5, orConjunction.getCostEstimate());
+        assertEquals(24, model.estimate(AndConjunction.class, new long[]{4, 20}));
+    }
+
+    @Test
+    void Calibrated_Model_Should_Add_Conjunction_Overhead() {
+        CostModel model = CalibratedCostModel.parse(TABLE + "\nOrConjunction.parts = 0.02\nOrConjunction.overhead = 0.005");
+        OrConjunction orConjunction = new OrConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET));
+        assertEquals(24 + 2 * 20 + 5, orConjunction.getCostEstimate(model));
+        assertEquals(24, new AndConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET)).getCostEstimate(model));
+    }
+
+    @Test
+    void Wide_Or_Should_Saturate() {
+        CostModel model = CalibratedCostModel.parse(TABLE.replace("OrConjunction = sum", "OrConjunction = product"));
+        List<Proposition> parts = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            parts.add(new SetMembershipGadget(createWitnessVariable(BigInteger.class, i), SET_MEMBERSHIP_GADGET.getSet()));
+        OrConjunction wideOr = new OrConjunction(parts);
+
+        assertEquals(Long.MAX_VALUE, wideOr.getCostEstimate(model));
+        assertEquals(Long.MAX_VALUE, new AndConjunction(List.of(wideOr, EQUALITY_GADGET)).getCostEstimate(model));
+        assertTrue(wideOr.getCostEstimate() > 0);
+    }
+
+    @Test
+    void Sum_Of_Costs_Should_Saturate() {
+        assertEquals(Long.MAX_VALUE, CostModel.add(Long.MAX_VALUE, 1));
+        assertEquals(Long.MIN_VALUE, CostModel.add(Long.MIN_VALUE, -1));
+        assertEquals(Long.MAX_VALUE - 1, CostModel.add(Long.MAX_VALUE, -1));
+    }
+
+    @Test
+    void Missing_Gadget_Should_Throw() {
+        String table = TABLE.replace("LessThanGadget = 3.1", "");
+        assertThrows(IllegalArgumentException.class, () -> CalibratedCostModel.parse(table));
+    }
+
+    @Test
+    void Unknown_Gadget_Should_Throw() {
+        String table = TABLE + "\nRangeGadget = 1";
+        assertThrows(IllegalArgumentException.class, () -> CalibratedCostModel.parse(table));
+    }
+
+    @Test
+    void Malformed_Cost_Should_Throw() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CalibratedCostModel.parse(TABLE.replace("0.004", "fast")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CalibratedCostModel.parse(TABLE.replace("OrConjunction = sum", "OrConjunction = max")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CalibratedCostModel.parse(TABLE + "\nOrConjunction.branches = 1"));
+    }
+}
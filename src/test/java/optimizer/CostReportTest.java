@@ -0,0 +1,109 @@
+package optimizer;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.Selector;
+import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.Reference;
+import zkstrata.domain.data.types.custom.HexLiteral;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.impl.*;
+import zkstrata.exceptions.Position;
+import zkstrata.optimizer.CalibratedCostModel;
+import zkstrata.optimizer.CostModel;
+import zkstrata.optimizer.CostReport;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.utils.TestHelper.createInstanceVariable;
+
+public class CostReportTest {
+    private static final Position.Absolute DUMMY_POS = new Position.Absolute("", "", new Position.Relative("", 1, 0));
+
+    private static final WitnessVariable WITNESS_A = createWitnessVariable("a", "first");
+    private static final WitnessVariable WITNESS_A2 = createWitnessVariable("a", "second");
+    private static final WitnessVariable WITNESS_B = createWitnessVariable("b", "first");
+
+    private static final EqualityGadget EQUALITY_GADGET = new EqualityGadget(WITNESS_A, WITNESS_B);
+    private static final InequalityGadget INEQUALITY_GADGET = new InequalityGadget(WITNESS_A, WITNESS_A2);
+
+    private static WitnessVariable createWitnessVariable(String subject, String field) {
+        Reference reference = new Reference(BigInteger.class, subject, new Selector(field));
+        return new WitnessVariable(reference, reference, DUMMY_POS);
+    }
+
+    @Test
+    void Gadgets_Are_Estimated_By_Cost_Model() {
+        assertGadgetCost(1, EQUALITY_GADGET);
+        assertGadgetCost(5, INEQUALITY_GADGET);
+        assertGadgetCost(763, new LessThanGadget(WITNESS_A, WITNESS_A2));
+        assertGadgetCost(259, new BoundsCheckGadget(WITNESS_A, createInstanceVariable(new Literal(BigInteger.ONE)),
+                createInstanceVariable(new Literal(BigInteger.TEN))));
+        assertGadgetCost(1946, new MiMCHashGadget(WITNESS_A, createInstanceVariable(new HexLiteral(BigInteger.TEN))));
+    }
+
+    @Test
+    void Gadgets_Are_Estimated_By_Calibrated_Cost_Model() {
+        CostModel costModel = CalibratedCostModel.parse(String.join(System.lineSeparator(),
+                "EqualityGadget = 2",
+                "InequalityGadget = 7",
+                "MiMCHashGadget = 1946",
+                "LessThanGadget = 763",
+                "BoundsCheckGadget = 259",
+                "SetMembershipGadget = 0",
+                "SetMembershipGadget.set = 1951",
+                "MerkleTreeGadget = 0",
+                "OrConjunction = sum"));
+        CostReport report = CostReport.of(new AndConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET)), costModel);
+
+        assertEquals(List.of(2L, 7L), List.of(report.getGadgetCosts().get(0).getCost(),
+                report.getGadgetCosts().get(1).getCost()));
+        assertEquals(9, report.getTotal());
+    }
+
+    @Test
+    void Total_Is_Cost_Estimate_Of_Statement() {
+        Proposition statement = new OrConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET));
+        CostReport report = CostReport.of(statement, CostModel.getDefault());
+
+        assertEquals(2, report.getGadgetCosts().size());
+        assertEquals(statement.getCostEstimate(), report.getTotal());
+    }
+
+    @Test
+    void Costs_Are_Attributed_To_Subjects() {
+        CostReport report = CostReport.of(new AndConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET)),
+                CostModel.getDefault());
+
+        assertEquals(Map.of("a", 6L, "b", 1L), report.getSubjectCosts());
+    }
+
+    @Test
+    void Costliest_Gadget() {
+        CostReport report = CostReport.of(new AndConjunction(List.of(EQUALITY_GADGET, INEQUALITY_GADGET)),
+                CostModel.getDefault());
+
+        assertSame(INEQUALITY_GADGET, report.getCostliestGadget().orElseThrow().getGadget());
+    }
+
+    @Test
+    void Costliest_Gadget_Of_True_Proposition_Is_Empty() {
+        CostReport report = CostReport.of(Proposition.trueProposition(), CostModel.getDefault());
+
+        assertTrue(report.getCostliestGadget().isEmpty());
+        assertTrue(report.getSubjectCosts().isEmpty());
+    }
+
+    private static void assertGadgetCost(long cost, Proposition gadget) {
+        CostReport report = CostReport.of(gadget, CostModel.getDefault());
+
+        assertEquals(1, report.getGadgetCosts().size());
+        assertEquals(cost, report.getGadgetCosts().get(0).getCost());
+        assertEquals(cost, report.getTotal());
+    }
+}
@@ -6,15 +6,28 @@ import zkstrata.domain.Proposition;
 import zkstrata.domain.Statement;
 import zkstrata.domain.conjunctions.AndConjunction;
 import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.Selector;
 import zkstrata.domain.data.types.Literal;
+import zkstrata.domain.data.types.Reference;
+import zkstrata.domain.data.types.ValueSet;
+import zkstrata.domain.data.types.wrapper.InstanceSet;
 import zkstrata.domain.data.types.wrapper.InstanceVariable;
+import zkstrata.domain.data.types.wrapper.Variable;
 import zkstrata.domain.data.types.wrapper.WitnessVariable;
 import zkstrata.domain.gadgets.impl.*;
 import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.optimizer.CalibratedCostModel;
+import zkstrata.optimizer.CostModel;
 import zkstrata.optimizer.Optimizer;
+import zkstrata.utils.Constants;
 
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static zkstrata.domain.Proposition.trueProposition;
 import static zkstrata.utils.TestHelper.*;
@@ -176,6 +189,225 @@ public class OptimizerTest {
         assertEquals(trueProposition(), result);
     }
 
+    /**
+     * Check whether comparisons implied by a chain of less-than relations are being removed from the given claim.
+     */
+    @Test
+    void Optimization_Test_10() {
+        LessThanGadget lessThanGadget2 = new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3);
+        LessThanGadget lessThanGadget3 = new LessThanGadget(WITNESS_VAR_3, WITNESS_VAR_4);
+        Proposition claim = new AndConjunction(List.of(LESS_THAN_GADGET_1, lessThanGadget2, lessThanGadget3,
+                new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_4), new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_4)));
+        Proposition result = new Optimizer(new Statement(claim, trueProposition(), trueProposition())).process();
+        assertEquals(new AndConjunction(List.of(LESS_THAN_GADGET_1, lessThanGadget2, lessThanGadget3)), result);
+    }
+
+    /**
+     * Check whether the substitutions enabled by a previous substitution (removing a duplicate) are applied as well.
+     */
+    @Test
+    void Optimization_Test_11() {
+        Proposition claim = new AndConjunction(List.of(EQUALITY_GADGET_1, EQUALITY_GADGET_2, EQUALITY_GADGET_1,
+                new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_3), BOUNDS_CHECK_GADGET_1,
+                new BoundsCheckGadget(WITNESS_VAR_3, INSTANCE_VAR_17, INSTANCE_VAR_41)));
+        Proposition result = new Optimizer(new Statement(claim, trueProposition(), trueProposition())).process();
+        // the substitutes removing either equality of the cycle tie in their cost reduction and are ordered by the
+        // hash codes of the references, which do not depend on the run
+        assertEquals(new AndConjunction(List.of(EQUALITY_GADGET_2, BOUNDS_CHECK_GADGET_1, EQUALITY_GADGET_1)), result);
+    }
+
+    /**
+     * Check whether an equality between two variables that are no canonical member of their class, but equal due to the
+     * other equalities, is being removed from the given claim.
+     */
+    @Test
+    void Equality_Triangle_Test() {
+        Proposition claim = new AndConjunction(List.of(EQUALITY_GADGET_1, new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_3),
+                EQUALITY_GADGET_2));
+        Proposition result = new Optimizer(new Statement(claim, trueProposition(), trueProposition())).process();
+        assertEquals(new AndConjunction(List.of(EQUALITY_GADGET_1, new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_3))),
+                result);
+    }
+
+    /**
+     * Check whether the comparisons implied by a long chain of less-than relations are removed, while the relations of
+     * the chain itself are kept.
+     */
+    @Test
+    void Long_Chain_Test() {
+        List<Proposition> chain = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            chain.add(new LessThanGadget(createWitnessVariable(BigInteger.class, i + 10),
+                    createWitnessVariable(BigInteger.class, i + 11)));
+        List<Proposition> parts = new ArrayList<>(chain);
+        for (int i = 2; i <= 100; i++)
+            parts.add(new LessThanGadget(createWitnessVariable(BigInteger.class, 10),
+                    createWitnessVariable(BigInteger.class, i + 10)));
+        Statement statement = new Statement(new AndConjunction(parts), trueProposition(), trueProposition());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertEquals(new AndConjunction(chain), new Optimizer(statement).process()));
+    }
+
+    /**
+     * Check whether a set membership in two contiguous ranges of instance data is compressed to an
+     * {@link OrConjunction} of a {@link BoundsCheckGadget} and an {@link EqualityGadget} by a cost model rating the
+     * width of disjunctions, and to a single {@link BoundsCheckGadget} by the default model if it forms one range.
+     */
+    @Test
+    void Range_Compression_Test() {
+        InstanceSet set = createInstanceSet(LongStream.concat(LongStream.rangeClosed(17, 41), LongStream.of(99)));
+        InstanceVariable ninetyNine = createInstanceVariable(new Literal(BigInteger.valueOf(99)));
+
+        SetMembershipGadget sm = new SetMembershipGadget(WITNESS_VAR_1, set);
+        Proposition result = optimize(sm, createBranchCostModel());
+        Proposition expected = new OrConjunction(List.of(
+                BOUNDS_CHECK_GADGET_1,
+                new EqualityGadget(WITNESS_VAR_1, ninetyNine)
+        ));
+        assertEquals(expected, result);
+        assertTrue(result.getCostEstimate(createBranchCostModel()) < sm.getCostEstimate(createBranchCostModel()));
+        assertEquals(sm, optimize(sm, CostModel.getDefault()));
+
+        SetMembershipGadget range = new SetMembershipGadget(WITNESS_VAR_1, createInstanceSet(LongStream.rangeClosed(17, 41)));
+        assertEquals(BOUNDS_CHECK_GADGET_1, optimize(range, CostModel.getDefault()));
+    }
+
+    /**
+     * Check whether sets written in the statement are expanded to an {@link OrConjunction} of equalities regardless of
+     * their size if a cost model rating the width of disjunctions rates them cheaper, whereas sets of instance data are
+     * never expanded. The default model, which rates an OR like its costliest part, keeps the set.
+     */
+    @Test
+    void Set_Expansion_Test() {
+        // every other number, so the sets cannot be compressed to a few ranges
+        SetMembershipGadget inline = new SetMembershipGadget(WITNESS_VAR_1,
+                createInlineSet(LongStream.range(0, 100).map(i -> 2 * i)));
+        Proposition expected = new OrConjunction(LongStream.range(0, 100)
+                .mapToObj(i -> new EqualityGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.valueOf(2 * i)))))
+                .collect(Collectors.toList()));
+        Proposition result = optimize(inline, createBranchCostModel());
+        assertEquals(expected, result);
+        assertEquals(100 * 6 + 1, result.getCostEstimate(createBranchCostModel()));
+        assertEquals(inline, optimize(inline, CostModel.getDefault()));
+
+        SetMembershipGadget instance = new SetMembershipGadget(WITNESS_VAR_1,
+                createInstanceSet(LongStream.range(0, 100).map(i -> 2 * i)));
+        assertEquals(instance, optimize(instance, createBranchCostModel()));
+    }
+
+    /**
+     * Check whether an {@link OrConjunction} checking the same witness against contiguous values is compressed to
+     * checks of the ranges by a cost model rating the width of disjunctions, unless the equalities are cheaper.
+     */
+    @Test
+    void Equality_Chain_Compression_Test() {
+        CostModel branches = createBranchCostModel();
+        OrConjunction adult = new OrConjunction(LongStream.rangeClosed(18, 65)
+                .mapToObj(i -> new EqualityGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.valueOf(i)))))
+                .collect(Collectors.toList()));
+        assertEquals(new BoundsCheckGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.valueOf(18))),
+                createInstanceVariable(new Literal(BigInteger.valueOf(65)))), optimize(adult, branches));
+        // the default model rates the OR of equalities like a single equality
+        assertEquals(adult, optimize(adult, CostModel.getDefault()));
+
+        InstanceVariable one = createInstanceVariable(new Literal(BigInteger.ONE));
+        InstanceVariable seven = createInstanceVariable(new Literal(BigInteger.valueOf(7)));
+        InstanceVariable nine = createInstanceVariable(new Literal(BigInteger.valueOf(9)));
+        OrConjunction mixed = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, one),
+                new EqualityGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.TWO))),
+                new BoundsCheckGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.valueOf(3))), seven),
+                new EqualityGadget(WITNESS_VAR_1, nine)
+        ));
+        Proposition expected = new OrConjunction(List.of(
+                new BoundsCheckGadget(WITNESS_VAR_1, one, seven),
+                new EqualityGadget(WITNESS_VAR_1, nine)
+        ));
+        assertEquals(expected, optimize(mixed, branches));
+
+        OrConjunction few = new OrConjunction(LongStream.rangeClosed(3, 5)
+                .mapToObj(i -> new EqualityGadget(WITNESS_VAR_1, createInstanceVariable(new Literal(BigInteger.valueOf(i)))))
+                .collect(Collectors.toList()));
+        assertEquals(few, optimize(few, branches));
+    }
+
+    /**
+     * Check whether the common equality of an {@link OrConjunction} is lifted up if the remaining parts check the same
+     * witness, just like if they check different witnesses.
+     */
+    @Test
+    void Same_Witness_Lift_Test() {
+        InstanceVariable one = createInstanceVariable(new Literal(BigInteger.ONE));
+        InstanceVariable two = createInstanceVariable(new Literal(BigInteger.TWO));
+        InstanceVariable five = createInstanceVariable(new Literal(BigInteger.valueOf(5)));
+        EqualityGadget common = new EqualityGadget(WITNESS_VAR_1, five);
+
+        for (WitnessVariable other : List.of(WITNESS_VAR_2, WITNESS_VAR_3)) {
+            Proposition claim = new OrConjunction(List.of(
+                    new AndConjunction(List.of(common, new EqualityGadget(WITNESS_VAR_2, one))),
+                    new AndConjunction(List.of(common, new EqualityGadget(other, two)))
+            ));
+            Proposition expected = new AndConjunction(List.of(common, new OrConjunction(List.of(
+                    new EqualityGadget(WITNESS_VAR_2, one),
+                    new EqualityGadget(other, two)
+            ))));
+
+            Proposition result = new Optimizer(new Statement(claim, trueProposition(), trueProposition())).process();
+            assertEquals(4, claim.getCostEstimate());
+            assertEquals(expected, result);
+            assertEquals(2, result.getCostEstimate());
+        }
+    }
+
+    /**
+     * Check whether an {@link OrConjunction} of equalities to the same witness and the equivalent
+     * {@link SetMembershipGadget} are both optimized to the representation the cost model rates cheaper.
+     */
+    @Test
+    void Equality_Chain_Conversion_Test() {
+        OrConjunction equalities = new OrConjunction(List.of(
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_17),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_29),
+                new EqualityGadget(WITNESS_VAR_1, INSTANCE_VAR_41)
+        ));
+        SetMembershipGadget setMembership = new SetMembershipGadget(WITNESS_VAR_1,
+                Set.of(INSTANCE_VAR_17, INSTANCE_VAR_29, INSTANCE_VAR_41));
+
+        // the default model rates the width of neither, so it keeps both
+        assertEquals(equalities, optimize(equalities, CostModel.getDefault()));
+        assertEquals(setMembership, optimize(setMembership, CostModel.getDefault()));
+
+        assertEquals(equalities, optimize(equalities, createBranchCostModel()));
+        assertEquals(equalities, optimize(setMembership, createBranchCostModel()));
+
+        CostModel cheapSets = createCostModel(1, 0);
+        assertEquals(setMembership, optimize(equalities, cheapSets));
+        assertEquals(setMembership, optimize(setMembership, cheapSets));
+    }
+
+    /**
+     * Check whether the conversion between an {@link OrConjunction} of equalities and a {@link SetMembershipGadget}
+     * terminates if the cost model rates both representations equally.
+     */
+    @Test
+    void Equality_Chain_Conversion_Tie_Test() {
+        WitnessVariable witness = createWitnessVariable(String.class, 5);
+        InstanceVariable first = createInstanceVariable(new Literal("A"));
+        InstanceVariable second = createInstanceVariable(new Literal("B"));
+        OrConjunction equalities = new OrConjunction(List.of(
+                new EqualityGadget(witness, first),
+                new EqualityGadget(witness, second)
+        ));
+        SetMembershipGadget setMembership = new SetMembershipGadget(witness, Set.of(first, second));
+
+        CostModel tie = createCostModel(0, 1);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertEquals(equalities, optimize(equalities, tie));
+            assertEquals(setMembership, optimize(setMembership, tie));
+        });
+    }
+
     /**
      * Check the behaviour of the optimizer, when passed {@link zkstrata.optimizer.TrueProposition}
      */
@@ -198,4 +430,59 @@ public class OptimizerTest {
 
         assertTrue(exception.getMessage().toLowerCase().contains("unknown proposition"));
     }
+
+    private static InstanceSet createInstanceSet(LongStream values) {
+        ValueSet.Builder builder = new ValueSet.Builder(BigInteger.class);
+        values.forEach(builder::add);
+        return new InstanceSet(builder.build(), new Reference(BigInteger.class, "list", new Selector("values")),
+                getAbsPosition());
+    }
+
+    private static Set<Variable> createInlineSet(LongStream values) {
+        return values.mapToObj(value -> createInstanceVariable(new Literal(BigInteger.valueOf(value))))
+                .collect(Collectors.toSet());
+    }
+
+    private static Proposition optimize(Proposition claim, CostModel costModel) {
+        Statement statement = new Statement(claim, trueProposition(), trueProposition());
+        return new Optimizer(statement, 1, costModel).process();
+    }
+
+    /**
+     * Creates a cost model estimating the constraints of gadgets like the default one, but summing up the parts of OR
+     * conjunctions plus five constraints per part and one for the selection of a part.
+     */
+    private static CostModel createBranchCostModel() {
+        return CalibratedCostModel.parse(String.join("\n",
+                "EqualityGadget = " + Constants.EQUALITY_COST_ESTIMATE,
+                "InequalityGadget = " + Constants.INEQUALITY_COST_ESTIMATE,
+                "MiMCHashGadget = " + Constants.MIMC_HASH_COST_ESTIMATE,
+                "LessThanGadget = " + Constants.LESS_THAN_COST_ESTIMATE,
+                "BoundsCheckGadget = " + Constants.BOUNDS_CHECK_COST_ESTIMATE,
+                "SetMembershipGadget = 2",
+                "SetMembershipGadget.set = " + (Constants.MIMC_HASH_COST_ESTIMATE + Constants.INEQUALITY_COST_ESTIMATE),
+                "MerkleTreeGadget = 100",
+                "OrConjunction = sum",
+                "OrConjunction.parts = 5",
+                "OrConjunction.overhead = 1"
+        ));
+    }
+
+    /**
+     * Creates a cost model summing the parts of OR conjunctions, in which an equality costs 1 and a set membership
+     * the given base cost and cost per element.
+     */
+    private static CostModel createCostModel(int setMembership, int perElement) {
+        return CalibratedCostModel.parse(String.join("\n",
+                "EqualityGadget = 1",
+                "InequalityGadget = 1",
+                "MiMCHashGadget = 100",
+                "LessThanGadget = 100",
+                "BoundsCheckGadget = 100",
+                "SetMembershipGadget = " + setMembership,
+                "SetMembershipGadget.set = " + perElement,
+                "MerkleTreeGadget = 100",
+                "OrConjunction = sum"
+        ));
+    }
 }
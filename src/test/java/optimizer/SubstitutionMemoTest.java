@@ -0,0 +1,107 @@
+package optimizer;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.domain.Proposition;
+import zkstrata.domain.Statement;
+import zkstrata.domain.conjunctions.AndConjunction;
+import zkstrata.domain.conjunctions.OrConjunction;
+import zkstrata.domain.data.types.wrapper.WitnessVariable;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.domain.gadgets.impl.LessThanGadget;
+import zkstrata.optimizer.Optimizer;
+import zkstrata.optimizer.SubstitutionMemo;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.domain.Proposition.trueProposition;
+import static zkstrata.utils.TestHelper.createWitnessVariable;
+
+public class SubstitutionMemoTest {
+    private static final WitnessVariable WITNESS_VAR_1 = createWitnessVariable(BigInteger.class, 1);
+    private static final WitnessVariable WITNESS_VAR_2 = createWitnessVariable(BigInteger.class, 2);
+    private static final WitnessVariable WITNESS_VAR_3 = createWitnessVariable(BigInteger.class, 3);
+
+    private static final EqualityGadget EQUALITY_GADGET_1 = new EqualityGadget(WITNESS_VAR_1, WITNESS_VAR_2);
+    private static final LessThanGadget LESS_THAN_GADGET_1 = new LessThanGadget(WITNESS_VAR_1, WITNESS_VAR_3);
+
+    private static final Object RULE_1 = new Object();
+    private static final Object RULE_2 = new Object();
+
+    @Test
+    void Negative_Results_Are_Memoized() {
+        SubstitutionMemo memo = new SubstitutionMemo();
+        AtomicInteger invocations = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Optional<Proposition> result = memo.computeIfAbsent(RULE_1, List.of(EQUALITY_GADGET_1), List.of(), () -> {
+                invocations.incrementAndGet();
+                return Optional.empty();
+            });
+            assertTrue(result.isEmpty());
+        }
+
+        assertEquals(1, invocations.get());
+        assertEquals(2, memo.getHits());
+        assertEquals(1, memo.getMisses());
+    }
+
+    @Test
+    void Rules_Are_Distinguished() {
+        SubstitutionMemo memo = new SubstitutionMemo();
+        memo.computeIfAbsent(RULE_1, List.of(EQUALITY_GADGET_1), List.of(), () -> Optional.of(trueProposition()));
+
+        Optional<Proposition> result = memo.computeIfAbsent(RULE_2, List.of(EQUALITY_GADGET_1), List.of(), Optional::empty);
+        assertTrue(result.isEmpty());
+        assertEquals(0, memo.getHits());
+        assertEquals(2, memo.getMisses());
+    }
+
+    @Test
+    void Conjunctions_Are_Compared_By_Parts() {
+        SubstitutionMemo memo = new SubstitutionMemo();
+        Proposition conjunction = new AndConjunction(List.of(EQUALITY_GADGET_1, LESS_THAN_GADGET_1));
+        Proposition duplicate = new AndConjunction(List.of(EQUALITY_GADGET_1, LESS_THAN_GADGET_1, EQUALITY_GADGET_1));
+        memo.computeIfAbsent(RULE_1, List.of(conjunction), List.of(), Optional::empty);
+
+        Optional<Proposition> result = memo.computeIfAbsent(RULE_1, List.of(duplicate), List.of(),
+                () -> Optional.of(conjunction));
+        assertEquals(Optional.of(conjunction), result);
+        assertEquals(0, memo.getHits());
+    }
+
+    @Test
+    void Least_Recently_Used_Is_Evicted() {
+        SubstitutionMemo memo = new SubstitutionMemo(2);
+        memo.computeIfAbsent(RULE_1, List.of(EQUALITY_GADGET_1), List.of(), Optional::empty);
+        memo.computeIfAbsent(RULE_1, List.of(LESS_THAN_GADGET_1), List.of(), Optional::empty);
+        memo.computeIfAbsent(RULE_1, List.of(EQUALITY_GADGET_1), List.of(), Optional::empty);
+        memo.computeIfAbsent(RULE_2, List.of(EQUALITY_GADGET_1), List.of(), Optional::empty);
+        assertEquals(2, memo.size());
+
+        memo.computeIfAbsent(RULE_1, List.of(EQUALITY_GADGET_1), List.of(), Optional::empty);
+        memo.computeIfAbsent(RULE_1, List.of(LESS_THAN_GADGET_1), List.of(), Optional::empty);
+        assertEquals(2, memo.getHits());
+        assertEquals(4, memo.getMisses());
+    }
+
+    @Test
+    void Invalid_Capacity_Should_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> new SubstitutionMemo(0));
+    }
+
+    @Test
+    void Optimizer_Should_Hit_Memo() {
+        Proposition claim = new OrConjunction(List.of(
+                new AndConjunction(List.of(EQUALITY_GADGET_1, LESS_THAN_GADGET_1)),
+                new AndConjunction(List.of(EQUALITY_GADGET_1, new LessThanGadget(WITNESS_VAR_2, WITNESS_VAR_3)))
+        ));
+        Optimizer optimizer = new Optimizer(new Statement(claim, trueProposition(), EQUALITY_GADGET_1));
+        optimizer.process();
+
+        assertTrue(optimizer.getSubstitutionMemo().getHits() > 0);
+    }
+}
@@ -12,6 +12,7 @@ import zkstrata.parser.ast.Node;
 import zkstrata.parser.ast.connectives.And;
 import zkstrata.parser.ast.connectives.Or;
 import zkstrata.parser.ast.predicates.*;
+import zkstrata.parser.ast.types.SetReference;
 import zkstrata.parser.ast.types.Value;
 import zkstrata.utils.BinaryTree;
 import zkstrata.utils.StatementBuilder;
@@ -265,6 +266,23 @@ public class ParseTreeVisitorTest {
             assertTrue(set.contains(value.getValue()));
     }
 
+    @Test
+    void SetMembership_Is_Parsed_Correctly_2() {
+        String statement = new StatementBuilder()
+                .subject(SCHEMA, ALIAS, true)
+                .setMembership(IDENTIFIER_1, IDENTIFIER_2)
+                .build();
+        AbstractSyntaxTree ast = new ParseTreeVisitor(SOURCE).visit(statement);
+
+        Node rootNode = ast.getRoot();
+        assertEquals(SetMembership.class, rootNode.getClass());
+
+        SetMembership setMembership = (SetMembership) rootNode;
+        assertEquals(IDENTIFIER_1, setMembership.getMember().getValue());
+        assertEquals(SetReference.class, setMembership.getSet().getClass());
+        assertEquals(IDENTIFIER_2, ((SetReference) setMembership.getSet()).getIdentifier().getValue());
+    }
+
     @Test
     void Or_Conjunction_Is_Parsed_Correctly_1() {
         String statement = new StatementBuilder()
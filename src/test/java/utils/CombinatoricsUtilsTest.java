@@ -0,0 +1,67 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static zkstrata.utils.CombinatoricsUtils.getCombinations;
+import static zkstrata.utils.CombinatoricsUtils.groupByClass;
+
+public class CombinatoricsUtilsTest {
+    private static final One A = new One("A");
+    private static final One B = new One("B");
+    private static final Two C = new Two("C");
+
+    @Test
+    void Combinations_Should_Follow_Pattern() {
+        assertEquals(Set.of(List.of(A, C), List.of(B, C)), getCombinations(List.of(One.class, Two.class), List.of(A, B, C)));
+        assertEquals(Set.of(List.of(C, A), List.of(C, B)), getCombinations(List.of(Two.class, One.class), List.of(A, B, C)));
+    }
+
+    @Test
+    void Combinations_Should_Not_Reuse_Objects() {
+        assertEquals(Set.of(List.of(A, B), List.of(B, A)), getCombinations(List.of(One.class, One.class), List.of(A, B, C)));
+        assertTrue(getCombinations(List.of(Two.class, Two.class), List.of(A, B, C)).isEmpty());
+    }
+
+    @Test
+    void Combinations_Of_Empty_Pattern_Should_Be_Empty() {
+        assertTrue(getCombinations(List.of(), List.of(A, B, C)).isEmpty());
+    }
+
+    @Test
+    void Missing_Bucket_Should_Be_Empty() {
+        Map<Class<?>, List<Object>> buckets = groupByClass(List.of(A, B));
+
+        assertEquals(List.of(One.class), List.copyOf(buckets.keySet()));
+        assertTrue(getCombinations(List.of(One.class, Two.class), buckets).isEmpty());
+    }
+
+    private static class Named {
+        private final String name;
+
+        private Named(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class One extends Named {
+        private One(String name) {
+            super(name);
+        }
+    }
+
+    private static class Two extends Named {
+        private Two(String name) {
+            super(name);
+        }
+    }
+}
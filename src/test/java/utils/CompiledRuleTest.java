@@ -0,0 +1,151 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import zkstrata.domain.gadgets.Gadget;
+import zkstrata.domain.gadgets.impl.EqualityGadget;
+import zkstrata.exceptions.CompileTimeException;
+import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.utils.CompiledRule;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledRuleTest {
+    private static final EqualityGadget GADGET = new EqualityGadget();
+
+    @Test
+    void Invoke_Should_Pass_Arguments() {
+        CompiledRule<Gadget, Optional<Gadget>> rule = CompiledRule.compileOptional(
+                getMethod("returnLast", Gadget.class, Gadget.class, EqualityGadget.class), Gadget.class, Gadget.class);
+
+        EqualityGadget last = new EqualityGadget();
+        assertEquals(List.of(Gadget.class, Gadget.class, EqualityGadget.class), rule.getParameterTypes());
+        assertSame(last, rule.invoke(List.of(GADGET), List.of(GADGET, last)).orElseThrow());
+        assertSame(last, rule.invoke(List.of(GADGET, GADGET, last)).orElseThrow());
+    }
+
+    @Test
+    void Void_Rule_Should_Return_Null() {
+        CompiledRule<Gadget, Void> rule = CompiledRule.compileVoid(getMethod("check", Gadget.class), Gadget.class);
+
+        assertNull(rule.invoke(List.of(GADGET)));
+    }
+
+    @Test
+    void Compile_Time_Exception_Should_Propagate() {
+        CompiledRule<Gadget, Void> rule = CompiledRule.compileVoid(
+                getMethod("contradiction", Gadget.class, Gadget.class), Gadget.class);
+
+        CompileTimeException exception = assertThrows(CompileTimeException.class, () ->
+                rule.invoke(List.of(GADGET, GADGET))
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("contradiction"));
+    }
+
+    @Test
+    void Invalid_Exception_Should_Throw() {
+        CompiledRule<Gadget, Void> rule = CompiledRule.compileVoid(getMethod("invalidException", Gadget.class), Gadget.class);
+
+        InternalCompilerException exception = assertThrows(InternalCompilerException.class, () ->
+                rule.invoke(List.of(GADGET))
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("invalid exception"));
+    }
+
+    @Test
+    void Wrong_Number_Of_Arguments_Should_Throw() {
+        CompiledRule<Gadget, Void> rule = CompiledRule.compileVoid(getMethod("check", Gadget.class), Gadget.class);
+
+        InternalCompilerException exception = assertThrows(InternalCompilerException.class, () ->
+                rule.invoke(List.of(GADGET, GADGET))
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("error during invocation"));
+    }
+
+    @Test
+    void Invalid_Return_Type_Should_Throw() {
+        InternalCompilerException exception = assertThrows(InternalCompilerException.class, () ->
+                CompiledRule.compileOptional(getMethod("check", Gadget.class), Gadget.class, Gadget.class)
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("return type"));
+
+        exception = assertThrows(InternalCompilerException.class, () ->
+                CompiledRule.compileVoid(getMethod("returnLast", Gadget.class, Gadget.class, EqualityGadget.class), Gadget.class)
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("return type"));
+    }
+
+    @Test
+    void Invalid_Argument_Type_Should_Throw() {
+        InternalCompilerException exception = assertThrows(InternalCompilerException.class, () ->
+                CompiledRule.compileVoid(getMethod("wrongArguments", Object.class), Gadget.class)
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("invalid argument type"));
+    }
+
+    @Test
+    void Instance_Method_Should_Throw() {
+        InternalCompilerException exception = assertThrows(InternalCompilerException.class, () ->
+                CompiledRule.compileVoid(getMethod("instanceMethod", Gadget.class), Gadget.class)
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("must be static"));
+    }
+
+    @Test
+    void Too_Many_Arguments_Should_Throw() {
+        InternalCompilerException exception = assertThrows(InternalCompilerException.class, () ->
+                CompiledRule.compileVoid(getMethod("tooManyArguments", Gadget.class, Gadget.class, Gadget.class,
+                        Gadget.class), Gadget.class)
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("between 1 and 3 arguments"));
+    }
+
+    private static java.lang.reflect.Method getMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return RuleMock.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class RuleMock {
+        public static Optional<Gadget> returnLast(Gadget first, Gadget second, EqualityGadget third) {
+            return Optional.of(third);
+        }
+
+        public static void check(Gadget gadget) {
+
+        }
+
+        public static void contradiction(Gadget first, Gadget second) {
+            throw new CompileTimeException("Contradiction.", List.of());
+        }
+
+        public static void invalidException(Gadget gadget) throws IOException {
+            throw new IOException();
+        }
+
+        public static void wrongArguments(Object argument) {
+
+        }
+
+        public void instanceMethod(Gadget gadget) {
+
+        }
+
+        public static void tooManyArguments(Gadget first, Gadget second, Gadget third, Gadget fourth) {
+
+        }
+    }
+}
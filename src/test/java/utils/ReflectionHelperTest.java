@@ -1,10 +1,25 @@
 package utils;
 
 import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import zkstrata.analysis.Contradiction;
+import zkstrata.analysis.Implication;
+import zkstrata.domain.conjunctions.Conjunction;
+import zkstrata.domain.data.schemas.predefined.Schema;
+import zkstrata.domain.gadgets.Gadget;
 import zkstrata.exceptions.InternalCompilerException;
+import zkstrata.optimizer.Substitution;
+import zkstrata.parser.TokenType;
 
 import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
 import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static zkstrata.utils.ReflectionHelper.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -100,6 +115,40 @@ public class ReflectionHelperTest {
         assertTrue(exception.getMessage().toLowerCase().contains("missing field"));
     }
 
+    @Test
+    void Untracked_Annotation_Should_Throw() {
+        InternalCompilerException exception = assertThrows(InternalCompilerException.class, () ->
+                getMethodsAnnotatedWith(Test.class)
+        );
+
+        assertTrue(exception.getMessage().toLowerCase().contains("not tracked by the registry"));
+    }
+
+    @Test
+    void Registry_Should_Match_Classpath_Scan() {
+        Reflections gadgetScan = new Reflections("zkstrata.domain.gadgets");
+        assertEquals(filterConcrete(gadgetScan.getSubTypesOf(Gadget.class)), getAllGadgets());
+
+        Reflections conjunctionScan = new Reflections("zkstrata.domain.conjunctions");
+        assertEquals(filterConcrete(conjunctionScan.getSubTypesOf(Conjunction.class)), getAllConjunctions());
+
+        Reflections schemaScan = new Reflections("zkstrata.domain.data.schemas.predefined");
+        assertEquals(schemaScan.getTypesAnnotatedWith(Schema.class), Set.copyOf(getPredefinedSchemas().values()));
+
+        Reflections methodScan = new Reflections(new ConfigurationBuilder()
+                .setUrls(ClasspathHelper.forPackage("zkstrata"))
+                .setScanners(new MethodAnnotationsScanner()));
+        for (Class<? extends Annotation> annotation : Set.of(Implication.class, Contradiction.class, Substitution.class))
+            assertEquals(methodScan.getMethodsAnnotatedWith(annotation), getMethodsAnnotatedWith(annotation));
+        assertEquals(methodScan.getConstructorsAnnotatedWith(TokenType.class), getConstructorsAnnotatedWith(TokenType.class));
+    }
+
+    private static <T> Set<Class<? extends T>> filterConcrete(Set<Class<? extends T>> classes) {
+        return classes.stream()
+                .filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()))
+                .collect(Collectors.toSet());
+    }
+
     public static class ReflectionMock {
         public String fieldWithoutGetter;
 